@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.javafx.binding;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.NumberExpression;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures propagating a new value through chains of {@code length}
+ * bindings, from setting the value at the head of the chain to reading
+ * it at the tail.
+ * <p>
+ * The chains are bidirectionally bound properties, unidirectionally bound
+ * properties, fluent {@code add} bindings, and {@code map} bindings with and
+ * without a listener at the tail. Mapped bindings without a listener do not
+ * observe their source and compute their value on every read.
+ * {@code bindUnbindBidirectional} measures creating and removing one
+ * bidirectional binding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingChainBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int length;
+
+    private IntegerProperty bidirectionalHead;
+    private IntegerProperty bidirectionalTail;
+    private IntegerProperty boundHead;
+    private IntegerProperty boundTail;
+    private IntegerProperty fluentHead;
+    private NumberExpression fluentTail;
+    private ObjectProperty<Integer> mappedHead;
+    private ObservableValue<Integer> mappedTail;
+    private ObjectProperty<Integer> observedMappedHead;
+    private ObservableValue<Integer> observedMappedTail;
+
+    private final IntegerProperty first = new SimpleIntegerProperty();
+    private final IntegerProperty second = new SimpleIntegerProperty();
+
+    private int value;
+
+    @Setup
+    public void setup() {
+        bidirectionalHead = bidirectionalTail = new SimpleIntegerProperty();
+        boundHead = boundTail = new SimpleIntegerProperty();
+        fluentTail = fluentHead = new SimpleIntegerProperty();
+        mappedTail = mappedHead = new SimpleObjectProperty<>(0);
+        observedMappedTail = observedMappedHead = new SimpleObjectProperty<>(0);
+
+        for (int i = 0; i < length; i++) {
+            IntegerProperty next = new SimpleIntegerProperty();
+            next.bindBidirectional(bidirectionalTail);
+            bidirectionalTail = next;
+
+            next = new SimpleIntegerProperty();
+            next.bind(boundTail);
+            boundTail = next;
+
+            fluentTail = fluentTail.add(1);
+            mappedTail = mappedTail.map(v -> v + 1);
+            observedMappedTail = observedMappedTail.map(v -> v + 1);
+        }
+
+        observedMappedTail.addListener((InvalidationListener) observable -> {});
+    }
+
+    @Benchmark
+    public int bidirectional() {
+        bidirectionalHead.set(++value);
+        return bidirectionalTail.get();
+    }
+
+    @Benchmark
+    public int bound() {
+        boundHead.set(++value);
+        return boundTail.get();
+    }
+
+    @Benchmark
+    public int fluent() {
+        fluentHead.set(++value);
+        return fluentTail.intValue();
+    }
+
+    @Benchmark
+    public int mapped() {
+        mappedHead.set(++value);
+        return mappedTail.getValue();
+    }
+
+    @Benchmark
+    public int observedMapped() {
+        observedMappedHead.set(++value);
+        return observedMappedTail.getValue();
+    }
+
+    @Benchmark
+    public int bindUnbindBidirectional() {
+        first.bindBidirectional(second);
+        first.unbindBidirectional(second);
+        return first.get();
+    }
+}
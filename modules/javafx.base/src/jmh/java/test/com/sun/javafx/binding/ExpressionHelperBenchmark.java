@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.javafx.binding;
+
+import com.sun.javafx.binding.ExpressionHelper;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.IntegerChangeListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding, removing and notifying listeners with {@link ExpressionHelper}.
+ * <p>
+ * The helpers switch their representation between a single listener and
+ * listener arrays, so {@code listenerCount} covers both. {@code addRemove}
+ * adds all listeners and removes them again in the order they were added,
+ * the {@code fire} benchmarks notify all listeners of one value change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionHelperBenchmark {
+
+    @Param({"1", "2", "10", "100"})
+    public int listenerCount;
+
+    private SimpleIntegerProperty observable;
+    private InvalidationListener[] invalidationListeners;
+    private ChangeListener<Number>[] changeListeners;
+
+    private ExpressionHelper<Number> invalidationHelper;
+    private ExpressionHelper<Number> changeHelper;
+    private ExpressionHelper<Number> integerChangeHelper;
+
+    private int value;
+    private int sink;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        observable = new SimpleIntegerProperty();
+        invalidationListeners = new InvalidationListener[listenerCount];
+        changeListeners = new ChangeListener[listenerCount];
+
+        for (int i = 0; i < listenerCount; i++) {
+            // the listeners need to be distinct instances, which a
+            // non-capturing lambda would not be
+            final int id = i;
+            invalidationListeners[i] = observable -> sink += id;
+            changeListeners[i] = (observable, oldValue, newValue) -> sink += newValue.intValue() + id;
+            IntegerChangeListener integerChangeListener = (observable, oldValue, newValue) -> sink += newValue + id;
+
+            invalidationHelper = ExpressionHelper.addListener(invalidationHelper, observable, invalidationListeners[i]);
+            changeHelper = ExpressionHelper.addListener(changeHelper, observable, changeListeners[i]);
+            integerChangeHelper = ExpressionHelper.addIntegerListener(integerChangeHelper, observable, integerChangeListener);
+        }
+    }
+
+    @Benchmark
+    public ExpressionHelper<Number> addRemoveInvalidationListeners() {
+        ExpressionHelper<Number> helper = null;
+        for (InvalidationListener listener : invalidationListeners) {
+            helper = ExpressionHelper.addListener(helper, observable, listener);
+        }
+        for (InvalidationListener listener : invalidationListeners) {
+            helper = ExpressionHelper.removeListener(helper, listener);
+        }
+        return helper;
+    }
+
+    @Benchmark
+    public ExpressionHelper<Number> addRemoveChangeListeners() {
+        ExpressionHelper<Number> helper = null;
+        for (ChangeListener<Number> listener : changeListeners) {
+            helper = ExpressionHelper.addListener(helper, observable, listener);
+        }
+        for (ChangeListener<Number> listener : changeListeners) {
+            helper = ExpressionHelper.removeListener(helper, listener);
+        }
+        return helper;
+    }
+
+    @Benchmark
+    public int fireInvalidation() {
+        ExpressionHelper.fireValueChangedEvent(invalidationHelper);
+        return sink;
+    }
+
+    @Benchmark
+    public int fireChange() {
+        observable.set(++value);
+        ExpressionHelper.fireValueChangedEvent(changeHelper);
+        return sink;
+    }
+
+    @Benchmark
+    public int fireIntegerChange() {
+        observable.set(++value);
+        ExpressionHelper.fireValueChangedEvent(integerChangeHelper);
+        return sink;
+    }
+}
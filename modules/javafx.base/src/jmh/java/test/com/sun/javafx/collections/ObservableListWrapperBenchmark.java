@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.javafx.collections;
+
+import com.sun.javafx.collections.ObservableListWrapper;
+import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.ListChangeListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures modifications of an {@link ObservableListWrapper} with one
+ * {@code ListChangeListener}.
+ * <p>
+ * {@code addRemoveLast} and {@code addRemoveFirst} add an element and remove
+ * it again, {@code setAll} replaces all elements, {@code removeAllSetAll}
+ * removes every other element and restores the list with {@code setAll},
+ * and {@code extractorUpdate} changes a property of a random element of a
+ * list with an extractor, which fires an update change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ObservableListWrapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private List<Integer> values;
+    private Set<Integer> oddValues;
+    private ObservableListWrapper<Integer> list;
+    private ObservableListWrapper<IntegerProperty> extractorList;
+    private int sink;
+
+    @Setup
+    public void setup() {
+        values = new ArrayList<>(size);
+        oddValues = new HashSet<>();
+        List<IntegerProperty> properties = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+            if ((i & 1) != 0) {
+                oddValues.add(i);
+            }
+            properties.add(new SimpleIntegerProperty(i));
+        }
+
+        ListChangeListener<Object> listener = c -> {
+            while (c.next()) {
+                sink += c.getFrom() + c.getTo() + c.getRemovedSize();
+            }
+        };
+
+        list = new ObservableListWrapper<>(new ArrayList<>(values));
+        list.addListener(listener);
+        extractorList = new ObservableListWrapper<>(properties, p -> new Observable[] {p});
+        extractorList.addListener(listener);
+    }
+
+    @Benchmark
+    public int addRemoveLast() {
+        list.add(size);
+        list.remove(size);
+        return sink;
+    }
+
+    @Benchmark
+    public int addRemoveFirst() {
+        list.add(0, size);
+        list.remove(0);
+        return sink;
+    }
+
+    @Benchmark
+    public int setAll() {
+        list.setAll(values);
+        return sink;
+    }
+
+    @Benchmark
+    public int removeAllSetAll() {
+        list.removeAll(oddValues);
+        list.setAll(values);
+        return sink;
+    }
+
+    @Benchmark
+    public int extractorUpdate() {
+        IntegerProperty property = extractorList.get(random.nextInt(size));
+        property.set(property.get() + 1);
+        return sink;
+    }
+}
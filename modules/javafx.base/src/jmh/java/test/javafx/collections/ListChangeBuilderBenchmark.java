@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.collections;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableListBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the change builder of {@link ObservableListBase} aggregates
+ * many sub-changes between {@code beginChange} and {@code endChange}, and
+ * delivers the resulting change to one listener.
+ * <p>
+ * The builder only records indices, so the list does not hold any elements;
+ * it reports a fixed size and returns the index as the element. Each
+ * benchmark records {@code changes} sub-changes of one kind, either next to
+ * each other or scattered over every other index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListChangeBuilderBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int changes;
+
+    private ChangeList list;
+    private int sink;
+
+    @Setup
+    public void setup() {
+        list = new ChangeList(2 * changes);
+        list.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                sink += c.getFrom() + c.getTo() + c.getRemovedSize();
+            }
+        });
+    }
+
+    @Benchmark
+    public int contiguousAdds() {
+        list.begin();
+        for (int i = 0; i < changes; i++) {
+            list.recordAdd(i, i + 1);
+        }
+        list.end();
+        return sink;
+    }
+
+    @Benchmark
+    public int scatteredAdds() {
+        list.begin();
+        for (int i = 0; i < changes; i++) {
+            list.recordAdd(2 * i, 2 * i + 1);
+        }
+        list.end();
+        return sink;
+    }
+
+    @Benchmark
+    public int scatteredRemoves() {
+        // removes every other element from the front, as the removed
+        // elements shift the remaining ones
+        list.begin();
+        for (int i = 0; i < changes; i++) {
+            list.recordRemove(i, i);
+        }
+        list.end();
+        return sink;
+    }
+
+    @Benchmark
+    public int scatteredRemovesFromBack() {
+        list.begin();
+        for (int i = changes - 1; i >= 0; i--) {
+            list.recordRemove(2 * i, i);
+        }
+        list.end();
+        return sink;
+    }
+
+    @Benchmark
+    public int scatteredSets() {
+        list.begin();
+        for (int i = 0; i < changes; i++) {
+            list.recordSet(2 * i, i);
+        }
+        list.end();
+        return sink;
+    }
+
+    @Benchmark
+    public int scatteredUpdates() {
+        list.begin();
+        for (int i = 0; i < changes; i++) {
+            list.recordUpdate(2 * i);
+        }
+        list.end();
+        return sink;
+    }
+
+    private static final class ChangeList extends ObservableListBase<Integer> {
+        private final int size;
+
+        ChangeList(int size) {
+            this.size = size;
+        }
+
+        void begin() {
+            beginChange();
+        }
+
+        void end() {
+            endChange();
+        }
+
+        void recordAdd(int from, int to) {
+            nextAdd(from, to);
+        }
+
+        void recordRemove(int index, Integer removed) {
+            nextRemove(index, removed);
+        }
+
+        void recordSet(int index, Integer old) {
+            nextSet(index, old);
+        }
+
+        void recordUpdate(int index) {
+            nextUpdate(index);
+        }
+
+        @Override
+        public Integer get(int index) {
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.collections.transformation;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures how {@link FilteredList} follows changes of its source list.
+ * <p>
+ * {@code addRemove} adds a random element to the end of the source and
+ * removes it again, {@code set} replaces a random element, and
+ * {@code refilter} switches between accepting the even and the odd
+ * elements, which filters the whole list again. The source holds
+ * {@code size} random integers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FilteredListBenchmark {
+
+    private static final Predicate<Integer> EVEN = i -> (i & 1) == 0;
+    private static final Predicate<Integer> ODD = i -> (i & 1) != 0;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private ObservableList<Integer> source;
+    private FilteredList<Integer> filtered;
+
+    @Setup
+    public void setup() {
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(random.nextInt());
+        }
+        source = FXCollections.observableArrayList(values);
+        filtered = new FilteredList<>(source, EVEN);
+    }
+
+    @Benchmark
+    public FilteredList<Integer> addRemove() {
+        source.add(random.nextInt());
+        source.remove(size);
+        return filtered;
+    }
+
+    @Benchmark
+    public FilteredList<Integer> set() {
+        source.set(random.nextInt(size), random.nextInt());
+        return filtered;
+    }
+
+    @Benchmark
+    public FilteredList<Integer> refilter() {
+        filtered.setPredicate(filtered.getPredicate() == EVEN ? ODD : EVEN);
+        return filtered;
+    }
+}
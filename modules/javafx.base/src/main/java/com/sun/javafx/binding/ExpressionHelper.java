@@ -25,8 +25,17 @@
 
 package com.sun.javafx.binding;
 
+import com.sun.javafx.logging.PulseLogger;
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.DoubleChangeListener;
+import javafx.beans.value.FloatChangeListener;
+import javafx.beans.value.IntegerChangeListener;
+import javafx.beans.value.LongChangeListener;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.beans.value.ObservableFloatValue;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableLongValue;
 import javafx.beans.value.ObservableValue;
 
 import java.util.Arrays;
@@ -51,33 +60,94 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             throw new NullPointerException();
         }
         observable.getValue(); // validate observable
-        return (helper == null)? new SingleInvalidation<T>(observable, listener) : helper.addListener(listener);
+        return (helper == null)? new SingleInvalidation<T>(observable, listener) : replaced(helper, helper.addListener(listener));
     }
 
     public static <T> ExpressionHelper<T> removeListener(ExpressionHelper<T> helper, InvalidationListener listener) {
         if (listener == null) {
             throw new NullPointerException();
         }
-        return (helper == null)? null : helper.removeListener(listener);
+        return (helper == null)? null : replaced(helper, helper.removeListener(listener));
     }
 
     public static <T> ExpressionHelper<T> addListener(ExpressionHelper<T> helper, ObservableValue<T> observable, ChangeListener<? super T> listener) {
         if ((observable == null) || (listener == null)) {
             throw new NullPointerException();
         }
-        return (helper == null)? new SingleChange<T>(observable, listener) : helper.addListener(listener);
+        return (helper == null)? new SingleChange<T>(observable, listener) : replaced(helper, helper.addListener(listener));
     }
 
     public static <T> ExpressionHelper<T> removeListener(ExpressionHelper<T> helper, ChangeListener<? super T> listener) {
         if (listener == null) {
             throw new NullPointerException();
         }
-        return (helper == null)? null : helper.removeListener(listener);
+        return (helper == null)? null : replaced(helper, helper.removeListener(listener));
+    }
+
+    public static ExpressionHelper<Number> addDoubleListener(ExpressionHelper<Number> helper, ObservableDoubleValue observable, DoubleChangeListener listener) {
+        return addPrimitiveListener(helper, observable, listener);
+    }
+
+    public static ExpressionHelper<Number> removeDoubleListener(ExpressionHelper<Number> helper, DoubleChangeListener listener) {
+        return removePrimitiveListener(helper, listener);
+    }
+
+    public static ExpressionHelper<Number> addFloatListener(ExpressionHelper<Number> helper, ObservableFloatValue observable, FloatChangeListener listener) {
+        return addPrimitiveListener(helper, observable, listener);
+    }
+
+    public static ExpressionHelper<Number> removeFloatListener(ExpressionHelper<Number> helper, FloatChangeListener listener) {
+        return removePrimitiveListener(helper, listener);
+    }
+
+    public static ExpressionHelper<Number> addIntegerListener(ExpressionHelper<Number> helper, ObservableIntegerValue observable, IntegerChangeListener listener) {
+        return addPrimitiveListener(helper, observable, listener);
+    }
+
+    public static ExpressionHelper<Number> removeIntegerListener(ExpressionHelper<Number> helper, IntegerChangeListener listener) {
+        return removePrimitiveListener(helper, listener);
+    }
+
+    public static ExpressionHelper<Number> addLongListener(ExpressionHelper<Number> helper, ObservableLongValue observable, LongChangeListener listener) {
+        return addPrimitiveListener(helper, observable, listener);
+    }
+
+    public static ExpressionHelper<Number> removeLongListener(ExpressionHelper<Number> helper, LongChangeListener listener) {
+        return removePrimitiveListener(helper, listener);
+    }
+
+    private static <T> ExpressionHelper<T> addPrimitiveListener(ExpressionHelper<T> helper, ObservableValue<T> observable, Object listener) {
+        if ((observable == null) || (listener == null)) {
+            throw new NullPointerException();
+        }
+        return (helper == null)? new Primitive<T>(observable, new PrimitiveListeners(observable, listener)) : replaced(helper, helper.addPrimitiveListener(listener));
+    }
+
+    private static <T> ExpressionHelper<T> removePrimitiveListener(ExpressionHelper<T> helper, Object listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        return (helper == null)? null : replaced(helper, helper.removePrimitiveListener(listener));
+    }
+
+    /**
+     * If the notification of {@code helper} is deferred by a {@link Transaction},
+     * {@code newHelper} takes over the deferred notification.
+     */
+    private static <T> ExpressionHelper<T> replaced(ExpressionHelper<T> helper, ExpressionHelper<T> newHelper) {
+        if (newHelper != helper && Transaction.replace(helper, newHelper) && newHelper != null) {
+            newHelper.takeOver(helper);
+        }
+        return newHelper;
     }
 
     public static <T> void fireValueChangedEvent(ExpressionHelper<T> helper) {
-        if (helper != null) {
+        if (helper != null && !Transaction.defer(helper)) {
+            final long start = PulseLogger.INSTRUMENTATION_ENABLED ? System.nanoTime() : 0;
             helper.fireValueChangedEvent();
+            if (PulseLogger.INSTRUMENTATION_ENABLED) {
+                PulseLogger.listenersNotified(helper.observable, helper.getListenerCount(), start);
+            }
         }
     }
 
@@ -96,8 +166,49 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
     protected abstract ExpressionHelper<T> addListener(ChangeListener<? super T> listener);
     protected abstract ExpressionHelper<T> removeListener(ChangeListener<? super T> listener);
 
+    @Override
+    protected Object getObservable() {
+        return observable;
+    }
+
+    protected abstract ExpressionHelper<T> addPrimitiveListener(Object listener);
+    protected abstract ExpressionHelper<T> removePrimitiveListener(Object listener);
+
     protected abstract void fireValueChangedEvent();
 
+    /**
+     * Notifies only the {@code InvalidationListeners}. Together with
+     * {@link #fireChangeEvent()} this is equivalent to
+     * {@link #fireValueChangedEvent()}, but allows a {@link Transaction} to
+     * propagate all invalidations before any value is recomputed.
+     */
+    protected abstract void fireInvalidationEvent();
+
+    /**
+     * Notifies only the {@code ChangeListeners}, if the value has changed.
+     */
+    protected abstract void fireChangeEvent();
+
+    /**
+     * Called when this helper takes over the deferred notification of
+     * {@code helper}. The {@code ChangeListeners} that were registered before
+     * must receive the value from before the transaction as the old value.
+     */
+    void takeOver(ExpressionHelper<T> helper) {
+    }
+
+    /**
+     * Returns whether this helper tracks the current value for its
+     * {@code ChangeListeners}.
+     */
+    boolean hasCurrentValue() {
+        return false;
+    }
+
+    T getCurrentValue() {
+        return null;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Implementations
 
@@ -130,6 +241,16 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             return this;
         }
 
+        @Override
+        protected ExpressionHelper<T> addPrimitiveListener(Object listener) {
+            return new Generic<T>(observable, this.listener, new PrimitiveListeners(observable, listener));
+        }
+
+        @Override
+        protected ExpressionHelper<T> removePrimitiveListener(Object listener) {
+            return this;
+        }
+
         @Override
         protected void fireValueChangedEvent() {
             try {
@@ -138,6 +259,15 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
             }
         }
+
+        @Override
+        protected void fireInvalidationEvent() {
+            fireValueChangedEvent();
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+        }
     }
 
     private static class SingleChange<T> extends ExpressionHelper<T> {
@@ -171,6 +301,16 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             return (listener.equals(this.listener))? null : this;
         }
 
+        @Override
+        protected ExpressionHelper<T> addPrimitiveListener(Object listener) {
+            return new Generic<T>(observable, this.listener, new PrimitiveListeners(observable, listener));
+        }
+
+        @Override
+        protected ExpressionHelper<T> removePrimitiveListener(Object listener) {
+            return this;
+        }
+
         @Override
         protected void fireValueChangedEvent() {
             final T oldValue = currentValue;
@@ -184,6 +324,93 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 }
             }
         }
+
+        @Override
+        protected void fireInvalidationEvent() {
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+            fireValueChangedEvent();
+        }
+
+        @Override
+        void takeOver(ExpressionHelper<T> helper) {
+            if (helper.hasCurrentValue()) {
+                currentValue = helper.getCurrentValue();
+            }
+        }
+
+        @Override
+        boolean hasCurrentValue() {
+            return true;
+        }
+
+        @Override
+        T getCurrentValue() {
+            return currentValue;
+        }
+    }
+
+    private static class Primitive<T> extends ExpressionHelper<T> {
+
+        private final PrimitiveListeners listeners;
+
+        private Primitive(ObservableValue<T> observable, PrimitiveListeners listeners) {
+            super(observable);
+            this.listeners = listeners;
+        }
+
+        @Override
+        protected ExpressionHelper<T> addListener(InvalidationListener listener) {
+            return new Generic<T>(observable, listener, listeners);
+        }
+
+        @Override
+        protected ExpressionHelper<T> removeListener(InvalidationListener listener) {
+            return this;
+        }
+
+        @Override
+        protected ExpressionHelper<T> addListener(ChangeListener<? super T> listener) {
+            return new Generic<T>(observable, listener, listeners);
+        }
+
+        @Override
+        protected ExpressionHelper<T> removeListener(ChangeListener<? super T> listener) {
+            return this;
+        }
+
+        @Override
+        protected ExpressionHelper<T> addPrimitiveListener(Object listener) {
+            listeners.add(listener);
+            return this;
+        }
+
+        @Override
+        protected ExpressionHelper<T> removePrimitiveListener(Object listener) {
+            listeners.remove(listener);
+            return listeners.isEmpty()? null : this;
+        }
+
+        @Override
+        protected int getListenerCount() {
+            return listeners.size();
+        }
+
+        @Override
+        protected void fireValueChangedEvent() {
+            listeners.fireValueChangedEvent();
+        }
+
+        @Override
+        protected void fireInvalidationEvent() {
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+            listeners.fireValueChangedEvent();
+        }
     }
 
     private static class Generic<T> extends ExpressionHelper<T> {
@@ -194,11 +421,14 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         private int changeSize;
         private boolean locked;
         private T currentValue;
+        private PrimitiveListeners primitiveListeners;
 
         private Generic(ObservableValue<T> observable, InvalidationListener listener0, InvalidationListener listener1) {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
+            WeakListenerCleaner.register(listener0, this);
+            WeakListenerCleaner.register(listener1, this);
         }
 
         private Generic(ObservableValue<T> observable, ChangeListener<? super T> listener0, ChangeListener<? super T> listener1) {
@@ -206,6 +436,8 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {listener0, listener1};
             this.changeSize = 2;
             this.currentValue = observable.getValue();
+            WeakListenerCleaner.register(listener0, this);
+            WeakListenerCleaner.register(listener1, this);
         }
 
         private Generic(ObservableValue<T> observable, InvalidationListener invalidationListener, ChangeListener<? super T> changeListener) {
@@ -215,6 +447,27 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {changeListener};
             this.changeSize = 1;
             this.currentValue = observable.getValue();
+            WeakListenerCleaner.register(invalidationListener, this);
+            WeakListenerCleaner.register(changeListener, this);
+        }
+
+        private Generic(ObservableValue<T> observable, InvalidationListener listener, PrimitiveListeners primitiveListeners) {
+            super(observable);
+            this.invalidationListeners = new InvalidationListener[] {listener};
+            this.invalidationSize = 1;
+            this.primitiveListeners = primitiveListeners;
+            WeakListenerCleaner.register(listener, this);
+        }
+
+        // generic arrays cannot be created, and the array only ever holds listeners of type ChangeListener<? super T>
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private Generic(ObservableValue<T> observable, ChangeListener<? super T> listener, PrimitiveListeners primitiveListeners) {
+            super(observable);
+            this.changeListeners = new ChangeListener[] {listener};
+            this.changeSize = 1;
+            this.currentValue = observable.getValue();
+            this.primitiveListeners = primitiveListeners;
+            WeakListenerCleaner.register(listener, this);
         }
 
         @Override
@@ -236,6 +489,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 }
                 invalidationListeners[invalidationSize++] = listener;
             }
+            WeakListenerCleaner.register(listener, this);
             return this;
         }
 
@@ -245,12 +499,14 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
                         if (invalidationSize == 1) {
-                            if (changeSize == 1) {
+                            if ((changeSize == 1) && (primitiveListeners == null)) {
                                 return new SingleChange<T>(observable, changeListeners[0]);
+                            } else if ((changeSize == 0) && (primitiveListeners != null)) {
+                                return new Primitive<T>(observable, primitiveListeners);
                             }
                             invalidationListeners = null;
                             invalidationSize = 0;
-                        } else if ((invalidationSize == 2) && (changeSize == 0)) {
+                        } else if ((invalidationSize == 2) && (changeSize == 0) && (primitiveListeners == null)) {
                             return new SingleInvalidation<T>(observable, invalidationListeners[1-index]);
                         } else {
                             final int numMoved = invalidationSize - index - 1;
@@ -296,6 +552,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             if (changeSize == 1) {
                 currentValue = observable.getValue();
             }
+            WeakListenerCleaner.register(listener, this);
             return this;
         }
 
@@ -305,12 +562,14 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
                         if (changeSize == 1) {
-                            if (invalidationSize == 1) {
+                            if ((invalidationSize == 1) && (primitiveListeners == null)) {
                                 return new SingleInvalidation<T>(observable, invalidationListeners[0]);
+                            } else if ((invalidationSize == 0) && (primitiveListeners != null)) {
+                                return new Primitive<T>(observable, primitiveListeners);
                             }
                             changeListeners = null;
                             changeSize = 0;
-                        } else if ((changeSize == 2) && (invalidationSize == 0)) {
+                        } else if ((changeSize == 2) && (invalidationSize == 0) && (primitiveListeners == null)) {
                             return new SingleChange<T>(observable, changeListeners[1-index]);
                         } else {
                             final int numMoved = changeSize - index - 1;
@@ -334,6 +593,59 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             return this;
         }
 
+        @Override
+        protected boolean purgeDeadListeners() {
+            if (locked) {
+                return false;
+            }
+            if (invalidationListeners != null) {
+                invalidationSize = trim(invalidationSize, invalidationListeners);
+            }
+            if (changeListeners != null) {
+                changeSize = trim(changeSize, changeListeners);
+            }
+            return true;
+        }
+
+        @Override
+        protected int countDeadListeners() {
+            return countDeadListeners(invalidationSize, invalidationListeners)
+                    + countDeadListeners(changeSize, changeListeners);
+        }
+
+        @Override
+        protected int getListenerCount() {
+            return invalidationSize + changeSize + (primitiveListeners == null ? 0 : primitiveListeners.size());
+        }
+
+        @Override
+        protected ExpressionHelper<T> addPrimitiveListener(Object listener) {
+            if (primitiveListeners == null) {
+                primitiveListeners = new PrimitiveListeners(observable, listener);
+            } else {
+                primitiveListeners.add(listener);
+            }
+            return this;
+        }
+
+        @Override
+        protected ExpressionHelper<T> removePrimitiveListener(Object listener) {
+            if (primitiveListeners != null) {
+                primitiveListeners.remove(listener);
+                if (primitiveListeners.isEmpty()) {
+                    primitiveListeners = null;
+                    if ((invalidationSize == 0) && (changeSize == 0)) {
+                        return null;
+                    } else if ((invalidationSize == 1) && (changeSize == 0)) {
+                        return new SingleInvalidation<T>(observable, invalidationListeners[0]);
+                    } else if ((changeSize == 1) && (invalidationSize == 0)) {
+                        return new SingleChange<T>(observable, changeListeners[0]);
+                    }
+                }
+            }
+            return this;
+        }
+
         @Override
         protected void fireValueChangedEvent() {
             final InvalidationListener[] curInvalidationList = invalidationListeners;
@@ -364,10 +676,80 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                         }
                     }
                 }
+                if (primitiveListeners != null) {
+                    primitiveListeners.fireValueChangedEvent();
+                }
             } finally {
                 locked = false;
             }
         }
+
+        @Override
+        protected void fireInvalidationEvent() {
+            final InvalidationListener[] curInvalidationList = invalidationListeners;
+            final int curInvalidationSize = invalidationSize;
+
+            final boolean wasLocked = locked;
+            try {
+                locked = true;
+                for (int i = 0; i < curInvalidationSize; i++) {
+                    try {
+                        curInvalidationList[i].invalidated(observable);
+                    } catch (Exception e) {
+                        Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                    }
+                }
+            } finally {
+                locked = wasLocked;
+            }
+        }
+
+        @Override
+        protected void fireChangeEvent() {
+            final ChangeListener<? super T>[] curChangeList = changeListeners;
+            final int curChangeSize = changeSize;
+
+            if (curChangeSize > 0) {
+                final boolean wasLocked = locked;
+                try {
+                    locked = true;
+                    final T oldValue = currentValue;
+                    currentValue = observable.getValue();
+                    final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
+                    if (changed) {
+                        for (int i = 0; i < curChangeSize; i++) {
+                            try {
+                                curChangeList[i].changed(observable, oldValue, currentValue);
+                            } catch (Exception e) {
+                                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                            }
+                        }
+                    }
+                } finally {
+                    locked = wasLocked;
+                }
+            }
+            if (primitiveListeners != null) {
+                primitiveListeners.fireValueChangedEvent();
+            }
+        }
+
+        @Override
+        void takeOver(ExpressionHelper<T> helper) {
+            if (changeSize > 0 && helper.hasCurrentValue()) {
+                currentValue = helper.getCurrentValue();
+            }
+        }
+
+        @Override
+        boolean hasCurrentValue() {
+            return changeSize > 0;
+        }
+
+        @Override
+        T getCurrentValue() {
+            return currentValue;
+        }
     }
 
 }
@@ -55,4 +55,47 @@ public class ExpressionHelperBase {
         return size;
     }
 
+    protected static int countDeadListeners(int size, Object[] listeners) {
+        int count = 0;
+        for (int index = 0; index < size; index++) {
+            if (listeners[index] instanceof WeakListener && ((WeakListener)listeners[index]).wasGarbageCollected()) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Removes the weak listeners whose listener was garbage collected. This is
+     * called by {@link WeakListenerCleaner} for helpers that registered a weak listener.
+     *
+     * @return {@code false} if the listeners could not be removed, because they are
+     *         currently being notified
+     */
+    protected boolean purgeDeadListeners() {
+        return true;
+    }
+
+    /**
+     * Returns the number of weak listeners whose listener was garbage collected.
+     */
+    protected int countDeadListeners() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of listeners of this helper.
+     */
+    protected int getListenerCount() {
+        return 1;
+    }
+
+    /**
+     * Returns the observable of this helper, or {@code null} if it is not known.
+     */
+    protected Object getObservable() {
+        return null;
+    }
+
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.binding;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.DoubleChangeListener;
+import javafx.beans.value.FloatChangeListener;
+import javafx.beans.value.IntegerChangeListener;
+import javafx.beans.value.LongChangeListener;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.beans.value.ObservableFloatValue;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableLongValue;
+import javafx.beans.value.ObservableValue;
+
+import java.util.Arrays;
+
+/**
+ * The primitive change listeners of a numeric {@link ObservableValue}, which are
+ * notified by {@link ExpressionHelper} without boxing the old and the new value.
+ * <p>
+ * The current value is stored as raw bits, using the same canonical representation
+ * as {@link Double#equals} and {@link Float#equals}, so that the listeners are
+ * notified under the same conditions as a {@code ChangeListener}.
+ * <p>
+ * The listener array is replaced when a listener is added or removed, so the
+ * listeners can be modified while they are notified.
+ */
+public final class PrimitiveListeners {
+
+    private static final int DOUBLE = 0;
+    private static final int FLOAT = 1;
+    private static final int INTEGER = 2;
+    private static final int LONG = 3;
+
+    private final ObservableValue<?> observable;
+    private final int kind;
+    private Object[] listeners;
+    private long currentValue;
+
+    PrimitiveListeners(ObservableValue<?> observable, Object listener) {
+        this.observable = observable;
+        this.kind = kindOf(listener);
+        this.listeners = new Object[] {listener};
+        this.currentValue = getValue();
+    }
+
+    private static int kindOf(Object listener) {
+        if (listener instanceof DoubleChangeListener) {
+            return DOUBLE;
+        } else if (listener instanceof FloatChangeListener) {
+            return FLOAT;
+        } else if (listener instanceof IntegerChangeListener) {
+            return INTEGER;
+        } else if (listener instanceof LongChangeListener) {
+            return LONG;
+        }
+        throw new IllegalArgumentException("Unsupported listener: " + listener);
+    }
+
+    void add(Object listener) {
+        if (kindOf(listener) != kind) {
+            throw new IllegalArgumentException("Unsupported listener: " + listener);
+        }
+        if (listeners.length == 0) {
+            currentValue = getValue();
+        }
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    void remove(Object listener) {
+        for (int index = 0; index < listeners.length; index++) {
+            if (listener.equals(listeners[index])) {
+                final Object[] newListeners = new Object[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, index);
+                System.arraycopy(listeners, index + 1, newListeners, index, newListeners.length - index);
+                listeners = newListeners;
+                break;
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    int size() {
+        return listeners.length;
+    }
+
+    void fireValueChangedEvent() {
+        final Object[] curListeners = listeners;
+        final long oldValue = currentValue;
+        currentValue = getValue();
+        if (oldValue != currentValue) {
+            for (Object listener : curListeners) {
+                try {
+                    notify(listener, oldValue, currentValue);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        }
+    }
+
+    private long getValue() {
+        switch (kind) {
+            case DOUBLE: return Double.doubleToLongBits(((ObservableDoubleValue)observable).get());
+            case FLOAT: return Float.floatToIntBits(((ObservableFloatValue)observable).get());
+            case INTEGER: return ((ObservableIntegerValue)observable).get();
+            default: return ((ObservableLongValue)observable).get();
+        }
+    }
+
+    private void notify(Object listener, long oldValue, long newValue) {
+        switch (kind) {
+            case DOUBLE:
+                ((DoubleChangeListener)listener).changed((ObservableDoubleValue)observable,
+                        Double.longBitsToDouble(oldValue), Double.longBitsToDouble(newValue));
+                break;
+            case FLOAT:
+                ((FloatChangeListener)listener).changed((ObservableFloatValue)observable,
+                        Float.intBitsToFloat((int)oldValue), Float.intBitsToFloat((int)newValue));
+                break;
+            case INTEGER:
+                ((IntegerChangeListener)listener).changed((ObservableIntegerValue)observable,
+                        (int)oldValue, (int)newValue);
+                break;
+            default:
+                ((LongChangeListener)listener).changed((ObservableLongValue)observable,
+                        oldValue, newValue);
+                break;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Adapters for observable values that do not support primitive listeners
+
+    public static ChangeListener<Number> wrapDoubleListener(DoubleChangeListener listener) {
+        return new Adapter(listener);
+    }
+
+    public static ChangeListener<Number> wrapFloatListener(FloatChangeListener listener) {
+        return new Adapter(listener);
+    }
+
+    public static ChangeListener<Number> wrapIntegerListener(IntegerChangeListener listener) {
+        return new Adapter(listener);
+    }
+
+    public static ChangeListener<Number> wrapLongListener(LongChangeListener listener) {
+        return new Adapter(listener);
+    }
+
+    /**
+     * Wraps a primitive listener in a {@code ChangeListener}. Adapters are equal if
+     * they wrap equal listeners, so a listener can be removed with a new adapter.
+     */
+    private static final class Adapter implements ChangeListener<Number> {
+        private final Object listener;
+
+        Adapter(Object listener) {
+            if (listener == null) {
+                throw new NullPointerException();
+            }
+            this.listener = listener;
+        }
+
+        @Override
+        public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+            if (listener instanceof DoubleChangeListener) {
+                ((DoubleChangeListener)listener).changed((ObservableDoubleValue)observable,
+                        oldValue != null ? oldValue.doubleValue() : 0, newValue != null ? newValue.doubleValue() : 0);
+            } else if (listener instanceof FloatChangeListener) {
+                ((FloatChangeListener)listener).changed((ObservableFloatValue)observable,
+                        oldValue != null ? oldValue.floatValue() : 0, newValue != null ? newValue.floatValue() : 0);
+            } else if (listener instanceof IntegerChangeListener) {
+                ((IntegerChangeListener)listener).changed((ObservableIntegerValue)observable,
+                        oldValue != null ? oldValue.intValue() : 0, newValue != null ? newValue.intValue() : 0);
+            } else {
+                ((LongChangeListener)listener).changed((ObservableLongValue)observable,
+                        oldValue != null ? oldValue.longValue() : 0, newValue != null ? newValue.longValue() : 0);
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Adapter && listener.equals(((Adapter)obj).listener);
+        }
+
+        @Override
+        public int hashCode() {
+            return listener.hashCode();
+        }
+    }
+
+}
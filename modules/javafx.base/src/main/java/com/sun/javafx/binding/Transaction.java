@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.binding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Defers the notifications of {@link ExpressionHelper} while a transaction is
+ * running on the current thread.
+ * <p>
+ * When the outermost transaction ends, the deferred notifications are
+ * committed in rounds. In the first phase of a round, only the
+ * {@code InvalidationListeners} of the deferred helpers are notified. Helpers
+ * that are invalidated by these listeners are appended to the same round, so
+ * that the invalidation is propagated breadth-first through the dependency
+ * graph and every helper is notified at most once. In the second phase, the
+ * {@code ChangeListeners} are notified in the same order. Since at this point
+ * all dependents are already invalid, every binding is recomputed at most
+ * once and never observes an intermediate state. Notifications that are
+ * caused by {@code ChangeListeners} are committed in the next round.
+ * <p>
+ * Adding or removing a listener can replace the helper of an observable. If
+ * the notification of the replaced helper is still deferred, the new helper
+ * takes over its slot, so that the listeners are notified as they are
+ * registered when the transaction is committed.
+ *
+ * @see javafx.beans.Observables#transaction(Runnable)
+ */
+public final class Transaction {
+
+    private static final ThreadLocal<Transaction> current = new ThreadLocal<>();
+
+    /**
+     * The number of threads that are currently running a transaction. This
+     * avoids a thread-local lookup for every notification in the common case
+     * that no transaction is running at all.
+     */
+    private static final AtomicInteger activeCount = new AtomicInteger();
+
+    private int depth;
+    private boolean committing;
+    private List<ExpressionHelper<?>> queue = new ArrayList<>();
+    private Set<ExpressionHelper<?>> queued = newIdentitySet();
+    private List<ExpressionHelper<?>> round;
+    private Set<ExpressionHelper<?>> roundQueued;
+
+    private Transaction() {
+    }
+
+    public static void run(Runnable runnable) {
+        Objects.requireNonNull(runnable, "runnable cannot be null");
+
+        Transaction transaction = current.get();
+        if (transaction == null) {
+            transaction = new Transaction();
+            current.set(transaction);
+            activeCount.incrementAndGet();
+        }
+
+        transaction.depth++;
+        try {
+            runnable.run();
+        } finally {
+            // Notifications are committed even if the runnable failed, since
+            // the values it has changed so far are visible anyway.
+            if (--transaction.depth == 0 && !transaction.committing) {
+                try {
+                    transaction.committing = true;
+                    transaction.commit();
+                } finally {
+                    current.remove();
+                    activeCount.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    static boolean defer(ExpressionHelper<?> helper) {
+        if (activeCount.get() == 0) {
+            return false;
+        }
+
+        Transaction transaction = current.get();
+        if (transaction == null) {
+            return false;
+        }
+
+        if (transaction.queued.add(helper)) {
+            transaction.queue.add(helper);
+        }
+
+        return true;
+    }
+
+    /**
+     * Replaces a helper whose notification is deferred with the helper that
+     * was returned when a listener was added or removed. If the new helper is
+     * {@code null}, the deferred notification is dropped.
+     *
+     * @return {@code true} if the notification of {@code helper} was deferred
+     */
+    static boolean replace(ExpressionHelper<?> helper, ExpressionHelper<?> newHelper) {
+        if (activeCount.get() == 0) {
+            return false;
+        }
+
+        Transaction transaction = current.get();
+        if (transaction == null) {
+            return false;
+        }
+
+        // While the invalidation phase is running, the current round is the queue.
+        boolean replaced = replace(transaction.queue, transaction.queued, helper, newHelper);
+        if (transaction.round != transaction.queue) {
+            replaced |= replace(transaction.round, transaction.roundQueued, helper, newHelper);
+        }
+
+        return replaced;
+    }
+
+    private static boolean replace(List<ExpressionHelper<?>> list, Set<ExpressionHelper<?>> set,
+                                   ExpressionHelper<?> helper, ExpressionHelper<?> newHelper) {
+        if (list == null || !set.remove(helper)) {
+            return false;
+        }
+
+        list.set(list.indexOf(helper), newHelper);
+        if (newHelper != null) {
+            set.add(newHelper);
+        }
+
+        return true;
+    }
+
+    private void commit() {
+        while (!queue.isEmpty()) {
+            round = queue;
+            roundQueued = queued;
+
+            // The loop re-reads the size of the list, because helpers that are
+            // invalidated in this phase are appended to the current round.
+            for (int i = 0; i < round.size(); i++) {
+                ExpressionHelper<?> helper = round.get(i);
+                if (helper != null) {
+                    helper.fireInvalidationEvent();
+                }
+            }
+
+            queue = new ArrayList<>();
+            queued = newIdentitySet();
+
+            for (int i = 0; i < round.size(); i++) {
+                ExpressionHelper<?> helper = round.get(i);
+                if (helper != null) {
+                    helper.fireChangeEvent();
+                }
+            }
+        }
+
+        round = null;
+        roundQueued = null;
+    }
+
+    private static Set<ExpressionHelper<?>> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.binding;
+
+import javafx.beans.Observable;
+import javafx.beans.WeakListener;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Eagerly removes weak listeners whose listener was garbage collected from the
+ * listener helpers they are registered with.
+ * <p>
+ * Without the cleaner, such dead listeners are only removed when the helper happens
+ * to be trimmed while another listener is added, or when the dead listener itself is
+ * notified. Long-lived observables can therefore accumulate many dead listeners,
+ * which are scanned on every notification.
+ * <p>
+ * The weak listener classes create their weak reference with {@link #newReference(Object)},
+ * which registers it with a reference queue, and make it accessible to the cleaner with
+ * {@link #setReferenceAccessor(Class, Function)}. Helpers with more than one listener call
+ * {@link #register(Object, ExpressionHelperBase)} for every weak listener they hold, which
+ * records the helper in the reference of the weak listener. {@link #cleanUp()} is called
+ * by the toolkit at the end of every pulse and trims all helpers whose weak listeners have
+ * been collected since the last pulse. A helper is only trimmed on the thread that added
+ * the weak listener, because the helpers are not thread-safe. It is also not trimmed while
+ * it is notifying its listeners; it is then trimmed at the next pulse.
+ */
+public final class WeakListenerCleaner {
+
+    private static final Object lock = new Object();
+    private static final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    // the weak listener classes and the functions that return their references;
+    // replaced as a whole when a class is added
+    private static volatile Accessor<?>[] accessors = new Accessor<?>[0];
+
+    // references that were collected, but whose helpers were not trimmed yet; guarded by lock
+    private static final List<ListenerReference<?>> pending = new ArrayList<>();
+
+    private WeakListenerCleaner() {
+    }
+
+    /**
+     * Creates the weak reference of a weak listener.
+     *
+     * @param listener the listener that is referenced weakly
+     * @return the weak reference
+     */
+    public static <T> WeakReference<T> newReference(T listener) {
+        return new ListenerReference<>(listener);
+    }
+
+    /**
+     * Makes the weak references of a weak listener class accessible to the cleaner.
+     * This is called once by the static initializer of the class.
+     *
+     * @param type the weak listener class
+     * @param accessor the function that returns the weak reference of a weak listener
+     */
+    public static <L extends WeakListener> void setReferenceAccessor(
+            Class<L> type, Function<L, WeakReference<?>> accessor) {
+        synchronized (lock) {
+            Accessor<?>[] newAccessors = Arrays.copyOf(accessors, accessors.length + 1);
+            newAccessors[accessors.length] = new Accessor<>(type, accessor);
+            accessors = newAccessors;
+        }
+    }
+
+    /**
+     * Registers a helper that holds the specified listener, if the listener is a
+     * weak listener that was created with {@link #newReference(Object)}.
+     *
+     * @param listener the listener
+     * @param helper the helper that holds the listener
+     */
+    public static void register(Object listener, ExpressionHelperBase helper) {
+        if (listener instanceof WeakListener) {
+            Class<?> type = listener.getClass();
+            for (Accessor<?> accessor : accessors) {
+                if (accessor.type == type) {
+                    if (accessor.getReference(listener) instanceof ListenerReference<?> reference) {
+                        reference.register(helper);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Trims the helpers of all weak listeners that were collected since the last call.
+     */
+    public static void cleanUp() {
+        ListenerReference<?>[] collected;
+        synchronized (lock) {
+            pollQueue();
+            if (pending.isEmpty()) {
+                return;
+            }
+            collected = pending.toArray(new ListenerReference<?>[0]);
+            pending.clear();
+        }
+
+        List<ListenerReference<?>> retry = null;
+        for (ListenerReference<?> reference : collected) {
+            if (!reference.purge()) {
+                if (retry == null) {
+                    retry = new ArrayList<>();
+                }
+                retry.add(reference);
+            }
+        }
+
+        if (retry != null) {
+            synchronized (lock) {
+                pending.addAll(retry);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of dead weak listeners of the specified observable, whose
+     * listener was garbage collected, but which were not removed yet. This is meant
+     * for diagnostics only, the count is computed on every call.
+     *
+     * @param observable the observable
+     * @return the number of dead weak listeners
+     */
+    public static int getDeadListenerCount(Observable observable) {
+        Set<ExpressionHelperBase> helpers = Collections.newSetFromMap(new IdentityHashMap<>());
+        synchronized (lock) {
+            pollQueue();
+            for (ListenerReference<?> reference : pending) {
+                reference.collectHelpers(observable, helpers);
+            }
+        }
+
+        int count = 0;
+        for (ExpressionHelperBase helper : helpers) {
+            count += helper.countDeadListeners();
+        }
+        return count;
+    }
+
+    private static void pollQueue() {
+        ListenerReference<?> reference;
+        while ((reference = (ListenerReference<?>)queue.poll()) != null) {
+            if (reference.hasRegistrations()) {
+                pending.add(reference);
+            }
+        }
+    }
+
+    private static final class Accessor<L> {
+        final Class<L> type;
+        final Function<L, WeakReference<?>> function;
+
+        Accessor(Class<L> type, Function<L, WeakReference<?>> function) {
+            this.type = type;
+            this.function = function;
+        }
+
+        WeakReference<?> getReference(Object listener) {
+            return function.apply(type.cast(listener));
+        }
+    }
+
+    private static final class ListenerReference<T> extends WeakReference<T> {
+
+        // the helpers that hold the weak listener and the threads that registered
+        // them; guarded by this reference
+        private volatile Registration[] registrations;
+
+        ListenerReference(T listener) {
+            super(listener, queue);
+        }
+
+        synchronized void register(ExpressionHelperBase helper) {
+            final Thread thread = Thread.currentThread();
+            if (registrations == null) {
+                registrations = new Registration[] {new Registration(helper, thread)};
+                return;
+            }
+
+            Registration[] curRegistrations = registrations;
+            int size = 0;
+            for (Registration registration : curRegistrations) {
+                ExpressionHelperBase registered = registration.get();
+                if (registered == helper) {
+                    return;
+                }
+                if (registered != null) {
+                    curRegistrations[size++] = registration;
+                }
+            }
+
+            curRegistrations = Arrays.copyOf(curRegistrations, size + 1);
+            curRegistrations[size] = new Registration(helper, thread);
+            registrations = curRegistrations;
+        }
+
+        boolean hasRegistrations() {
+            return registrations != null;
+        }
+
+        void collectHelpers(Observable observable, Set<ExpressionHelperBase> helpers) {
+            final Registration[] curRegistrations = registrations;
+            if (curRegistrations == null) {
+                return;
+            }
+
+            for (Registration registration : curRegistrations) {
+                ExpressionHelperBase helper = registration.get();
+                if (helper != null && helper.getObservable() == observable) {
+                    helpers.add(helper);
+                }
+            }
+        }
+
+        /*
+         * Trims the helpers that were registered on the current thread. Returns false
+         * if a helper could not be trimmed, because it is notifying its listeners.
+         * Helpers of other threads are left to the lazy trimming of the helper.
+         */
+        boolean purge() {
+            final Registration[] curRegistrations;
+            synchronized (this) {
+                curRegistrations = registrations;
+            }
+
+            final Thread thread = Thread.currentThread();
+            List<Registration> remaining = null;
+            for (Registration registration : curRegistrations) {
+                ExpressionHelperBase helper = registration.get();
+                if (helper != null && registration.thread == thread && !helper.purgeDeadListeners()) {
+                    if (remaining == null) {
+                        remaining = new ArrayList<>();
+                    }
+                    remaining.add(registration);
+                }
+            }
+
+            synchronized (this) {
+                registrations = remaining != null ? remaining.toArray(new Registration[0]) : null;
+            }
+
+            return remaining == null;
+        }
+    }
+
+    private static final class Registration extends WeakReference<ExpressionHelperBase> {
+        final Thread thread;
+
+        Registration(ExpressionHelperBase helper, Thread thread) {
+            super(helper);
+            this.thread = thread;
+        }
+    }
+
+}
@@ -26,9 +26,11 @@
 package com.sun.javafx.collections;
 
 import com.sun.javafx.binding.ExpressionHelperBase;
+import com.sun.javafx.binding.WeakListenerCleaner;
 import javafx.beans.InvalidationListener;
 import javafx.collections.ListChangeListener;
 import com.sun.javafx.logging.PlatformLogger;
+import com.sun.javafx.logging.PulseLogger;
 
 import java.util.Arrays;
 
@@ -69,8 +71,12 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
 
     public static <E> void fireValueChangedEvent(ListListenerHelper<E> helper, ListChangeListener.Change<? extends E> change) {
         if (helper != null) {
+            final long start = PulseLogger.INSTRUMENTATION_ENABLED ? System.nanoTime() : 0;
             change.reset();
             helper.fireValueChangedEvent(change);
+            if (PulseLogger.INSTRUMENTATION_ENABLED) {
+                PulseLogger.listChanged(change.getList(), helper.getListenerCount(), start);
+            }
         }
     }
 
@@ -175,15 +181,20 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private boolean locked;
+        private Object observable; // the source of the last change, only used for diagnostics
 
         private Generic(InvalidationListener listener0, InvalidationListener listener1) {
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
+            WeakListenerCleaner.register(listener0, this);
+            WeakListenerCleaner.register(listener1, this);
         }
 
         private Generic(ListChangeListener<? super E> listener0, ListChangeListener<? super E> listener1) {
             this.changeListeners = new ListChangeListener[] {listener0, listener1};
             this.changeSize = 2;
+            WeakListenerCleaner.register(listener0, this);
+            WeakListenerCleaner.register(listener1, this);
         }
 
         private Generic(InvalidationListener invalidationListener, ListChangeListener<? super E> changeListener) {
@@ -191,6 +202,8 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
             this.invalidationSize = 1;
             this.changeListeners = new ListChangeListener[] {changeListener};
             this.changeSize = 1;
+            WeakListenerCleaner.register(invalidationListener, this);
+            WeakListenerCleaner.register(changeListener, this);
         }
 
         @Override
@@ -212,6 +225,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
                 }
                 invalidationListeners[invalidationSize++] = listener;
             }
+            WeakListenerCleaner.register(listener, this);
             return this;
         }
 
@@ -269,6 +283,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
                 }
                 changeListeners[changeSize++] = listener;
             }
+            WeakListenerCleaner.register(listener, this);
             return this;
         }
 
@@ -307,6 +322,36 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
             return this;
         }
 
+        @Override
+        protected boolean purgeDeadListeners() {
+            if (locked) {
+                return false;
+            }
+            if (invalidationListeners != null) {
+                invalidationSize = trim(invalidationSize, invalidationListeners);
+            }
+            if (changeListeners != null) {
+                changeSize = trim(changeSize, changeListeners);
+            }
+            return true;
+        }
+
+        @Override
+        protected int countDeadListeners() {
+            return countDeadListeners(invalidationSize, invalidationListeners)
+                    + countDeadListeners(changeSize, changeListeners);
+        }
+
+        @Override
+        protected int getListenerCount() {
+            return invalidationSize + changeSize;
+        }
+
+        @Override
+        protected Object getObservable() {
+            return observable;
+        }
+
         @Override
         protected void fireValueChangedEvent(ListChangeListener.Change<? extends E> change) {
             final InvalidationListener[] curInvalidationList = invalidationListeners;
@@ -314,6 +359,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
             final ListChangeListener<? super E>[] curChangeList = changeListeners;
             final int curChangeSize = changeSize;
 
+            observable = change.getList();
             try {
                 locked = true;
                 for (int i = 0; i < curInvalidationSize; i++) {
@@ -26,6 +26,7 @@
 package com.sun.javafx.collections;
 
 import com.sun.javafx.binding.ExpressionHelperBase;
+import com.sun.javafx.binding.WeakListenerCleaner;
 import javafx.beans.InvalidationListener;
 import javafx.collections.SetChangeListener;
 import com.sun.javafx.logging.PlatformLogger;
@@ -174,15 +175,20 @@ public abstract class SetListenerHelper<E> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private boolean locked;
+        private Object observable; // the source of the last change, only used for diagnostics
 
         private Generic(InvalidationListener listener0, InvalidationListener listener1) {
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
+            WeakListenerCleaner.register(listener0, this);
+            WeakListenerCleaner.register(listener1, this);
         }
 
         private Generic(SetChangeListener<? super E> listener0, SetChangeListener<? super E> listener1) {
             this.changeListeners = new SetChangeListener[] {listener0, listener1};
             this.changeSize = 2;
+            WeakListenerCleaner.register(listener0, this);
+            WeakListenerCleaner.register(listener1, this);
         }
 
         private Generic(InvalidationListener invalidationListener, SetChangeListener<? super E> changeListener) {
@@ -190,6 +196,8 @@ public abstract class SetListenerHelper<E> extends ExpressionHelperBase {
             this.invalidationSize = 1;
             this.changeListeners = new SetChangeListener[] {changeListener};
             this.changeSize = 1;
+            WeakListenerCleaner.register(invalidationListener, this);
+            WeakListenerCleaner.register(changeListener, this);
         }
 
         @Override
@@ -211,6 +219,7 @@ public abstract class SetListenerHelper<E> extends ExpressionHelperBase {
                 }
                 invalidationListeners[invalidationSize++] = listener;
             }
+            WeakListenerCleaner.register(listener, this);
             return this;
         }
 
@@ -268,6 +277,7 @@ public abstract class SetListenerHelper<E> extends ExpressionHelperBase {
                 }
                 changeListeners[changeSize++] = listener;
             }
+            WeakListenerCleaner.register(listener, this);
             return this;
         }
 
@@ -306,6 +316,31 @@ public abstract class SetListenerHelper<E> extends ExpressionHelperBase {
             return this;
         }
 
+        @Override
+        protected boolean purgeDeadListeners() {
+            if (locked) {
+                return false;
+            }
+            if (invalidationListeners != null) {
+                invalidationSize = trim(invalidationSize, invalidationListeners);
+            }
+            if (changeListeners != null) {
+                changeSize = trim(changeSize, changeListeners);
+            }
+            return true;
+        }
+
+        @Override
+        protected int countDeadListeners() {
+            return countDeadListeners(invalidationSize, invalidationListeners)
+                    + countDeadListeners(changeSize, changeListeners);
+        }
+
+        @Override
+        protected Object getObservable() {
+            return observable;
+        }
+
         @Override
         protected void fireValueChangedEvent(SetChangeListener.Change<? extends E> change) {
             final InvalidationListener[] curInvalidationList = invalidationListeners;
@@ -313,6 +348,7 @@ public abstract class SetListenerHelper<E> extends ExpressionHelperBase {
             final SetChangeListener<? super E>[] curChangeList = changeListeners;
             final int curChangeSize = changeSize;
 
+            observable = change.getSet();
             try {
                 locked = true;
                 for (int i = 0; i < curInvalidationSize; i++) {
@@ -37,4 +37,26 @@ public class Logger {
     public void incrementCounter(String counter) {}
     public void newPhase(String name) {}
     public void newInput(String name) {}
+
+    /*
+     * Fine-grained instrumentation, only called if PulseLogger.INSTRUMENTATION_ENABLED is true.
+     * The durations are in nanoseconds.
+     */
+    public void bindingComputed(Object binding, long duration) {}
+    public void listenersNotified(Object observable, int listenerCount, long duration) {}
+    public void listChanged(Object list, int listenerCount, long duration) {}
+    public void nodeProcessed(String phase, Object node, long duration) {}
+
+    /*
+     * Only called if PulseLogger.SUBTREE_LOGGING_ENABLED is true, for subtrees that took
+     * at least PulseLogger.SUBTREE_THRESHOLD nanoseconds.
+     */
+    public void subtreeProcessed(String phase, String nodeClass, String styleClass, String id, int subtreeSize, long duration) {}
+
+    /*
+     * Render thread statistics, only collected if at least one logger wants them.
+     */
+    public boolean isRenderStatisticsEnabled() { return false; }
+    public void renderStatistics(RenderStatistics statistics) {}
+    public void texturePoolStatistics(String pool, int allocations, int evictions, long used, long target, long max) {}
 }
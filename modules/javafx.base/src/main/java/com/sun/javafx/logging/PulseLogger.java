@@ -31,10 +31,33 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class PulseLogger {
     public static final boolean PULSE_LOGGING_ENABLED;
 
+    /**
+     * Whether bindings, listener helpers and nodes report their work to the loggers. This is
+     * opt-in with the system property javafx.pulseLogger.instrumentation, because the checks
+     * are on very hot paths. The reported work is recorded by the JFR logger only.
+     */
+    public static final boolean INSTRUMENTATION_ENABLED;
+
+    /**
+     * The minimum time in nanoseconds that the CSS, layout or synchronization of a subtree
+     * must take to be reported. This is set with the system property
+     * javafx.pulseLogger.subtreeThreshold in microseconds, and subtrees are not measured
+     * at all if it is not set.
+     */
+    public static final long SUBTREE_THRESHOLD;
+    public static final boolean SUBTREE_LOGGING_ENABLED;
+
+    /**
+     * The counters of the frame that is being rendered. They must only be updated
+     * on the render thread, and only if {@code RENDER_STATISTICS.enabled} is true.
+     */
+    public static final RenderStatistics RENDER_STATISTICS = new RenderStatistics();
+
     private static final String [] DEFAULT_LOGGERS = {"com.sun.javafx.logging.PrintLogger", "com.sun.javafx.logging.jfr.JFRPulseLogger"};
     private static final Logger[] loggers;
 
@@ -48,6 +71,9 @@ public class PulseLogger {
         }
         loggers = list.toArray(new Logger[list.size()]);
         PULSE_LOGGING_ENABLED = loggers.length > 0;
+        INSTRUMENTATION_ENABLED = PULSE_LOGGING_ENABLED && isInstrumentationRequested();
+        SUBTREE_THRESHOLD = TimeUnit.MICROSECONDS.toNanos(getSubtreeThreshold());
+        SUBTREE_LOGGING_ENABLED = PULSE_LOGGING_ENABLED && SUBTREE_THRESHOLD > 0;
     }
 
     public static void pulseStart() {
@@ -63,12 +89,21 @@ public class PulseLogger {
     }
 
     public static void renderStart() {
+        boolean statisticsEnabled = false;
         for (Logger logger: loggers) {
             logger.renderStart();
+            statisticsEnabled |= logger.isRenderStatisticsEnabled();
         }
+        RENDER_STATISTICS.enabled = statisticsEnabled;
     }
 
     public static void renderEnd() {
+        if (RENDER_STATISTICS.enabled) {
+            for (Logger logger: loggers) {
+                logger.renderStatistics(RENDER_STATISTICS);
+            }
+            RENDER_STATISTICS.reset();
+        }
         for (Logger logger: loggers) {
             logger.renderEnd();
         }
@@ -98,6 +133,94 @@ public class PulseLogger {
         }
     }
 
+    /**
+     * Reports that a binding has recomputed its value.
+     *
+     * @param binding the binding
+     * @param start the value of {@link System#nanoTime()} before the computation
+     */
+    public static void bindingComputed(Object binding, long start) {
+        long duration = System.nanoTime() - start;
+        for (Logger logger: loggers) {
+            logger.bindingComputed(binding, duration);
+        }
+    }
+
+    /**
+     * Reports that the listeners of an observable value have been notified.
+     *
+     * @param observable the observable value
+     * @param listenerCount the number of listeners
+     * @param start the value of {@link System#nanoTime()} before the notification
+     */
+    public static void listenersNotified(Object observable, int listenerCount, long start) {
+        long duration = System.nanoTime() - start;
+        for (Logger logger: loggers) {
+            logger.listenersNotified(observable, listenerCount, duration);
+        }
+    }
+
+    /**
+     * Reports that the listeners of an observable list have been notified of a change.
+     *
+     * @param list the observable list
+     * @param listenerCount the number of listeners
+     * @param start the value of {@link System#nanoTime()} before the notification
+     */
+    public static void listChanged(Object list, int listenerCount, long start) {
+        long duration = System.nanoTime() - start;
+        for (Logger logger: loggers) {
+            logger.listChanged(list, listenerCount, duration);
+        }
+    }
+
+    /**
+     * Reports that a node has been processed in a phase of the pulse, such as "CSS" or "Layout".
+     *
+     * @param phase the phase
+     * @param node the node
+     * @param start the value of {@link System#nanoTime()} before the processing
+     */
+    public static void nodeProcessed(String phase, Object node, long start) {
+        long duration = System.nanoTime() - start;
+        for (Logger logger: loggers) {
+            logger.nodeProcessed(phase, node, duration);
+        }
+    }
+
+    /**
+     * Reports a subtree whose processing took at least {@link #SUBTREE_THRESHOLD}.
+     *
+     * @param phase the phase, such as "CSS", "Layout" or "Synchronization"
+     * @param nodeClass the class of the root of the subtree
+     * @param styleClass the style classes of the root of the subtree
+     * @param id the id of the root of the subtree, or null
+     * @param subtreeSize the number of nodes in the subtree
+     * @param duration the duration in nanoseconds
+     */
+    public static void subtreeProcessed(String phase, String nodeClass, String styleClass, String id, int subtreeSize, long duration) {
+        for (Logger logger: loggers) {
+            logger.subtreeProcessed(phase, nodeClass, styleClass, id, subtreeSize, duration);
+        }
+    }
+
+    /**
+     * Reports the activity of a texture pool since the last report. This is called
+     * at the end of a frame if {@code RENDER_STATISTICS.enabled} is true.
+     *
+     * @param pool the name of the pool
+     * @param allocations the number of textures that were allocated
+     * @param evictions the number of textures that were evicted to make room for others
+     * @param used the number of bytes in use
+     * @param target the number of bytes the pool tries to stay below
+     * @param max the maximum number of bytes of the pool
+     */
+    public static void texturePoolStatistics(String pool, int allocations, int evictions, long used, long target, long max) {
+        for (Logger logger: loggers) {
+            logger.texturePoolStatistics(pool, allocations, evictions, used, target, max);
+        }
+    }
+
     /**
      * @return true if the user requested pulse logging by setting the system
      *         property javafx.pulseLogger to true, false otherwise.
@@ -107,6 +230,16 @@ public class PulseLogger {
         return AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.pulseLogger"));
     }
 
+    @SuppressWarnings("removal")
+    private static boolean isInstrumentationRequested() {
+        return AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.pulseLogger.instrumentation"));
+    }
+
+    @SuppressWarnings("removal")
+    private static int getSubtreeThreshold() {
+        return AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.pulseLogger.subtreeThreshold", 0));
+    }
+
     // Loading known loggers reflectively, in case an expected module isn't available
     private static Logger loadLogger(String className) {
         try {
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.logging;
+
+/**
+ * Counters of the work done by the render thread for one frame. The render code
+ * only updates the counters while {@link #enabled} is true, which is decided by
+ * the loggers at the start of each frame. They are reported to the loggers and
+ * reset when the frame ends.
+ */
+public final class RenderStatistics {
+
+    public boolean enabled;
+
+    public int drawCalls;
+    public int stateChanges;
+    public int textureUploads;
+    public int glyphCacheMisses;
+    public int glyphCacheFlushes;
+    public int dirtyRegions;
+
+    /**
+     * The area of the dirty regions in pixels, or the area of the scene if
+     * it was rendered entirely.
+     */
+    public long dirtyArea;
+
+    /**
+     * The sum of the device space areas of the nodes that painted something.
+     * A node that is painted with a blend mode, opacity, cache, clip or effect
+     * is counted once, together with its descendants. This is an approximation
+     * that is used to estimate the overdraw.
+     */
+    public long paintedArea;
+
+    RenderStatistics() {
+    }
+
+    void reset() {
+        drawCalls = 0;
+        stateChanges = 0;
+        textureUploads = 0;
+        glyphCacheMisses = 0;
+        glyphCacheFlushes = 0;
+        dirtyRegions = 0;
+        dirtyArea = 0;
+        paintedArea = 0;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.logging.jfr;
+
+import javafx.beans.property.ReadOnlyProperty;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Aggregates the fine-grained work that is reported on the FX thread, and commits
+ * one event per binding, observable, list and node class when the pulse ends.
+ * Committing an event for every recomputation or notification would flood the
+ * recording, and would not show which objects are hot without post-processing.
+ */
+final class JFRInstrumentation {
+
+    /**
+     * The maximum number of entries of a map. If the FX thread does a lot of work
+     * without a pulse, the aggregated work is committed early.
+     */
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final class Stats {
+        int count;
+        int listenerCount;
+        long totalTime;
+
+        void add(int listenerCount, long duration) {
+            count++;
+            this.listenerCount = Math.max(this.listenerCount, listenerCount);
+            totalTime += duration;
+        }
+    }
+
+    private final JFRBindingEvent bindingEventType = new JFRBindingEvent();
+    private final JFRListenerEvent listenerEventType = new JFRListenerEvent();
+    private final JFRListChangeEvent listChangeEventType = new JFRListChangeEvent();
+    private final JFRNodeEvent nodeEventType = new JFRNodeEvent();
+
+    private final Map<Object, Stats> bindings = new IdentityHashMap<>();
+    private final Map<Object, Stats> observables = new IdentityHashMap<>();
+    private final Map<Object, Stats> lists = new IdentityHashMap<>();
+    private final Map<String, Map<Class<?>, Stats>> nodes = new HashMap<>();
+
+    void bindingComputed(Object binding, long duration, int pulseId) {
+        if (bindingEventType.isEnabled()) {
+            add(bindings, binding, 0, duration, pulseId);
+        }
+    }
+
+    void listenersNotified(Object observable, int listenerCount, long duration, int pulseId) {
+        if (listenerEventType.isEnabled()) {
+            add(observables, observable, listenerCount, duration, pulseId);
+        }
+    }
+
+    void listChanged(Object list, int listenerCount, long duration, int pulseId) {
+        if (listChangeEventType.isEnabled()) {
+            add(lists, list, listenerCount, duration, pulseId);
+        }
+    }
+
+    void nodeProcessed(String phase, Object node, long duration, int pulseId) {
+        if (nodeEventType.isEnabled()) {
+            add(nodes.computeIfAbsent(phase, p -> new HashMap<>()), node.getClass(), 0, duration, pulseId);
+        }
+    }
+
+    private <K> void add(Map<K, Stats> map, K key, int listenerCount, long duration, int pulseId) {
+        Stats stats = map.get(key);
+        if (stats == null) {
+            if (map.size() >= MAX_ENTRIES) {
+                commit(pulseId);
+            }
+            stats = new Stats();
+            map.put(key, stats);
+        }
+        stats.add(listenerCount, duration);
+    }
+
+    /**
+     * Commits the aggregated work, and starts a new aggregation.
+     *
+     * @param pulseId the pulse the work belongs to, or 0 if it was done between pulses
+     */
+    void commit(int pulseId) {
+        for (Map.Entry<Object, Stats> entry : bindings.entrySet()) {
+            JFRBindingEvent event = new JFRBindingEvent();
+            event.setPulseId(pulseId);
+            event.setBinding(describe(entry.getKey()));
+            event.setCount(entry.getValue().count);
+            event.setTotalTime(entry.getValue().totalTime);
+            event.commit();
+        }
+        for (Map.Entry<Object, Stats> entry : observables.entrySet()) {
+            JFRListenerEvent event = new JFRListenerEvent();
+            event.setPulseId(pulseId);
+            event.setObservable(describe(entry.getKey()));
+            event.setListenerCount(entry.getValue().listenerCount);
+            event.setCount(entry.getValue().count);
+            event.setTotalTime(entry.getValue().totalTime);
+            event.commit();
+        }
+        for (Map.Entry<Object, Stats> entry : lists.entrySet()) {
+            JFRListChangeEvent event = new JFRListChangeEvent();
+            event.setPulseId(pulseId);
+            event.setList(describe(entry.getKey()));
+            event.setListenerCount(entry.getValue().listenerCount);
+            event.setCount(entry.getValue().count);
+            event.setTotalTime(entry.getValue().totalTime);
+            event.commit();
+        }
+        for (Map.Entry<String, Map<Class<?>, Stats>> phase : nodes.entrySet()) {
+            for (Map.Entry<Class<?>, Stats> entry : phase.getValue().entrySet()) {
+                JFRNodeEvent event = new JFRNodeEvent();
+                event.setPulseId(pulseId);
+                event.setPhase(phase.getKey());
+                event.setNodeClass(entry.getKey().getName());
+                event.setCount(entry.getValue().count);
+                event.setTotalTime(entry.getValue().totalTime);
+                event.commit();
+            }
+        }
+        bindings.clear();
+        observables.clear();
+        lists.clear();
+        nodes.clear();
+    }
+
+    /*
+     * Properties are described by their bean and name, which is what a user can look
+     * up in the code. Other objects are described by their class and identity.
+     */
+    private static String describe(Object object) {
+        if (object instanceof ReadOnlyProperty) {
+            ReadOnlyProperty<?> property = (ReadOnlyProperty<?>)object;
+            Object bean = property.getBean();
+            String name = property.getName();
+            if (bean != null && name != null && !name.isEmpty()) {
+                return bean.getClass().getName() + "." + name;
+            }
+        }
+        return object.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(object));
+    }
+}
@@ -26,12 +26,17 @@ package com.sun.javafx.logging.jfr;
 
 import com.sun.javafx.logging.Logger;
 import com.sun.javafx.logging.PulseLogger;
+import com.sun.javafx.logging.RenderStatistics;
 
 import jdk.jfr.FlightRecorder;
 
 public final class JFRPulseLogger extends Logger {
     private final ThreadLocal<JFRPulsePhaseEvent> currentPulsePhaseEvent;
     private final ThreadLocal<JFRInputEvent> currentInputEvent;
+    private final JFRInstrumentation instrumentation = new JFRInstrumentation();
+    private final JFRSubtreeEvent subtreeEventType = new JFRSubtreeEvent();
+    private final JFRRenderFrameEvent renderFrameEventType = new JFRRenderFrameEvent();
+    private final JFRTexturePoolEvent texturePoolEventType = new JFRTexturePoolEvent();
 
     private int pulseNumber;
     private int fxPulseNumber;
@@ -48,6 +53,13 @@ public final class JFRPulseLogger extends Logger {
     private JFRPulseLogger() {
         FlightRecorder.register(JFRInputEvent.class);
         FlightRecorder.register(JFRPulsePhaseEvent.class);
+        FlightRecorder.register(JFRBindingEvent.class);
+        FlightRecorder.register(JFRListenerEvent.class);
+        FlightRecorder.register(JFRListChangeEvent.class);
+        FlightRecorder.register(JFRNodeEvent.class);
+        FlightRecorder.register(JFRSubtreeEvent.class);
+        FlightRecorder.register(JFRRenderFrameEvent.class);
+        FlightRecorder.register(JFRTexturePoolEvent.class);
         currentPulsePhaseEvent = new ThreadLocal<JFRPulsePhaseEvent>() {
             @Override
             public JFRPulsePhaseEvent initialValue() {
@@ -64,6 +76,9 @@ public final class JFRPulseLogger extends Logger {
 
     @Override
     public void pulseStart() {
+        if (fxThread != null) {
+            instrumentation.commit(0);
+        }
         ++pulseNumber;
         fxPulseNumber = pulseNumber;
         if (fxThread == null) {
@@ -75,6 +90,7 @@ public final class JFRPulseLogger extends Logger {
     @Override
     public void pulseEnd() {
         newPhase(null);
+        instrumentation.commit(fxPulseNumber);
         fxPulseNumber = 0;
     }
 
@@ -148,4 +164,91 @@ public final class JFRPulseLogger extends Logger {
         event.setInput(input);
         currentInputEvent.set(event);
     }
+
+    @Override
+    public void bindingComputed(Object binding, long duration) {
+        if (Thread.currentThread() == fxThread) {
+            instrumentation.bindingComputed(binding, duration, fxPulseNumber);
+        }
+    }
+
+    @Override
+    public void listenersNotified(Object observable, int listenerCount, long duration) {
+        if (Thread.currentThread() == fxThread) {
+            instrumentation.listenersNotified(observable, listenerCount, duration, fxPulseNumber);
+        }
+    }
+
+    @Override
+    public void listChanged(Object list, int listenerCount, long duration) {
+        if (Thread.currentThread() == fxThread) {
+            instrumentation.listChanged(list, listenerCount, duration, fxPulseNumber);
+        }
+    }
+
+    @Override
+    public void nodeProcessed(String phase, Object node, long duration) {
+        if (Thread.currentThread() == fxThread) {
+            instrumentation.nodeProcessed(phase, node, duration, fxPulseNumber);
+        }
+    }
+
+    @Override
+    public void subtreeProcessed(String phase, String nodeClass, String styleClass, String id, int subtreeSize, long duration) {
+        if (!subtreeEventType.isEnabled()) {
+            return;
+        }
+
+        JFRSubtreeEvent event = new JFRSubtreeEvent();
+        event.setPulseId(Thread.currentThread() == fxThread ? fxPulseNumber : 0);
+        event.setPhase(phase);
+        event.setNodeClass(nodeClass);
+        event.setStyleClass(styleClass);
+        event.setId(id);
+        event.setSubtreeSize(subtreeSize);
+        event.setProcessingTime(duration);
+        event.commit();
+    }
+
+    @Override
+    public boolean isRenderStatisticsEnabled() {
+        return renderFrameEventType.isEnabled() || texturePoolEventType.isEnabled();
+    }
+
+    @Override
+    public void renderStatistics(RenderStatistics statistics) {
+        if (!renderFrameEventType.isEnabled()) {
+            return;
+        }
+
+        JFRRenderFrameEvent event = new JFRRenderFrameEvent();
+        event.setPulseId(renderPulseNumber);
+        event.setDrawCalls(statistics.drawCalls);
+        event.setStateChanges(statistics.stateChanges);
+        event.setTextureUploads(statistics.textureUploads);
+        event.setGlyphCacheMisses(statistics.glyphCacheMisses);
+        event.setGlyphCacheFlushes(statistics.glyphCacheFlushes);
+        event.setDirtyRegions(statistics.dirtyRegions);
+        event.setDirtyArea(statistics.dirtyArea);
+        event.setPaintedArea(statistics.paintedArea);
+        event.setOverdraw(statistics.dirtyArea > 0 ? (float)statistics.paintedArea / statistics.dirtyArea : 0);
+        event.commit();
+    }
+
+    @Override
+    public void texturePoolStatistics(String pool, int allocations, int evictions, long used, long target, long max) {
+        if (!texturePoolEventType.isEnabled()) {
+            return;
+        }
+
+        JFRTexturePoolEvent event = new JFRTexturePoolEvent();
+        event.setPulseId(renderPulseNumber);
+        event.setPool(pool);
+        event.setAllocations(allocations);
+        event.setEvictions(evictions);
+        event.setUsed(used);
+        event.setTarget(target);
+        event.setMax(max);
+        event.commit();
+    }
 }
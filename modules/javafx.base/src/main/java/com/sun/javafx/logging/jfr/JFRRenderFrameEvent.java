@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.javafx.logging.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("javafx.RenderFrame")
+@Label("JavaFX Render Frame")
+@Category("JavaFX")
+@Description("Work done by the render thread for a pulse")
+@StackTrace(false)
+@Enabled(false)
+public final class JFRRenderFrameEvent extends Event {
+    @PulseId
+    @Label("Pulse Id")
+    private int pulseId;
+
+    @Label("Draw Calls")
+    private int drawCalls;
+
+    @Label("State Changes")
+    @Description("Changes of shader, transform, clip, composite mode, texture or render target")
+    private int stateChanges;
+
+    @Label("Texture Uploads")
+    private int textureUploads;
+
+    @Label("Glyph Cache Misses")
+    private int glyphCacheMisses;
+
+    @Label("Glyph Cache Flushes")
+    private int glyphCacheFlushes;
+
+    @Label("Dirty Regions")
+    @Description("Number of dirty regions, or 0 if the scenes were rendered entirely")
+    private int dirtyRegions;
+
+    @Label("Dirty Area")
+    @Description("Area of the dirty regions in pixels")
+    private long dirtyArea;
+
+    @Label("Painted Area")
+    @Description("Sum of the areas of the painted nodes in pixels")
+    private long paintedArea;
+
+    @Label("Overdraw")
+    @Description("Painted area divided by dirty area")
+    private float overdraw;
+
+    public int getPulseId() {
+        return pulseId;
+    }
+
+    public void setPulseId(int pulseId) {
+        this.pulseId = pulseId;
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    public void setDrawCalls(int drawCalls) {
+        this.drawCalls = drawCalls;
+    }
+
+    public int getStateChanges() {
+        return stateChanges;
+    }
+
+    public void setStateChanges(int stateChanges) {
+        this.stateChanges = stateChanges;
+    }
+
+    public int getTextureUploads() {
+        return textureUploads;
+    }
+
+    public void setTextureUploads(int textureUploads) {
+        this.textureUploads = textureUploads;
+    }
+
+    public int getGlyphCacheMisses() {
+        return glyphCacheMisses;
+    }
+
+    public void setGlyphCacheMisses(int glyphCacheMisses) {
+        this.glyphCacheMisses = glyphCacheMisses;
+    }
+
+    public int getGlyphCacheFlushes() {
+        return glyphCacheFlushes;
+    }
+
+    public void setGlyphCacheFlushes(int glyphCacheFlushes) {
+        this.glyphCacheFlushes = glyphCacheFlushes;
+    }
+
+    public int getDirtyRegions() {
+        return dirtyRegions;
+    }
+
+    public void setDirtyRegions(int dirtyRegions) {
+        this.dirtyRegions = dirtyRegions;
+    }
+
+    public long getDirtyArea() {
+        return dirtyArea;
+    }
+
+    public void setDirtyArea(long dirtyArea) {
+        this.dirtyArea = dirtyArea;
+    }
+
+    public long getPaintedArea() {
+        return paintedArea;
+    }
+
+    public void setPaintedArea(long paintedArea) {
+        this.paintedArea = paintedArea;
+    }
+
+    public float getOverdraw() {
+        return overdraw;
+    }
+
+    public void setOverdraw(float overdraw) {
+        this.overdraw = overdraw;
+    }
+}
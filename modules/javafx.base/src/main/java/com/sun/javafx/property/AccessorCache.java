@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.property;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A shared per-class cache of the reflected accessors of bean properties, for
+ * example the members that are resolved by {@link PropertyReference} or the
+ * descriptors of the JavaBean property adapters. Looking up accessors by
+ * reflection is expensive, while bindings like {@code Bindings.select} resolve
+ * them again every time a step in the chain changes.
+ * <p>
+ * The entries of a class are stored in a {@link ClassValue}, so they do not
+ * prevent the class from being unloaded. The methods that are cached are
+ * invoked through {@link MethodHelper}, which caches their method handles.
+ */
+public final class AccessorCache {
+
+    private static final ClassValue<Map<Object, Object>> accessors = new ClassValue<>() {
+        @Override
+        protected Map<Object, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private AccessorCache() {
+    }
+
+    /**
+     * Returns the cached accessor of the specified class, or {@code null}.
+     *
+     * @param type the class that declares the accessor
+     * @param key the key of the accessor, which must implement {@code equals} and {@code hashCode}
+     * @return the accessor or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Class<?> type, Object key) {
+        return (T)accessors.get(type).get(key);
+    }
+
+    /**
+     * Adds an accessor to the cache, unless an accessor is already cached for the key.
+     *
+     * @param type the class that declares the accessor
+     * @param key the key of the accessor, which must implement {@code equals} and {@code hashCode}
+     * @param accessor the accessor
+     * @return the accessor that is cached for the key
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T putIfAbsent(Class<?> type, Object key, T accessor) {
+        Object existing = accessors.get(type).putIfAbsent(key, accessor);
+        return existing != null ? (T)existing : accessor;
+    }
+
+}
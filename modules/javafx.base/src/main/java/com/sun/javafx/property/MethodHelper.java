@@ -25,6 +25,7 @@
 
 package com.sun.javafx.property;
 
+import com.sun.javafx.reflect.MethodHandleInvoker;
 import com.sun.javafx.reflect.MethodUtil;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -46,6 +47,14 @@ public class MethodHelper {
     public static Object invoke(Method m, Object obj, Object[] params)
             throws InvocationTargetException, IllegalAccessException {
 
+        // Public methods of public classes in unconditionally exported packages
+        // are invoked by a cached method handle, which is considerably faster
+        // than reflective invocation through the trampoline
+        MethodHandleInvoker invoker = MethodHandleInvoker.get(m);
+        if (invoker != null && invoker.accepts(obj, params)) {
+            return invoker.invoke(obj, params);
+        }
+
         // Check that the class in question is in a package that is open to
         // this module (or exported unconditionally). If so, then we will open
         // the containing package to the unnamed trampoline module. If not,
@@ -27,6 +27,7 @@ package com.sun.javafx.property;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.List;
 
 import javafx.beans.property.ReadOnlyProperty;
 
@@ -129,6 +130,28 @@ public final class PropertyReference<T> {
         return type;
     }
 
+    /**
+     * Returns the getter of the property, or null if the property is not
+     * readable.
+     *
+     * @return the getter of the property
+     */
+    public Method getGetter() {
+        reflect();
+        return getter;
+    }
+
+    /**
+     * Returns the method that returns the {@link javafx.beans.value.ObservableValue}
+     * of the property, or null if the property does not provide one.
+     *
+     * @return the property getter of the property
+     */
+    public Method getPropertyGetter() {
+        reflect();
+        return propertyGetter;
+    }
+
     /**
      * Set the property to a new value.
      *
@@ -210,6 +233,30 @@ public final class PropertyReference<T> {
         // on this property before
         if (!reflected) {
             reflected = true;
+            // The members are shared by all references to the same property,
+            // since they are created again whenever the class of a bean changes
+            final Object key = List.of(PropertyReference.class, name);
+            Members members = AccessorCache.get(clazz, key);
+            if (members == null) {
+                members = AccessorCache.putIfAbsent(clazz, key, new Members(clazz, name));
+            }
+            getter = members.getter;
+            setter = members.setter;
+            propertyGetter = members.propertyGetter;
+            type = members.type;
+        }
+    }
+
+    /**
+     * The reflected members of a property.
+     */
+    private static final class Members {
+        private Method getter;
+        private Method setter;
+        private Method propertyGetter;
+        private Class<?> type;
+
+        private Members(Class<?> clazz, String name) {
             try {
                 // Since we use it in several places, construct the
                 // first-letter-capitalized version of name
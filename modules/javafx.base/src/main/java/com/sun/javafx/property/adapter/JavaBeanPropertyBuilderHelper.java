@@ -26,6 +26,8 @@
 package com.sun.javafx.property.adapter;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import com.sun.javafx.property.AccessorCache;
 import com.sun.javafx.reflect.ReflectUtil;
 
 /**
@@ -112,29 +114,34 @@ public class JavaBeanPropertyBuilderHelper {
             if (propertyName.isEmpty()) {
                 throw new IllegalArgumentException("Property name cannot be empty");
             }
-            final String capitalizedName = ReadOnlyPropertyDescriptor.capitalizedName(propertyName);
-            Method getterMethod = getter;
-            if (getterMethod == null) {
-                if ((getterName != null) && !getterName.isEmpty()) {
-                    getterMethod = beanClass.getMethod(getterName);
-                } else {
-                    try {
-                        getterMethod = beanClass.getMethod(IS_PREFIX + capitalizedName);
-                    } catch (NoSuchMethodException e) {
-                        getterMethod = beanClass.getMethod(GET_PREFIX + capitalizedName);
+            final Object key = Arrays.asList(PropertyDescriptor.class, propertyName, getterName, setterName, getter, setter);
+            descriptor = AccessorCache.get(beanClass, key);
+            if (descriptor == null) {
+                final String capitalizedName = ReadOnlyPropertyDescriptor.capitalizedName(propertyName);
+                Method getterMethod = getter;
+                if (getterMethod == null) {
+                    if ((getterName != null) && !getterName.isEmpty()) {
+                        getterMethod = beanClass.getMethod(getterName);
+                    } else {
+                        try {
+                            getterMethod = beanClass.getMethod(IS_PREFIX + capitalizedName);
+                        } catch (NoSuchMethodException e) {
+                            getterMethod = beanClass.getMethod(GET_PREFIX + capitalizedName);
+                        }
                     }
                 }
-            }
-            Method setterMethod = setter;
-            if (setterMethod == null) {
-                final Class<?> type = getterMethod.getReturnType();
-                if ((setterName != null) && !setterName.isEmpty()) {
-                    setterMethod = beanClass.getMethod(setterName, type);
-                } else {
-                    setterMethod = beanClass.getMethod(SET_PREFIX + capitalizedName, type);
+                Method setterMethod = setter;
+                if (setterMethod == null) {
+                    final Class<?> type = getterMethod.getReturnType();
+                    if ((setterName != null) && !setterName.isEmpty()) {
+                        setterMethod = beanClass.getMethod(setterName, type);
+                    } else {
+                        setterMethod = beanClass.getMethod(SET_PREFIX + capitalizedName, type);
+                    }
                 }
+                descriptor = AccessorCache.putIfAbsent(beanClass, key,
+                        new PropertyDescriptor(propertyName, beanClass, getterMethod, setterMethod));
             }
-            descriptor = new PropertyDescriptor(propertyName, beanClass, getterMethod, setterMethod);
         }
         return descriptor;
     }
@@ -26,6 +26,8 @@
 package com.sun.javafx.property.adapter;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import com.sun.javafx.property.AccessorCache;
 import com.sun.javafx.reflect.ReflectUtil;
 
 /**
@@ -95,19 +97,24 @@ public class ReadOnlyJavaBeanPropertyBuilderHelper {
             if (propertyName.isEmpty()) {
                 throw new IllegalArgumentException("Property name cannot be empty");
             }
-            final String capitalizedName = ReadOnlyPropertyDescriptor.capitalizedName(propertyName);
-            if (getter == null) {
-                if ((getterName != null) && !getterName.isEmpty()) {
-                    getter = beanClass.getMethod(getterName);
-                } else {
-                    try {
-                        getter = beanClass.getMethod(IS_PREFIX + capitalizedName);
-                    } catch (NoSuchMethodException e) {
-                        getter = beanClass.getMethod(GET_PREFIX + capitalizedName);
+            final Object key = Arrays.asList(ReadOnlyPropertyDescriptor.class, propertyName, getterName, getter);
+            descriptor = AccessorCache.get(beanClass, key);
+            if (descriptor == null) {
+                final String capitalizedName = ReadOnlyPropertyDescriptor.capitalizedName(propertyName);
+                if (getter == null) {
+                    if ((getterName != null) && !getterName.isEmpty()) {
+                        getter = beanClass.getMethod(getterName);
+                    } else {
+                        try {
+                            getter = beanClass.getMethod(IS_PREFIX + capitalizedName);
+                        } catch (NoSuchMethodException e) {
+                            getter = beanClass.getMethod(GET_PREFIX + capitalizedName);
+                        }
                     }
                 }
+                descriptor = AccessorCache.putIfAbsent(beanClass, key,
+                        new ReadOnlyPropertyDescriptor(propertyName, beanClass, getter));
             }
-            descriptor = new ReadOnlyPropertyDescriptor(propertyName, beanClass, getter);
         }
         return descriptor;
     }
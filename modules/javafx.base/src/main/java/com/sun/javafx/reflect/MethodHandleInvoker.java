@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.javafx.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invokes a public method of a public class in an unconditionally exported
+ * package by a cached method handle, which is considerably faster than
+ * reflective invocation through the trampoline. This is used by the
+ * {@code MethodHelper} classes of javafx.base and javafx.fxml, which fall
+ * back to reflection for all other methods and calls.
+ */
+public final class MethodHandleInvoker {
+
+    /**
+     * Caches the invokers of the methods of a class. Methods that cannot be
+     * invoked by a method handle are mapped to {@link #NO_INVOKER}.
+     */
+    private static final ClassValue<Map<Method, MethodHandleInvoker>> invokers = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandleInvoker> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final MethodHandleInvoker NO_INVOKER = new MethodHandleInvoker(null, null);
+
+    private static final Object[] EMPTY_PARAMS = new Object[0];
+
+    /**
+     * Returns the invoker of a method.
+     *
+     * @param m the method
+     * @return the invoker, or {@code null} if the method cannot be invoked by
+     *         a method handle that is looked up by the public lookup
+     */
+    public static MethodHandleInvoker get(Method m) {
+        Map<Method, MethodHandleInvoker> classInvokers = invokers.get(m.getDeclaringClass());
+        MethodHandleInvoker invoker = classInvokers.get(m);
+        if (invoker == null) {
+            invoker = create(m);
+            classInvokers.put(m, invoker);
+        }
+
+        return invoker != NO_INVOKER ? invoker : null;
+    }
+
+    private static MethodHandleInvoker create(Method m) {
+        @SuppressWarnings("removal")
+        SecurityManager sm = System.getSecurityManager();
+        Class<?> clazz = m.getDeclaringClass();
+        if (sm != null
+                || !Modifier.isPublic(m.getModifiers())
+                || !Modifier.isPublic(clazz.getModifiers())
+                || !clazz.getModule().isExported(clazz.getPackageName())) {
+            return NO_INVOKER;
+        }
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(m).asFixedArity();
+        } catch (IllegalAccessException ex) {
+            // For example, caller-sensitive methods cannot be looked up by the public lookup
+            return NO_INVOKER;
+        }
+
+        int parameterCount = m.getParameterCount();
+        if (Modifier.isStatic(m.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        handle = handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                       .asSpreader(Object[].class, parameterCount);
+
+        return new MethodHandleInvoker(m, handle);
+    }
+
+    private final MethodHandle handle; // of type (Object, Object[])Object
+    private final Class<?> declaringClass; // null for static methods
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] argumentTypes; // primitive types are replaced by their wrapper types
+
+    private MethodHandleInvoker(Method m, MethodHandle handle) {
+        this.handle = handle;
+
+        if (m != null) {
+            declaringClass = Modifier.isStatic(m.getModifiers()) ? null : m.getDeclaringClass();
+            parameterTypes = m.getParameterTypes();
+            argumentTypes = new Class<?>[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                argumentTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+            }
+        } else {
+            declaringClass = null;
+            parameterTypes = null;
+            argumentTypes = null;
+        }
+    }
+
+    /**
+     * Returns whether the arguments can be passed to the method handle without
+     * any conversion. Calls with other arguments are left to reflection, so that
+     * widening conversions and error reporting stay exactly the same.
+     *
+     * @param obj the object the method is invoked on, ignored for static methods
+     * @param params the arguments, may be {@code null} if the method has no parameters
+     * @return {@code true} if {@link #invoke} can be called with these arguments
+     */
+    public boolean accepts(Object obj, Object[] params) {
+        int paramCount = params != null ? params.length : 0;
+        if (paramCount != parameterTypes.length) {
+            return false;
+        }
+
+        if (declaringClass != null && !declaringClass.isInstance(obj)) {
+            return false;
+        }
+
+        for (int i = 0; i < paramCount; i++) {
+            Object param = params[i];
+            if (param == null ? parameterTypes[i].isPrimitive() : !argumentTypes[i].isInstance(param)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Invokes the method. The arguments must be {@linkplain #accepts accepted}
+     * by this invoker.
+     *
+     * @param obj the object the method is invoked on, ignored for static methods
+     * @param params the arguments, may be {@code null} if the method has no parameters
+     * @return the result of the method
+     * @throws InvocationTargetException if the method throws an exception
+     */
+    public Object invoke(Object obj, Object[] params) throws InvocationTargetException {
+        Object[] args = params != null ? params : EMPTY_PARAMS;
+        try {
+            return (Object) handle.invokeExact(obj, args);
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package javafx.beans;
+
+import com.sun.javafx.binding.Transaction;
+
+/**
+ * Utility methods for working with {@link Observable} objects.
+ *
+ * @since JFXcore 18
+ */
+public final class Observables {
+
+    private Observables() {
+    }
+
+    /**
+     * Runs the specified {@code Runnable} as a transaction on the current thread.
+     * <p>
+     * While a transaction is running, the invalidation and change notifications
+     * of observable values are deferred until the outermost transaction ends.
+     * Then, every observable value notifies its listeners at most once, no matter
+     * how often it was changed within the transaction. All invalidations are
+     * propagated through the dependency graph before any {@code ChangeListener}
+     * is notified, so that bindings that depend on several of the changed values
+     * are only recomputed once and never observe an inconsistent intermediate state.
+     * <p>
+     * For example, the following code notifies the listeners of a binding that
+     * depends on both {@code x} and {@code y} only once:
+     * <pre>{@code
+     * Observables.transaction(() -> {
+     *     x.set(10);
+     *     y.set(20);
+     * });
+     * }</pre>
+     * Transactions can be nested; the notifications are delivered when the
+     * outermost transaction ends, even if the {@code Runnable} throws an
+     * exception. Since dependents are only invalidated when the transaction
+     * ends, a binding that is read within a transaction may still return the
+     * value it had before the transaction started. Notifications on other
+     * threads are not affected.
+     * <p>
+     * Only observable values that use the notification support of the JavaFX
+     * property and binding implementations participate in transactions; the
+     * change notifications of observable collections are delivered immediately.
+     *
+     * @param runnable the {@code Runnable} that is run as a transaction
+     * @throws NullPointerException if {@code runnable} is {@code null}
+     */
+    public static void transaction(Runnable runnable) {
+        Transaction.run(runnable);
+    }
+
+}
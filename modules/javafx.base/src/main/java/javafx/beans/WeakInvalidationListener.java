@@ -25,6 +25,7 @@
 
 package javafx.beans;
 
+import com.sun.javafx.binding.WeakListenerCleaner;
 import java.lang.ref.WeakReference;
 import javafx.beans.NamedArg;
 
@@ -52,6 +53,10 @@ public final class WeakInvalidationListener implements InvalidationListener, Wea
 
     private final WeakReference<InvalidationListener> ref;
 
+    static {
+        WeakListenerCleaner.setReferenceAccessor(WeakInvalidationListener.class, listener -> listener.ref);
+    }
+
     /**
      * The constructor of {@code WeakInvalidationListener}.
      *
@@ -62,7 +67,7 @@ public final class WeakInvalidationListener implements InvalidationListener, Wea
         if (listener == null) {
             throw new NullPointerException("Listener must be specified.");
         }
-        this.ref = new WeakReference<InvalidationListener>(listener);
+        this.ref = WeakListenerCleaner.newReference(listener);
     }
 
     /**
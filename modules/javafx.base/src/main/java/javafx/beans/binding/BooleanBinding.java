@@ -33,6 +33,7 @@ import javafx.collections.ObservableList;
 
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.ExpressionHelper;
+import com.sun.javafx.logging.PulseLogger;
 
 /**
  * Base class that provides most of the functionality needed to implement a
@@ -152,7 +153,11 @@ public abstract class BooleanBinding extends BooleanExpression implements
     @Override
     public final boolean get() {
         if (!valid) {
+            final long start = PulseLogger.INSTRUMENTATION_ENABLED ? System.nanoTime() : 0;
             value = computeValue();
+            if (PulseLogger.INSTRUMENTATION_ENABLED) {
+                PulseLogger.bindingComputed(this, start);
+            }
             valid = true;
         }
         return value;
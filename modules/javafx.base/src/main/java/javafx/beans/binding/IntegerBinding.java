@@ -28,11 +28,13 @@ package javafx.beans.binding;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.IntegerChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.ExpressionHelper;
+import com.sun.javafx.logging.PulseLogger;
 
 /**
  * Base class that provides most of the functionality needed to implement a
@@ -92,6 +94,16 @@ public abstract class IntegerBinding extends IntegerExpression implements
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(IntegerChangeListener listener) {
+        helper = ExpressionHelper.addIntegerListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(IntegerChangeListener listener) {
+        helper = ExpressionHelper.removeIntegerListener(helper, listener);
+    }
+
     /**
      * Start observing the dependencies for changes. If the value of one of the
      * dependencies changes, the binding is marked as invalid.
@@ -154,7 +166,11 @@ public abstract class IntegerBinding extends IntegerExpression implements
     @Override
     public final int get() {
         if (!valid) {
+            final long start = PulseLogger.INSTRUMENTATION_ENABLED ? System.nanoTime() : 0;
             value = computeValue();
+            if (PulseLogger.INSTRUMENTATION_ENABLED) {
+                PulseLogger.bindingComputed(this, start);
+            }
             valid = true;
         }
         return value;
@@ -27,6 +27,7 @@ package javafx.beans.binding;
 
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.ListExpressionHelper;
+import com.sun.javafx.logging.PulseLogger;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.property.ReadOnlyBooleanProperty;
@@ -242,7 +243,11 @@ public abstract class ListBinding<E> extends ListExpression<E> implements Bindin
     @Override
     public final ObservableList<E> get() {
         if (!valid) {
+            final long start = PulseLogger.INSTRUMENTATION_ENABLED ? System.nanoTime() : 0;
             value = computeValue();
+            if (PulseLogger.INSTRUMENTATION_ENABLED) {
+                PulseLogger.bindingComputed(this, start);
+            }
             valid = true;
             if (value != null) {
                 value.addListener(listChangeListener);
@@ -28,11 +28,13 @@ package javafx.beans.binding;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.LongChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.ExpressionHelper;
+import com.sun.javafx.logging.PulseLogger;
 
 /**
  * Base class that provides most of the functionality needed to implement a
@@ -92,6 +94,16 @@ public abstract class LongBinding extends LongExpression implements
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(LongChangeListener listener) {
+        helper = ExpressionHelper.addLongListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(LongChangeListener listener) {
+        helper = ExpressionHelper.removeLongListener(helper, listener);
+    }
+
     /**
      * Start observing the dependencies for changes. If the value of one of the
      * dependencies changes, the binding is marked as invalid.
@@ -154,7 +166,11 @@ public abstract class LongBinding extends LongExpression implements
     @Override
     public final long get() {
         if (!valid) {
+            final long start = PulseLogger.INSTRUMENTATION_ENABLED ? System.nanoTime() : 0;
             value = computeValue();
+            if (PulseLogger.INSTRUMENTATION_ENABLED) {
+                PulseLogger.bindingComputed(this, start);
+            }
             valid = true;
         }
         return value;
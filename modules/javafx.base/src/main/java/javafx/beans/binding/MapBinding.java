@@ -27,6 +27,7 @@ package javafx.beans.binding;
 
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.MapExpressionHelper;
+import com.sun.javafx.logging.PulseLogger;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.property.ReadOnlyBooleanProperty;
@@ -245,7 +246,11 @@ public abstract class MapBinding<K, V> extends MapExpression<K, V> implements Bi
     @Override
     public final ObservableMap<K, V> get() {
         if (!valid) {
+            final long start = PulseLogger.INSTRUMENTATION_ENABLED ? System.nanoTime() : 0;
             value = computeValue();
+            if (PulseLogger.INSTRUMENTATION_ENABLED) {
+                PulseLogger.bindingComputed(this, start);
+            }
             valid = true;
             if (value != null) {
                 value.addListener(mapChangeListener);
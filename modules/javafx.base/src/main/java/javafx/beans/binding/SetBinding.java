@@ -27,6 +27,7 @@ package javafx.beans.binding;
 
 import com.sun.javafx.binding.BindingHelperObserver;
 import com.sun.javafx.binding.SetExpressionHelper;
+import com.sun.javafx.logging.PulseLogger;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.property.ReadOnlyBooleanProperty;
@@ -243,7 +244,11 @@ public abstract class SetBinding<E> extends SetExpression<E> implements Binding<
     @Override
     public final ObservableSet<E> get() {
         if (!valid) {
+            final long start = PulseLogger.INSTRUMENTATION_ENABLED ? System.nanoTime() : 0;
             value = computeValue();
+            if (PulseLogger.INSTRUMENTATION_ENABLED) {
+                PulseLogger.bindingComputed(this, start);
+            }
             valid = true;
             if (value != null) {
                 value.addListener(setChangeListener);
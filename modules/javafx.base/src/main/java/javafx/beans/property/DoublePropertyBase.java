@@ -29,6 +29,7 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.binding.DoubleBinding;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.DoubleChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import com.sun.javafx.binding.ExpressionHelper;
@@ -94,6 +95,16 @@ public abstract class DoublePropertyBase extends DoubleProperty {
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(DoubleChangeListener listener) {
+        helper = ExpressionHelper.addDoubleListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(DoubleChangeListener listener) {
+        helper = ExpressionHelper.removeDoubleListener(helper, listener);
+    }
+
     /**
      * Sends notifications to all attached
      * {@link javafx.beans.InvalidationListener InvalidationListeners} and
@@ -29,6 +29,7 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.binding.FloatBinding;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.FloatChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import com.sun.javafx.binding.ExpressionHelper;
@@ -94,6 +95,16 @@ public abstract class FloatPropertyBase extends FloatProperty {
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(FloatChangeListener listener) {
+        helper = ExpressionHelper.addFloatListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(FloatChangeListener listener) {
+        helper = ExpressionHelper.removeFloatListener(helper, listener);
+    }
+
     /**
      * Sends notifications to all attached
      * {@link javafx.beans.InvalidationListener InvalidationListeners} and
@@ -29,6 +29,7 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.binding.IntegerBinding;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.IntegerChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import com.sun.javafx.binding.ExpressionHelper;
@@ -94,6 +95,16 @@ public abstract class IntegerPropertyBase extends IntegerProperty {
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(IntegerChangeListener listener) {
+        helper = ExpressionHelper.addIntegerListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(IntegerChangeListener listener) {
+        helper = ExpressionHelper.removeIntegerListener(helper, listener);
+    }
+
     /**
      * Sends notifications to all attached
      * {@link javafx.beans.InvalidationListener InvalidationListeners} and
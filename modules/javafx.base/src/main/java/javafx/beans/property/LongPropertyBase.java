@@ -29,6 +29,7 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.binding.LongBinding;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.LongChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import com.sun.javafx.binding.ExpressionHelper;
@@ -94,6 +95,16 @@ public abstract class LongPropertyBase extends LongProperty {
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(LongChangeListener listener) {
+        helper = ExpressionHelper.addLongListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(LongChangeListener listener) {
+        helper = ExpressionHelper.removeLongListener(helper, listener);
+    }
+
     /**
      * Sends notifications to all attached
      * {@link javafx.beans.InvalidationListener InvalidationListeners} and
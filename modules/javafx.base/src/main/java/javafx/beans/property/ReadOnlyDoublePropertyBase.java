@@ -27,6 +27,7 @@ package javafx.beans.property;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.DoubleChangeListener;
 
 import com.sun.javafx.binding.ExpressionHelper;
 
@@ -67,6 +68,16 @@ public abstract class ReadOnlyDoublePropertyBase extends ReadOnlyDoubleProperty
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(DoubleChangeListener listener) {
+        helper = ExpressionHelper.addDoubleListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(DoubleChangeListener listener) {
+        helper = ExpressionHelper.removeDoubleListener(helper, listener);
+    }
+
     /**
      * Sends notifications to all attached
      * {@link javafx.beans.InvalidationListener InvalidationListeners} and
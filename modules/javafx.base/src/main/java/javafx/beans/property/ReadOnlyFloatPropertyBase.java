@@ -27,6 +27,7 @@ package javafx.beans.property;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.FloatChangeListener;
 
 import com.sun.javafx.binding.ExpressionHelper;
 
@@ -67,6 +68,16 @@ public abstract class ReadOnlyFloatPropertyBase extends ReadOnlyFloatProperty {
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(FloatChangeListener listener) {
+        helper = ExpressionHelper.addFloatListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(FloatChangeListener listener) {
+        helper = ExpressionHelper.removeFloatListener(helper, listener);
+    }
+
     /**
      * Sends notifications to all attached
      * {@link javafx.beans.InvalidationListener InvalidationListeners} and
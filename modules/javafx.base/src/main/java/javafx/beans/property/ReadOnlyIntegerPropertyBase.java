@@ -27,6 +27,7 @@ package javafx.beans.property;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.IntegerChangeListener;
 
 import com.sun.javafx.binding.ExpressionHelper;
 
@@ -67,6 +68,16 @@ public abstract class ReadOnlyIntegerPropertyBase extends ReadOnlyIntegerPropert
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(IntegerChangeListener listener) {
+        helper = ExpressionHelper.addIntegerListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(IntegerChangeListener listener) {
+        helper = ExpressionHelper.removeIntegerListener(helper, listener);
+    }
+
     /**
      * Sends notifications to all attached
      * {@link javafx.beans.InvalidationListener InvalidationListeners} and
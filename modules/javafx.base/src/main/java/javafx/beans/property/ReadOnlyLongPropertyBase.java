@@ -27,6 +27,7 @@ package javafx.beans.property;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.LongChangeListener;
 
 import com.sun.javafx.binding.ExpressionHelper;
 
@@ -67,6 +68,16 @@ public abstract class ReadOnlyLongPropertyBase extends ReadOnlyLongProperty {
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(LongChangeListener listener) {
+        helper = ExpressionHelper.addLongListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(LongChangeListener listener) {
+        helper = ExpressionHelper.removeLongListener(helper, listener);
+    }
+
     /**
      * Sends notifications to all attached
      * {@link javafx.beans.InvalidationListener InvalidationListeners} and
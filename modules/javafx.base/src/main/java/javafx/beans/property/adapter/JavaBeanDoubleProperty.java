@@ -32,6 +32,7 @@ import com.sun.javafx.property.adapter.PropertyDescriptor;
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.DoubleChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import java.lang.reflect.InvocationTargetException;
@@ -223,6 +224,16 @@ public final class JavaBeanDoubleProperty extends DoubleProperty implements Java
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(DoubleChangeListener listener) {
+        helper = ExpressionHelper.addDoubleListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(DoubleChangeListener listener) {
+        helper = ExpressionHelper.removeDoubleListener(helper, listener);
+    }
+
     /**
      * {@inheritDoc}
      */
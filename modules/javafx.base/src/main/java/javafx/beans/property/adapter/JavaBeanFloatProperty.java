@@ -32,6 +32,7 @@ import com.sun.javafx.property.adapter.PropertyDescriptor;
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.FloatProperty;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.FloatChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import java.lang.reflect.InvocationTargetException;
@@ -222,6 +223,16 @@ public final class JavaBeanFloatProperty extends FloatProperty implements JavaBe
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(FloatChangeListener listener) {
+        helper = ExpressionHelper.addFloatListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(FloatChangeListener listener) {
+        helper = ExpressionHelper.removeFloatListener(helper, listener);
+    }
+
     /**
      * {@inheritDoc}
      */
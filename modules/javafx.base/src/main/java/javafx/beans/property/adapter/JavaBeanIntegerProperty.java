@@ -32,6 +32,7 @@ import com.sun.javafx.property.adapter.PropertyDescriptor;
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.IntegerChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import java.lang.reflect.InvocationTargetException;
@@ -222,6 +223,16 @@ public final class JavaBeanIntegerProperty extends IntegerProperty implements Ja
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(IntegerChangeListener listener) {
+        helper = ExpressionHelper.addIntegerListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(IntegerChangeListener listener) {
+        helper = ExpressionHelper.removeIntegerListener(helper, listener);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -32,6 +32,7 @@ import com.sun.javafx.property.adapter.PropertyDescriptor;
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.LongProperty;
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.LongChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import java.lang.reflect.InvocationTargetException;
@@ -222,6 +223,16 @@ public final class JavaBeanLongProperty extends LongProperty implements JavaBean
         helper = ExpressionHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void addChangeListener(LongChangeListener listener) {
+        helper = ExpressionHelper.addLongListener(helper, this, listener);
+    }
+
+    @Override
+    public void removeChangeListener(LongChangeListener listener) {
+        helper = ExpressionHelper.removeLongListener(helper, listener);
+    }
+
     /**
      * {@inheritDoc}
      */
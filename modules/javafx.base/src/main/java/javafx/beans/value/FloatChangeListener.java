@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package javafx.beans.value;
+
+/**
+ * A {@code FloatChangeListener} is notified whenever the value of an
+ * {@link ObservableFloatValue} changes. It can be registered and unregistered with
+ * {@link ObservableFloatValue#addChangeListener(FloatChangeListener)} respectively
+ * {@link ObservableFloatValue#removeChangeListener(FloatChangeListener)}.
+ * <p>
+ * Unlike a {@link ChangeListener}, a {@code FloatChangeListener} receives the
+ * old and the new value as primitive {@code float} values. The JavaFX property
+ * and binding implementations notify it without boxing the values.
+ *
+ * @see ChangeListener
+ * @see ObservableFloatValue
+ *
+ * @since JFXcore 18
+ */
+@FunctionalInterface
+public interface FloatChangeListener {
+
+    /**
+     * Called when the value of an {@link ObservableFloatValue} changes.
+     * <p>
+     * In general, it is considered bad practice to modify the observed value in
+     * this method.
+     *
+     * @param observable
+     *            The {@code ObservableFloatValue} which value changed
+     * @param oldValue
+     *            The old value
+     * @param newValue
+     *            The new value
+     */
+    void changed(ObservableFloatValue observable, float oldValue, float newValue);
+}
@@ -27,6 +27,7 @@
 package javafx.beans.value;
 
 import com.sun.javafx.binding.ExpressionHelper;
+import com.sun.javafx.binding.PrimitiveListeners;
 import javafx.beans.InvalidationListener;
 
 /**
@@ -47,6 +48,47 @@ public interface ObservableFloatValue extends ObservableNumberValue {
      */
     float get();
 
+    /**
+     * Adds a {@link FloatChangeListener} which will be notified whenever the value
+     * of this {@code ObservableFloatValue} changes. If the same listener is added
+     * more than once, then it will be notified more than once. That is, no check
+     * is made to ensure uniqueness.
+     * <p>
+     * Unlike a {@link ChangeListener}, the listener receives the old and the new
+     * value as primitive {@code float} values. The default implementation wraps
+     * the listener in a {@code ChangeListener}, which boxes the values; the
+     * JavaFX property and binding implementations override it to notify the
+     * listener without any allocation.
+     *
+     * @param listener the listener to register
+     * @throws NullPointerException if the listener is null
+     * @see #removeChangeListener(FloatChangeListener)
+     *
+     * @since JFXcore 18
+     */
+    default void addChangeListener(FloatChangeListener listener) {
+        addListener(PrimitiveListeners.wrapFloatListener(listener));
+    }
+
+    /**
+     * Removes the given listener from the list of listeners that are notified
+     * whenever the value of this {@code ObservableFloatValue} changes.
+     * <p>
+     * If the given listener has not been previously registered (i.e. it was
+     * never added) then this method call is a no-op. If it had been previously
+     * added then it will be removed. If it had been added more than once, then
+     * only the first occurrence will be removed.
+     *
+     * @param listener the listener to remove
+     * @throws NullPointerException if the listener is null
+     * @see #addChangeListener(FloatChangeListener)
+     *
+     * @since JFXcore 18
+     */
+    default void removeChangeListener(FloatChangeListener listener) {
+        removeListener(PrimitiveListeners.wrapFloatListener(listener));
+    }
+
     /**
      * Returns a new {@link ObservableFloatValue} that wraps a constant float value.
      *
@@ -27,6 +27,7 @@
 package javafx.beans.value;
 
 import com.sun.javafx.binding.ExpressionHelper;
+import com.sun.javafx.binding.PrimitiveListeners;
 import javafx.beans.InvalidationListener;
 
 /**
@@ -47,6 +48,47 @@ public interface ObservableIntegerValue extends ObservableNumberValue {
      */
     int get();
 
+    /**
+     * Adds a {@link IntegerChangeListener} which will be notified whenever the value
+     * of this {@code ObservableIntegerValue} changes. If the same listener is added
+     * more than once, then it will be notified more than once. That is, no check
+     * is made to ensure uniqueness.
+     * <p>
+     * Unlike a {@link ChangeListener}, the listener receives the old and the new
+     * value as primitive {@code int} values. The default implementation wraps
+     * the listener in a {@code ChangeListener}, which boxes the values; the
+     * JavaFX property and binding implementations override it to notify the
+     * listener without any allocation.
+     *
+     * @param listener the listener to register
+     * @throws NullPointerException if the listener is null
+     * @see #removeChangeListener(IntegerChangeListener)
+     *
+     * @since JFXcore 18
+     */
+    default void addChangeListener(IntegerChangeListener listener) {
+        addListener(PrimitiveListeners.wrapIntegerListener(listener));
+    }
+
+    /**
+     * Removes the given listener from the list of listeners that are notified
+     * whenever the value of this {@code ObservableIntegerValue} changes.
+     * <p>
+     * If the given listener has not been previously registered (i.e. it was
+     * never added) then this method call is a no-op. If it had been previously
+     * added then it will be removed. If it had been added more than once, then
+     * only the first occurrence will be removed.
+     *
+     * @param listener the listener to remove
+     * @throws NullPointerException if the listener is null
+     * @see #addChangeListener(IntegerChangeListener)
+     *
+     * @since JFXcore 18
+     */
+    default void removeChangeListener(IntegerChangeListener listener) {
+        removeListener(PrimitiveListeners.wrapIntegerListener(listener));
+    }
+
     /**
      * Returns a new {@link ObservableIntegerValue} that wraps a constant integer value.
      *
@@ -28,6 +28,7 @@ package javafx.beans.value;
 import javafx.beans.NamedArg;
 import javafx.beans.WeakListener;
 
+import com.sun.javafx.binding.WeakListenerCleaner;
 import java.lang.ref.WeakReference;
 
 /**
@@ -55,6 +56,10 @@ public final class WeakChangeListener<T> implements ChangeListener<T>, WeakListe
 
     private final WeakReference<ChangeListener<T>> ref;
 
+    static {
+        WeakListenerCleaner.setReferenceAccessor(WeakChangeListener.class, listener -> listener.ref);
+    }
+
     /**
      * The constructor of {@code WeakChangeListener}.
      *
@@ -64,7 +69,7 @@ public final class WeakChangeListener<T> implements ChangeListener<T>, WeakListe
         if (listener == null) {
             throw new NullPointerException("Listener must be specified.");
         }
-        this.ref = new WeakReference<ChangeListener<T>>(listener);
+        this.ref = WeakListenerCleaner.newReference(listener);
     }
 
     /**
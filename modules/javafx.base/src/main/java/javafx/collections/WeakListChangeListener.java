@@ -28,6 +28,7 @@ package javafx.collections;
 import javafx.beans.NamedArg;
 import javafx.beans.WeakListener;
 
+import com.sun.javafx.binding.WeakListenerCleaner;
 import java.lang.ref.WeakReference;
 
 /**
@@ -57,6 +58,10 @@ public final class WeakListChangeListener<E> implements ListChangeListener<E>, W
 
     private final WeakReference<ListChangeListener<E>> ref;
 
+    static {
+        WeakListenerCleaner.setReferenceAccessor(WeakListChangeListener.class, listener -> listener.ref);
+    }
+
     /**
      * The constructor of {@code WeakListChangeListener}.
      *
@@ -67,7 +72,7 @@ public final class WeakListChangeListener<E> implements ListChangeListener<E>, W
         if (listener == null) {
             throw new NullPointerException("Listener must be specified.");
         }
-        this.ref = new WeakReference<ListChangeListener<E>>(listener);
+        this.ref = WeakListenerCleaner.newReference(listener);
     }
 
     /**
@@ -28,6 +28,7 @@ package javafx.collections;
 import javafx.beans.NamedArg;
 import javafx.beans.WeakListener;
 
+import com.sun.javafx.binding.WeakListenerCleaner;
 import java.lang.ref.WeakReference;
 
 /**
@@ -57,6 +58,10 @@ public final class WeakMapChangeListener<K, V> implements MapChangeListener<K, V
 
     private final WeakReference<MapChangeListener<K, V>> ref;
 
+    static {
+        WeakListenerCleaner.setReferenceAccessor(WeakMapChangeListener.class, listener -> listener.ref);
+    }
+
     /**
      * The constructor of {@code WeakMapChangeListener}.
      *
@@ -67,7 +72,7 @@ public final class WeakMapChangeListener<K, V> implements MapChangeListener<K, V
         if (listener == null) {
             throw new NullPointerException("Listener must be specified.");
         }
-        this.ref = new WeakReference<MapChangeListener<K, V>>(listener);
+        this.ref = WeakListenerCleaner.newReference(listener);
     }
 
     /**
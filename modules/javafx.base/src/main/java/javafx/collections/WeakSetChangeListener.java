@@ -28,6 +28,7 @@ package javafx.collections;
 import javafx.beans.NamedArg;
 import javafx.beans.WeakListener;
 
+import com.sun.javafx.binding.WeakListenerCleaner;
 import java.lang.ref.WeakReference;
 
 /**
@@ -57,6 +58,10 @@ public final class WeakSetChangeListener<E> implements SetChangeListener<E>, Wea
 
     private final WeakReference<SetChangeListener<E>> ref;
 
+    static {
+        WeakListenerCleaner.setReferenceAccessor(WeakSetChangeListener.class, listener -> listener.ref);
+    }
+
     /**
      * The constructor of {@code WeakSetChangeListener}.
      *
@@ -67,7 +72,7 @@ public final class WeakSetChangeListener<E> implements SetChangeListener<E>, Wea
         if (listener == null) {
             throw new NullPointerException("Listener must be specified.");
         }
-        this.ref = new WeakReference<SetChangeListener<E>>(listener);
+        this.ref = WeakListenerCleaner.newReference(listener);
     }
 
     /**
@@ -57,6 +57,7 @@ module javafx.base {
         javafx.graphics;
     exports com.sun.javafx.binding to
         javafx.controls,
+        javafx.fxml,
         javafx.graphics,
         javafx.validation;
     exports com.sun.javafx.collections to
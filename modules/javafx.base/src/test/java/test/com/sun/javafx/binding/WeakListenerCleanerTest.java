@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.javafx.binding;
+
+import com.sun.javafx.binding.WeakListenerCleaner;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WeakChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import org.junit.Test;
+import test.util.memory.JMemoryBuddy;
+
+import static org.junit.Assert.*;
+
+public class WeakListenerCleanerTest {
+
+    private static final int COUNT = 10;
+
+    /*
+     * Waits until the references of the collected listeners have been enqueued.
+     */
+    private static void awaitDeadListenerCount(Observable observable, int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && WeakListenerCleaner.getDeadListenerCount(observable) != expected; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, WeakListenerCleaner.getDeadListenerCount(observable));
+    }
+
+    /*
+     * Non-capturing lambdas are shared, so a new instance is needed to be able to collect it.
+     */
+    private static InvalidationListener newInvalidationListener() {
+        return new InvalidationListener() {
+            @Override public void invalidated(Observable observable) {}
+        };
+    }
+
+    @Test
+    public void testDeadListenersOfPropertyAreRemoved() throws Exception {
+        SimpleDoubleProperty property = new SimpleDoubleProperty();
+        int[] count = new int[1];
+        InvalidationListener strongListener = obs -> count[0]++;
+        property.addListener(strongListener);
+
+        List<Object> listeners = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            InvalidationListener invalidationListener = newInvalidationListener();
+            ChangeListener<Number> changeListener = new ChangeListener<>() {
+                @Override public void changed(ObservableValue<? extends Number> obs, Number oldValue, Number newValue) {}
+            };
+            listeners.add(invalidationListener);
+            listeners.add(changeListener);
+            property.addListener(new WeakInvalidationListener(invalidationListener));
+            property.addListener(new WeakChangeListener<>(changeListener));
+        }
+        assertEquals(0, WeakListenerCleaner.getDeadListenerCount(property));
+
+        WeakReference<Object> ref = new WeakReference<>(listeners.get(0));
+        listeners.clear();
+        JMemoryBuddy.assertCollectable(ref);
+        awaitDeadListenerCount(property, 2 * COUNT);
+
+        WeakListenerCleaner.cleanUp();
+        assertEquals(0, WeakListenerCleaner.getDeadListenerCount(property));
+
+        property.set(1);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testDeadListenersOfListAreRemoved() throws Exception {
+        ObservableList<String> list = FXCollections.observableArrayList();
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<String>)change -> changes.add(change.toString()));
+
+        List<Object> listeners = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            ListChangeListener<String> listener = new ListChangeListener<>() {
+                @Override public void onChanged(Change<? extends String> change) {}
+            };
+            listeners.add(listener);
+            list.addListener(new WeakListChangeListener<>(listener));
+        }
+        list.add("a");
+
+        WeakReference<Object> ref = new WeakReference<>(listeners.get(0));
+        listeners.clear();
+        JMemoryBuddy.assertCollectable(ref);
+        awaitDeadListenerCount(list, COUNT);
+
+        WeakListenerCleaner.cleanUp();
+        assertEquals(0, WeakListenerCleaner.getDeadListenerCount(list));
+
+        list.add("b");
+        assertEquals(2, changes.size());
+    }
+
+    @Test
+    public void testHelperIsNotTrimmedWhileNotifying() throws Exception {
+        SimpleDoubleProperty property = new SimpleDoubleProperty();
+        boolean[] cleaned = new boolean[1];
+        property.addListener(obs -> {
+            WeakListenerCleaner.cleanUp();
+            cleaned[0] = WeakListenerCleaner.getDeadListenerCount(property) == 0;
+        });
+
+        InvalidationListener listener = newInvalidationListener();
+        property.addListener(new WeakInvalidationListener(listener));
+        WeakReference<Object> ref = new WeakReference<>(listener);
+        listener = null;
+        JMemoryBuddy.assertCollectable(ref);
+        awaitDeadListenerCount(property, 1);
+
+        property.set(1);
+        assertFalse(cleaned[0]);
+        assertEquals(1, WeakListenerCleaner.getDeadListenerCount(property));
+
+        WeakListenerCleaner.cleanUp();
+        assertEquals(0, WeakListenerCleaner.getDeadListenerCount(property));
+    }
+
+    @Test
+    public void testHelperIsOnlyTrimmedOnRegisteringThread() throws Exception {
+        SimpleDoubleProperty property = new SimpleDoubleProperty();
+        property.addListener(obs -> {});
+        InvalidationListener listener = newInvalidationListener();
+        property.addListener(new WeakInvalidationListener(listener));
+        WeakReference<Object> ref = new WeakReference<>(listener);
+        listener = null;
+        JMemoryBuddy.assertCollectable(ref);
+        awaitDeadListenerCount(property, 1);
+
+        Thread thread = new Thread(WeakListenerCleaner::cleanUp);
+        thread.start();
+        thread.join();
+
+        // the registration was dropped, the dead listener is left to lazy trimming
+        assertEquals(0, WeakListenerCleaner.getDeadListenerCount(property));
+        property.set(1);
+        property.get();
+        property.set(2);
+    }
+}
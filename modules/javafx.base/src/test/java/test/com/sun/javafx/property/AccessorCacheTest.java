@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.javafx.property;
+
+import com.sun.javafx.property.AccessorCache;
+import com.sun.javafx.property.PropertyReference;
+import com.sun.javafx.property.adapter.JavaBeanPropertyBuilderHelper;
+import com.sun.javafx.property.adapter.ReadOnlyJavaBeanPropertyBuilderHelper;
+import java.util.List;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AccessorCacheTest {
+
+    public static class Bean {
+        private final StringProperty name = new SimpleStringProperty(this, "name", "foo");
+        private int x;
+
+        public StringProperty nameProperty() { return name; }
+        public String getName() { return name.get(); }
+        public void setName(String value) { name.set(value); }
+
+        public int getX() { return x; }
+        public void setX(int x) { this.x = x; }
+        public int readX() { return x; }
+    }
+
+    @Test
+    public void testPutIfAbsentReturnsExistingAccessor() {
+        Object key = List.of(AccessorCacheTest.class, "key");
+        assertNull(AccessorCache.get(Bean.class, key));
+        assertEquals("a", AccessorCache.putIfAbsent(Bean.class, key, "a"));
+        assertEquals("a", AccessorCache.putIfAbsent(Bean.class, key, "b"));
+        assertEquals("a", AccessorCache.get(Bean.class, key));
+        assertNull(AccessorCache.get(Object.class, key));
+    }
+
+    @Test
+    public void testPropertyReferencesShareMembers() {
+        PropertyReference<String> ref0 = new PropertyReference<>(Bean.class, "name");
+        PropertyReference<String> ref1 = new PropertyReference<>(Bean.class, "name");
+        assertTrue(ref0.isReadable());
+        assertTrue(ref0.isWritable());
+        assertTrue(ref0.hasProperty());
+        assertSame(ref0.getGetter(), ref1.getGetter());
+        assertSame(ref0.getPropertyGetter(), ref1.getPropertyGetter());
+        assertEquals(String.class, ref1.getType());
+
+        Bean bean = new Bean();
+        ref1.set(bean, "bar");
+        assertEquals("bar", ref0.get(bean));
+        assertSame(bean.nameProperty(), ref0.getProperty(bean));
+    }
+
+    @Test
+    public void testPropertyReferenceOfMissingProperty() {
+        PropertyReference<Object> ref = new PropertyReference<>(Bean.class, "missing");
+        assertFalse(ref.isReadable());
+        assertFalse(ref.isWritable());
+        assertFalse(ref.hasProperty());
+        assertFalse(new PropertyReference<>(Bean.class, "missing").hasProperty());
+    }
+
+    @Test
+    public void testReadOnlyDescriptorsAreShared() throws NoSuchMethodException {
+        ReadOnlyJavaBeanPropertyBuilderHelper helper0 = new ReadOnlyJavaBeanPropertyBuilderHelper();
+        helper0.bean(new Bean());
+        helper0.name("x");
+        ReadOnlyJavaBeanPropertyBuilderHelper helper1 = new ReadOnlyJavaBeanPropertyBuilderHelper();
+        helper1.bean(new Bean());
+        helper1.name("x");
+        assertSame(helper0.getDescriptor(), helper1.getDescriptor());
+
+        ReadOnlyJavaBeanPropertyBuilderHelper helper2 = new ReadOnlyJavaBeanPropertyBuilderHelper();
+        helper2.bean(new Bean());
+        helper2.name("x");
+        helper2.getterName("readX");
+        assertNotSame(helper0.getDescriptor(), helper2.getDescriptor());
+        assertEquals("readX", helper2.getDescriptor().getGetter().getName());
+    }
+
+    @Test
+    public void testDescriptorsAreShared() throws NoSuchMethodException {
+        JavaBeanPropertyBuilderHelper helper0 = new JavaBeanPropertyBuilderHelper();
+        helper0.beanClass(Bean.class);
+        helper0.name("x");
+        JavaBeanPropertyBuilderHelper helper1 = new JavaBeanPropertyBuilderHelper();
+        helper1.beanClass(Bean.class);
+        helper1.name("x");
+        assertSame(helper0.getDescriptor(), helper1.getDescriptor());
+        assertEquals("setX", helper1.getDescriptor().getSetter().getName());
+    }
+
+    @Test(expected = NoSuchMethodException.class)
+    public void testMissingDescriptorIsNotCached() throws NoSuchMethodException {
+        JavaBeanPropertyBuilderHelper helper = new JavaBeanPropertyBuilderHelper();
+        helper.beanClass(Bean.class);
+        helper.name("missing");
+        try {
+            helper.getDescriptor();
+            fail();
+        } catch (NoSuchMethodException expected) {
+        }
+        helper.getDescriptor();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.javafx.property;
+
+import com.sun.javafx.property.MethodHelper;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MethodHelperTest {
+
+    public static class Bean {
+        private long value;
+
+        public long getValue() {
+            return value;
+        }
+
+        public void setValue(long value) {
+            this.value = value;
+        }
+
+        public String concat(String a, Object b) {
+            return a + b;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+
+        public static Bean valueOf(String value) {
+            Bean bean = new Bean();
+            bean.setValue(Long.parseLong(value));
+            return bean;
+        }
+    }
+
+    private static Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return Bean.class.getMethod(name, parameterTypes);
+    }
+
+    @Test
+    public void testInvokeInstanceMethods() throws Exception {
+        Bean bean = new Bean();
+        assertNull(MethodHelper.invoke(method("setValue", long.class), bean, new Object[] { 5L }));
+        assertEquals(5L, MethodHelper.invoke(method("getValue"), bean, null));
+        assertEquals(5L, MethodHelper.invoke(method("getValue"), bean, new Object[0]));
+        assertEquals("a1", MethodHelper.invoke(method("concat", String.class, Object.class), bean, new Object[] { "a", 1 }));
+        assertEquals("anull", MethodHelper.invoke(method("concat", String.class, Object.class), bean, new Object[] { "a", null }));
+    }
+
+    @Test
+    public void testInvokeStaticMethod() throws Exception {
+        Bean bean = (Bean)MethodHelper.invoke(method("valueOf", String.class), null, new Object[] { "7" });
+        assertEquals(7L, bean.getValue());
+    }
+
+    @Test
+    public void testWideningConversionOfArgument() throws Exception {
+        Bean bean = new Bean();
+        MethodHelper.invoke(method("setValue", long.class), bean, new Object[] { 3 });
+        assertEquals(3L, bean.getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullArgumentForPrimitiveParameter() throws Exception {
+        MethodHelper.invoke(method("setValue", long.class), new Bean(), new Object[] { null });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArgumentOfWrongType() throws Exception {
+        MethodHelper.invoke(method("concat", String.class, Object.class), new Bean(), new Object[] { 1, 2 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongNumberOfArguments() throws Exception {
+        MethodHelper.invoke(method("getValue"), new Bean(), new Object[] { 1 });
+    }
+
+    @Test
+    public void testExceptionIsWrapped() throws Exception {
+        try {
+            MethodHelper.invoke(method("fail"), new Bean(), null);
+            fail("InvocationTargetException expected");
+        } catch (InvocationTargetException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+            assertEquals("fail", ex.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.beans;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observables;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.IntegerBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ObservablesTest {
+
+    private IntegerProperty x;
+    private IntegerProperty y;
+    private int computeCount;
+    private IntegerBinding sum;
+
+    @Before
+    public void setUp() {
+        x = new SimpleIntegerProperty(1);
+        y = new SimpleIntegerProperty(2);
+        computeCount = 0;
+        sum = new IntegerBinding() {
+            {
+                bind(x, y);
+            }
+
+            @Override
+            protected int computeValue() {
+                computeCount++;
+                return x.get() + y.get();
+            }
+        };
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testTransactionWithNullRunnable() {
+        Observables.transaction(null);
+    }
+
+    @Test
+    public void testInvalidationIsDeferredAndDeduplicated() {
+        int[] count = new int[1];
+        x.addListener(obs -> count[0]++);
+        Observables.transaction(() -> {
+            x.set(10);
+            x.get();
+            x.set(20);
+            x.get();
+            x.set(30);
+            assertEquals(0, count[0]);
+        });
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testChangeListenerReceivesOnlyFinalValue() {
+        List<String> changes = new ArrayList<>();
+        x.addListener((obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        Observables.transaction(() -> {
+            x.set(10);
+            x.get();
+            x.set(20);
+        });
+        assertEquals(List.of("1->20"), changes);
+    }
+
+    @Test
+    public void testChangeListenerIsNotNotifiedIfValueIsRestored() {
+        List<String> changes = new ArrayList<>();
+        x.addListener((obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        Observables.transaction(() -> {
+            x.set(10);
+            x.get();
+            x.set(1);
+        });
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void testBindingIsRecomputedOnceAndWithoutGlitches() {
+        List<Number> values = new ArrayList<>();
+        sum.addListener((obs, oldValue, newValue) -> values.add(newValue));
+        computeCount = 0;
+        Observables.transaction(() -> {
+            x.set(10);
+            y.set(20);
+        });
+        assertEquals(1, computeCount);
+        assertEquals(List.of(30), values);
+    }
+
+    @Test
+    public void testDiamondDependencyIsRecomputedOnce() {
+        int[] mapCount = new int[1];
+        ObservableValue<Integer> doubled = sum.map(v -> { mapCount[0]++; return v.intValue() * 2; });
+        ObservableValue<String> combined = Bindings.createStringBinding(
+            () -> sum.get() + "/" + doubled.getValue(), sum, doubled);
+        List<String> values = new ArrayList<>();
+        combined.addListener((obs, oldValue, newValue) -> values.add(newValue));
+        computeCount = 0;
+        mapCount[0] = 0;
+        Observables.transaction(() -> {
+            x.set(10);
+            y.set(20);
+        });
+        assertEquals(1, computeCount);
+        assertEquals(1, mapCount[0]);
+        assertEquals(List.of("30/60"), values);
+    }
+
+    @Test
+    public void testListenerRemovedDuringTransactionIsNotNotified() {
+        List<String> changes = new ArrayList<>();
+        ChangeListener<Number> listener = (obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue);
+        x.addListener(listener);
+        Observables.transaction(() -> {
+            x.set(10);
+            x.removeListener(listener);
+        });
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void testInvalidationListenerRemovedDuringTransactionIsNotNotified() {
+        int[] count = new int[2];
+        InvalidationListener listener0 = obs -> count[0]++;
+        InvalidationListener listener1 = obs -> count[1]++;
+        x.addListener(listener0);
+        x.addListener(listener1);
+        Observables.transaction(() -> {
+            x.set(10);
+            x.removeListener(listener1);
+        });
+        assertEquals(1, count[0]);
+        assertEquals(0, count[1]);
+    }
+
+    @Test
+    public void testRemainingListenersReceiveOldValueFromBeforeTransaction() {
+        List<String> changes = new ArrayList<>();
+        ChangeListener<Number> listener0 = (obs, oldValue, newValue) -> changes.add("0:" + oldValue + "->" + newValue);
+        ChangeListener<Number> listener1 = (obs, oldValue, newValue) -> changes.add("1:" + oldValue + "->" + newValue);
+        x.addListener(listener0);
+        x.addListener(listener1);
+        Observables.transaction(() -> {
+            x.set(10);
+            x.removeListener(listener1);
+        });
+        assertEquals(List.of("0:1->10"), changes);
+    }
+
+    @Test
+    public void testListenerAddedDuringTransaction() {
+        int[] count = new int[1];
+        List<String> changes = new ArrayList<>();
+        x.addListener(obs -> count[0]++);
+        Observables.transaction(() -> {
+            x.set(10);
+            x.addListener((obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        });
+        assertEquals(1, count[0]);
+        assertTrue(changes.isEmpty());
+
+        x.set(20);
+        assertEquals(List.of("10->20"), changes);
+    }
+
+    @Test
+    public void testExistingListenerIsNotifiedOnceIfListenerIsAddedDuringTransaction() {
+        List<String> changes = new ArrayList<>();
+        x.addListener((obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        Observables.transaction(() -> {
+            x.set(10);
+            x.addListener(obs -> {});
+            x.set(20);
+        });
+        assertEquals(List.of("1->20"), changes);
+    }
+
+    @Test
+    public void testNestedTransactionsNotifyWhenOutermostTransactionEnds() {
+        int[] count = new int[1];
+        x.addListener(obs -> count[0]++);
+        Observables.transaction(() -> {
+            Observables.transaction(() -> x.set(10));
+            assertEquals(0, count[0]);
+            x.get();
+            Observables.transaction(() -> x.set(20));
+            assertEquals(0, count[0]);
+        });
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testNotificationsAreDeliveredIfRunnableFails() {
+        int[] count = new int[1];
+        x.addListener(obs -> count[0]++);
+        try {
+            Observables.transaction(() -> {
+                x.set(10);
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(1, count[0]);
+
+        x.get();
+        x.set(20);
+        assertEquals(2, count[0]);
+    }
+
+    @Test
+    public void testChangesMadeByListenersAreCommitted() {
+        y.addListener((obs, oldValue, newValue) -> x.set(newValue.intValue() * 10));
+        List<Number> values = new ArrayList<>();
+        x.addListener((obs, oldValue, newValue) -> values.add(newValue));
+        Observables.transaction(() -> y.set(5));
+        assertEquals(List.of(50), values);
+        assertEquals(55, sum.get());
+    }
+
+    @Test
+    public void testNotificationsAreImmediateAfterTransaction() {
+        int[] count = new int[1];
+        x.addListener(obs -> count[0]++);
+        Observables.transaction(() -> x.set(10));
+        x.get();
+        x.set(20);
+        assertEquals(2, count[0]);
+    }
+
+    @Test
+    public void testTransactionDoesNotAffectOtherThreads() throws Exception {
+        IntegerProperty other = new SimpleIntegerProperty();
+        int[] count = new int[1];
+        other.addListener(obs -> count[0]++);
+        Observables.transaction(() -> {
+            Thread thread = new Thread(() -> other.set(10));
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            assertEquals(1, count[0]);
+        });
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.beans.value;
+
+import com.sun.javafx.binding.ExpressionHelper;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observables;
+import javafx.beans.binding.IntegerBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.FloatProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleFloatProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.DoubleChangeListener;
+import javafx.beans.value.ObservableDoubleValue;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PrimitiveChangeListenerTest {
+
+    @Test
+    public void testDoubleChangeListener() {
+        DoubleProperty property = new SimpleDoubleProperty(1);
+        List<String> changes = new ArrayList<>();
+        DoubleChangeListener listener = (obs, oldValue, newValue) -> {
+            assertSame(property, obs);
+            changes.add(oldValue + "->" + newValue);
+        };
+        property.addChangeListener(listener);
+        property.set(2);
+        property.set(2);
+        property.set(3.5);
+        assertEquals(List.of("1.0->2.0", "2.0->3.5"), changes);
+
+        property.removeChangeListener(listener);
+        property.set(4);
+        assertEquals(2, changes.size());
+    }
+
+    @Test
+    public void testNaNIsNotReportedAsChange() {
+        DoubleProperty property = new SimpleDoubleProperty(Double.NaN);
+        int[] count = new int[1];
+        property.addChangeListener((obs, oldValue, newValue) -> count[0]++);
+        property.set(Double.NaN);
+        assertEquals(0, count[0]);
+        property.set(0);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testOtherPrimitiveTypes() {
+        FloatProperty f = new SimpleFloatProperty(1);
+        LongProperty l = new SimpleLongProperty(Long.MAX_VALUE);
+        SimpleIntegerProperty i = new SimpleIntegerProperty(-1);
+        List<String> changes = new ArrayList<>();
+        f.addChangeListener((obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        l.addChangeListener((obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        i.addChangeListener((obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        f.set(0.5f);
+        l.set(Long.MIN_VALUE);
+        i.set(Integer.MAX_VALUE);
+        assertEquals(List.of("1.0->0.5", Long.MAX_VALUE + "->" + Long.MIN_VALUE, "-1->" + Integer.MAX_VALUE), changes);
+    }
+
+    @Test
+    public void testMixedListeners() {
+        ReadOnlyDoubleWrapper wrapper = new ReadOnlyDoubleWrapper(0);
+        List<String> events = new ArrayList<>();
+        InvalidationListener invalidationListener = obs -> events.add("invalidated");
+        ChangeListener<Number> changeListener = (obs, oldValue, newValue) -> events.add("changed " + newValue);
+        DoubleChangeListener doubleListener = (obs, oldValue, newValue) -> events.add("double " + newValue);
+
+        wrapper.getReadOnlyProperty().addChangeListener(doubleListener);
+        wrapper.getReadOnlyProperty().addListener(invalidationListener);
+        wrapper.getReadOnlyProperty().addListener(changeListener);
+        wrapper.set(1);
+        assertEquals(List.of("invalidated", "changed 1.0", "double 1.0"), events);
+
+        events.clear();
+        wrapper.getReadOnlyProperty().removeListener(invalidationListener);
+        wrapper.getReadOnlyProperty().removeListener(changeListener);
+        wrapper.set(2);
+        assertEquals(List.of("double 2.0"), events);
+
+        events.clear();
+        wrapper.getReadOnlyProperty().addListener(changeListener);
+        wrapper.getReadOnlyProperty().removeChangeListener(doubleListener);
+        wrapper.set(3);
+        assertEquals(List.of("changed 3.0"), events);
+    }
+
+    @Test
+    public void testListenerCanBeRemovedDuringNotification() {
+        DoubleProperty property = new SimpleDoubleProperty();
+        int[] count = new int[2];
+        DoubleChangeListener second = (obs, oldValue, newValue) -> count[1]++;
+        property.addChangeListener((obs, oldValue, newValue) -> {
+            count[0]++;
+            property.removeChangeListener(second);
+        });
+        property.addChangeListener(second);
+        property.set(1);
+        assertEquals(1, count[1]);
+        property.set(2);
+        assertEquals(2, count[0]);
+        assertEquals(1, count[1]);
+    }
+
+    @Test
+    public void testBinding() {
+        SimpleIntegerProperty source = new SimpleIntegerProperty(1);
+        IntegerBinding binding = source.multiply(2);
+        List<String> changes = new ArrayList<>();
+        binding.addChangeListener((obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        source.set(2);
+        source.set(3);
+        assertEquals(List.of("2->4", "4->6"), changes);
+    }
+
+    @Test
+    public void testTransaction() {
+        DoubleProperty property = new SimpleDoubleProperty();
+        List<String> changes = new ArrayList<>();
+        property.addChangeListener((obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        Observables.transaction(() -> {
+            property.set(1);
+            property.get();
+            property.set(2);
+        });
+        assertEquals(List.of("0.0->2.0"), changes);
+    }
+
+    @Test
+    public void testDefaultImplementationAdaptsListener() {
+        DoubleProperty source = new SimpleDoubleProperty();
+        ObservableDoubleValue value = new ObservableDoubleValue() {
+            private ExpressionHelper<Number> helper;
+            {
+                source.addListener(obs -> ExpressionHelper.fireValueChangedEvent(helper));
+            }
+            @Override public double get() { return source.get(); }
+            @Override public int intValue() { return (int)get(); }
+            @Override public long longValue() { return (long)get(); }
+            @Override public float floatValue() { return (float)get(); }
+            @Override public double doubleValue() { return get(); }
+            @Override public Number getValue() { return get(); }
+            @Override public void addListener(ChangeListener<? super Number> listener) {
+                helper = ExpressionHelper.addListener(helper, this, listener);
+            }
+            @Override public void removeListener(ChangeListener<? super Number> listener) {
+                helper = ExpressionHelper.removeListener(helper, listener);
+            }
+            @Override public void addListener(InvalidationListener listener) {
+                helper = ExpressionHelper.addListener(helper, this, listener);
+            }
+            @Override public void removeListener(InvalidationListener listener) {
+                helper = ExpressionHelper.removeListener(helper, listener);
+            }
+        };
+
+        List<String> changes = new ArrayList<>();
+        DoubleChangeListener listener = (obs, oldValue, newValue) -> {
+            assertSame(value, obs);
+            changes.add(oldValue + "->" + newValue);
+        };
+        value.addChangeListener(listener);
+        source.set(1);
+        assertEquals(List.of("0.0->1.0"), changes);
+
+        value.removeChangeListener(listener);
+        source.set(2);
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    public void testHelperIsReleasedWhenLastListenerIsRemoved() {
+        DoubleProperty property = new SimpleDoubleProperty();
+        List<String> changes = new ArrayList<>();
+        InvalidationListener invalidationListener = obs -> {};
+        ChangeListener<Number> changeListener = (obs, oldValue, newValue) -> {};
+        DoubleChangeListener primitiveListener = (obs, oldValue, newValue) -> changes.add(oldValue + "->" + newValue);
+
+        ExpressionHelper<Number> helper = ExpressionHelper.addListener(null, property, invalidationListener);
+        helper = ExpressionHelper.addListener(helper, property, changeListener);
+        helper = ExpressionHelper.addDoubleListener(helper, property, primitiveListener);
+        helper = ExpressionHelper.removeListener(helper, invalidationListener);
+        helper = ExpressionHelper.removeListener(helper, changeListener);
+
+        property.set(1);
+        ExpressionHelper.fireValueChangedEvent(helper);
+        assertEquals(List.of("0.0->1.0"), changes);
+
+        helper = ExpressionHelper.removeDoubleListener(helper, primitiveListener);
+        assertNull(helper);
+    }
+}
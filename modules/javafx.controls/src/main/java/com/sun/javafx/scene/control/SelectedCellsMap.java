@@ -24,13 +24,16 @@
  */
 package com.sun.javafx.scene.control;
 
+import com.sun.javafx.collections.NonIterableChange;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.SortedList;
+import javafx.scene.control.TableColumnBase;
 import javafx.scene.control.TablePositionBase;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Implementation code used by the TableSelectionModel implementations. In short
@@ -45,6 +48,17 @@ import java.util.*;
  * row is selected.
  *
  * Refer to RT-33442 for more information on this issue.
+ *
+ * In addition to the list and map representation, a selection that consists of
+ * exactly one rectangular range of cells (as created by select-all or by a
+ * shift-click range selection on an empty selection) is stored compactly as a
+ * {@link CellRange}. In this mode no TablePosition instances are retained, and
+ * they are only created on demand when the selection is queried. The range is
+ * materialized into the list and map representation as soon as the selection is
+ * modified in a way that can not be expressed as a single range. Like the
+ * positions in the list, the range refers to its columns rather than to their
+ * indices, so that it still covers the same cells after the visible leaf
+ * columns are reordered, hidden or removed.
  */
 // T == TablePosition<S,?>
 public abstract class SelectedCellsMap<T extends TablePositionBase> {
@@ -53,31 +67,213 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
 
     private final Map<Integer, BitSet> selectedCellBitSetMap;
 
+    private final ListChangeListener<T> listener;
+    private final ReadOnlyUnbackedObservableList<T> selectedCellsView;
+    private final ReadOnlyUnbackedObservableList<T> selectedCellsInOrderView;
+
+    // when non-null, the selection consists of exactly the cells in this range,
+    // and both selectedCells and selectedCellBitSetMap are empty.
+    private CellRange range;
+
+    // true while a range is being copied into selectedCells, which must not be
+    // reported to the listener as the selection itself does not change.
+    private boolean materializing;
+
     public SelectedCellsMap(final ListChangeListener<T> listener) {
+        this.listener = listener;
+
         selectedCells = FXCollections.<T>observableArrayList();
         sortedSelectedCells = new SortedList<>(selectedCells, (T o1, T o2) -> {
             int result = o1.getRow() - o2.getRow();
             return result == 0 ? (o1.getColumn() - o2.getColumn()) : result;
         });
-        sortedSelectedCells.addListener(listener);
+        sortedSelectedCells.addListener((ListChangeListener<T>) c -> {
+            if (!materializing) {
+                listener.onChanged(c);
+            }
+        });
+
+        selectedCellsView = new ReadOnlyUnbackedObservableList<T>() {
+            @Override public T get(int i) {
+                return SelectedCellsMap.this.get(i);
+            }
+
+            @Override public int size() {
+                return SelectedCellsMap.this.size();
+            }
+        };
+
+        selectedCellsInOrderView = new ReadOnlyUnbackedObservableList<T>() {
+            @Override public T get(int i) {
+                return range != null ? range.get(i) : selectedCells.get(i);
+            }
+
+            @Override public int size() {
+                return SelectedCellsMap.this.size();
+            }
+        };
 
         selectedCellBitSetMap = new TreeMap<>((o1, o2) -> o1.compareTo(o2));
     }
 
     public abstract boolean isCellSelectionEnabled();
 
+    /**
+     * Creates the position for the given row and column. A null column denotes
+     * a position without a column.
+     */
+    protected abstract T createCell(int row, TableColumnBase<?,?> column);
+
+    /**
+     * Returns the visible leaf column at the given index, or null if there is
+     * no such column.
+     */
+    protected abstract TableColumnBase<?,?> getVisibleLeafColumn(int column);
+
+    /**
+     * Returns the current index of the given column among the visible leaf
+     * columns, or -1 if the column is not visible.
+     */
+    protected abstract int getVisibleLeafIndex(TableColumnBase<?,?> column);
+
     public int size() {
-        return selectedCells.size();
+        return range != null ? range.size() : selectedCells.size();
     }
 
     public T get(int i) {
         if (i < 0) {
             return null;
         }
-        return sortedSelectedCells.get(i);
+        return range != null ? range.get(i) : sortedSelectedCells.get(i);
+    }
+
+    /**
+     * Replaces the current selection with all cells in the given range, without
+     * creating a position object for each cell. Row and column bounds are
+     * inclusive; if {@code minColumn} is -1, the range represents whole rows.
+     * The listener receives a single change that replaces the entire selection.
+     */
+    public void setRange(int minRow, int maxRow, int minColumn, int maxColumn) {
+        if (minRow > maxRow || minRow < 0 || (minColumn < 0 ? maxColumn >= 0 : minColumn > maxColumn)) {
+            throw new IllegalArgumentException("Invalid range: rows " + minRow + ".." + maxRow
+                    + ", columns " + minColumn + ".." + maxColumn);
+        }
+
+        final List<T> removed = snapshot(true);
+
+        selectedCellBitSetMap.clear();
+        materializing = true;
+        try {
+            selectedCells.clear();
+        } finally {
+            materializing = false;
+        }
+
+        final List<TableColumnBase<?,?>> columns;
+        if (minColumn < 0) {
+            columns = null;
+        } else {
+            columns = new ArrayList<>(maxColumn - minColumn + 1);
+            for (int column = minColumn; column <= maxColumn; column++) {
+                columns.add(getVisibleLeafColumn(column));
+            }
+        }
+
+        range = new CellRange(minRow, maxRow, columns);
+        listener.onChanged(new CellRangeChange(range, removed, selectedCellsView));
+    }
+
+    /**
+     * Removes the cells of the given columns from a selection that is stored
+     * as a range of cells, which keeps the remaining columns as a range. This
+     * is used when columns are removed from the table, as the cells of removed
+     * columns can not be looked up by their column index any more.
+     *
+     * @return true if the selection is stored as a range of cells, in which
+     *         case there are no other cells left to remove
+     */
+    public boolean removeColumns(Collection<? extends TableColumnBase<?,?>> removedColumns) {
+        if (range == null || range.columns == null) {
+            return false;
+        }
+
+        final List<TableColumnBase<?,?>> columns = new ArrayList<>(range.columns);
+        if (!columns.removeAll(removedColumns)) {
+            return true;
+        }
+
+        final List<T> removed = snapshot(true);
+        if (columns.isEmpty()) {
+            range = null;
+            listener.onChanged(new NonIterableChange.GenericAddRemoveChange<>(0, 0, removed, selectedCellsView));
+        } else {
+            range = new CellRange(range.minRow, range.maxRow, columns);
+            listener.onChanged(new CellRangeChange(range, removed, selectedCellsView));
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of the current selection, either in sorted order or in the
+     * order in which the cells were selected. If the selection is stored as a
+     * range, the returned list is a range view that does not retain any position
+     * objects, but allows a single element to be removed.
+     */
+    public List<T> snapshot(boolean sorted) {
+        if (range != null) {
+            return new CellRange(range, range.minRow, range.maxRow);
+        }
+        return new ArrayList<>(sorted ? sortedSelectedCells : selectedCells);
+    }
+
+    /**
+     * Converts the compact range representation into the list and map
+     * representation, which is required before modifying the selection in a
+     * way that can not be expressed as a single range.
+     */
+    private void materialize() {
+        if (range == null) {
+            return;
+        }
+
+        final CellRange r = range;
+        range = null;
+
+        // the columns of the range may have moved since the range was created
+        final BitSet columns = new BitSet();
+        if (r.columns != null) {
+            for (TableColumnBase<?,?> column : r.columns) {
+                final int index = getVisibleLeafIndex(column);
+                if (index >= 0) {
+                    columns.set(index);
+                }
+            }
+        }
+
+        for (int row = r.minRow; row <= r.maxRow; row++) {
+            selectedCellBitSetMap.put(row, (BitSet)columns.clone());
+        }
+
+        materializing = true;
+        try {
+            selectedCells.setAll(r);
+        } finally {
+            materializing = false;
+        }
     }
 
     public void add(T tp) {
+        if (range != null) {
+            final int column = tp.getColumn();
+            final boolean isAlreadySet = isCellSelectionEnabled()
+                    ? column >= 0 && range.contains(tp.getRow(), column)
+                    : range.contains(tp.getRow(), -1);
+            if (isAlreadySet) {
+                return;
+            }
+            materialize();
+        }
+
         final int row = tp.getRow();
         final int columnIndex = tp.getColumn();
 
@@ -121,6 +317,8 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public void addAll(Collection<T> cells) {
+        materialize();
+
         // update bitset
         for (T tp : cells) {
             final int row = tp.getRow();
@@ -148,6 +346,7 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
 
     public void setAll(Collection<T> cells) {
         // update bitset
+        range = null;
         selectedCellBitSetMap.clear();
         for (T tp : cells) {
             final int row = tp.getRow();
@@ -174,6 +373,8 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public void remove(T tp) {
+        materialize();
+
         final int row = tp.getRow();
         final int columnIndex = tp.getColumn();
 
@@ -195,6 +396,8 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public void clear() {
+        range = null;
+
         // update bitset
         selectedCellBitSetMap.clear();
 
@@ -203,6 +406,10 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public boolean isSelected(int row, int columnIndex) {
+        if (range != null) {
+            return range.contains(row, columnIndex);
+        }
+
         if (columnIndex < 0) {
             return selectedCellBitSetMap.containsKey(row);
         } else {
@@ -211,14 +418,248 @@ public abstract class SelectedCellsMap<T extends TablePositionBase> {
     }
 
     public int indexOf(T tp) {
-        return sortedSelectedCells.indexOf(tp);
+        return range != null ? range.indexOf(tp) : sortedSelectedCells.indexOf(tp);
     }
 
     public boolean isEmpty() {
-        return selectedCells.isEmpty();
+        return range == null && selectedCells.isEmpty();
     }
 
+    /**
+     * Returns a read-only view of the selected cells in the order in which they
+     * were selected. The cells of a range are selected by row and then by
+     * column, and are created on demand.
+     */
     public ObservableList<T> getSelectedCells() {
-        return selectedCells;
+        return selectedCellsInOrderView;
+    }
+
+    /**
+     * A compact, read-only list of all cells in a rectangular range, ordered by
+     * row and then by column. Elements are created on demand by the enclosing
+     * SelectedCellsMap and are not retained.
+     * <p>
+     * To support the clear-and-select use case, where the previous selection
+     * minus the newly selected cell is reported as removed, a single element
+     * can be removed from the list.
+     */
+    public final class CellRange extends AbstractList<T> implements RandomAccess {
+        private final int minRow;
+        private final int maxRow;
+        // the columns of the range in their order at the time the range was
+        // created, or null if the range consists of whole rows
+        private final List<TableColumnBase<?,?>> columns;
+        private final Map<TableColumnBase<?,?>, Integer> columnIndices;
+        private final int width;
+        private int excludedIndex = -1;
+
+        CellRange(int minRow, int maxRow, List<TableColumnBase<?,?>> columns) {
+            this.minRow = minRow;
+            this.maxRow = maxRow;
+            this.columns = columns;
+            this.width = columns == null ? 1 : columns.size();
+
+            if (columns == null) {
+                columnIndices = null;
+            } else {
+                columnIndices = new IdentityHashMap<>(width);
+                for (int i = 0; i < width; i++) {
+                    columnIndices.put(columns.get(i), i);
+                }
+            }
+        }
+
+        // creates a range of the same columns as the given range
+        private CellRange(CellRange range, int minRow, int maxRow) {
+            this.minRow = minRow;
+            this.maxRow = maxRow;
+            this.columns = range.columns;
+            this.columnIndices = range.columnIndices;
+            this.width = range.width;
+        }
+
+        // the index of the column in this range, or -1
+        private int columnIndex(TableColumnBase<?,?> column) {
+            if (columnIndices == null || column == null) {
+                return -1;
+            }
+            final Integer index = columnIndices.get(column);
+            return index != null ? index : -1;
+        }
+
+        public int getMinRow() {
+            return minRow;
+        }
+
+        public int getMaxRow() {
+            return maxRow;
+        }
+
+        /**
+         * Returns the distinct rows that contain at least one cell of this list.
+         */
+        public IntStream rows() {
+            IntStream rows = IntStream.rangeClosed(minRow, maxRow);
+            if (excludedIndex >= 0 && width == 1) {
+                final int excludedRow = minRow + excludedIndex;
+                rows = rows.filter(row -> row != excludedRow);
+            }
+            return rows;
+        }
+
+        /**
+         * Returns the distinct rows that contain at least one cell of this list
+         * as a list view, which does not retain an Integer for each row.
+         */
+        public List<Integer> rowList() {
+            final int excludedRow = excludedIndex >= 0 && width == 1 ? minRow + excludedIndex : -1;
+            final int size = maxRow - minRow + 1 - (excludedRow >= 0 ? 1 : 0);
+            return new AbstractList<Integer>() {
+                @Override public Integer get(int index) {
+                    Objects.checkIndex(index, size);
+                    final int row = minRow + index;
+                    return excludedRow >= 0 && row >= excludedRow ? row + 1 : row;
+                }
+
+                @Override public int size() {
+                    return size;
+                }
+            };
+        }
+
+        boolean contains(int row, int column) {
+            if (row < minRow || row > maxRow) {
+                return false;
+            }
+
+            final int index;
+            if (column < 0) {
+                index = (row - minRow) * width;
+            } else {
+                final int columnIndex = columnIndex(getVisibleLeafColumn(column));
+                if (columnIndex < 0) {
+                    return false;
+                }
+                index = (row - minRow) * width + columnIndex;
+            }
+
+            return excludedIndex < 0 || index != excludedIndex || (column < 0 && width > 1);
+        }
+
+        @Override public T get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            index = rawIndex(index);
+            return createCell(minRow + index / width, columns == null ? null : columns.get(index % width));
+        }
+
+        @Override public int size() {
+            long size = (long)(maxRow - minRow + 1) * width - (excludedIndex >= 0 ? 1 : 0);
+            return (int)Math.min(size, Integer.MAX_VALUE);
+        }
+
+        @Override public int indexOf(Object o) {
+            if (!(o instanceof TablePositionBase)) {
+                return -1;
+            }
+
+            final TablePositionBase<?> tp = (TablePositionBase<?>)o;
+            final int row = tp.getRow();
+            if (row < minRow || row > maxRow) {
+                return -1;
+            }
+
+            final int columnIndex = columns == null ? 0 : columnIndex(tp.getTableColumn());
+            if (columnIndex < 0) {
+                return -1;
+            }
+
+            int index = (row - minRow) * width + columnIndex;
+            if (excludedIndex >= 0) {
+                if (index == excludedIndex) {
+                    return -1;
+                } else if (index > excludedIndex) {
+                    index--;
+                }
+            }
+
+            return o.equals(get(index)) ? index : -1;
+        }
+
+        @Override public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override public List<T> subList(int fromIndex, int toIndex) {
+            if (width > 1 || fromIndex >= toIndex) {
+                return super.subList(fromIndex, toIndex);
+            }
+
+            // a contiguous part of a range of rows is again a range of rows
+            subListRangeCheck(fromIndex, toIndex);
+            final int first = rawIndex(fromIndex);
+            final int last = rawIndex(toIndex - 1);
+            CellRange subList = new CellRange(this, minRow + first, minRow + last);
+            if (excludedIndex > first && excludedIndex < last) {
+                subList.excludedIndex = excludedIndex - first;
+            }
+            return subList;
+        }
+
+        private void subListRangeCheck(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > size()) {
+                throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size());
+            }
+        }
+
+        private int rawIndex(int index) {
+            return excludedIndex >= 0 && index >= excludedIndex ? index + 1 : index;
+        }
+
+        @Override public T remove(int index) {
+            if (excludedIndex >= 0) {
+                throw new UnsupportedOperationException("Only a single element can be removed from a CellRange");
+            }
+
+            T removed = get(index);
+            excludedIndex = index;
+            modCount++;
+            return removed;
+        }
+
+        @Override public boolean remove(Object o) {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+
+            remove(index);
+            return true;
+        }
+    }
+
+    /**
+     * The change that is fired when the selection is replaced by a range. The
+     * added sub-list is reported as a {@link CellRange}, which allows listeners
+     * to process the change per row instead of per cell.
+     */
+    private final class CellRangeChange extends NonIterableChange.GenericAddRemoveChange<T> {
+        private final CellRange added;
+
+        CellRangeChange(CellRange added, List<T> removed, ObservableList<T> list) {
+            super(0, added.size(), removed, list);
+            this.added = added;
+        }
+
+        @Override public List<T> getAddedSubList() {
+            checkState();
+            return added;
+        }
     }
 }
\ No newline at end of file
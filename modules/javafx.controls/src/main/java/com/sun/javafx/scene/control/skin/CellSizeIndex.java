@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.javafx.scene.control.skin;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Stores the measured sizes of the cells of a VirtualFlow in a pair of Fenwick
+ * trees (binary indexed trees), such that the offset of a cell and the cell at
+ * a given offset can be computed in O(log n) time.
+ * <p>
+ * Cells that have not been measured yet are accounted for with an estimate. By
+ * default, the estimate is the same for all cells and is passed to the query
+ * methods. Alternatively, an estimator function can be installed that provides
+ * an estimate for each individual cell; in this case, the estimates are stored
+ * in a third tree and replaced by the measured size once the cell is measured.
+ * <p>
+ * The index has a logical size, which is the length of the range of cells for
+ * which sizes have been recorded (similar to the size of a list that is only
+ * ever extended up to the largest index that was set). Cells beyond the logical
+ * size are treated as not measured.
+ */
+public final class CellSizeIndex {
+
+    private static final int MIN_CAPACITY = 16;
+
+    // measured size of each cell, or NaN if the cell has not been measured
+    private double[] sizes = new double[0];
+
+    // Fenwick trees of the measured sizes and of the number of measured cells
+    private double[] sumTree = new double[1];
+    private int[] countTree = new int[1];
+
+    // estimated size of each unmeasured cell within the estimator range, and
+    // the Fenwick trees of these estimates and of the number of estimated cells;
+    // only used when an estimator is installed
+    private IntToDoubleFunction estimator;
+    private int estimatorRange;
+    private double[] estimates;
+    private double[] estimateTree;
+    private int[] estimateCountTree;
+
+    private int size;
+    private int measuredCount;
+    private double measuredSum;
+
+    /**
+     * Returns the logical size of this index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of measured cells.
+     */
+    public int getMeasuredCount() {
+        return measuredCount;
+    }
+
+    /**
+     * Returns the sum of the sizes of all measured cells.
+     */
+    public double getMeasuredSum() {
+        return measuredSum;
+    }
+
+    /**
+     * Returns whether the cell at the given index has been measured.
+     */
+    public boolean isMeasured(int index) {
+        return index >= 0 && index < size && !Double.isNaN(sizes[index]);
+    }
+
+    /**
+     * Returns the measured size of the cell at the given index, or -1 if the
+     * cell has not been measured.
+     */
+    public double get(int index) {
+        return isMeasured(index) ? sizes[index] : -1;
+    }
+
+    /**
+     * Records the measured size of the cell at the given index, extending the
+     * logical size of this index if required.
+     */
+    public void set(int index, double value) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+
+        ensureSize(index + 1);
+
+        final double old = sizes[index];
+        final double delta;
+        if (Double.isNaN(old)) {
+            delta = value;
+            measuredCount++;
+            add(countTree, index, 1);
+            if (estimator != null && index < estimatorRange) {
+                add(estimateTree, index, -estimates[index]);
+                add(estimateCountTree, index, -1);
+                estimates[index] = 0;
+            }
+        } else {
+            delta = value - old;
+        }
+
+        sizes[index] = value;
+        measuredSum += delta;
+        add(sumTree, index, delta);
+    }
+
+    /**
+     * Extends the logical size of this index to at least the given size; the
+     * added cells are not measured.
+     */
+    public void ensureSize(int newSize) {
+        if (newSize > size) {
+            ensureCapacity(newSize);
+            size = newSize;
+        }
+    }
+
+    /**
+     * Removes all measured sizes. If an estimator is installed, the estimates
+     * of the first {@code cellCount} cells are recomputed.
+     */
+    public void clear(int cellCount) {
+        sizes = new double[0];
+        size = 0;
+        if (estimator != null) {
+            estimatorRange = cellCount;
+        }
+        rebuild();
+    }
+
+    /**
+     * Installs an estimator that provides the estimated size of each of the
+     * first {@code cellCount} cells, or removes the estimator if it is null.
+     * This is an O(n) operation.
+     */
+    public void setEstimator(IntToDoubleFunction estimator, int cellCount) {
+        this.estimator = estimator;
+        this.estimatorRange = estimator != null ? cellCount : 0;
+        rebuild();
+    }
+
+    /**
+     * Returns the installed estimator, or null.
+     */
+    public IntToDoubleFunction getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * Inserts {@code count} unmeasured cells at the given index, shifting the
+     * sizes of all subsequent cells. Only the tree nodes that cover the shifted
+     * cells are recomputed, so appending cells is an O(count log n) operation.
+     */
+    public void insert(int index, int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        final int end = end();
+        if (estimator != null) {
+            estimatorRange += count;
+            ensureCapacity(estimatorRange);
+        } else if (index >= size) {
+            // unmeasured cells beyond the logical size are not stored
+            return;
+        }
+
+        if (index < size) {
+            ensureCapacity(size + count);
+            System.arraycopy(sizes, index, sizes, index + count, size - index);
+            Arrays.fill(sizes, index, index + count, Double.NaN);
+            size += count;
+        }
+        rebuild(index, Math.max(end, end()));
+    }
+
+    /**
+     * Removes {@code count} cells starting at the given index, shifting the
+     * sizes of all subsequent cells. Only the tree nodes that cover the shifted
+     * cells are recomputed.
+     */
+    public void remove(int index, int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        final int end = end();
+        if (estimator != null) {
+            estimatorRange = Math.max(0, estimatorRange - count);
+        } else if (index >= size) {
+            return;
+        }
+
+        if (index < size) {
+            count = Math.min(count, size - index);
+            System.arraycopy(sizes, index + count, sizes, index, size - index - count);
+            Arrays.fill(sizes, size - count, size, Double.NaN);
+            size -= count;
+        }
+        rebuild(index, end);
+    }
+
+    /**
+     * Returns the offset of the start of the cell at the given index, using
+     * {@code estimate} as the size of each cell that has neither been measured
+     * nor is covered by the estimator.
+     */
+    public double getOffset(int index, double estimate) {
+        if (index <= 0) {
+            return 0;
+        }
+
+        int n = Math.min(index, capacity());
+        double offset = sum(sumTree, n);
+        int unknown = index - sum(countTree, n);
+        if (estimator != null) {
+            offset += sum(estimateTree, n);
+            unknown -= sum(estimateCountTree, n);
+        }
+
+        return offset + unknown * estimate;
+    }
+
+    /**
+     * Returns the index of the cell that contains the given offset, using
+     * {@code estimate} as the size of each cell that has neither been measured
+     * nor is covered by the estimator. Returns 0 for offsets before the first
+     * cell, and {@code cellCount - 1} for offsets beyond the last cell.
+     */
+    public int getIndex(double offset, int cellCount, double estimate) {
+        if (cellCount <= 0 || offset <= 0) {
+            return 0;
+        }
+
+        // Descend the trees to find the largest number of leading cells whose
+        // combined size is less than or equal to the offset. Every tree node
+        // covers the range (next - step, next].
+        final int n = Math.min(capacity(), cellCount);
+        int pos = 0;
+        double remaining = offset;
+        for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next > n) {
+                continue;
+            }
+
+            int unknown = step - countTree[next];
+            double block = sumTree[next];
+            if (estimator != null) {
+                block += estimateTree[next];
+                unknown -= estimateCountTree[next];
+            }
+            block += unknown * estimate;
+
+            if (block <= remaining) {
+                pos = next;
+                remaining -= block;
+            }
+        }
+
+        // all cells beyond the capacity of the trees are unknown
+        if (pos == n && n < cellCount && estimate > 0) {
+            pos += (int)Math.min(cellCount - n, Math.floor(remaining / estimate));
+        }
+
+        return Math.min(pos, cellCount - 1);
+    }
+
+    private int capacity() {
+        return sizes.length;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int capacity = capacity();
+        if (minCapacity <= capacity) {
+            return;
+        }
+
+        int newCapacity = Math.max(MIN_CAPACITY, Math.max(minCapacity, capacity + (capacity >> 1)));
+        sizes = Arrays.copyOf(sizes, newCapacity);
+        Arrays.fill(sizes, capacity, newCapacity, Double.NaN);
+        rebuild();
+    }
+
+    // Returns the number of leading cells that can be measured or estimated;
+    // all tree leaves beyond this index are zero.
+    private int end() {
+        return Math.min(capacity(), Math.max(size, estimatorRange));
+    }
+
+    // Rebuilds all trees from the sizes array in O(n) time.
+    private void rebuild() {
+        if (estimatorRange > capacity()) {
+            int capacity = capacity();
+            sizes = Arrays.copyOf(sizes, estimatorRange);
+            Arrays.fill(sizes, capacity, estimatorRange, Double.NaN);
+        }
+
+        final int capacity = capacity();
+        sumTree = new double[capacity + 1];
+        countTree = new int[capacity + 1];
+        measuredCount = 0;
+        measuredSum = 0;
+
+        if (estimator != null) {
+            estimates = new double[capacity];
+            estimateTree = new double[capacity + 1];
+            estimateCountTree = new int[capacity + 1];
+        } else {
+            estimates = null;
+            estimateTree = null;
+            estimateCountTree = null;
+        }
+
+        rebuild(0, capacity);
+    }
+
+    // Recomputes the leaves of the cells in [from, to) and all tree nodes that
+    // cover them, keeping the nodes that only cover preceding cells. All leaves
+    // beyond 'to' must be zero, both before and after the change.
+    private void rebuild(int from, int to) {
+        to = Math.min(to, capacity());
+        if (from >= to) {
+            return;
+        }
+
+        measuredCount = sum(countTree, from);
+        measuredSum = sum(sumTree, from);
+        clearPath(sumTree, to);
+        clearPath(countTree, to);
+
+        for (int i = from; i < to; i++) {
+            double value = sizes[i];
+            if (Double.isNaN(value)) {
+                sumTree[i + 1] = 0;
+                countTree[i + 1] = 0;
+            } else {
+                sumTree[i + 1] = value;
+                countTree[i + 1] = 1;
+                measuredCount++;
+                measuredSum += value;
+            }
+        }
+
+        build(sumTree, from, to);
+        build(countTree, from, to);
+
+        if (estimator != null) {
+            clearPath(estimateTree, to);
+            clearPath(estimateCountTree, to);
+
+            for (int i = from; i < to; i++) {
+                boolean estimated = i < estimatorRange && Double.isNaN(sizes[i]);
+                estimates[i] = estimated ? estimator.applyAsDouble(i) : 0;
+                estimateTree[i + 1] = estimates[i];
+                estimateCountTree[i + 1] = estimated ? 1 : 0;
+            }
+
+            build(estimateTree, from, to);
+            build(estimateCountTree, from, to);
+        }
+    }
+
+    // Clears the nodes beyond 'to' that cover both preceding and following cells.
+    private static void clearPath(double[] tree, int to) {
+        for (int i = to + (to & -to); i < tree.length; i += i & -i) {
+            tree[i] = 0;
+        }
+    }
+
+    private static void clearPath(int[] tree, int to) {
+        for (int i = to + (to & -to); i < tree.length; i += i & -i) {
+            tree[i] = 0;
+        }
+    }
+
+    // Builds the nodes above 'from' from the leaves of the cells in [from, to),
+    // assuming that the nodes on the path beyond 'to' have been cleared. The
+    // nodes that also cover cells before 'from' receive the sum of these cells
+    // from the unchanged nodes below 'from'.
+    private static void build(double[] tree, int from, int to) {
+        for (int i = from + 1; i < tree.length; ) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+            i = i < to ? i + 1 : parent;
+        }
+
+        if (from > 0) {
+            double prefix = sum(tree, from);
+            for (int i = from + (from & -from); i < tree.length; i += i & -i) {
+                tree[i] += prefix - sum(tree, i - (i & -i));
+            }
+        }
+    }
+
+    private static void build(int[] tree, int from, int to) {
+        for (int i = from + 1; i < tree.length; ) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+            i = i < to ? i + 1 : parent;
+        }
+
+        if (from > 0) {
+            int prefix = sum(tree, from);
+            for (int i = from + (from & -from); i < tree.length; i += i & -i) {
+                tree[i] += prefix - sum(tree, i - (i & -i));
+            }
+        }
+    }
+
+    private static double sum(double[] tree, int count) {
+        double sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private static int sum(int[] tree, int count) {
+        int sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private static void add(double[] tree, int index, double delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static void add(int[] tree, int index, int delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+}
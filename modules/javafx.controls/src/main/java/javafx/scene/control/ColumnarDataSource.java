@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package javafx.scene.control;
+
+import com.sun.javafx.binding.ObjectConstant;
+import com.sun.javafx.collections.SortableList;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.util.Callback;
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * A data source for a {@link TableView} that stores its data in columns rather
+ * than in row objects. Instead of a list of row objects, the table is populated
+ * with the {@link #getRows() rows} of the data source, which is a list of row
+ * indices that does not store its elements. The values of the columns are
+ * provided by cell value factories that read from primitive arrays or from
+ * an accessor function, for example one that fetches the values from a paging
+ * data provider:
+ *
+ * <pre><code>
+ * {@literal double[] prices = ...
+ * ColumnarDataSource dataSource = new ColumnarDataSource(prices.length);
+ *
+ * TableColumn<Integer, Double> priceColumn = new TableColumn<>("Price");
+ * priceColumn.setCellValueFactory(ColumnarDataSource.doubleColumn(prices));
+ *
+ * TableView<Integer> table = new TableView<>(dataSource.getRows());
+ * table.getColumns().add(priceColumn);}
+ * </code></pre>
+ *
+ * <p>Since the TableView only requests the values of the cells that are
+ * visible, the values are boxed and wrapped in an {@code ObservableValue} only
+ * for the visible rows, and no per-row objects are retained. Consequently, a
+ * table with millions of rows only needs the memory of its primitive columns.
+ *
+ * <p>The values provided by the cell value factories of this class are not
+ * observable: if the contents of a column change, {@link TableView#refresh()}
+ * must be called to update the visible cells. The list of rows cannot be
+ * modified directly, and therefore does not support sorting by the TableView.
+ *
+ * @see TableColumn#cellValueFactoryProperty()
+ * @since JFXcore 18
+ */
+public class ColumnarDataSource {
+
+    private final RowList rows = new RowList();
+
+    /**
+     * Creates a new {@code ColumnarDataSource} with the given number of rows.
+     *
+     * @param rowCount the number of rows
+     * @throws IllegalArgumentException if {@code rowCount} is negative
+     */
+    public ColumnarDataSource(int rowCount) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("rowCount cannot be negative");
+        }
+
+        rows.size = rowCount;
+    }
+
+    /**
+     * Returns the unmodifiable list of rows of this data source, which contains
+     * the row indices {@code 0} to {@code getRowCount() - 1}. This list is
+     * intended to be used as the items list of a {@link TableView}.
+     *
+     * @return the list of rows
+     */
+    public final ObservableList<Integer> getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of rows of this data source.
+     *
+     * @return the number of rows
+     */
+    public final int getRowCount() {
+        return rows.size;
+    }
+
+    /**
+     * Sets the number of rows of this data source. If the number of rows
+     * changes, the list of rows fires a change notification for the rows that
+     * were added to or removed from the end of the list.
+     *
+     * @param rowCount the number of rows
+     * @throws IllegalArgumentException if {@code rowCount} is negative
+     */
+    public final void setRowCount(int rowCount) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("rowCount cannot be negative");
+        }
+
+        rows.setSize(rowCount);
+    }
+
+    /**
+     * Creates a cell value factory that returns the values of the given array,
+     * indexed by row.
+     *
+     * @param values the values of the column
+     * @return the cell value factory
+     */
+    public static Callback<CellDataFeatures<Integer, Double>, ObservableValue<Double>> doubleColumn(double[] values) {
+        Objects.requireNonNull(values, "values cannot be null");
+        return column(row -> values[row]);
+    }
+
+    /**
+     * Creates a cell value factory that returns the values of the given array,
+     * indexed by row.
+     *
+     * @param values the values of the column
+     * @return the cell value factory
+     */
+    public static Callback<CellDataFeatures<Integer, Float>, ObservableValue<Float>> floatColumn(float[] values) {
+        Objects.requireNonNull(values, "values cannot be null");
+        return column(row -> values[row]);
+    }
+
+    /**
+     * Creates a cell value factory that returns the values of the given array,
+     * indexed by row.
+     *
+     * @param values the values of the column
+     * @return the cell value factory
+     */
+    public static Callback<CellDataFeatures<Integer, Long>, ObservableValue<Long>> longColumn(long[] values) {
+        Objects.requireNonNull(values, "values cannot be null");
+        return column(row -> values[row]);
+    }
+
+    /**
+     * Creates a cell value factory that returns the values of the given array,
+     * indexed by row.
+     *
+     * @param values the values of the column
+     * @return the cell value factory
+     */
+    public static Callback<CellDataFeatures<Integer, Integer>, ObservableValue<Integer>> intColumn(int[] values) {
+        Objects.requireNonNull(values, "values cannot be null");
+        return column(row -> values[row]);
+    }
+
+    /**
+     * Creates a cell value factory that returns the values of the given array,
+     * indexed by row.
+     *
+     * @param <T> the type of the values
+     * @param values the values of the column
+     * @return the cell value factory
+     */
+    public static <T> Callback<CellDataFeatures<Integer, T>, ObservableValue<T>> objectColumn(T[] values) {
+        Objects.requireNonNull(values, "values cannot be null");
+        return column(row -> values[row]);
+    }
+
+    /**
+     * Creates a cell value factory that returns the value that the given
+     * accessor function returns for the row. The accessor is only called for
+     * the rows that are visible in the TableView, which makes it possible to
+     * load the values of a column lazily, for example page by page.
+     *
+     * @param <T> the type of the values
+     * @param accessor the function that returns the value of the column for a row
+     * @return the cell value factory
+     */
+    public static <T> Callback<CellDataFeatures<Integer, T>, ObservableValue<T>> column(IntFunction<? extends T> accessor) {
+        Objects.requireNonNull(accessor, "accessor cannot be null");
+        return features -> {
+            Integer row = features.getValue();
+            return row == null ? null : ObjectConstant.valueOf(accessor.apply(row));
+        };
+    }
+
+    /**
+     * The list of row indices, which only stores its size. It implements
+     * SortableList such that sort requests fail without copying the list.
+     */
+    private static final class RowList extends ObservableListBase<Integer> implements SortableList<Integer> {
+        int size;
+
+        @Override public void sort() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override public void sort(Comparator<? super Integer> comparator) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override public Integer get(int index) {
+            Objects.checkIndex(index, size);
+            return index;
+        }
+
+        @Override public int size() {
+            return size;
+        }
+
+        void setSize(int newSize) {
+            final int oldSize = size;
+            if (newSize == oldSize) {
+                return;
+            }
+
+            size = newSize;
+
+            beginChange();
+            if (newSize > oldSize) {
+                nextAdd(oldSize, newSize);
+            } else {
+                nextRemove(newSize, new AbstractList<Integer>() {
+                    @Override public Integer get(int index) {
+                        Objects.checkIndex(index, size());
+                        return newSize + index;
+                    }
+
+                    @Override public int size() {
+                        return oldSize - newSize;
+                    }
+                });
+            }
+            endChange();
+        }
+    }
+}
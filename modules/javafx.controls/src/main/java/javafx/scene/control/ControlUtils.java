@@ -25,6 +25,8 @@
 
 package javafx.scene.control;
 
+import com.sun.javafx.collections.NonIterableChange;
+import com.sun.javafx.scene.control.SelectedCellsMap;
 import com.sun.javafx.scene.control.skin.Utils;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -38,6 +40,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 class ControlUtils {
     private ControlUtils() { }
@@ -158,6 +161,10 @@ class ControlUtils {
     }
 
     public static <S> void updateSelectedIndices(MultipleSelectionModelBase<S> sm, boolean isCellSelectionEnabled, ListChangeListener.Change<? extends TablePositionBase<?>> c, IntPredicate removeRowFilter) {
+        if (updateSelectedIndicesOfRange(sm, c, removeRowFilter)) {
+            return;
+        }
+
         sm.selectedIndices._beginChange();
 
         while (c.next()) {
@@ -166,19 +173,15 @@ class ControlUtils {
             // ensuring that the selectedIndices bitset is correctly updated.
 
             sm.startAtomic();
-            final List<Integer> removed = c.getRemoved().stream()
-                    .mapToInt(TablePositionBase::getRow)
-                    .distinct()
+            final List<? extends TablePositionBase<?>> removedCells = c.getRemoved();
+            final List<Integer> removed = rows(removedCells)
                     .filter(removeRowFilter)
                     .boxed()
-                    .peek(sm.selectedIndices::clear)
+                    .peek(removedCells instanceof SelectedCellsMap.CellRange ?
+                            sm.selectedIndices::clearQuietly : sm.selectedIndices::clear)
                     .collect(Collectors.toList());
 
-            final int addedSize = (int)c.getAddedSubList().stream()
-                    .mapToInt(TablePositionBase::getRow)
-                    .distinct()
-                    .peek(sm.selectedIndices::set)
-                    .count();
+            final int addedSize = setRows(sm, c.getAddedSubList());
             sm.stopAtomic();
 
             int from = c.getFrom();
@@ -218,6 +221,90 @@ class ControlUtils {
         sm.selectedIndices._endChange();
     }
 
+    /**
+     * Updates the selected indices for a change that removes a range of cells,
+     * as it is fired when a select-all is cleared or replaced. The change of the
+     * selected indices is fired at once, and reports the removed rows as a view
+     * of the range instead of a list that contains an Integer for each row.
+     *
+     * @return false if the change does not consist of a single removed range of
+     *         cells whose rows are all deselected, in which case nothing is done
+     */
+    private static <S> boolean updateSelectedIndicesOfRange(MultipleSelectionModelBase<S> sm, ListChangeListener.Change<? extends TablePositionBase<?>> c, IntPredicate removeRowFilter) {
+        if (!c.next()) {
+            c.reset();
+            return false;
+        }
+
+        final List<? extends TablePositionBase<?>> removedCells = c.getRemoved();
+        final boolean isSingleRange = c.getFrom() == 0
+                && removedCells instanceof SelectedCellsMap.CellRange
+                && !c.next();
+        c.reset();
+
+        if (!isSingleRange) {
+            return false;
+        }
+
+        // rows that still contain selected cells are not removed
+        final SelectedCellsMap<?>.CellRange removedRange = (SelectedCellsMap<?>.CellRange)removedCells;
+        if (!removedRange.rows().allMatch(removeRowFilter)) {
+            return false;
+        }
+
+        c.next();
+        sm.startAtomic();
+        removedRange.rows().forEach(sm.selectedIndices::clearQuietly);
+        final int addedSize = setRows(sm, c.getAddedSubList());
+        sm.stopAtomic();
+        c.reset();
+        sm.selectedIndices.reset();
+
+        if (sm.isAtomic()) {
+            return true;
+        }
+
+        // Fix for RT-31577, see updateSelectedIndices
+        if (sm.getSelectedItems().isEmpty() && sm.getSelectedItem() != null) {
+            sm.setSelectedItem(null);
+        }
+
+        final List<Integer> removed = removedRange.rowList();
+        if (addedSize > 0 || !removed.isEmpty()) {
+            sm.selectedIndices.callObservers(
+                    new NonIterableChange.GenericAddRemoveChange<>(0, addedSize, removed, sm.selectedIndices));
+        }
+        return true;
+    }
+
+    /**
+     * Selects the rows of the given cells without firing a change, and returns
+     * the number of distinct rows.
+     */
+    private static int setRows(MultipleSelectionModelBase<?> sm, List<? extends TablePositionBase<?>> added) {
+        if (added instanceof SelectedCellsMap.CellRange) {
+            // a range of cells selects a contiguous range of rows, which can be
+            // set at once instead of row by row
+            SelectedCellsMap<?>.CellRange range = (SelectedCellsMap<?>.CellRange)added;
+            sm.selectedIndices.setRangeQuietly(range.getMinRow(), range.getMaxRow() + 1);
+            return range.rowList().size();
+        }
+
+        return (int)rows(added)
+                .peek(sm.selectedIndices::set)
+                .count();
+    }
+
+    private static IntStream rows(List<? extends TablePositionBase<?>> cells) {
+        if (cells instanceof SelectedCellsMap.CellRange) {
+            return ((SelectedCellsMap<?>.CellRange)cells).rows();
+        }
+
+        return cells.stream()
+                .mapToInt(TablePositionBase::getRow)
+                .distinct();
+    }
+
     public static <S> int getIndexOfChildWithDescendant(TreeItem<S> parent, TreeItem<S> item) {
         if (item == null || parent == null) {
             return -1;
@@ -749,6 +749,19 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
             _endChange();
         }
 
+        /**
+         * Sets all indices in the given range without firing a change. This is
+         * used when the caller reports the change itself.
+         */
+        void setRangeQuietly(int index, int end) {
+            final int from = Math.max(0, index);
+            final int to = Math.min(getItemCount(), end);
+            if (from < to) {
+                size = -1;
+                bitset.set(from, to);
+            }
+        }
+
         public void set(int index, int... indices) {
             if (indices == null || indices.length == 0) {
                 set(index);
@@ -831,6 +844,17 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
             _endChange();
         }
 
+        /**
+         * Clears the given index without firing a change. This is used when the
+         * caller reports the change itself.
+         */
+        void clearQuietly(int index) {
+            if (bitset.get(index)) {
+                size = -1;
+                bitset.clear(index);
+            }
+        }
+
         public boolean isSelected(int index) {
             return bitset.get(index);
         }
@@ -27,7 +27,6 @@ package javafx.scene.control;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -726,7 +725,11 @@ public class TableView<S> extends Control {
 
             // Fix for selection - we remove selection from all cells that
             // were within the removed column.
-            if (sm != null) {
+            if (sm instanceof TableViewArrayListSelectionModel
+                    && ((TableViewArrayListSelectionModel<S>)sm).selectedCellsMap.removeColumns(removed)) {
+                // the selection is a range of cells, which no longer contains
+                // the removed columns
+            } else if (sm != null) {
                 List<TablePosition> selectedCells = new ArrayList<>(sm.getSelectedCells());
                 for (TablePosition selectedCell : selectedCells) {
                     boolean match = false;
@@ -2115,6 +2118,18 @@ public class TableView<S> extends Control {
                 @Override public boolean isCellSelectionEnabled() {
                     return TableViewArrayListSelectionModel.this.isCellSelectionEnabled();
                 }
+
+                @Override protected TablePosition<S,?> createCell(int row, TableColumnBase<?,?> column) {
+                    return new TablePosition<>(tableView, row, (TableColumn<S,?>)column);
+                }
+
+                @Override protected TableColumnBase<?,?> getVisibleLeafColumn(int column) {
+                    return tableView.getVisibleLeafColumn(column);
+                }
+
+                @Override protected int getVisibleLeafIndex(TableColumnBase<?,?> column) {
+                    return tableView.getVisibleLeafIndex((TableColumn<S,?>)column);
+                }
             };
 
             selectedCellsSeq = new ReadOnlyUnbackedObservableList<TablePosition<S,?>>() {
@@ -2412,7 +2427,7 @@ public class TableView<S> extends Control {
 
             // firstly we make a copy of the selection, so that we can send out
             // the correct details in the selection change event.
-            List<TablePosition<S,?>> previousSelection = new ArrayList<>(selectedCellsMap.getSelectedCells());
+            List<TablePosition<S,?>> previousSelection = selectedCellsMap.snapshot(false);
 
             // secondly we check if we can short-circuit out of here because the new selection
             // equals the current selection
@@ -2637,36 +2652,32 @@ public class TableView<S> extends Control {
         @Override public void selectAll() {
             if (getSelectionMode() == SelectionMode.SINGLE) return;
 
+            // the selection is stored as a single range, so that selecting all
+            // cells of a large table does not create a TablePosition per cell
+            final int itemCount = getItemCount();
             if (isCellSelectionEnabled()) {
-                List<TablePosition<S,?>> indices = new ArrayList<>();
-                TableColumn<S,?> column;
-                TablePosition<S,?> tp = null;
-                for (int col = 0; col < getTableView().getVisibleLeafColumns().size(); col++) {
-                    column = getTableView().getVisibleLeafColumns().get(col);
-                    for (int row = 0; row < getItemCount(); row++) {
-                        tp = new TablePosition<>(getTableView(), row, column);
-                        indices.add(tp);
-                    }
-                }
-                selectedCellsMap.setAll(indices);
+                final int columnCount = getTableView().getVisibleLeafColumns().size();
+                if (itemCount > 0 && columnCount > 0) {
+                    selectedCellsMap.setRange(0, itemCount - 1, 0, columnCount - 1);
 
-                if (tp != null) {
-                    select(tp.getRow(), tp.getTableColumn());
-                    focus(tp.getRow(), tp.getTableColumn());
+                    TableColumn<S,?> column = getTableView().getVisibleLeafColumn(columnCount - 1);
+                    select(itemCount - 1, column);
+                    focus(itemCount - 1, column);
+                } else {
+                    selectedCellsMap.clear();
                 }
             } else {
-                List<TablePosition<S,?>> indices = new ArrayList<>();
-                for (int i = 0; i < getItemCount(); i++) {
-                    indices.add(new TablePosition<>(getTableView(), i, null));
+                if (itemCount > 0) {
+                    selectedCellsMap.setRange(0, itemCount - 1, -1, -1);
+                } else {
+                    selectedCellsMap.clear();
                 }
-                selectedCellsMap.setAll(indices);
 
                 int focusedIndex = getFocusedIndex();
                 if (focusedIndex == -1) {
-                    final int itemCount = getItemCount();
                     if (itemCount > 0) {
                         select(itemCount - 1);
-                        focus(indices.get(indices.size() - 1));
+                        focus(new TablePosition<>(getTableView(), itemCount - 1, null));
                     }
                 } else {
                     select(focusedIndex);
@@ -2696,6 +2707,51 @@ public class TableView<S> extends Control {
             final int _minRow = Math.min(minRow, maxRow);
             final int _maxRow = Math.max(minRow, maxRow);
 
+            final int columnCount = tableView.getVisibleLeafColumns().size();
+            final int minColumnRangeIndex = Math.max(0, _minColumnIndex);
+            final int maxColumnRangeIndex = Math.min(columnCount - 1, _maxColumnIndex);
+            final int minRowRangeIndex = Math.max(0, _minRow);
+            final int maxRowRangeIndex = Math.min(itemCount - 1, _maxRow);
+
+            if (selectedCellsMap.isEmpty() && minRowRangeIndex <= maxRowRangeIndex
+                    && (isCellSelectionEnabled ? minColumnRangeIndex <= maxColumnRangeIndex
+                                               : minColumn == null || minColumnIndex >= 0)) {
+                // fast path: a range that is selected into an empty selection is
+                // stored as a range, without creating a TablePosition per cell
+                if (isCellSelectionEnabled) {
+                    selectedCellsMap.setRange(minRowRangeIndex, maxRowRangeIndex, minColumnRangeIndex, maxColumnRangeIndex);
+                } else {
+                    selectedCellsMap.setRange(minRowRangeIndex, maxRowRangeIndex, minColumnIndex, minColumnIndex);
+                }
+            } else {
+                selectCells(_minRow, _maxRow, _minColumnIndex, _maxColumnIndex, (TableColumn<S,?>)minColumn);
+            }
+            stopAtomic();
+
+            // fire off events.
+            // Note that focus and selection always goes to maxRow, not _maxRow.
+            updateSelectedIndex(maxRow);
+            focus(maxRow, (TableColumn<S,?>)maxColumn);
+
+            final TableColumn<S,?> startColumn = (TableColumn<S,?>)minColumn;
+            final TableColumn<S,?> endColumn = isCellSelectionEnabled ? (TableColumn<S,?>)maxColumn : startColumn;
+            final int startChangeIndex = selectedCellsMap.indexOf(new TablePosition<>(tableView, minRow, startColumn));
+            final int endChangeIndex = selectedCellsMap.indexOf(new TablePosition<>(tableView, maxRow, endColumn));
+
+            if (startChangeIndex > -1 && endChangeIndex > -1) {
+                final int startIndex = Math.min(startChangeIndex, endChangeIndex);
+                final int endIndex = Math.max(startChangeIndex, endChangeIndex);
+
+                ListChangeListener.Change c = new NonIterableChange.SimpleAddChange<>(startIndex, endIndex + 1, selectedCellsSeq);
+                fireCustomSelectedCellsListChangeEvent(c);
+//                selectedCellsSeq.fireChange(() -> selectedCellsSeq._nextAdd(startIndex, endIndex + 1));
+            }
+        }
+
+        private void selectCells(int _minRow, int _maxRow, int _minColumnIndex, int _maxColumnIndex, TableColumn<S,?> minColumn) {
+            final int itemCount = getItemCount();
+            final boolean isCellSelectionEnabled = isCellSelectionEnabled();
+
             List<TablePosition<S,?>> cellsToSelect = new ArrayList<>();
 
             for (int _row = _minRow; _row <= _maxRow; _row++) {
@@ -2704,7 +2760,7 @@ public class TableView<S> extends Control {
                 if (_row < 0 || _row >= itemCount) continue;
 
                 if (! isCellSelectionEnabled) {
-                    cellsToSelect.add(new TablePosition<>(tableView, _row, (TableColumn<S,?>)minColumn));
+                    cellsToSelect.add(new TablePosition<>(tableView, _row, minColumn));
                 } else {
                     for (int _col = _minColumnIndex; _col <= _maxColumnIndex; _col++) {
                         final TableColumn<S, ?> column = tableView.getVisibleLeafColumn(_col);
@@ -2724,26 +2780,6 @@ public class TableView<S> extends Control {
             cellsToSelect.removeAll(getSelectedCells());
 
             selectedCellsMap.addAll(cellsToSelect);
-            stopAtomic();
-
-            // fire off events.
-            // Note that focus and selection always goes to maxRow, not _maxRow.
-            updateSelectedIndex(maxRow);
-            focus(maxRow, (TableColumn<S,?>)maxColumn);
-
-            final TableColumn<S,?> startColumn = (TableColumn<S,?>)minColumn;
-            final TableColumn<S,?> endColumn = isCellSelectionEnabled ? (TableColumn<S,?>)maxColumn : startColumn;
-            final int startChangeIndex = selectedCellsMap.indexOf(new TablePosition<>(tableView, minRow, startColumn));
-            final int endChangeIndex = selectedCellsMap.indexOf(new TablePosition<>(tableView, maxRow, endColumn));
-
-            if (startChangeIndex > -1 && endChangeIndex > -1) {
-                final int startIndex = Math.min(startChangeIndex, endChangeIndex);
-                final int endIndex = Math.max(startChangeIndex, endChangeIndex);
-
-                ListChangeListener.Change c = new NonIterableChange.SimpleAddChange<>(startIndex, endIndex + 1, selectedCellsSeq);
-                fireCustomSelectedCellsListChangeEvent(c);
-//                selectedCellsSeq.fireChange(() -> selectedCellsSeq._nextAdd(startIndex, endIndex + 1));
-            }
         }
 
         @Override public void clearSelection(int index) {
@@ -2787,7 +2823,7 @@ public class TableView<S> extends Control {
         }
 
         @Override public void clearSelection() {
-            final List<TablePosition<S,?>> removed = new ArrayList<>((Collection)getSelectedCells());
+            final List<TablePosition<S,?>> removed = selectedCellsMap.snapshot(true);
 
             quietClearSelection();
 
@@ -3028,7 +3064,7 @@ public class TableView<S> extends Control {
             // Allow removing the row index if cell selection is not enabled or
             // if such row doesn't have any selected cells
             IntPredicate removeRowFilter = row -> !isCellSelectionEnabled() ||
-                    getSelectedCells().stream().noneMatch(tp -> tp.getRow() == row);
+                    !selectedCellsMap.isSelected(row, -1);
             ControlUtils.updateSelectedIndices(this, this.isCellSelectionEnabled(), c, removeRowFilter);
 
             if (isAtomic()) {
@@ -52,7 +52,6 @@ import javafx.scene.control.skin.TreeTableViewSkin;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -801,7 +800,11 @@ public class TreeTableView<S> extends Control {
 
             // Fix for selection - we remove selection from all cells that
             // were within the removed column.
-            if (sm != null) {
+            if (sm instanceof TreeTableViewArrayListSelectionModel
+                    && ((TreeTableViewArrayListSelectionModel<S>)sm).selectedCellsMap.removeColumns(removed)) {
+                // the selection is a range of cells, which no longer contains
+                // the removed columns
+            } else if (sm != null) {
                 List<TreeTablePosition> selectedCells = new ArrayList<>(sm.getSelectedCells());
                 for (TreeTablePosition selectedCell : selectedCells) {
                     boolean match = false;
@@ -2426,6 +2429,18 @@ public class TreeTableView<S> extends Control {
                 @Override public boolean isCellSelectionEnabled() {
                     return TreeTableViewArrayListSelectionModel.this.isCellSelectionEnabled();
                 }
+
+                @Override protected TreeTablePosition<S,?> createCell(int row, TableColumnBase<?,?> column) {
+                    return new TreeTablePosition<>(treeTableView, row, (TreeTableColumn<S,?>)column);
+                }
+
+                @Override protected TableColumnBase<?,?> getVisibleLeafColumn(int column) {
+                    return treeTableView.getVisibleLeafColumn(column);
+                }
+
+                @Override protected int getVisibleLeafIndex(TableColumnBase<?,?> column) {
+                    return treeTableView.getVisibleLeafIndex((TreeTableColumn<S,?>)column);
+                }
             };
 
             selectedCellsSeq = new ReadOnlyUnbackedObservableList<TreeTablePosition<S,?>>() {
@@ -2585,7 +2600,7 @@ public class TreeTableView<S> extends Control {
                         // else, in case otherwise, the selection change events would be generated.
                         // Do not call shiftSelection() in case of permutation change(when shift == 0).
 
-                        List<TreeTablePosition<S, ?>> currentSelection = new ArrayList<>(selectedCellsMap.getSelectedCells());
+                        List<TreeTablePosition<S, ?>> currentSelection = selectedCellsMap.snapshot(false);
                         List<TreeTablePosition<S, ?>> updatedSelection = new ArrayList<>();
 
                         boolean selectionIndicesChanged = false;
@@ -2774,7 +2789,7 @@ public class TreeTableView<S> extends Control {
 
             // firstly we make a copy of the selection, so that we can send out
             // the correct details in the selection change event.
-            List<TreeTablePosition<S,?>> previousSelection = new ArrayList<>(selectedCellsMap.getSelectedCells());
+            List<TreeTablePosition<S,?>> previousSelection = selectedCellsMap.snapshot(false);
 
             // secondly we check if we can short-circuit out of here because the new selection
             // equals the current selection
@@ -2989,36 +3004,33 @@ public class TreeTableView<S> extends Control {
         @Override public void selectAll() {
             if (getSelectionMode() == SelectionMode.SINGLE) return;
 
+            // the selection is stored as a single range, so that selecting all
+            // cells of a large table does not create a TreeTablePosition per cell
+            final int rowCount = getRowCount();
             if (isCellSelectionEnabled()) {
-                List<TreeTablePosition<S,?>> indices = new ArrayList<>();
-                TreeTableColumn<S,?> column;
-                TreeTablePosition<S,?> tp = null;
-                for (int col = 0; col < getTreeTableView().getVisibleLeafColumns().size(); col++) {
-                    column = getTreeTableView().getVisibleLeafColumns().get(col);
-                    for (int row = 0; row < getRowCount(); row++) {
-                        tp = new TreeTablePosition<>(getTreeTableView(), row, column);
-                        indices.add(tp);
-                    }
-                }
-                selectedCellsMap.setAll(indices);
+                final int columnCount = getTreeTableView().getVisibleLeafColumns().size();
+                if (rowCount > 0 && columnCount > 0) {
+                    selectedCellsMap.setRange(0, rowCount - 1, 0, columnCount - 1);
 
-                if (tp != null) {
-                    select(tp.getRow(), tp.getTableColumn());
-                    focus(tp.getRow(), tp.getTableColumn());
+                    TreeTableColumn<S,?> column = getTreeTableView().getVisibleLeafColumn(columnCount - 1);
+                    select(rowCount - 1, column);
+                    focus(rowCount - 1, column);
+                } else {
+                    selectedCellsMap.clear();
                 }
             } else {
-                List<TreeTablePosition<S,?>> indices = new ArrayList<>();
-                for (int i = 0; i < getRowCount(); i++) {
-                    indices.add(new TreeTablePosition<>(getTreeTableView(), i, null));
+                if (rowCount > 0) {
+                    selectedCellsMap.setRange(0, rowCount - 1, -1, -1);
+                } else {
+                    selectedCellsMap.clear();
                 }
-                selectedCellsMap.setAll(indices);
 
                 int focusedIndex = getFocusedIndex();
                 if (focusedIndex == -1) {
                     final int itemCount = getItemCount();
                     if (itemCount > 0) {
                         select(itemCount - 1);
-                        focus(indices.get(indices.size() - 1));
+                        focus(new TreeTablePosition<>(getTreeTableView(), itemCount - 1, null));
                     }
                 } else {
                     select(focusedIndex);
@@ -3048,6 +3060,51 @@ public class TreeTableView<S> extends Control {
             final int _minRow = Math.min(minRow, maxRow);
             final int _maxRow = Math.max(minRow, maxRow);
 
+            final int columnCount = treeTableView.getVisibleLeafColumns().size();
+            final int minColumnRangeIndex = Math.max(0, _minColumnIndex);
+            final int maxColumnRangeIndex = Math.min(columnCount - 1, _maxColumnIndex);
+            final int minRowRangeIndex = Math.max(0, _minRow);
+            final int maxRowRangeIndex = Math.min(itemCount - 1, _maxRow);
+
+            if (selectedCellsMap.isEmpty() && minRowRangeIndex <= maxRowRangeIndex
+                    && (isCellSelectionEnabled ? minColumnRangeIndex <= maxColumnRangeIndex
+                                               : minColumn == null || minColumnIndex >= 0)) {
+                // fast path: a range that is selected into an empty selection is
+                // stored as a range, without creating a TreeTablePosition per cell
+                if (isCellSelectionEnabled) {
+                    selectedCellsMap.setRange(minRowRangeIndex, maxRowRangeIndex, minColumnRangeIndex, maxColumnRangeIndex);
+                } else {
+                    selectedCellsMap.setRange(minRowRangeIndex, maxRowRangeIndex, minColumnIndex, minColumnIndex);
+                }
+            } else {
+                selectCells(_minRow, _maxRow, _minColumnIndex, _maxColumnIndex, (TreeTableColumn<S,?>)minColumn);
+            }
+            stopAtomic();
+
+            // fire off events
+            // Note that focus and selection always goes to maxRow, not _maxRow.
+            updateSelectedIndex(maxRow);
+            focus(maxRow, (TreeTableColumn<S,?>)maxColumn);
+
+            final TreeTableColumn<S,?> startColumn = (TreeTableColumn<S,?>)minColumn;
+            final TreeTableColumn<S,?> endColumn = isCellSelectionEnabled ? (TreeTableColumn<S,?>)maxColumn : startColumn;
+            final int startChangeIndex = selectedCellsMap.indexOf(new TreeTablePosition<>(treeTableView, minRow, startColumn));
+            final int endChangeIndex = selectedCellsMap.indexOf(new TreeTablePosition<>(treeTableView, maxRow, endColumn));
+
+            if (startChangeIndex > -1 && endChangeIndex > -1) {
+                final int startIndex = Math.min(startChangeIndex, endChangeIndex);
+                final int endIndex = Math.max(startChangeIndex, endChangeIndex);
+
+                ListChangeListener.Change c = new NonIterableChange.SimpleAddChange<>(startIndex, endIndex + 1, selectedCellsSeq);
+                fireCustomSelectedCellsListChangeEvent(c);
+//                selectedCellsSeq.fireChange(() -> selectedCellsSeq._nextAdd(startIndex, endIndex + 1));
+            }
+        }
+
+        private void selectCells(int _minRow, int _maxRow, int _minColumnIndex, int _maxColumnIndex, TreeTableColumn<S,?> minColumn) {
+            final int itemCount = getItemCount();
+            final boolean isCellSelectionEnabled = isCellSelectionEnabled();
+
             List<TreeTablePosition<S,?>> cellsToSelect = new ArrayList<>();
 
             for (int _row = _minRow; _row <= _maxRow; _row++) {
@@ -3056,7 +3113,7 @@ public class TreeTableView<S> extends Control {
                 if (_row < 0 || _row >= itemCount) continue;
 
                 if (! isCellSelectionEnabled) {
-                    cellsToSelect.add(new TreeTablePosition<>(treeTableView, _row, (TreeTableColumn<S,?>)minColumn));
+                    cellsToSelect.add(new TreeTablePosition<>(treeTableView, _row, minColumn));
                 } else {
                     for (int _col = _minColumnIndex; _col <= _maxColumnIndex; _col++) {
                         final TreeTableColumn<S, ?> column = treeTableView.getVisibleLeafColumn(_col);
@@ -3076,26 +3133,6 @@ public class TreeTableView<S> extends Control {
             cellsToSelect.removeAll(getSelectedCells());
 
             selectedCellsMap.addAll(cellsToSelect);
-            stopAtomic();
-
-            // fire off events
-            // Note that focus and selection always goes to maxRow, not _maxRow.
-            updateSelectedIndex(maxRow);
-            focus(maxRow, (TreeTableColumn<S,?>)maxColumn);
-
-            final TreeTableColumn<S,?> startColumn = (TreeTableColumn<S,?>)minColumn;
-            final TreeTableColumn<S,?> endColumn = isCellSelectionEnabled ? (TreeTableColumn<S,?>)maxColumn : startColumn;
-            final int startChangeIndex = selectedCellsMap.indexOf(new TreeTablePosition<>(treeTableView, minRow, startColumn));
-            final int endChangeIndex = selectedCellsMap.indexOf(new TreeTablePosition<>(treeTableView, maxRow, endColumn));
-
-            if (startChangeIndex > -1 && endChangeIndex > -1) {
-                final int startIndex = Math.min(startChangeIndex, endChangeIndex);
-                final int endIndex = Math.max(startChangeIndex, endChangeIndex);
-
-                ListChangeListener.Change c = new NonIterableChange.SimpleAddChange<>(startIndex, endIndex + 1, selectedCellsSeq);
-                fireCustomSelectedCellsListChangeEvent(c);
-//                selectedCellsSeq.fireChange(() -> selectedCellsSeq._nextAdd(startIndex, endIndex + 1));
-            }
         }
 
         @Override public void clearSelection(int index) {
@@ -3139,7 +3176,7 @@ public class TreeTableView<S> extends Control {
         }
 
         @Override public void clearSelection() {
-            final List<TreeTablePosition<S,?>> removed = new ArrayList<>((Collection)getSelectedCells());
+            final List<TreeTablePosition<S,?>> removed = selectedCellsMap.snapshot(true);
 
             quietClearSelection();
 
@@ -3382,7 +3419,7 @@ public class TreeTableView<S> extends Control {
             // Allow removing the row index if cell selection is not enabled or
             // if such row doesn't have any selected cells
             IntPredicate removeRowFilter = row -> !isCellSelectionEnabled() ||
-                    getSelectedCells().stream().noneMatch(tp -> tp.getRow() == row);
+                    !selectedCellsMap.isSelected(row, -1);
             ControlUtils.updateSelectedIndices(this, this.isCellSelectionEnabled(), c, removeRowFilter);
 
             if (isAtomic()) {
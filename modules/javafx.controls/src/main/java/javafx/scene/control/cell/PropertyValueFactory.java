@@ -25,6 +25,12 @@
 
 package javafx.scene.control.cell;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
 import javafx.beans.NamedArg;
 import javafx.beans.property.Property;
 import javafx.beans.property.ReadOnlyObjectWrapper;
@@ -138,6 +144,11 @@ public class PropertyValueFactory<S,T> implements Callback<CellDataFeatures<S,T>
     private String previousProperty;
     private PropertyReference<T> propertyRef;
 
+    // method handle of the property getter (or the getter, if the class does
+    // not provide a property getter) of propertyRef, or null if the method is
+    // not publicly accessible and must be invoked reflectively
+    private MethodHandle accessor;
+
     /**
      * Creates a default PropertyValueFactory to extract the value from a given
      * TableView row item reflectively, using the given property name.
@@ -160,6 +171,7 @@ public class PropertyValueFactory<S,T> implements Callback<CellDataFeatures<S,T>
      */
     public final String getProperty() { return property; }
 
+    @SuppressWarnings("unchecked")
     private ObservableValue<T> getCellDataReflectively(S rowData) {
         if (getProperty() == null || getProperty().isEmpty() || rowData == null) return null;
 
@@ -175,6 +187,18 @@ public class PropertyValueFactory<S,T> implements Callback<CellDataFeatures<S,T>
                 this.columnClass = rowData.getClass();
                 this.previousProperty = getProperty();
                 this.propertyRef = new PropertyReference<T>(rowData.getClass(), getProperty());
+                this.accessor = propertyRef.hasProperty() ? unreflect(propertyRef.getPropertyGetter())
+                        : propertyRef.isReadable() ? unreflect(propertyRef.getGetter())
+                        : null;
+            }
+
+            if (accessor != null) {
+                Object value = invokeAccessor(rowData);
+                if (propertyRef.hasProperty()) {
+                    return (ObservableValue<T>)value;
+                } else {
+                    return new ReadOnlyObjectWrapper<T>((T)value);
+                }
             }
 
             if (propertyRef != null) {
@@ -194,8 +218,41 @@ public class PropertyValueFactory<S,T> implements Callback<CellDataFeatures<S,T>
                         " with provided class type: " + rowData.getClass(), e);
             }
             propertyRef = null;
+            accessor = null;
         }
 
         return null;
     }
+
+    private Object invokeAccessor(S rowData) {
+        try {
+            return accessor.invokeExact((Object)rowData);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /*
+     * Returns a method handle of the given method with the type (Object)Object,
+     * if the method can be accessed without reflection, i.e. if it is a public
+     * method of a public class in a package that is exported unconditionally.
+     * Otherwise, the method needs to be invoked by the PropertyReference, which
+     * only requires the package to be opened to javafx.base.
+     */
+    private static MethodHandle unreflect(Method method) {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if (!Modifier.isPublic(declaringClass.getModifiers())
+                || !declaringClass.getModule().isExported(declaringClass.getPackageName())) {
+            return null;
+        }
+
+        try {
+            return MethodHandles.publicLookup().unreflect(method)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
 }
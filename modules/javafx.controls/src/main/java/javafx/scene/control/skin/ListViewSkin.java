@@ -136,6 +136,10 @@ public class ListViewSkin<T> extends VirtualContainerBase<ListView<T>, ListCell<
     private final ListChangeListener<T> listViewItemsListener = new ListChangeListener<T>() {
         @Override public void onChanged(Change<? extends T> c) {
             while (c.next()) {
+                if (c.wasAdded() || c.wasRemoved()) {
+                    flow.cellsChanged(c.getFrom(), c.getRemovedSize(), c.getAddedSize());
+                }
+
                 if (c.wasReplaced()) {
                     // RT-28397: Support for when an item is replaced with itself (but
                     // updated internal values that should be shown visually).
@@ -460,6 +464,9 @@ public class ListViewSkin<T> extends VirtualContainerBase<ListView<T>, ListCell<
             listViewItems.addListener(weakListViewItemsListener);
         }
 
+        if (flow != null) {
+            flow.itemsReplaced();
+        }
         markItemCountDirty();
         getSkinnable().requestLayout();
     }
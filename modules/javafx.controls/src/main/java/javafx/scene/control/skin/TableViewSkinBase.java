@@ -175,6 +175,10 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
 
     private ListChangeListener<S> rowCountListener = c -> {
         while (c.next()) {
+            if (c.wasAdded() || c.wasRemoved()) {
+                flow.cellsChanged(c.getFrom(), c.getRemovedSize(), c.getAddedSize());
+            }
+
             if (c.wasReplaced()) {
                 // RT-28397: Support for when an item is replaced with itself (but
                 // updated internal values that should be shown visually).
@@ -700,6 +704,7 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
             newList.addListener(weakRowCountListener);
         }
 
+        flow.itemsReplaced();
         markItemCountDirty();
         getSkinnable().requestLayout();
     }
@@ -25,10 +25,12 @@
 
 package javafx.scene.control.skin;
 
+import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.scene.ParentHelper;
 import com.sun.javafx.scene.control.Logging;
 import com.sun.javafx.scene.control.Properties;
 import com.sun.javafx.scene.control.VirtualScrollBar;
+import com.sun.javafx.scene.control.skin.CellSizeIndex;
 import com.sun.javafx.scene.control.skin.Utils;
 import com.sun.javafx.scene.traversal.Algorithm;
 import com.sun.javafx.scene.traversal.Direction;
@@ -69,10 +71,13 @@ import javafx.util.Callback;
 import javafx.util.Duration;
 import com.sun.javafx.logging.PlatformLogger;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.function.IntToDoubleFunction;
 
 /**
  * Implementation of a virtualized container using a cell based mechanism. This
@@ -117,6 +122,24 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     private static final int DEFAULT_IMPROVEMENT = 2;
 
+    /**
+     * Indicates whether the sheet is cached as a bitmap, such that scrolling by
+     * a few pixels only needs to render the newly exposed area of the viewport
+     * instead of all visible cells. This is disabled by default, as the cached
+     * bitmap costs memory and is of no use for flows that are rarely scrolled.
+     * Not final, such that tests can enable it.
+     */
+    static boolean scrollCache =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+                    Boolean.getBoolean("javafx.scene.control.skin.VirtualFlow.scrollCache"));
+
+    /**
+     * The maximum number of cells that are created or prefetched in a single
+     * layout pass, such that the cost of preparing cells is spread across
+     * several frames.
+     */
+    private static final int IDLE_LAYOUT_CELL_BUDGET = 4;
+
 
 
     /* *************************************************************************
@@ -193,6 +216,19 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     final ArrayLinkedList<T> pile = new ArrayLinkedList<T>();
 
+    /**
+     * The number of cells (including the cells in the pile) that should be
+     * created in idle layout passes, as requested by {@link #warmUpCells(int)}.
+     */
+    private int warmUpCellCount;
+
+    /**
+     * Indicates whether cells had to be updated or created since the last layout
+     * pass, in which case the flow is scrolling and no cells are prepared in
+     * the pass.
+     */
+    private boolean cellsRequested;
+
     /**
      * A special cell used to accumulate bounds, such that we reduce object
      * churn. This cell must be recreated whenever the cell factory function
@@ -273,15 +309,37 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     double estimatedSize = -1d;
 
     /**
-     * A list containing the cached version of the calculated size (height for
+     * The estimated size of a single cell that has not been measured yet, which
+     * is the average size of all measured cells.
+     */
+    private double estimatedCellSize = 1d;
+
+    /**
+     * An index containing the cached version of the calculated size (height for
      * vertical, width for horizontal) for a (fictive or real) cell for
      * each element of the backing data.
-     * This list is used to calculate the estimatedSize.
-     * The list is not expected to be complete, but it is always up to date.
-     * When the size of the items in the backing list changes, this list is
-     * cleared.
+     * This index is used to calculate the estimatedSize, and to map between
+     * cell indices and offsets in logarithmic time.
+     * The index is not expected to be complete, but it is always up to date.
+     * When the size of the items in the backing list changes, this index is
+     * cleared, unless the change was reported by {@link #cellsChanged}. It is
+     * always cleared when the backing list is replaced, see {@link #itemsReplaced}.
+     */
+    final CellSizeIndex itemSizeCache = new CellSizeIndex();
+
+    /**
+     * The cell count that the item size cache has been updated to by calls to
+     * {@link #cellsChanged}, or -1. When the cell count is changed to this
+     * value, the cache doesn't need to be cleared.
+     */
+    private int shiftedCellCount = -1;
+
+    /**
+     * Set when the item size cache was retained after a change of the cell
+     * count, in which case the layout pass doesn't need to measure additional
+     * cells to improve the estimated size.
      */
-    private ArrayList<Double> itemSizeCache = new ArrayList<>();
+    private boolean itemSizeCacheRetained;
 
     // used for panning the virtual flow
     private double lastX;
@@ -328,6 +386,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
         sheetChildren = sheet.getChildren();
 
+        if (scrollCache) {
+            sheet.setCache(true);
+            NodeHelper.setScrollCacheOpt(sheet, true);
+        }
+
         // --- clipView
         clipView = new ClippedContainer(this);
         clipView.setNode(sheet);
@@ -856,8 +919,16 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
         @Override protected void invalidated() {
             int cellCount = get();
-            resetSizeEstimates();
-            recalculateEstimatedSize();
+            if (shiftedCellCount == cellCount) {
+                // The cached sizes are still valid, so there's no need to
+                // measure additional cells until the next layout pass.
+                itemSizeCacheRetained = true;
+                recalculateAndImproveEstimatedSize(0);
+            } else {
+                resetSizeEstimates();
+                recalculateEstimatedSize();
+            }
+            shiftedCellCount = -1;
 
             boolean countChanged = oldCount != cellCount;
             oldCount = cellCount;
@@ -945,6 +1016,80 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     public final double getFixedCellSize() { return fixedCellSize.get(); }
     public final DoubleProperty fixedCellSizeProperty() { return fixedCellSize; }
 
+    // --- cell size estimator
+    /**
+     * An optional function that provides an estimate of the size of the cell at
+     * a given index (height for vertical, width for horizontal) before the cell
+     * has been measured. When an application knows the approximate size of its
+     * cells (for example, because it is derived from the data), this allows the
+     * VirtualFlow to compute more accurate scroll positions and scroll bar
+     * thumb sizes for cells that have not been laid out yet.
+     * <p>
+     * When no estimator is set, the VirtualFlow uses the average size of the
+     * cells that have been measured so far as the estimate for all other cells.
+     *
+     * @since JFXcore 18
+     */
+    private ObjectProperty<IntToDoubleFunction> cellSizeEstimator;
+
+    public final void setCellSizeEstimator(IntToDoubleFunction value) {
+        cellSizeEstimatorProperty().set(value);
+    }
+
+    public final IntToDoubleFunction getCellSizeEstimator() {
+        return cellSizeEstimator == null ? null : cellSizeEstimator.get();
+    }
+
+    public final ObjectProperty<IntToDoubleFunction> cellSizeEstimatorProperty() {
+        if (cellSizeEstimator == null) {
+            cellSizeEstimator = new SimpleObjectProperty<>(this, "cellSizeEstimator") {
+                @Override protected void invalidated() {
+                    itemSizeCache.setEstimator(get(), getCellCount());
+                    recalculateEstimatedSize();
+                    requestLayout();
+                }
+            };
+        }
+        return cellSizeEstimator;
+    }
+
+    // --- prefetch count
+    /**
+     * The number of cells before the first and after the last visible cell
+     * that are prepared at the end of idle layout passes, such that they can be
+     * taken from the pile without being updated when they are scrolled into
+     * view. Cells are only prepared in layout passes in which the VirtualFlow
+     * did not need to update or create any cells, and only a few cells are
+     * prepared per pass.
+     * <p>
+     * The default value is 0, which disables prefetching.
+     *
+     * @since JFXcore 18
+     */
+    private IntegerProperty prefetchCount;
+
+    public final void setPrefetchCount(int value) {
+        prefetchCountProperty().set(value);
+    }
+
+    public final int getPrefetchCount() {
+        return prefetchCount == null ? 0 : prefetchCount.get();
+    }
+
+    public final IntegerProperty prefetchCountProperty() {
+        if (prefetchCount == null) {
+            prefetchCount = new SimpleIntegerProperty(this, "prefetchCount") {
+                @Override protected void invalidated() {
+                    if (get() > 0) {
+                        cellsRequested = false;
+                        requestLayout();
+                    }
+                }
+            };
+        }
+        return prefetchCount;
+    }
+
 
     // --- Cell Factory
     private ObjectProperty<Callback<VirtualFlow<T>, T>> cellFactory;
@@ -1193,6 +1338,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
                 // AND we are doing a full rebuild then we need to make sure we
                 // use that cell in the same physical location as before so that
                 // it gets the mouse release event.
+                prepareIdleCells();
                 return;
             }
         }
@@ -1332,8 +1478,10 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         lastCellCount = getCellCount();
         lastVertical = isVertical();
         lastPosition = getPosition();
-        recalculateEstimatedSize();
+        recalculateAndImproveEstimatedSize(itemSizeCacheRetained ? 0 : DEFAULT_IMPROVEMENT);
+        itemSizeCacheRetained = false;
         cleanPile();
+        prepareIdleCells();
     }
 
     /** {@inheritDoc} */
@@ -1377,6 +1525,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
             }
         }
 
+        if (cell == null) {
+            // the cell needs to be updated or created, so this is not an idle layout
+            cellsRequested = true;
+        }
+
         if (cell == null && !pile.isEmpty()) {
             cell = pile.removeLast();
         }
@@ -1393,6 +1546,25 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         return cell;
     }
 
+    /**
+     * Creates cells and puts them onto the pile until the VirtualFlow holds at
+     * least {@code count} cells in total, such that the cells do not need to be
+     * created when they are first scrolled into view. The cells are created
+     * and styled a few at a time at the end of subsequent idle layout passes;
+     * calling this method again with a smaller count has no effect until all
+     * previously requested cells have been created.
+     *
+     * @param count the total number of cells the VirtualFlow should hold
+     * @since JFXcore 18
+     */
+    public void warmUpCells(int count) {
+        if (count > warmUpCellCount) {
+            warmUpCellCount = count;
+            cellsRequested = false;
+            requestLayout();
+        }
+    }
+
     /**
      * This method will remove all cells from the VirtualFlow and remove them,
      * adding them to the 'pile' (that is, a place from where cells can be used
@@ -2804,6 +2976,101 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         }
     }
 
+    /**
+     * Creates the cells requested by {@link #warmUpCells(int)} and prefetches
+     * the cells around the viewport at the end of a layout pass, so that the
+     * cells are laid out in the same pass. Nothing is done if cells had to be
+     * updated or created since the last layout pass, as this is where the
+     * cells are needed while scrolling, and at most a few cells are prepared
+     * per pass.
+     * Any remaining cells are prepared in subsequent layout passes; no further
+     * pulse is requested for them.
+     */
+    private void prepareIdleCells() {
+        if (cellsRequested) {
+            cellsRequested = false;
+            return;
+        }
+
+        if (getCellFactory() == null || (warmUpCellCount == 0 && getPrefetchCount() <= 0)) {
+            return;
+        }
+
+        int budget = IDLE_LAYOUT_CELL_BUDGET;
+
+        while (budget > 0 && cells.size() + pile.size() < warmUpCellCount) {
+            T cell = getCellFactory().call(this);
+            cell.getProperties().put(NEW_CELL, null);
+            cell.setVisible(false);
+            sheetChildren.add(cell);
+            cell.applyCss();
+            cell.getProperties().remove(NEW_CELL);
+            addToPile(cell);
+            budget--;
+        }
+
+        if (cells.size() + pile.size() >= warmUpCellCount) {
+            warmUpCellCount = 0;
+        }
+
+        final int prefetch = getPrefetchCount();
+        if (prefetch > 0 && !cells.isEmpty()) {
+            final int first = getCellIndex(cells.getFirst());
+            final int last = getCellIndex(cells.getLast());
+            for (int i = 1; i <= prefetch && budget > 0; i++) {
+                if (prefetchCell(last + i, first - prefetch, last + prefetch)) {
+                    budget--;
+                }
+                if (budget > 0 && prefetchCell(first - i, first - prefetch, last + prefetch)) {
+                    budget--;
+                }
+            }
+        }
+
+        // preparing cells must not mark the flow as scrolling
+        cellsRequested = false;
+    }
+
+    /**
+     * Prepares a cell in the pile for the given index, unless such a cell
+     * already exists. Cells in the pile whose index lies outside of the
+     * given prefetch range are reused before new cells are created.
+     *
+     * @return whether a cell was prepared
+     */
+    private boolean prefetchCell(int index, int rangeStart, int rangeEnd) {
+        if (index < 0 || index >= getCellCount()) {
+            return false;
+        }
+
+        T cell = null;
+        for (int i = 0, max = pile.size(); i < max; i++) {
+            int cellIndex = getCellIndex(pile.get(i));
+            if (cellIndex == index) {
+                return false;
+            }
+
+            if (cell == null && (cellIndex < rangeStart || cellIndex > rangeEnd)) {
+                cell = pile.get(i);
+            }
+        }
+
+        if (cell == null) {
+            cell = getCellFactory().call(this);
+            cell.getProperties().put(NEW_CELL, null);
+            cell.setVisible(false);
+            sheetChildren.add(cell);
+            addToPile(cell);
+        }
+
+        // setCellIndex only applies CSS to cells that need layout, but the
+        // pseudo-classes of a reused cell may have changed with its index
+        setCellIndex(cell, index);
+        cell.applyCss();
+        resizeCell(cell);
+        return true;
+    }
+
     private boolean doesCellContainFocus(Cell<?> c) {
         Scene scene = c.getScene();
         final Node focusOwner = scene == null ? null : scene.getFocusOwner();
@@ -2874,19 +3141,13 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      * performance.
      */
     private double computeViewportOffset(double position) {
-        double p = com.sun.javafx.util.Utils.clamp(0, position, 1);
-        double bound = 0d;
-        double estSize = estimatedSize / getCellCount();
-
-        for (int i = 0; i < getCellCount(); i++) {
-            double h = getCellSize(i);
-            if (h < 0) h = estSize;
-            if (bound + h > absoluteOffset) {
-                return absoluteOffset - bound;
-            }
-            bound += h;
+        int cellCount = getCellCount();
+        if (cellCount <= 0 || itemSizeCache.getOffset(cellCount, estimatedCellSize) <= absoluteOffset) {
+            return 0d;
         }
-        return 0d;
+
+        int index = itemSizeCache.getIndex(absoluteOffset, cellCount, estimatedCellSize);
+        return absoluteOffset - itemSizeCache.getOffset(index, estimatedCellSize);
     }
 
     private void adjustPositionToIndex(int index) {
@@ -2897,13 +3158,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         if (cellCount <= 0) {
             setPosition(0.0f);
         } else {
-            double targetOffset = 0;
-            double estSize = estimatedSize/cellCount;
-            for (int i = 0; i < index; i++) {
-                double cz = getCellSize(i);
-                if (cz < 0) cz = estSize;
-                targetOffset = targetOffset+ cz;
-            }
+            double targetOffset = itemSizeCache.getOffset(index, estimatedCellSize);
             this.absoluteOffset = (estimatedSize < viewportLength)  ? 0  : targetOffset;
             adjustPosition();
         }
@@ -2957,18 +3212,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private int computeCurrentIndex() {
-        double total = 0;
-        int currentCellCount = getCellCount();
-        double estSize = estimatedSize / currentCellCount;
-        for (int i = 0; i < currentCellCount; i++) {
-            double nextSize = getCellSize(i);
-            if (nextSize < 0) nextSize = estSize;
-            total = total + nextSize;
-            if (total > absoluteOffset) {
-                return i;
-            }
-        }
-        return currentCellCount == 0 ? 0 : currentCellCount - 1;
+        return itemSizeCache.getIndex(absoluteOffset, getCellCount(), estimatedCellSize);
     }
 
     /**
@@ -3000,21 +3244,13 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     private double getOrCreateCellSize (int idx, boolean create) {
         if (idx < 0) return -1;
-        // is the current cache long enough to contain idx?
-        if (itemSizeCache.size() > idx) {
-            // is there a non-null value stored in the cache?
-            if (itemSizeCache.get(idx) != null) {
-                return itemSizeCache.get(idx);
-            }
+        // is there a measured size stored in the cache?
+        if (itemSizeCache.isMeasured(idx)) {
+            return itemSizeCache.get(idx);
         }
         if (!create) return -1;
         boolean doRelease = false;
 
-        // Make sure we have enough space in the cache to store this index
-        while (idx >= itemSizeCache.size()) {
-            itemSizeCache.add(itemSizeCache.size(), null);
-        }
-
         double answer = 1d;
         if (getFixedCellSize() > 0) {
             answer = getFixedCellSize();
@@ -3050,7 +3286,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     void updateCellSize(T cell) {
         int cellIndex = cell.getIndex();
-        if (itemSizeCache.size() > cellIndex) {
+        if (cellIndex >= 0 && itemSizeCache.size() > cellIndex) {
         if (isVertical()) {
             double newh = cell.getLayoutBounds().getHeight();
             itemSizeCache.set(cellIndex, newh);
@@ -3073,7 +3309,6 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         int itemCount = getCellCount();
         int cacheCount = itemSizeCache.size();
         boolean keepRatio = ((cacheCount > 0) && !Double.isInfinite(this.absoluteOffset));
-        double estSize = estimatedSize / itemCount;
 
         int oldIndex = computeCurrentIndex();
         double oldOffset = computeViewportOffset(getPosition());
@@ -3082,28 +3317,14 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
             getOrCreateCellSize(itemSizeCache.size());
             added++;
         }
-        cacheCount = itemSizeCache.size();
-        int cnt = 0;
-        double tot = 0d;
-        for (int i = 0; (i < itemCount && i < cacheCount); i++) {
-            Double il = itemSizeCache.get(i);
-            if (il != null) {
-                tot = tot + il;
-                cnt++;
-            }
-        }
-        this.estimatedSize = cnt == 0 ? 1d : tot * itemCount / cnt;
-        estSize = estimatedSize / itemCount;
+        int cnt = itemSizeCache.getMeasuredCount();
+        double tot = itemSizeCache.getMeasuredSum();
+        this.estimatedCellSize = cnt == 0 ? 1d / Math.max(1, itemCount) : tot / cnt;
+        this.estimatedSize = cnt == 0 && itemSizeCache.getEstimator() == null ?
+                1d : itemSizeCache.getOffset(itemCount, estimatedCellSize);
 
         if (keepRatio) {
-            double newOffset = 0;
-            for (int i = 0; i < oldIndex; i++) {
-                double h = getCellSize(i);
-                if (h < 0) {
-                    h = estSize;
-                }
-                newOffset += h;
-            }
+            double newOffset = itemSizeCache.getOffset(oldIndex, estimatedCellSize);
             this.absoluteOffset = newOffset + oldOffset;
             adjustPosition();
         }
@@ -3111,8 +3332,51 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private void resetSizeEstimates() {
-        itemSizeCache.clear();
+        itemSizeCache.clear(getCellCount());
         this.estimatedSize = 1d;
+        this.estimatedCellSize = 1d / Math.max(1, getCellCount());
+    }
+
+    /**
+     * Informs the VirtualFlow that {@code removedSize} items of the backing data
+     * have been replaced by {@code addedSize} items at the given index. This must
+     * be called before the cell count is updated, and allows the cached sizes of
+     * the remaining cells to be retained rather than discarded. As with a change
+     * that doesn't affect the cell count, the cached sizes of replaced cells are
+     * retained until the cells are measured again.
+     */
+    void cellsChanged(int from, int removedSize, int addedSize) {
+        int delta = addedSize - removedSize;
+        if (delta == 0) {
+            return;
+        }
+
+        if (delta > 0) {
+            itemSizeCache.insert(from + removedSize, delta);
+        } else {
+            itemSizeCache.remove(from + addedSize, -delta);
+        }
+
+        shiftedCellCount = (shiftedCellCount < 0 ? getCellCount() : shiftedCellCount) + delta;
+    }
+
+    /**
+     * Informs the VirtualFlow that the backing data has been replaced as a whole,
+     * such that the cached sizes of all cells must be discarded even if the cell
+     * count doesn't change. This must be called before the cell count is updated.
+     */
+    void itemsReplaced() {
+        shiftedCellCount = -1;
+
+        // the existing cells still show the old data, so they must not be
+        // measured until they are updated in the next layout pass
+        addAllToPile();
+        for (int i = 0, max = pile.size(); i < max; i++) {
+            pile.get(i).updateIndex(-1);
+        }
+        resetSizeEstimates();
+        recalculateEstimatedSize();
+        requestLayout();
     }
 
 //    /**
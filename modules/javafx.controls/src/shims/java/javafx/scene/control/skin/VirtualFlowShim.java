@@ -24,10 +24,13 @@
  */
 package javafx.scene.control.skin;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.sun.javafx.scene.control.VirtualScrollBar;
+import com.sun.javafx.scene.control.skin.CellSizeIndex;
 import javafx.collections.ObservableList;
+import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.control.ScrollBar;
@@ -129,6 +132,39 @@ public class VirtualFlowShim<T extends IndexedCell> extends VirtualFlow<T> {
         return flow.getCells();
     }
 
+    /**
+     * Sets whether the sheets of flows that are created afterwards are cached
+     * for scrolling.
+     */
+    public static void setScrollCache(boolean value) {
+        VirtualFlow.scrollCache = value;
+    }
+
+    /**
+     * Returns the index of the cached cell sizes of the given flow.
+     */
+    public static CellSizeIndex getItemSizeCache(VirtualFlow<?> flow) {
+        return flow.itemSizeCache;
+    }
+
+    /**
+     * Returns the sheet that contains the cells of the given flow.
+     */
+    public static Group getSheet(VirtualFlow<?> flow) {
+        return flow.sheet;
+    }
+
+    /**
+     * Returns the cells in the pile of the given flow.
+     */
+    public static <T extends IndexedCell<?>> List<T> getPile(VirtualFlow<T> flow) {
+        List<T> pile = new ArrayList<>();
+        for (int i = 0; i < flow.pile.size(); i++) {
+            pile.add(flow.pile.get(i));
+        }
+        return pile;
+    }
+
     /**
      * Returns the vertical scrollbar of the given flow.
      */
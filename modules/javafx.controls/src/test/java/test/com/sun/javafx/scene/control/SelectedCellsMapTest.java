@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package test.com.sun.javafx.scene.control;
+
+import com.sun.javafx.scene.control.SelectedCellsMap;
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumnBase;
+import javafx.scene.control.TablePosition;
+import javafx.scene.control.TableView;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SelectedCellsMapTest {
+
+    private TableView<String> table;
+    private SelectedCellsMap<TablePosition<String, ?>> map;
+    private List<ListChangeListener.Change<? extends TablePosition<String, ?>>> changes;
+    private boolean cellSelectionEnabled;
+
+    @Before
+    public void setup() {
+        table = new TableView<>();
+        for (int i = 0; i < 100; i++) {
+            table.getItems().add(Integer.toString(i));
+        }
+        for (int i = 0; i < 5; i++) {
+            table.getColumns().add(new TableColumn<>("column" + i));
+        }
+
+        cellSelectionEnabled = true;
+        changes = new ArrayList<>();
+        map = new SelectedCellsMap<>(changes::add) {
+            @Override public boolean isCellSelectionEnabled() {
+                return cellSelectionEnabled;
+            }
+
+            @Override protected TablePosition<String, ?> createCell(int row, TableColumnBase<?, ?> column) {
+                return new TablePosition<>(table, row, (TableColumn<String, ?>)column);
+            }
+
+            @Override protected TableColumnBase<?, ?> getVisibleLeafColumn(int column) {
+                return table.getVisibleLeafColumn(column);
+            }
+
+            @Override protected int getVisibleLeafIndex(TableColumnBase<?, ?> column) {
+                return table.getVisibleLeafIndex((TableColumn<String, ?>)column);
+            }
+        };
+    }
+
+    private TablePosition<String, ?> cell(int row, int column) {
+        return new TablePosition<>(table, row, column < 0 ? null : table.getVisibleLeafColumn(column));
+    }
+
+    @Test
+    public void testSetRangeContainsAllCellsInSortedOrder() {
+        map.setRange(10, 19, 1, 3);
+
+        assertEquals(30, map.size());
+        assertFalse(map.isEmpty());
+        assertEquals(cell(10, 1), map.get(0));
+        assertEquals(cell(10, 3), map.get(2));
+        assertEquals(cell(11, 1), map.get(3));
+        assertEquals(cell(19, 3), map.get(29));
+        assertEquals(4, map.indexOf(cell(11, 2)));
+        assertEquals(-1, map.indexOf(cell(11, 0)));
+        assertEquals(-1, map.indexOf(cell(20, 1)));
+    }
+
+    @Test
+    public void testSetRangeIsSelected() {
+        map.setRange(10, 19, 1, 3);
+
+        assertTrue(map.isSelected(10, 1));
+        assertTrue(map.isSelected(19, 3));
+        assertTrue(map.isSelected(15, -1));
+        assertFalse(map.isSelected(15, 0));
+        assertFalse(map.isSelected(15, 4));
+        assertFalse(map.isSelected(9, 1));
+        assertFalse(map.isSelected(20, -1));
+    }
+
+    @Test
+    public void testSetRangeFiresSingleChange() {
+        map.add(cell(0, 0));
+        changes.clear();
+
+        map.setRange(0, 99, 0, 4);
+
+        assertEquals(1, changes.size());
+        ListChangeListener.Change<? extends TablePosition<String, ?>> c = changes.get(0);
+        assertTrue(c.next());
+        assertEquals(0, c.getFrom());
+        assertEquals(500, c.getTo());
+        assertEquals(List.of(cell(0, 0)), c.getRemoved());
+        assertTrue(c.getAddedSubList() instanceof SelectedCellsMap.CellRange);
+        assertFalse(c.next());
+    }
+
+    @Test
+    public void testAddAlreadySelectedCellDoesNotMaterializeRange() {
+        map.setRange(0, 99, 0, 4);
+        changes.clear();
+
+        map.add(cell(50, 2));
+
+        assertEquals(500, map.size());
+        assertTrue(changes.isEmpty());
+        assertTrue(map.snapshot(true) instanceof SelectedCellsMap.CellRange);
+    }
+
+    @Test
+    public void testAddCellOutsideOfRange() {
+        map.setRange(0, 1, 0, 1);
+        changes.clear();
+
+        map.add(cell(5, 4));
+
+        assertEquals(5, map.size());
+        assertEquals(1, changes.size());
+        assertTrue(map.isSelected(0, 0));
+        assertTrue(map.isSelected(1, 1));
+        assertTrue(map.isSelected(5, 4));
+        assertEquals(cell(5, 4), map.get(4));
+        assertFalse(map.snapshot(true) instanceof SelectedCellsMap.CellRange);
+    }
+
+    @Test
+    public void testRemoveCellFromRange() {
+        map.setRange(0, 1, 0, 1);
+        changes.clear();
+
+        map.remove(cell(0, 1));
+
+        assertEquals(3, map.size());
+        assertEquals(1, changes.size());
+        assertFalse(map.isSelected(0, 1));
+        assertTrue(map.isSelected(0, 0));
+        assertEquals(List.of(cell(0, 0), cell(1, 0), cell(1, 1)), new ArrayList<>(map.getSelectedCells()));
+    }
+
+    @Test
+    public void testSelectedCellsAreInSelectionOrder() {
+        map.add(cell(5, 1));
+        map.add(cell(2, 3));
+        map.add(cell(2, 0));
+
+        assertEquals(List.of(cell(5, 1), cell(2, 3), cell(2, 0)), new ArrayList<>(map.getSelectedCells()));
+        assertEquals(cell(2, 0), map.get(0));
+        assertEquals(cell(5, 1), map.get(2));
+    }
+
+    @Test
+    public void testClearRange() {
+        map.setRange(0, 99, 0, 4);
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.size());
+        assertFalse(map.isSelected(0, 0));
+    }
+
+    @Test
+    public void testRowRange() {
+        cellSelectionEnabled = false;
+        map.setRange(5, 9, -1, -1);
+
+        assertEquals(5, map.size());
+        assertEquals(cell(5, -1), map.get(0));
+        assertTrue(map.isSelected(7, -1));
+        assertFalse(map.isSelected(7, 0));
+        assertEquals(2, map.indexOf(cell(7, -1)));
+    }
+
+    @Test
+    public void testSnapshotOfRangeAllowsRemovingSingleCell() {
+        map.setRange(0, 1, 0, 1);
+
+        List<TablePosition<String, ?>> snapshot = map.snapshot(false);
+        assertTrue(snapshot.remove(cell(0, 1)));
+
+        assertEquals(List.of(cell(0, 0), cell(1, 0), cell(1, 1)), new ArrayList<>(snapshot));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    public void testSubListOfRowRange() {
+        cellSelectionEnabled = false;
+        map.setRange(0, 9, -1, -1);
+
+        List<TablePosition<String, ?>> snapshot = map.snapshot(false);
+        snapshot.remove(cell(4, -1));
+        List<TablePosition<String, ?>> subList = snapshot.subList(2, 6);
+
+        assertTrue(subList instanceof SelectedCellsMap.CellRange);
+        assertEquals(List.of(cell(2, -1), cell(3, -1), cell(5, -1), cell(6, -1)), new ArrayList<>(subList));
+    }
+
+    @Test
+    public void testSelectAllInCellSelectionMode() {
+        TableView.TableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.setCellSelectionEnabled(true);
+
+        sm.selectAll();
+
+        assertEquals(500, sm.getSelectedCells().size());
+        assertEquals(100, sm.getSelectedIndices().size());
+        assertEquals(100, sm.getSelectedItems().size());
+        assertTrue(sm.isSelected(42, table.getColumns().get(3)));
+
+        sm.clearAndSelect(3, table.getColumns().get(2));
+
+        assertEquals(1, sm.getSelectedCells().size());
+        assertEquals(List.of(3), sm.getSelectedIndices());
+    }
+
+    @Test
+    public void testClearingSelectAllFiresSingleChangeOfSelectedIndices() {
+        TableView.TableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.selectAll();
+        List<ListChangeListener.Change<? extends Integer>> indexChanges = new ArrayList<>();
+        sm.getSelectedIndices().addListener((ListChangeListener<Integer>)indexChanges::add);
+
+        sm.clearSelection();
+
+        assertTrue(sm.getSelectedIndices().isEmpty());
+        assertEquals(1, indexChanges.size());
+        ListChangeListener.Change<? extends Integer> c = indexChanges.get(0);
+        assertTrue(c.next());
+        assertEquals(0, c.getFrom());
+        assertEquals(0, c.getAddedSize());
+        assertEquals(100, c.getRemovedSize());
+        assertEquals(Integer.valueOf(0), c.getRemoved().get(0));
+        assertEquals(Integer.valueOf(99), c.getRemoved().get(99));
+        assertFalse(c.next());
+    }
+
+    @Test
+    public void testSelectRangeIntoEmptySelection() {
+        TableView.TableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.setCellSelectionEnabled(true);
+        sm.clearSelection();
+
+        sm.selectRange(10, table.getColumns().get(1), 20, table.getColumns().get(2));
+
+        assertEquals(22, sm.getSelectedCells().size());
+        assertEquals(11, sm.getSelectedIndices().size());
+        assertEquals(20, sm.getSelectedIndex());
+        assertTrue(sm.isSelected(15, table.getColumns().get(2)));
+        assertFalse(sm.isSelected(15, table.getColumns().get(3)));
+    }
+    @Test
+    public void testRangeFollowsReorderedColumns() {
+        TableColumn<String, ?> column1 = table.getColumns().get(1);
+        TableColumn<String, ?> column2 = table.getColumns().get(2);
+        map.setRange(0, 9, 1, 2);
+
+        // move column 1 to the end
+        table.getColumns().remove(column1);
+        table.getColumns().add(column1);
+
+        assertEquals(column1, map.get(0).getTableColumn());
+        assertEquals(column2, map.get(1).getTableColumn());
+        assertTrue(map.isSelected(5, table.getVisibleLeafIndex(column1)));
+        assertTrue(map.isSelected(5, table.getVisibleLeafIndex(column2)));
+        assertFalse(map.isSelected(5, 2));
+        assertEquals(1, map.indexOf(new TablePosition<>(table, 0, column2)));
+
+        // the materialized selection uses the new column indices as well
+        map.add(cell(20, 0));
+        assertTrue(map.isSelected(5, 4));
+        assertTrue(map.isSelected(5, 1));
+        assertFalse(map.isSelected(5, 2));
+    }
+
+    @Test
+    public void testHidingColumnOfRange() {
+        TableView.TableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.setCellSelectionEnabled(true);
+        sm.clearSelection();
+        TableColumn<String, ?> column1 = table.getColumns().get(1);
+        TableColumn<String, ?> column2 = table.getColumns().get(2);
+        TableColumn<String, ?> column3 = table.getColumns().get(3);
+
+        sm.selectRange(0, column1, 9, column2);
+        column1.setVisible(false);
+
+        // the visible leaf column at index 1 is now column 2
+        assertTrue(sm.isSelected(5, column2));
+        assertFalse(sm.isSelected(5, column3));
+        assertFalse(sm.isSelected(5, table.getColumns().get(0)));
+        assertEquals(column2, sm.getSelectedCells().get(1).getTableColumn());
+    }
+
+    @Test
+    public void testRemovingColumnClearsSelectedRangeCells() {
+        TableView.TableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.setCellSelectionEnabled(true);
+        sm.clearSelection();
+        TableColumn<String, ?> column1 = table.getColumns().get(1);
+        TableColumn<String, ?> column2 = table.getColumns().get(2);
+
+        sm.selectRange(10, column1, 20, column2);
+        assertEquals(22, sm.getSelectedCells().size());
+
+        table.getColumns().remove(column1);
+
+        assertEquals(11, sm.getSelectedCells().size());
+        for (TablePosition<String, ?> cell : sm.getSelectedCells()) {
+            assertEquals(column2, cell.getTableColumn());
+        }
+        assertTrue(sm.isSelected(15, column2));
+        assertFalse(sm.isSelected(15, table.getColumns().get(0)));
+        assertFalse(sm.isSelected(15, table.getColumns().get(2)));
+    }
+}
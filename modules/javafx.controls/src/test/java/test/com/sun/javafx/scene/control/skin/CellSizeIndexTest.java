@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package test.com.sun.javafx.scene.control.skin;
+
+import com.sun.javafx.scene.control.skin.CellSizeIndex;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CellSizeIndexTest {
+
+    private CellSizeIndex index;
+
+    @Before
+    public void setup() {
+        index = new CellSizeIndex();
+    }
+
+    private static double sum(double[] sizes, int count, double estimate) {
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += sizes[i] < 0 ? estimate : sizes[i];
+        }
+        return sum;
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        assertEquals(0, index.size());
+        assertEquals(0, index.getMeasuredCount());
+        assertEquals(-1, index.get(0), 0);
+        assertEquals(50, index.getOffset(5, 10), 0);
+        assertEquals(3, index.getIndex(35, 10, 10));
+        assertEquals(9, index.getIndex(1000, 10, 10));
+        assertEquals(0, index.getIndex(35, 0, 10));
+    }
+
+    @Test
+    public void testSetExtendsLogicalSize() {
+        index.set(4, 20);
+
+        assertEquals(5, index.size());
+        assertEquals(1, index.getMeasuredCount());
+        assertEquals(20, index.getMeasuredSum(), 0);
+        assertTrue(index.isMeasured(4));
+        assertFalse(index.isMeasured(3));
+        assertEquals(20, index.get(4), 0);
+        assertEquals(-1, index.get(3), 0);
+    }
+
+    @Test
+    public void testReplaceMeasuredSize() {
+        index.set(2, 20);
+        index.set(2, 30);
+
+        assertEquals(1, index.getMeasuredCount());
+        assertEquals(30, index.getMeasuredSum(), 0);
+        assertEquals(40, index.getOffset(3, 5), 0);
+    }
+
+    @Test
+    public void testOffsetAndIndexMatchLinearScan() {
+        Random random = new Random(42);
+        double[] sizes = new double[1000];
+        for (int i = 0; i < sizes.length; i++) {
+            if (random.nextInt(3) == 0) {
+                sizes[i] = -1;
+            } else {
+                sizes[i] = 1 + random.nextInt(50);
+                index.set(i, sizes[i]);
+            }
+        }
+
+        double estimate = 17;
+        for (int i = 0; i <= sizes.length; i += 7) {
+            assertEquals(sum(sizes, i, estimate), index.getOffset(i, estimate), 1e-6);
+        }
+
+        for (int offset = 0; offset < 30000; offset += 97) {
+            int expected = sizes.length - 1;
+            double total = 0;
+            for (int i = 0; i < sizes.length; i++) {
+                total += sizes[i] < 0 ? estimate : sizes[i];
+                if (total > offset) {
+                    expected = i;
+                    break;
+                }
+            }
+            assertEquals(expected, index.getIndex(offset, sizes.length, estimate));
+        }
+    }
+
+    @Test
+    public void testIndexBeyondLogicalSizeUsesEstimate() {
+        index.set(0, 100);
+
+        assertEquals(100, index.getOffset(1, 10), 0);
+        assertEquals(200, index.getOffset(11, 10), 0);
+        assertEquals(0, index.getIndex(99, 1000, 10));
+        assertEquals(1, index.getIndex(100, 1000, 10));
+        assertEquals(500, index.getIndex(5095, 1000, 10));
+    }
+
+    @Test
+    public void testInsertShiftsMeasuredSizes() {
+        index.set(0, 10);
+        index.set(1, 20);
+        index.set(2, 30);
+
+        index.insert(1, 2);
+
+        assertEquals(5, index.size());
+        assertEquals(10, index.get(0), 0);
+        assertFalse(index.isMeasured(1));
+        assertFalse(index.isMeasured(2));
+        assertEquals(20, index.get(3), 0);
+        assertEquals(30, index.get(4), 0);
+        assertEquals(3, index.getMeasuredCount());
+        assertEquals(10 + 5 + 5 + 20, index.getOffset(4, 5), 0);
+    }
+
+    @Test
+    public void testRemoveShiftsMeasuredSizes() {
+        for (int i = 0; i < 5; i++) {
+            index.set(i, 10 * (i + 1));
+        }
+
+        index.remove(1, 2);
+
+        assertEquals(3, index.size());
+        assertEquals(10, index.get(0), 0);
+        assertEquals(40, index.get(1), 0);
+        assertEquals(50, index.get(2), 0);
+        assertEquals(100, index.getMeasuredSum(), 0);
+    }
+
+    @Test
+    public void testRemoveBeyondLogicalSize() {
+        index.set(0, 10);
+        index.remove(5, 3);
+
+        assertEquals(1, index.size());
+        assertEquals(10, index.getMeasuredSum(), 0);
+    }
+
+    @Test
+    public void testEstimatorIsUsedForUnmeasuredCells() {
+        index.setEstimator(i -> i % 2 == 0 ? 10 : 30, 100);
+
+        assertEquals(2000, index.getOffset(100, 1), 0);
+        assertEquals(40, index.getOffset(2, 1), 0);
+        assertEquals(1, index.getIndex(10, 100, 1));
+        assertEquals(2, index.getIndex(40, 100, 1));
+
+        index.set(1, 5);
+
+        assertEquals(15, index.getOffset(2, 1), 0);
+        assertEquals(1975, index.getOffset(100, 1), 0);
+        assertEquals(2, index.getIndex(15, 100, 1));
+    }
+
+    @Test
+    public void testEstimatorRangeFollowsInsertAndRemove() {
+        index.setEstimator(i -> 10, 10);
+
+        index.insert(0, 5);
+        assertEquals(150, index.getOffset(15, 1), 0);
+
+        index.remove(0, 10);
+        assertEquals(50, index.getOffset(5, 1), 0);
+        assertEquals(51, index.getOffset(6, 1), 0);
+    }
+
+    @Test
+    public void testRandomInsertAndRemoveMatchLinearScan() {
+        assertInsertAndRemoveMatchLinearScan(false);
+    }
+
+    @Test
+    public void testRandomInsertAndRemoveWithEstimatorMatchLinearScan() {
+        assertInsertAndRemoveMatchLinearScan(true);
+    }
+
+    private void assertInsertAndRemoveMatchLinearScan(boolean useEstimator) {
+        Random random = new Random(7);
+        List<Double> sizes = new ArrayList<>(Collections.nCopies(50, -1.0));
+        double estimate = 13;
+        if (useEstimator) {
+            index.setEstimator(i -> 5 + i % 7, sizes.size());
+        }
+
+        for (int step = 0; step < 400; step++) {
+            int operation = random.nextInt(4);
+            if (operation == 0 || sizes.isEmpty()) {
+                // append
+                int count = 1 + random.nextInt(5);
+                index.insert(sizes.size(), count);
+                sizes.addAll(Collections.nCopies(count, -1.0));
+            } else if (operation == 1) {
+                int from = random.nextInt(sizes.size() + 1);
+                int count = 1 + random.nextInt(10);
+                index.insert(from, count);
+                sizes.addAll(from, Collections.nCopies(count, -1.0));
+            } else if (operation == 2) {
+                int from = random.nextInt(sizes.size());
+                int count = Math.min(sizes.size() - from, 1 + random.nextInt(10));
+                index.remove(from, count);
+                sizes.subList(from, from + count).clear();
+            } else {
+                for (int i = 0; i < 5; i++) {
+                    int cell = random.nextInt(sizes.size());
+                    double value = 1 + random.nextInt(50);
+                    index.set(cell, value);
+                    sizes.set(cell, value);
+                }
+            }
+
+            int measured = 0;
+            double offset = 0;
+            for (int i = 0; i < sizes.size(); i++) {
+                assertEquals("step " + step + ", cell " + i, offset, index.getOffset(i, estimate), 1e-6);
+                double size = sizes.get(i);
+                if (size >= 0) {
+                    assertEquals(size, index.get(i), 0);
+                    measured++;
+                    offset += size;
+                } else {
+                    assertFalse(index.isMeasured(i));
+                    offset += useEstimator ? 5 + i % 7 : estimate;
+                }
+            }
+            assertEquals(offset, index.getOffset(sizes.size(), estimate), 1e-6);
+            assertEquals(measured, index.getMeasuredCount());
+        }
+    }
+
+    @Test
+    public void testClear() {
+        index.set(3, 10);
+        index.clear(0);
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.getMeasuredCount());
+        assertEquals(0, index.getMeasuredSum(), 0);
+        assertEquals(40, index.getOffset(4, 10), 0);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.scene.control;
+
+import com.sun.javafx.tk.Toolkit;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.ColumnarDataSource;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+import org.junit.Test;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+import test.com.sun.javafx.scene.control.infrastructure.VirtualFlowTestUtils;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ColumnarDataSourceTest {
+
+    @Test
+    public void testRowsContainRowIndices() {
+        ColumnarDataSource dataSource = new ColumnarDataSource(10_000_000);
+
+        assertEquals(10_000_000, dataSource.getRows().size());
+        assertEquals(0, (int)dataSource.getRows().get(0));
+        assertEquals(9_999_999, (int)dataSource.getRows().get(9_999_999));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRowOutOfRange() {
+        new ColumnarDataSource(10).getRows().get(10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeRowCount() {
+        new ColumnarDataSource(-1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRowsAreUnmodifiable() {
+        new ColumnarDataSource(10).getRows().remove(0);
+    }
+
+    @Test
+    public void testSetRowCountFiresChange() {
+        ColumnarDataSource dataSource = new ColumnarDataSource(10);
+        List<String> changes = new ArrayList<>();
+        dataSource.getRows().addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                if (c.wasAdded()) {
+                    changes.add("added " + c.getFrom() + ".." + c.getTo());
+                }
+                if (c.wasRemoved()) {
+                    changes.add("removed " + c.getRemoved());
+                }
+            }
+        });
+
+        dataSource.setRowCount(15);
+        dataSource.setRowCount(15);
+        dataSource.setRowCount(12);
+
+        assertEquals(List.of("added 10..15", "removed [12, 13, 14]"), changes);
+        assertEquals(12, dataSource.getRowCount());
+    }
+
+    @Test
+    public void testPrimitiveColumns() {
+        TableView<Integer> table = new TableView<>(new ColumnarDataSource(3).getRows());
+        assertEquals(2.5, getValue(table, ColumnarDataSource.doubleColumn(new double[] {1, 2.5, 3}), 1), 0);
+        assertEquals(2.5f, getValue(table, ColumnarDataSource.floatColumn(new float[] {1, 2.5f, 3}), 1), 0);
+        assertEquals(7L, (long)getValue(table, ColumnarDataSource.longColumn(new long[] {5, 6, 7}), 2));
+        assertEquals(5, (int)getValue(table, ColumnarDataSource.intColumn(new int[] {5, 6, 7}), 0));
+        assertEquals("b", getValue(table, ColumnarDataSource.objectColumn(new String[] {"a", "b", "c"}), 1));
+    }
+
+    private <T> T getValue(TableView<Integer> table, Callback<CellDataFeatures<Integer, T>, ObservableValue<T>> factory, int row) {
+        TableColumn<Integer, T> column = new TableColumn<>();
+        column.setCellValueFactory(factory);
+        table.getColumns().setAll(column);
+        return column.getCellData(row);
+    }
+
+    @Test
+    public void testAccessorIsOnlyCalledForVisibleRows() {
+        ColumnarDataSource dataSource = new ColumnarDataSource(10_000_000);
+        List<Integer> requestedRows = new ArrayList<>();
+
+        TableColumn<Integer, String> column = new TableColumn<>("Value");
+        column.setCellValueFactory(ColumnarDataSource.column(row -> {
+            requestedRows.add(row);
+            return "row " + row;
+        }));
+
+        TableView<Integer> table = new TableView<>(dataSource.getRows());
+        table.getColumns().add(column);
+        table.setFixedCellSize(24);
+        table.setPrefHeight(300);
+
+        StageLoader stageLoader = new StageLoader(table);
+        try {
+            Toolkit.getToolkit().firePulse();
+            assertFalse(requestedRows.isEmpty());
+            // the first rows are also measured to compute the column width
+            assertTrue(requestedRows.stream().allMatch(row -> row < 30));
+            assertEquals("row 5", VirtualFlowTestUtils.getCell(table, 5, 0).getText());
+
+            requestedRows.clear();
+            table.scrollTo(5_000_000);
+            Toolkit.getToolkit().firePulse();
+            assertFalse(requestedRows.isEmpty());
+            assertTrue(requestedRows.stream().allMatch(row -> row >= 5_000_000 && row < 5_000_030));
+        } finally {
+            stageLoader.dispose();
+        }
+    }
+
+    @Test
+    public void testSortIsRejected() {
+        ColumnarDataSource dataSource = new ColumnarDataSource(100);
+        TableColumn<Integer, Integer> column = new TableColumn<>("Value");
+        column.setCellValueFactory(ColumnarDataSource.column(row -> 100 - row));
+
+        TableView<Integer> table = new TableView<>(dataSource.getRows());
+        table.getColumns().add(column);
+        table.getSortOrder().add(column);
+
+        assertTrue(table.getSortOrder().isEmpty());
+        assertEquals(0, (int)table.getItems().get(0));
+    }
+}
@@ -98,6 +98,7 @@ import javafx.scene.control.SplitPane;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableCellShim;
 import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumnBase;
 import javafx.scene.control.TablePosition;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableRowShim;
@@ -2821,6 +2822,18 @@ public class TableViewTest {
             @Override public boolean isCellSelectionEnabled() {
                 return false;
             }
+
+            @Override protected TablePosition createCell(int row, TableColumnBase<?,?> column) {
+                return new TablePosition<>(null, row, null);
+            }
+
+            @Override protected TableColumnBase<?,?> getVisibleLeafColumn(int column) {
+                return null;
+            }
+
+            @Override protected int getVisibleLeafIndex(TableColumnBase<?,?> column) {
+                return -1;
+            }
         };
         ReadOnlyUnbackedObservableList<TablePosition<Object, ?>> selectedCellsSeq = new ReadOnlyUnbackedObservableList<TablePosition<Object, ?>>() {
             @Override public TablePosition<Object, ?> get(int i) {
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.scene.control.cell;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PropertyValueFactoryTest {
+
+    public static class PropertyBean {
+        private final StringProperty name = new SimpleStringProperty(this, "name");
+        public PropertyBean(String name) { this.name.set(name); }
+        public StringProperty nameProperty() { return name; }
+        public String getName() { return name.get(); }
+    }
+
+    public static class GetterBean {
+        private final String name;
+        public GetterBean(String name) { this.name = name; }
+        public String getName() { return name; }
+    }
+
+    public static class ThrowingBean {
+        public String getName() { throw new IllegalStateException(); }
+    }
+
+    static class PackagePrivateBean {
+        public String getName() { return "hidden"; }
+    }
+
+    private <S> ObservableValue<String> call(PropertyValueFactory<S, String> factory, S bean) {
+        TableView<S> table = new TableView<>();
+        TableColumn<S, String> column = new TableColumn<>();
+        return factory.call(new CellDataFeatures<>(table, column, bean));
+    }
+
+    @Test
+    public void testPropertyGetter() {
+        PropertyValueFactory<PropertyBean, String> factory = new PropertyValueFactory<>("name");
+        PropertyBean a = new PropertyBean("a");
+
+        assertSame(a.nameProperty(), call(factory, a));
+        assertEquals("b", call(factory, new PropertyBean("b")).getValue());
+    }
+
+    @Test
+    public void testGetter() {
+        PropertyValueFactory<GetterBean, String> factory = new PropertyValueFactory<>("name");
+
+        assertEquals("a", call(factory, new GetterBean("a")).getValue());
+        assertEquals("b", call(factory, new GetterBean("b")).getValue());
+    }
+
+    @Test
+    public void testRowClassChange() {
+        PropertyValueFactory<Object, String> factory = new PropertyValueFactory<>("name");
+
+        assertEquals("a", call(factory, new GetterBean("a")).getValue());
+        assertEquals("b", call(factory, new PropertyBean("b")).getValue());
+        assertEquals("c", call(factory, new GetterBean("c")).getValue());
+    }
+
+    @Test
+    public void testInaccessibleClassReturnsNull() {
+        PropertyValueFactory<PackagePrivateBean, String> factory = new PropertyValueFactory<>("name");
+
+        assertNull(call(factory, new PackagePrivateBean()));
+    }
+
+    @Test
+    public void testExceptionInGetterReturnsNull() {
+        PropertyValueFactory<ThrowingBean, String> factory = new PropertyValueFactory<>("name");
+
+        assertNull(call(factory, new ThrowingBean()));
+    }
+
+    @Test
+    public void testMissingProperty() {
+        PropertyValueFactory<GetterBean, String> factory = new PropertyValueFactory<>("missing");
+
+        assertNull(call(factory, new GetterBean("a")));
+    }
+}
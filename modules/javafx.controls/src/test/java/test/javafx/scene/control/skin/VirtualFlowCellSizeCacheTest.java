@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.scene.control.skin;
+
+import com.sun.javafx.scene.control.skin.CellSizeIndex;
+import com.sun.javafx.tk.Toolkit;
+import javafx.collections.FXCollections;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.control.skin.VirtualFlowShim;
+import org.junit.After;
+import org.junit.Test;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the cached cell sizes of a VirtualFlow follow changes of the
+ * items of the control that uses the flow.
+ */
+public class VirtualFlowCellSizeCacheTest {
+
+    private StageLoader stageLoader;
+
+    @After
+    public void cleanup() {
+        if (stageLoader != null) {
+            stageLoader.dispose();
+        }
+    }
+
+    private static double sizeOf(Integer item) {
+        return 20 + (item % 3) * 10;
+    }
+
+    private static List<Integer> items(int from, int to) {
+        return IntStream.range(from, to).boxed().collect(Collectors.toList());
+    }
+
+    private ListView<Integer> showListView(List<Integer> items) {
+        ListView<Integer> listView = new ListView<>(FXCollections.observableArrayList(items));
+        listView.setPrefHeight(300);
+        listView.setCellFactory(lv -> new ListCell<>() {
+            @Override protected void updateItem(Integer item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : item.toString());
+                setPrefHeight(empty ? USE_COMPUTED_SIZE : sizeOf(item));
+            }
+        });
+        stageLoader = new StageLoader(listView);
+        Toolkit.getToolkit().firePulse();
+        return listView;
+    }
+
+    private static CellSizeIndex getCache(ListView<?> listView) {
+        return VirtualFlowShim.getItemSizeCache(VirtualFlowShim.getVirtualFlow(listView.getSkin()));
+    }
+
+    private static void assertCachedSizesMatch(List<Integer> items, CellSizeIndex cache) {
+        assertTrue(cache.getMeasuredCount() > 0);
+        for (int i = 0; i < items.size(); i++) {
+            if (cache.isMeasured(i)) {
+                assertEquals("cell " + i, sizeOf(items.get(i)), cache.get(i), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testInsertShiftsCachedSizes() {
+        ListView<Integer> listView = showListView(items(0, 100));
+        CellSizeIndex cache = getCache(listView);
+        int measured = cache.getMeasuredCount();
+        assertCachedSizesMatch(listView.getItems(), cache);
+
+        listView.getItems().addAll(0, List.of(101, 102));
+
+        assertFalse(cache.isMeasured(0));
+        assertFalse(cache.isMeasured(1));
+        assertEquals(measured, cache.getMeasuredCount());
+        assertCachedSizesMatch(listView.getItems(), cache);
+
+        Toolkit.getToolkit().firePulse();
+        assertCachedSizesMatch(listView.getItems(), cache);
+    }
+
+    @Test
+    public void testInsertInTheMiddleShiftsCachedSizes() {
+        ListView<Integer> listView = showListView(items(0, 100));
+        CellSizeIndex cache = getCache(listView);
+        int measured = cache.getMeasuredCount();
+
+        listView.getItems().add(3, 104);
+
+        assertFalse(cache.isMeasured(3));
+        assertEquals(measured, cache.getMeasuredCount());
+        assertCachedSizesMatch(listView.getItems(), cache);
+    }
+
+    @Test
+    public void testAppendRetainsCachedSizes() {
+        ListView<Integer> listView = showListView(items(0, 100));
+        CellSizeIndex cache = getCache(listView);
+        int measured = cache.getMeasuredCount();
+        double offset = cache.getOffset(measured, 1);
+
+        listView.getItems().addAll(items(100, 150));
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(offset, cache.getOffset(measured, 1), 0);
+        assertCachedSizesMatch(listView.getItems(), cache);
+    }
+
+    @Test
+    public void testRemoveShiftsCachedSizes() {
+        ListView<Integer> listView = showListView(items(0, 100));
+        CellSizeIndex cache = getCache(listView);
+        double expected = cache.get(4);
+
+        listView.getItems().remove(0, 4);
+
+        assertEquals(expected, cache.get(0), 0);
+        assertCachedSizesMatch(listView.getItems(), cache);
+
+        Toolkit.getToolkit().firePulse();
+        assertCachedSizesMatch(listView.getItems(), cache);
+    }
+
+    @Test
+    public void testSetAllWithSameSizeRetainsCachedSizesUntilCellsAreMeasured() {
+        ListView<Integer> listView = showListView(items(0, 100));
+        CellSizeIndex cache = getCache(listView);
+
+        listView.getItems().setAll(items(1, 101));
+        Toolkit.getToolkit().firePulse();
+
+        assertCachedSizesMatch(listView.getItems(), cache);
+    }
+
+    @Test
+    public void testSetItemsWithSameSizeClearsCachedSizes() {
+        ListView<Integer> listView = showListView(items(0, 100));
+        CellSizeIndex cache = getCache(listView);
+        assertTrue(cache.getMeasuredCount() > 0);
+
+        listView.setItems(FXCollections.observableArrayList(items(1, 101)));
+
+        assertCachedSizesMatch(listView.getItems(), cache);
+
+        Toolkit.getToolkit().firePulse();
+        assertCachedSizesMatch(listView.getItems(), cache);
+    }
+
+    @Test
+    public void testSetItemsWithSameSizeClearsCachedSizesOfTableView() {
+        TableView<Integer> tableView = new TableView<>(FXCollections.observableArrayList(items(0, 100)));
+        tableView.getColumns().add(new TableColumn<>("Item"));
+        tableView.setPrefHeight(300);
+        tableView.setRowFactory(tv -> new TableRow<>() {
+            @Override protected void updateItem(Integer item, boolean empty) {
+                super.updateItem(item, empty);
+                setPrefHeight(empty ? USE_COMPUTED_SIZE : sizeOf(item));
+            }
+        });
+        stageLoader = new StageLoader(tableView);
+        Toolkit.getToolkit().firePulse();
+
+        VirtualFlow<?> flow = VirtualFlowShim.getVirtualFlow(tableView.getSkin());
+        CellSizeIndex cache = VirtualFlowShim.getItemSizeCache(flow);
+        assertCachedSizesMatch(tableView.getItems(), cache);
+
+        tableView.setItems(FXCollections.observableArrayList(items(1, 101)));
+
+        assertCachedSizesMatch(tableView.getItems(), cache);
+
+        Toolkit.getToolkit().firePulse();
+        assertCachedSizesMatch(tableView.getItems(), cache);
+    }
+}
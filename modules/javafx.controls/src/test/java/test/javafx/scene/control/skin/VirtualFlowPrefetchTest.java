@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.scene.control.skin;
+
+import com.sun.javafx.tk.Toolkit;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.ListViewSkin;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.control.skin.VirtualFlowShim;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import test.com.sun.javafx.pgstub.StubToolkit;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class VirtualFlowPrefetchTest {
+
+    private ListView<Integer> listView;
+    private StageLoader stageLoader;
+    private int createdCells;
+    private int updatedCells;
+    private int layoutCount;
+
+    @Before
+    public void setup() {
+        listView = new ListView<>();
+        listView.getItems().setAll(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+        listView.setFixedCellSize(24);
+        listView.setPrefHeight(240);
+        listView.setCellFactory(lv -> {
+            createdCells++;
+            return new ListCell<>() {
+                @Override protected void updateItem(Integer item, boolean empty) {
+                    super.updateItem(item, empty);
+                    updatedCells++;
+                    setText(empty ? null : item.toString());
+                }
+            };
+        });
+        listView.setSkin(new ListViewSkin<>(listView) {
+            @Override protected VirtualFlow<ListCell<Integer>> createVirtualFlow() {
+                return new VirtualFlow<>() {
+                    @Override protected void layoutChildren() {
+                        layoutCount++;
+                        super.layoutChildren();
+                    }
+                };
+            }
+        });
+        stageLoader = new StageLoader(listView);
+        Toolkit.getToolkit().firePulse();
+    }
+
+    @After
+    public void cleanup() {
+        stageLoader.dispose();
+    }
+
+    private VirtualFlow<ListCell<Integer>> getFlow() {
+        return VirtualFlowShim.getVirtualFlow(listView.getSkin());
+    }
+
+    private void firePulses(int count) {
+        for (int i = 0; i < count; i++) {
+            Toolkit.getToolkit().firePulse();
+        }
+    }
+
+    /*
+     * Cells are only prepared when the flow is laid out, which happens while
+     * the application is in use.
+     */
+    private void layoutPasses(int count) {
+        for (int i = 0; i < count; i++) {
+            getFlow().requestLayout();
+            Toolkit.getToolkit().firePulse();
+        }
+    }
+
+    @Test
+    public void testPrefetchIsDisabledByDefault() {
+        VirtualFlow<ListCell<Integer>> flow = getFlow();
+        int created = createdCells;
+
+        firePulses(5);
+
+        assertEquals(0, flow.getPrefetchCount());
+        assertEquals(created, createdCells);
+        assertTrue(VirtualFlowShim.getPile(flow).isEmpty());
+    }
+
+    @Test
+    public void testWarmUpCreatesCellsInIdleLayoutPasses() {
+        VirtualFlow<ListCell<Integer>> flow = getFlow();
+        int visible = VirtualFlowShim.getCells(flow).size();
+
+        flow.warmUpCells(visible + 10);
+        assertTrue(VirtualFlowShim.getPile(flow).isEmpty());
+
+        Toolkit.getToolkit().firePulse();
+        int pileSize = VirtualFlowShim.getPile(flow).size();
+        assertTrue(pileSize > 0 && pileSize < 10);
+
+        layoutPasses(5);
+        List<ListCell<Integer>> pile = VirtualFlowShim.getPile(flow);
+        assertEquals(10, pile.size());
+        for (ListCell<Integer> cell : pile) {
+            assertFalse(cell.isVisible());
+            assertSame(VirtualFlowShim.getSheet(flow), cell.getParent());
+            assertTrue(cell.getStyleClass().contains("list-cell"));
+        }
+    }
+
+    @Test
+    public void testScrollingDoesNotCreateWarmedUpCells() {
+        VirtualFlow<ListCell<Integer>> flow = getFlow();
+        flow.warmUpCells(VirtualFlowShim.getCells(flow).size() + 5);
+        layoutPasses(5);
+
+        int created = createdCells;
+        flow.scrollPixels(5 * 24);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(created, createdCells);
+    }
+
+    @Test
+    public void testPrefetchPreparesCellsAroundViewport() {
+        VirtualFlow<ListCell<Integer>> flow = getFlow();
+        flow.scrollTo(100);
+        Toolkit.getToolkit().firePulse();
+
+        flow.setPrefetchCount(3);
+        layoutPasses(5);
+
+        List<ListCell<Integer>> cells = VirtualFlowShim.getCells(flow);
+        int first = cells.get(0).getIndex();
+        int last = cells.get(cells.size() - 1).getIndex();
+        List<Integer> prefetched = VirtualFlowShim.getPile(flow).stream()
+                .map(ListCell::getIndex).sorted().collect(Collectors.toList());
+        assertEquals(List.of(first - 3, first - 2, first - 1, last + 1, last + 2, last + 3), prefetched);
+    }
+
+    @Test
+    public void testScrollingIntoPrefetchedCellsDoesNotUpdateCells() {
+        VirtualFlow<ListCell<Integer>> flow = getFlow();
+        flow.setPrefetchCount(2);
+        layoutPasses(5);
+
+        int created = createdCells;
+        int updated = updatedCells;
+        flow.scrollPixels(24);
+        assertEquals(created, createdCells);
+        assertEquals(updated, updatedCells);
+
+        // the layout pass prefetches the next cell, as no cell needed an update
+        Toolkit.getToolkit().firePulse();
+        int last = flow.getLastVisibleCell().getIndex();
+        assertTrue(VirtualFlowShim.getPile(flow).stream().anyMatch(cell -> cell.getIndex() == last + 2));
+    }
+
+    @Test
+    public void testNoIdleWorkWhileLayoutPassesRequestCells() {
+        VirtualFlow<ListCell<Integer>> flow = getFlow();
+        int target = VirtualFlowShim.getCells(flow).size() + 10;
+        flow.warmUpCells(target);
+
+        for (int i = 0; i < 5; i++) {
+            flow.scrollPixels(24);
+            Toolkit.getToolkit().firePulse();
+        }
+
+        int created = createdCells;
+        assertTrue(VirtualFlowShim.getCells(flow).size() + VirtualFlowShim.getPile(flow).size() < target);
+
+        layoutPasses(5);
+        assertEquals(target, VirtualFlowShim.getCells(flow).size() + VirtualFlowShim.getPile(flow).size());
+        assertTrue(createdCells > created);
+    }
+
+    @Test
+    public void testPreparingCellsDoesNotCauseAnotherLayoutPass() {
+        VirtualFlow<ListCell<Integer>> flow = getFlow();
+        flow.warmUpCells(VirtualFlowShim.getCells(flow).size() + 2);
+
+        layoutCount = 0;
+        Toolkit.getToolkit().firePulse();
+        assertEquals(1, layoutCount);
+        assertEquals(2, VirtualFlowShim.getPile(flow).size());
+        assertFalse(flow.isNeedsLayout());
+
+        firePulses(3);
+        assertEquals(1, layoutCount);
+    }
+
+    @Test
+    public void testRemainingWorkDoesNotRequestPulses() {
+        VirtualFlow<ListCell<Integer>> flow = getFlow();
+        int target = VirtualFlowShim.getCells(flow).size() + 10;
+        flow.warmUpCells(target);
+        Toolkit.getToolkit().firePulse();
+
+        StubToolkit toolkit = (StubToolkit)Toolkit.getToolkit();
+        toolkit.clearPulseRequested();
+        Toolkit.getToolkit().firePulse();
+        assertFalse(toolkit.isPulseRequested());
+        assertTrue(VirtualFlowShim.getCells(flow).size() + VirtualFlowShim.getPile(flow).size() < target);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package test.javafx.scene.control.skin;
+
+import com.sun.javafx.scene.NodeHelper;
+import com.sun.javafx.sg.prism.NGNode;
+import com.sun.javafx.tk.Toolkit;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.scene.Group;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.control.skin.VirtualFlowShim;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class VirtualFlowScrollCacheTest {
+
+    private static final int ROWS = 100_000;
+    private static final int COLUMNS = 20;
+
+    private TableView<Integer> table;
+    private StageLoader stageLoader;
+
+    @Before
+    public void setup() {
+        List<Integer> items = IntStream.range(0, ROWS).boxed().collect(Collectors.toList());
+        table = new TableView<>();
+        table.getItems().setAll(items);
+        for (int i = 0; i < COLUMNS; i++) {
+            final int column = i;
+            TableColumn<Integer, String> tc = new TableColumn<>("Column " + i);
+            tc.setCellValueFactory(f -> new SimpleStringProperty(f.getValue() + ":" + column));
+            table.getColumns().add(tc);
+        }
+        table.setPrefSize(800, 600);
+    }
+
+    @After
+    public void cleanup() {
+        if (stageLoader != null) {
+            stageLoader.dispose();
+        }
+        VirtualFlowShim.setScrollCache(false);
+    }
+
+    private void showTable(boolean scrollCache) {
+        VirtualFlowShim.setScrollCache(scrollCache);
+        stageLoader = new StageLoader(table);
+        Toolkit.getToolkit().firePulse();
+    }
+
+    private VirtualFlow<TableRow<Integer>> getFlow() {
+        return VirtualFlowShim.getVirtualFlow(table.getSkin());
+    }
+
+    @Test
+    public void testSheetIsNotCachedByDefault() {
+        showTable(false);
+        Group sheet = VirtualFlowShim.getSheet(getFlow());
+        assertFalse(sheet.isCache());
+    }
+
+    @Test
+    public void testSheetIsCachedForScrolling() {
+        showTable(true);
+        Group sheet = VirtualFlowShim.getSheet(getFlow());
+        assertTrue(sheet.isCache());
+
+        NGNode peer = NodeHelper.getPeer(sheet);
+        assertNotNull(peer.getCacheFilter());
+    }
+
+    @Test
+    public void testScrollByPixelsOnlyTranslatesCells() {
+        showTable(true);
+        VirtualFlow<TableRow<Integer>> flow = getFlow();
+        TableRow<Integer> cell = VirtualFlowShim.getCells(flow).get(5);
+        int index = cell.getIndex();
+        double layoutY = cell.getLayoutY();
+
+        flow.scrollPixels(3);
+        Toolkit.getToolkit().firePulse();
+
+        assertSame(cell, VirtualFlowShim.getCells(flow).get(5));
+        assertEquals(index, cell.getIndex());
+        assertEquals(layoutY - 3, cell.getLayoutY(), 0);
+    }
+}
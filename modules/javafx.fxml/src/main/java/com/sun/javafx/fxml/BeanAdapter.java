@@ -181,6 +181,57 @@ public class BeanAdapter extends AbstractMap<String, Object> {
         return localCache.getMethod(getMethodName(SET_PREFIX, key), type);
     }
 
+    /**
+     * Returns the method that returns the value of the given key for instances
+     * of a type, as used by {@link #get(Object)}.
+     *
+     * @param type
+     * The type of the Bean object.
+     *
+     * @param key
+     * The property name.
+     *
+     * @return
+     * The getter method, or <tt>null</tt> if no such method exists.
+     */
+    public static Method findGetterMethod(Class<?> type, String key) {
+        MethodCache classMethodCache = getClassMethodCache(type);
+        if (classMethodCache == null) {
+            return null;
+        }
+
+        if (key.endsWith(PROPERTY_SUFFIX)) {
+            return classMethodCache.getMethod(key);
+        }
+
+        Method getterMethod = classMethodCache.getMethod(getMethodName(GET_PREFIX, key));
+
+        if (getterMethod == null) {
+            getterMethod = classMethodCache.getMethod(getMethodName(IS_PREFIX, key));
+        }
+
+        return getterMethod;
+    }
+
+    /**
+     * Returns the method that returns the property model of the given key for
+     * instances of a type, as used by {@link #getPropertyModel(String)}.
+     *
+     * @param type
+     * The type of the Bean object.
+     *
+     * @param key
+     * The property name.
+     *
+     * @return
+     * The property model method, or <tt>null</tt> if no such method exists.
+     */
+    public static Method findPropertyModelMethod(Class<?> type, String key) {
+        MethodCache classMethodCache = getClassMethodCache(type);
+
+        return (classMethodCache == null) ? null : classMethodCache.getMethod(key + PROPERTY_SUFFIX);
+    }
+
     private static String getMethodName(String prefix, String key) {
         return prefix + Character.toUpperCase(key.charAt(0)) + key.substring(1);
     }
@@ -0,0 +1,794 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.fxml;
+
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+import com.sun.javafx.fxml.expression.ExpressionBinding;
+
+/**
+ * A compiled FXML document. A template is an immutable tree of the elements,
+ * text and processing instructions of the document, together with the
+ * fully-qualified names of the types that were resolved through the imports
+ * of the document. Templates can be executed any number of times, by any
+ * number of threads, without parsing the document again. The loader executes
+ * a template by walking the tree with a {@link Reader}, which drives the same
+ * element processing as a parsed document. The binding expressions of the
+ * document are compiled when they are first used, and shared by all
+ * subsequent loads of the template.
+ * <p>
+ * Templates are cached per location and class loader. A template only refers
+ * to types by name, so that it doesn't keep the class loader reachable.
+ */
+public final class FXMLTemplate {
+    private static final Map<ClassLoader, Map<String, FXMLTemplate>> cache = new WeakHashMap<>();
+
+    private final Charset charset;
+    private final Node[] nodes; // the top-level processing instructions and comments, and the root element
+    private final Map<String, String> typeNames;
+    private final Map<String, ExpressionBinding> expressionBindings = new ConcurrentHashMap<>();
+
+    private FXMLTemplate(Charset charset, Node[] nodes, Map<String, String> typeNames) {
+        this.charset = charset;
+        this.nodes = nodes;
+        this.typeNames = typeNames;
+    }
+
+    /**
+     * Returns the cached template for the specified location and class loader.
+     *
+     * @param location the location of the document
+     * @param classLoader the class loader that is used to resolve types
+     * @param charset the character set that is used to read the document
+     * @return the template, or {@code null} if no template was cached for the
+     *         location, or if the template was read with a different character set
+     */
+    public static FXMLTemplate getTemplate(URL location, ClassLoader classLoader, Charset charset) {
+        FXMLTemplate template;
+
+        synchronized (cache) {
+            Map<String, FXMLTemplate> templates = cache.get(classLoader);
+            template = templates != null ? templates.get(location.toExternalForm()) : null;
+        }
+
+        return template != null && template.charset.equals(charset) ? template : null;
+    }
+
+    /**
+     * Adds a template to the cache, replacing any template that was previously
+     * cached for the same location and class loader.
+     *
+     * @param location the location of the document
+     * @param classLoader the class loader that is used to resolve types
+     * @param template the template
+     */
+    public static void putTemplate(URL location, ClassLoader classLoader, FXMLTemplate template) {
+        synchronized (cache) {
+            cache.computeIfAbsent(classLoader, key -> new HashMap<>()).put(location.toExternalForm(), template);
+        }
+    }
+
+    /**
+     * Removes all templates from the cache.
+     */
+    public static void clearTemplates() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the fully-qualified name of a type that was resolved through
+     * the imports of the document.
+     *
+     * @param name the unqualified name of the type
+     * @return the binary name of the type, or {@code null} if the type was not resolved
+     */
+    public String getTypeName(String name) {
+        return typeNames.get(name);
+    }
+
+    /**
+     * Returns the compiled form of a binding expression of the document.
+     *
+     * @param expression the expression, without the binding prefix and suffix
+     * @return the compiled expression
+     */
+    public ExpressionBinding getExpressionBinding(String expression) {
+        return expressionBindings.computeIfAbsent(expression, ExpressionBinding::compile);
+    }
+
+    /**
+     * Returns all elements with the specified prefix and local name, in
+     * document order. The elements are the same instances that are returned
+     * by {@link Reader#getElement()} while the template is executed.
+     *
+     * @param prefix the prefix of the elements
+     * @param localName the local name of the elements
+     * @return the elements
+     */
+    public List<Element> getElements(String prefix, String localName) {
+        List<Element> elements = new ArrayList<>();
+        collectElements(nodes, prefix, localName, elements);
+        return elements;
+    }
+
+    private static void collectElements(Node[] nodes, String prefix, String localName, List<Element> elements) {
+        for (Node node : nodes) {
+            if (node instanceof Element) {
+                Element element = (Element)node;
+                if (prefix.equals(element.prefix) && localName.equals(element.localName)) {
+                    elements.add(element);
+                }
+
+                collectElements(element.children, prefix, localName, elements);
+            }
+        }
+    }
+
+    /**
+     * Creates a new reader that walks the tree of this template.
+     *
+     * @return the reader
+     */
+    public Reader createReader() {
+        return new Reader(nodes);
+    }
+
+    /**
+     * Builds the tree of a document from the events of an XML stream reader
+     * while they are consumed.
+     */
+    public static final class Recorder extends StreamReaderDelegate {
+        private final List<Node> nodes = new ArrayList<>();
+        private final List<ElementBuilder> openElements = new ArrayList<>();
+
+        public Recorder(XMLStreamReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            int eventType = super.next();
+            Location location = getLocation();
+            int lineNumber = location != null ? location.getLineNumber() : -1;
+
+            switch (eventType) {
+                case XMLStreamConstants.START_ELEMENT: {
+                    openElements.add(new ElementBuilder(this, lineNumber));
+                    break;
+                }
+
+                case XMLStreamConstants.END_ELEMENT: {
+                    ElementBuilder builder = openElements.remove(openElements.size() - 1);
+                    addNode(builder.build(lineNumber));
+                    break;
+                }
+
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                case XMLStreamConstants.COMMENT: {
+                    addNode(new Text(eventType, lineNumber, getText(), isWhiteSpace()));
+                    break;
+                }
+
+                case XMLStreamConstants.PROCESSING_INSTRUCTION: {
+                    addNode(new ProcessingInstruction(lineNumber, getPITarget(), getPIData()));
+                    break;
+                }
+            }
+
+            return eventType;
+        }
+
+        private void addNode(Node node) {
+            if (openElements.isEmpty()) {
+                nodes.add(node);
+            } else {
+                openElements.get(openElements.size() - 1).children.add(node);
+            }
+        }
+
+        /**
+         * Creates a template from the document that was read.
+         *
+         * @param charset the character set that was used to read the document
+         * @param types the types that were resolved through the imports of the document
+         * @return the template
+         */
+        public FXMLTemplate toTemplate(Charset charset, Map<String, Class<?>> types) {
+            Map<String, String> typeNames = new HashMap<>();
+            for (Map.Entry<String, Class<?>> entry : types.entrySet()) {
+                typeNames.put(entry.getKey(), entry.getValue().getName());
+            }
+
+            return new FXMLTemplate(charset, nodes.toArray(new Node[0]), Collections.unmodifiableMap(typeNames));
+        }
+    }
+
+    abstract static class Node {
+        final int eventType;
+        final int lineNumber;
+
+        Node(int eventType, int lineNumber) {
+            this.eventType = eventType;
+            this.lineNumber = lineNumber;
+        }
+    }
+
+    /**
+     * An element of a template.
+     */
+    public static final class Element extends Node {
+        final String prefix;
+        final String localName;
+        final String namespaceURI;
+        final String[] attributes; // prefix, local name, namespace URI and value of each attribute
+        final String[] namespaces; // prefix and URI of each namespace declaration
+        final Node[] children;
+        final int endLineNumber;
+
+        Element(ElementBuilder builder, int endLineNumber) {
+            super(XMLStreamConstants.START_ELEMENT, builder.lineNumber);
+            this.prefix = builder.prefix;
+            this.localName = builder.localName;
+            this.namespaceURI = builder.namespaceURI;
+            this.attributes = builder.attributes;
+            this.namespaces = builder.namespaces;
+            this.children = builder.children.toArray(new Node[0]);
+            this.endLineNumber = endLineNumber;
+        }
+
+        /**
+         * Returns the value of an unprefixed attribute of this element.
+         *
+         * @param localName the name of the attribute
+         * @return the value of the attribute, or {@code null} if the element
+         *         doesn't have the attribute
+         */
+        public String getAttributeValue(String localName) {
+            for (int i = 0; i < attributes.length; i += 4) {
+                if (attributes[i] == null && attributes[i + 1].equals(localName)) {
+                    return attributes[i + 3];
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private static final class ElementBuilder {
+        final int lineNumber;
+        final String prefix;
+        final String localName;
+        final String namespaceURI;
+        final String[] attributes;
+        final String[] namespaces;
+        final List<Node> children = new ArrayList<>();
+
+        ElementBuilder(XMLStreamReader reader, int lineNumber) {
+            this.lineNumber = lineNumber;
+            this.prefix = reader.getPrefix();
+            this.localName = reader.getLocalName();
+            this.namespaceURI = reader.getNamespaceURI();
+
+            attributes = new String[reader.getAttributeCount() * 4];
+            for (int i = 0, j = 0; j < attributes.length; i++) {
+                attributes[j++] = reader.getAttributePrefix(i);
+                attributes[j++] = reader.getAttributeLocalName(i);
+                attributes[j++] = reader.getAttributeNamespace(i);
+                attributes[j++] = reader.getAttributeValue(i);
+            }
+
+            namespaces = new String[reader.getNamespaceCount() * 2];
+            for (int i = 0, j = 0; j < namespaces.length; i++) {
+                String namespacePrefix = reader.getNamespacePrefix(i);
+                namespaces[j++] = namespacePrefix != null ? namespacePrefix : XMLConstants.DEFAULT_NS_PREFIX;
+                namespaces[j++] = reader.getNamespaceURI(i);
+            }
+        }
+
+        Element build(int endLineNumber) {
+            return new Element(this, endLineNumber);
+        }
+    }
+
+    // Characters, CDATA, white space or a comment
+    private static final class Text extends Node {
+        final String text;
+        final boolean whiteSpace;
+
+        Text(int eventType, int lineNumber, String text, boolean whiteSpace) {
+            super(eventType, lineNumber);
+            this.text = text;
+            this.whiteSpace = whiteSpace;
+        }
+    }
+
+    private static final class ProcessingInstruction extends Node {
+        final String target;
+        final String data;
+
+        ProcessingInstruction(int lineNumber, String target, String data) {
+            super(XMLStreamConstants.PROCESSING_INSTRUCTION, lineNumber);
+            this.target = target;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Walks the tree of a template in document order, and reports the nodes
+     * as the events of an XML stream reader.
+     */
+    public static final class Reader implements XMLStreamReader, NamespaceContext, Location {
+        private final Node[] nodes;
+        private final List<Element> openElements = new ArrayList<>();
+        private int[] nextIndices = new int[16]; // the index of the next node at each depth
+        private int eventType = START_DOCUMENT;
+        private Node node = null;
+        private int lineNumber = 1;
+
+        Reader(Node[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            if (eventType == END_ELEMENT) {
+                openElements.remove(openElements.size() - 1);
+            }
+
+            int depth = openElements.size();
+            Node[] siblings = depth > 0 ? openElements.get(depth - 1).children : nodes;
+
+            if (nextIndices[depth] < siblings.length) {
+                node = siblings[nextIndices[depth]++];
+                eventType = node.eventType;
+                lineNumber = node.lineNumber;
+
+                if (eventType == START_ELEMENT) {
+                    openElements.add((Element)node);
+                    if (depth + 1 == nextIndices.length) {
+                        nextIndices = Arrays.copyOf(nextIndices, nextIndices.length * 2);
+                    }
+
+                    nextIndices[depth + 1] = 0;
+                }
+            } else if (depth > 0) {
+                Element element = openElements.get(depth - 1);
+                node = element;
+                eventType = END_ELEMENT;
+                lineNumber = element.endLineNumber;
+            } else {
+                node = null;
+                eventType = END_DOCUMENT;
+            }
+
+            return eventType;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return eventType != END_DOCUMENT;
+        }
+
+        /**
+         * Returns the element of the current start or end element event.
+         *
+         * @return the element, or {@code null} if the current event is not
+         *         a start or end element event
+         */
+        public Element getElement() {
+            return hasName() ? (Element)node : null;
+        }
+
+        @Override
+        public int getEventType() {
+            return eventType;
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            int eventType = next();
+            while ((eventType == CHARACTERS && isWhiteSpace())
+                    || (eventType == CDATA && isWhiteSpace())
+                    || eventType == SPACE
+                    || eventType == PROCESSING_INSTRUCTION
+                    || eventType == COMMENT) {
+                eventType = next();
+            }
+
+            if (eventType != START_ELEMENT && eventType != END_ELEMENT) {
+                throw new XMLStreamException("Expected start or end tag.", this);
+            }
+
+            return eventType;
+        }
+
+        @Override
+        public String getElementText() throws XMLStreamException {
+            require(START_ELEMENT, null, null);
+
+            StringBuilder text = new StringBuilder();
+            int eventType = next();
+            while (eventType != END_ELEMENT) {
+                if (eventType == CHARACTERS || eventType == CDATA || eventType == SPACE) {
+                    text.append(getText());
+                } else if (eventType != PROCESSING_INSTRUCTION && eventType != COMMENT) {
+                    throw new XMLStreamException("Unexpected event in element text.", this);
+                }
+
+                eventType = next();
+            }
+
+            return text.toString();
+        }
+
+        @Override
+        public void require(int type, String namespaceURI, String localName) throws XMLStreamException {
+            if (type != getEventType()
+                    || (namespaceURI != null && !namespaceURI.equals(getNamespaceURI()))
+                    || (localName != null && !localName.equals(getLocalName()))) {
+                throw new XMLStreamException("Required event is not the current event.", this);
+            }
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean isStartElement() {
+            return getEventType() == START_ELEMENT;
+        }
+
+        @Override
+        public boolean isEndElement() {
+            return getEventType() == END_ELEMENT;
+        }
+
+        @Override
+        public boolean isCharacters() {
+            return getEventType() == CHARACTERS;
+        }
+
+        @Override
+        public boolean isWhiteSpace() {
+            return node instanceof Text && ((Text)node).whiteSpace;
+        }
+
+        @Override
+        public boolean hasName() {
+            return isStartElement() || isEndElement();
+        }
+
+        @Override
+        public boolean hasText() {
+            return node instanceof Text;
+        }
+
+        @Override
+        public String getPrefix() {
+            return hasName() ? ((Element)node).prefix : null;
+        }
+
+        @Override
+        public String getLocalName() {
+            if (!hasName()) {
+                throw new IllegalStateException();
+            }
+
+            return ((Element)node).localName;
+        }
+
+        @Override
+        public QName getName() {
+            String prefix = getPrefix();
+            String namespaceURI = getNamespaceURI();
+
+            return new QName(namespaceURI != null ? namespaceURI : XMLConstants.NULL_NS_URI, getLocalName(),
+                             prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX);
+        }
+
+        @Override
+        public String getNamespaceURI() {
+            return hasName() ? ((Element)node).namespaceURI : null;
+        }
+
+        @Override
+        public int getAttributeCount() {
+            return getAttributes().length / 4;
+        }
+
+        @Override
+        public String getAttributePrefix(int index) {
+            return getAttributes()[index * 4];
+        }
+
+        @Override
+        public String getAttributeLocalName(int index) {
+            return getAttributes()[index * 4 + 1];
+        }
+
+        @Override
+        public String getAttributeNamespace(int index) {
+            return getAttributes()[index * 4 + 2];
+        }
+
+        @Override
+        public String getAttributeValue(int index) {
+            return getAttributes()[index * 4 + 3];
+        }
+
+        @Override
+        public QName getAttributeName(int index) {
+            String prefix = getAttributePrefix(index);
+            String namespaceURI = getAttributeNamespace(index);
+
+            return new QName(namespaceURI != null ? namespaceURI : XMLConstants.NULL_NS_URI,
+                             getAttributeLocalName(index),
+                             prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX);
+        }
+
+        @Override
+        public String getAttributeType(int index) {
+            getAttributes();
+            return "CDATA";
+        }
+
+        @Override
+        public boolean isAttributeSpecified(int index) {
+            getAttributes();
+            return true;
+        }
+
+        @Override
+        public String getAttributeValue(String namespaceURI, String localName) {
+            String[] attributes = getAttributes();
+            for (int i = 0; i < attributes.length; i += 4) {
+                if (attributes[i + 1].equals(localName)
+                        && (namespaceURI == null || namespaceURI.equals(attributes[i + 2]))) {
+                    return attributes[i + 3];
+                }
+            }
+
+            return null;
+        }
+
+        private String[] getAttributes() {
+            if (!isStartElement()) {
+                throw new IllegalStateException();
+            }
+
+            return ((Element)node).attributes;
+        }
+
+        @Override
+        public int getNamespaceCount() {
+            return getNamespaces().length / 2;
+        }
+
+        @Override
+        public String getNamespacePrefix(int index) {
+            String prefix = getNamespaces()[index * 2];
+            return prefix.isEmpty() ? null : prefix;
+        }
+
+        @Override
+        public String getNamespaceURI(int index) {
+            return getNamespaces()[index * 2 + 1];
+        }
+
+        private String[] getNamespaces() {
+            if (!hasName()) {
+                throw new IllegalStateException();
+            }
+
+            return ((Element)node).namespaces;
+        }
+
+        @Override
+        public NamespaceContext getNamespaceContext() {
+            return this;
+        }
+
+        @Override
+        public String getNamespaceURI(String prefix) {
+            if (prefix == null) {
+                throw new IllegalArgumentException();
+            }
+
+            if (prefix.equals(XMLConstants.XML_NS_PREFIX)) {
+                return XMLConstants.XML_NS_URI;
+            }
+
+            if (prefix.equals(XMLConstants.XMLNS_ATTRIBUTE)) {
+                return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+            }
+
+            for (int i = openElements.size() - 1; i >= 0; i--) {
+                String[] namespaces = openElements.get(i).namespaces;
+                for (int j = 0; j < namespaces.length; j += 2) {
+                    if (namespaces[j].equals(prefix)) {
+                        return namespaces[j + 1];
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public String getPrefix(String namespaceURI) {
+            Iterator<String> prefixes = getPrefixes(namespaceURI);
+            return prefixes.hasNext() ? prefixes.next() : null;
+        }
+
+        @Override
+        public Iterator<String> getPrefixes(String namespaceURI) {
+            if (namespaceURI == null) {
+                throw new IllegalArgumentException();
+            }
+
+            List<String> prefixes = new ArrayList<>();
+            for (int i = openElements.size() - 1; i >= 0; i--) {
+                String[] namespaces = openElements.get(i).namespaces;
+                for (int j = 0; j < namespaces.length; j += 2) {
+                    if (namespaceURI.equals(namespaces[j + 1])
+                            && !prefixes.contains(namespaces[j])
+                            && namespaceURI.equals(getNamespaceURI(namespaces[j]))) {
+                        prefixes.add(namespaces[j]);
+                    }
+                }
+            }
+
+            return prefixes.iterator();
+        }
+
+        @Override
+        public String getText() {
+            if (!hasText()) {
+                throw new IllegalStateException();
+            }
+
+            return ((Text)node).text;
+        }
+
+        @Override
+        public char[] getTextCharacters() {
+            return getText().toCharArray();
+        }
+
+        @Override
+        public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) {
+            String text = getText();
+            int count = Math.max(0, Math.min(length, text.length() - sourceStart));
+            text.getChars(sourceStart, sourceStart + count, target, targetStart);
+            return count;
+        }
+
+        @Override
+        public int getTextStart() {
+            return 0;
+        }
+
+        @Override
+        public int getTextLength() {
+            return getText().length();
+        }
+
+        @Override
+        public String getPITarget() {
+            return getEventType() == PROCESSING_INSTRUCTION ? ((ProcessingInstruction)node).target : null;
+        }
+
+        @Override
+        public String getPIData() {
+            return getEventType() == PROCESSING_INSTRUCTION ? ((ProcessingInstruction)node).data : null;
+        }
+
+        @Override
+        public String getEncoding() {
+            return null;
+        }
+
+        @Override
+        public String getVersion() {
+            return null;
+        }
+
+        @Override
+        public boolean isStandalone() {
+            return false;
+        }
+
+        @Override
+        public boolean standaloneSet() {
+            return false;
+        }
+
+        @Override
+        public String getCharacterEncodingScheme() {
+            return null;
+        }
+
+        @Override
+        public Location getLocation() {
+            return this;
+        }
+
+        @Override
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getCharacterOffset() {
+            return -1;
+        }
+
+        @Override
+        public String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public String getSystemId() {
+            return null;
+        }
+    }
+}
@@ -89,8 +89,8 @@ public class ModuleHelper {
     public static Object invoke(Method m, Object obj, Object[] params)
             throws InvocationTargetException, IllegalAccessException
     {
-        Object thisModule = getModule(ModuleHelper.class);
-        Object methodModule = getModule(m.getDeclaringClass());
+        Module thisModule = ModuleHelper.class.getModule();
+        Module methodModule = m.getDeclaringClass().getModule();
         if (verbose) {
             System.out.println("thisModule = " + thisModule);
             System.out.println("methodModule = " + methodModule);
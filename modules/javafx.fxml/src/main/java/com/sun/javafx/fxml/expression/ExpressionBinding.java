@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.fxml.expression;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+
+import com.sun.javafx.binding.ObjectConstant;
+import com.sun.javafx.fxml.BeanAdapter;
+import com.sun.javafx.fxml.ModuleHelper;
+
+/**
+ * Class representing a compiled binding expression. A compiled expression can
+ * be shared by any number of bindings.
+ * <p>
+ * A binding to a variable expression is composed of an observable value for
+ * each key in the key path, chained with {@link ObservableValue#flatMap}. The
+ * property accessors of each bean type are resolved once and cached, so that
+ * evaluating the binding doesn't walk the key path reflectively. Bindings to
+ * other expressions are evaluated by {@link ExpressionValue}.
+ */
+public final class ExpressionBinding {
+    private static final ClassValue<Map<String, Accessor>> accessors = new ClassValue<>() {
+        @Override
+        protected Map<String, Accessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Expression<?> expression;
+    private final String[] keyPath;
+
+    private ExpressionBinding(Expression<?> expression) {
+        this.expression = expression;
+
+        if (expression instanceof VariableExpression) {
+            keyPath = ((VariableExpression)expression).getKeyPath().toArray(new String[0]);
+        } else {
+            keyPath = null;
+        }
+    }
+
+    /**
+     * Compiles a binding expression.
+     *
+     * @param value
+     * The expression, without the binding prefix and suffix.
+     *
+     * @return
+     * The compiled expression.
+     */
+    public static ExpressionBinding compile(String value) {
+        return new ExpressionBinding(Expression.valueOf(value));
+    }
+
+    /**
+     * Returns the expression.
+     */
+    public Expression<?> getExpression() {
+        return expression;
+    }
+
+    /**
+     * Creates an observable value that evaluates the expression in a namespace.
+     *
+     * @param namespace
+     * The namespace in which the expression is evaluated.
+     *
+     * @param type
+     * The type to which the value of the expression is coerced.
+     *
+     * @return
+     * The observable value.
+     */
+    public ObservableValue<Object> bind(ObservableMap<String, Object> namespace, Class<?> type) {
+        if (namespace == null || type == null) {
+            throw new NullPointerException();
+        }
+
+        if (keyPath == null) {
+            return new ExpressionValue(namespace, expression, type);
+        }
+
+        ObservableValue<Object> value = Bindings.valueAt(namespace, keyPath[0]);
+
+        for (int i = 1; i < keyPath.length; i++) {
+            String key = keyPath[i];
+            value = value.flatMap(object -> observe(object, key));
+        }
+
+        return value.map(object -> BeanAdapter.coerce(object, type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObservableValue<Object> observe(Object object, String key) {
+        if (object instanceof ObservableList<?>) {
+            return Bindings.valueAt((ObservableList<Object>)object, Integer.parseInt(key));
+        } else if (object instanceof ObservableMap<?, ?>) {
+            return Bindings.valueAt((ObservableMap<String, Object>)object, key);
+        } else if (object instanceof List<?> || object instanceof Map<?, ?>) {
+            return ObjectConstant.valueOf(Expression.get(object, key));
+        }
+
+        return accessors.get(object.getClass()).computeIfAbsent(key, k -> new Accessor(object.getClass(), k))
+                        .observe(object);
+    }
+
+    /**
+     * Accesses a key of a bean. If the bean has a property model for the key,
+     * the value is observed through the property model; otherwise, the value
+     * is returned by the getter and is not observed.
+     */
+    private static final class Accessor {
+        private final Method getterMethod;
+        private final Method propertyModelMethod;
+
+        Accessor(Class<?> type, String key) {
+            getterMethod = BeanAdapter.findGetterMethod(type, key);
+            propertyModelMethod = (getterMethod != null) ? BeanAdapter.findPropertyModelMethod(type, key) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        ObservableValue<Object> observe(Object bean) {
+            if (propertyModelMethod != null) {
+                Object propertyModel = invoke(propertyModelMethod, bean);
+                if (propertyModel instanceof ObservableValue<?>) {
+                    return (ObservableValue<Object>)propertyModel;
+                }
+            }
+
+            return ObjectConstant.valueOf(getterMethod != null ? invoke(getterMethod, bean) : null);
+        }
+
+        private static Object invoke(Method method, Object bean) {
+            try {
+                return ModuleHelper.invoke(method, bean, null);
+            } catch (IllegalAccessException exception) {
+                throw new RuntimeException(exception);
+            } catch (InvocationTargetException exception) {
+                throw new RuntimeException(exception);
+            }
+        }
+    }
+}
@@ -43,6 +43,7 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -81,10 +82,11 @@ import com.sun.javafx.fxml.BeanAdapter;
 import com.sun.javafx.fxml.ParseTraceElement;
 import com.sun.javafx.fxml.PropertyNotFoundException;
 import com.sun.javafx.fxml.expression.Expression;
-import com.sun.javafx.fxml.expression.ExpressionValue;
+import com.sun.javafx.fxml.expression.ExpressionBinding;
 import com.sun.javafx.fxml.expression.KeyPath;
 import static com.sun.javafx.FXPermissions.MODIFY_FXML_CLASS_LOADER_PERMISSION;
 import com.sun.javafx.fxml.FXMLLoaderHelper;
+import com.sun.javafx.fxml.FXMLTemplate;
 import com.sun.javafx.fxml.MethodHelper;
 import java.net.MalformedURLException;
 import java.security.AccessController;
@@ -92,6 +94,10 @@ import java.security.PrivilegedAction;
 import java.util.EnumMap;
 import java.util.Locale;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import com.sun.javafx.reflect.ConstructorUtil;
 import com.sun.javafx.reflect.MethodUtil;
 import com.sun.javafx.reflect.ReflectUtil;
@@ -298,9 +304,6 @@ public class FXMLLoader {
         public void processPropertyAttribute(Attribute attribute) throws IOException {
             String value = attribute.value;
             if (isBindingExpression(value)) {
-                // Resolve the expression
-                Expression expression;
-
                 if (attribute.sourceType != null) {
                     throw constructLoadException("Cannot bind to static property.");
                 }
@@ -318,7 +321,10 @@ public class FXMLLoader {
                 if (!isStaticLoad()) {
                     value = value.substring(BINDING_EXPRESSION_PREFIX.length(),
                             value.length() - 1);
-                    expression = Expression.valueOf(value);
+
+                    // Compiled expressions are shared by all loads of a template
+                    ExpressionBinding expressionBinding = (template != null) ?
+                        template.getExpressionBinding(value) : ExpressionBinding.compile(value);
 
                     // Create the binding
                     BeanAdapter targetAdapter = new BeanAdapter(this.value);
@@ -326,7 +332,7 @@ public class FXMLLoader {
                     Class<?> type = targetAdapter.getType(attribute.name);
 
                     if (propertyModel instanceof Property<?>) {
-                        ((Property<Object>) propertyModel).bind(new ExpressionValue(namespace, expression, type));
+                        ((Property<Object>) propertyModel).bind(expressionBinding.bind(namespace, type));
                     }
                 }
             } else if (isBidirectionalBindingExpression(value)) {
@@ -1082,6 +1088,10 @@ public class FXMLLoader {
         public ResourceBundle resources = FXMLLoader.this.resources;
         public Charset charset = FXMLLoader.this.charset;
 
+        // The element of the template that is executed, if any
+        private final FXMLTemplate.Element templateElement = (xmlStreamReader instanceof FXMLTemplate.Reader) ?
+            ((FXMLTemplate.Reader)xmlStreamReader).getElement() : null;
+
         @Override
         public void processAttribute(String prefix, String localName, String value)
             throws IOException {
@@ -1097,8 +1107,7 @@ public class FXMLLoader {
                         loadListener.readInternalAttribute(localName, value);
                     }
 
-                    resources = ResourceBundle.getBundle(value, Locale.getDefault(),
-                            FXMLLoader.this.resources.getClass().getClassLoader());
+                    resources = getIncludeResources(value);
                 } else if (localName.equals(INCLUDE_CHARSET_ATTRIBUTE)) {
                     if (loadListener != null) {
                         loadListener.readInternalAttribute(localName, value);
@@ -1119,38 +1128,30 @@ public class FXMLLoader {
                 throw constructLoadException(INCLUDE_SOURCE_ATTRIBUTE + " is required.");
             }
 
-            URL location;
-            final ClassLoader cl = getClassLoader();
-            if (source.charAt(0) == '/') {
-            // FIXME: JIGSAW -- use Class.getResourceAsStream if resource is in a module
-                location = cl.getResource(source.substring(1));
-                if (location == null) {
-                    throw constructLoadException("Cannot resolve path: " + source);
-                }
-            } else {
-                if (FXMLLoader.this.location == null) {
-                    throw constructLoadException("Base location is undefined.");
-                }
+            // Use the included document that was loaded concurrently, if any
+            IncludeTask includeTask = (includeTasks != null && templateElement != null) ?
+                includeTasks.remove(templateElement) : null;
+            FXMLLoader fxmlLoader;
+            Object value;
 
-                location = new URL(FXMLLoader.this.location, source);
+            // The task was created from the attributes of this element, so it
+            // normally matches them. If it doesn't, the document is loaded again
+            // only if the task has not started yet; a task that has started may
+            // already have created and initialized the controller of the
+            // included document, so its result is used instead.
+            if (includeTask != null
+                    && !includeTask.matches(source, resources, charset)
+                    && includeTask.cancel(false)) {
+                includeTask = null;
             }
 
-            FXMLLoader fxmlLoader = new FXMLLoader(location, resources,
-                builderFactory, controllerFactory, charset,
-                loaders);
-            fxmlLoader.parentLoader = FXMLLoader.this;
-
-            if (isCyclic(FXMLLoader.this, fxmlLoader)) {
-                throw new IOException(
-                        String.format(
-                        "Including \"%s\" in \"%s\" created cyclic reference.",
-                        fxmlLoader.location.toExternalForm(),
-                        FXMLLoader.this.location.toExternalForm()));
+            if (includeTask != null) {
+                fxmlLoader = includeTask.fxmlLoader;
+                value = includeTask.join();
+            } else {
+                fxmlLoader = createIncludeLoader(source, resources, charset, loaders);
+                value = fxmlLoader.loadImpl(callerClass);
             }
-            fxmlLoader.setClassLoader(cl);
-            fxmlLoader.setStaticLoad(staticLoad);
-
-            Object value = fxmlLoader.loadImpl(callerClass);
 
             if (fx_id != null) {
                 String id = this.fx_id + CONTROLLER_SUFFIX;
@@ -1164,6 +1165,143 @@ public class FXMLLoader {
         }
     }
 
+    private ResourceBundle getIncludeResources(String name) {
+        return ResourceBundle.getBundle(name, Locale.getDefault(), resources.getClass().getClassLoader());
+    }
+
+    /*
+     * Creates the loader of an included document.
+     */
+    private FXMLLoader createIncludeLoader(String source, ResourceBundle resources, Charset charset,
+                                           LinkedList<FXMLLoader> loaders) throws IOException {
+        URL location;
+        final ClassLoader cl = getClassLoader();
+        if (source.charAt(0) == '/') {
+        // FIXME: JIGSAW -- use Class.getResourceAsStream if resource is in a module
+            location = cl.getResource(source.substring(1));
+            if (location == null) {
+                throw constructLoadException("Cannot resolve path: " + source);
+            }
+        } else {
+            if (this.location == null) {
+                throw constructLoadException("Base location is undefined.");
+            }
+
+            location = new URL(this.location, source);
+        }
+
+        FXMLLoader fxmlLoader = new FXMLLoader(location, resources,
+            builderFactory, controllerFactory, charset,
+            loaders);
+        fxmlLoader.parentLoader = this;
+
+        if (isCyclic(this, fxmlLoader)) {
+            throw new IOException(
+                    String.format(
+                    "Including \"%s\" in \"%s\" created cyclic reference.",
+                    fxmlLoader.location.toExternalForm(),
+                    this.location.toExternalForm()));
+        }
+        fxmlLoader.setClassLoader(cl);
+        fxmlLoader.setStaticLoad(staticLoad);
+        fxmlLoader.setTemplateCaching(templateCaching);
+        fxmlLoader.setIncludeExecutor(includeExecutor);
+
+        return fxmlLoader;
+    }
+
+    /*
+     * Starts loading the documents that are included by the template on the
+     * include executor. The documents are loaded by loaders that have their
+     * own copy of the loader stack, since they are running concurrently with
+     * this loader. The tasks are keyed by their fx:include element, which the
+     * include element looks up when it is processed.
+     */
+    private void startIncludeTasks() {
+        includeTasks = new IdentityHashMap<>();
+
+        for (FXMLTemplate.Element element : template.getElements(FX_NAMESPACE_PREFIX, INCLUDE_TAG)) {
+            IncludeTask includeTask = null;
+            String source = element.getAttributeValue(INCLUDE_SOURCE_ATTRIBUTE);
+
+            if (source != null) {
+                try {
+                    String resourcesName = element.getAttributeValue(INCLUDE_RESOURCES_ATTRIBUTE);
+                    String charsetName = element.getAttributeValue(INCLUDE_CHARSET_ATTRIBUTE);
+                    ResourceBundle resources = (resourcesName != null) ? getIncludeResources(resourcesName) : this.resources;
+                    Charset charset = (charsetName != null) ? Charset.forName(charsetName) : this.charset;
+
+                    includeTask = new IncludeTask(source, resources, charset,
+                        createIncludeLoader(source, resources, charset, new LinkedList<>(loaders)), callerClass);
+                } catch (IOException | RuntimeException exception) {
+                    // The include will be loaded on this thread, which reports the error
+                }
+            }
+
+            if (includeTask != null) {
+                includeTasks.put(element, includeTask);
+
+                try {
+                    includeExecutor.execute(includeTask);
+                } catch (RejectedExecutionException exception) {
+                    // The task will run on this thread when the include is processed
+                }
+            }
+        }
+    }
+
+    /*
+     * Loads an included document on the include executor.
+     */
+    private static class IncludeTask extends FutureTask<Object> {
+        private final String source;
+        private final ResourceBundle resources;
+        private final Charset charset;
+        private final FXMLLoader fxmlLoader;
+
+        IncludeTask(String source, ResourceBundle resources, Charset charset,
+                    FXMLLoader fxmlLoader, Class<?> callerClass) {
+            super(() -> fxmlLoader.loadImpl(callerClass));
+            this.source = source;
+            this.resources = resources;
+            this.charset = charset;
+            this.fxmlLoader = fxmlLoader;
+        }
+
+        boolean matches(String source, ResourceBundle resources, Charset charset) {
+            return this.source.equals(source)
+                && this.resources == resources
+                && this.charset.equals(charset);
+        }
+
+        /*
+         * Returns the root of the included document. If the task was not yet
+         * started by the executor, it runs on the calling thread; this ensures
+         * that included documents can't wait for tasks that never run.
+         */
+        Object join() throws IOException {
+            run();
+
+            try {
+                return get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new LoadException(exception);
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException)cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                } else if (cause instanceof Error) {
+                    throw (Error)cause;
+                }
+
+                throw new LoadException(cause);
+            }
+        }
+    }
+
     private void injectFields(String fieldName, Object value) throws LoadException {
         if (controller != null && fieldName != null) {
             List<Field> fields = controllerAccessor.getControllerFields().get(fieldName);
@@ -1878,10 +2016,14 @@ public class FXMLLoader {
     private ClassLoader classLoader = null;
     private boolean staticLoad = false;
     private LoadListener loadListener = null;
+    private boolean templateCaching = false;
+    private Executor includeExecutor = null;
 
     private FXMLLoader parentLoader;
 
     private XMLStreamReader xmlStreamReader = null;
+    private FXMLTemplate template = null;
+    private Map<FXMLTemplate.Element, IncludeTask> includeTasks = null;
     private Element current = null;
 
     private ScriptEngine scriptEngine = null;
@@ -2500,6 +2642,86 @@ public class FXMLLoader {
         this.loadListener = loadListener;
     }
 
+    /**
+     * Returns whether this loader uses compiled templates.
+     *
+     * @return {@code true} if this loader uses compiled templates
+     * @see #setTemplateCaching(boolean)
+     * @since JFXcore 18
+     */
+    public boolean isTemplateCaching() {
+        return templateCaching;
+    }
+
+    /**
+     * Sets whether this loader uses compiled templates. When enabled, the first
+     * call to {@link #load()} for a location parses the document and caches it as
+     * a compiled template, which is shared by all loaders that load the same
+     * location with the same class loader. Subsequent loads of the location
+     * replay the template instead of parsing the document, and resolve the
+     * imported types without searching the imported packages. Documents that
+     * are included with {@code fx:include} are cached as well.
+     * <p>
+     * Documents that are loaded from an input stream are never cached. Since
+     * templates are not invalidated when a document changes, applications that
+     * modify their documents at runtime should call {@link #clearTemplateCache()}.
+     *
+     * @param templateCaching {@code true} to use compiled templates
+     * @since JFXcore 18
+     */
+    public void setTemplateCaching(boolean templateCaching) {
+        this.templateCaching = templateCaching;
+    }
+
+    /**
+     * Returns the executor that loads included documents.
+     *
+     * @return the executor, or {@code null} if included documents are loaded
+     *         on the calling thread
+     * @see #setIncludeExecutor(Executor)
+     * @since JFXcore 18
+     */
+    public Executor getIncludeExecutor() {
+        return includeExecutor;
+    }
+
+    /**
+     * Sets the executor that loads the documents that are included with
+     * {@code fx:include}. When an executor is set, the loader reads the whole
+     * document before processing it, and submits a task to the executor for
+     * each included document. The tasks build the included object hierarchies
+     * concurrently, including the construction and initialization of their
+     * controllers. The calling thread then processes the document as usual and
+     * inserts each included hierarchy when it reaches the corresponding
+     * {@code fx:include} element, waiting for the task to complete if needed.
+     * Tasks that were not yet started by the executor at that point run on the
+     * calling thread. The setting is inherited by the loaders of included
+     * documents.
+     * <p>
+     * Since included documents are loaded on the threads of the executor, they
+     * must not contain objects that can only be created on the JavaFX
+     * Application Thread, their controllers must not rely on being initialized
+     * on a particular thread, and the builder factory and controller factory of
+     * this loader must be thread-safe.
+     *
+     * @param includeExecutor the executor, or {@code null} to load included
+     *                        documents on the calling thread
+     * @since JFXcore 18
+     */
+    public void setIncludeExecutor(Executor includeExecutor) {
+        this.includeExecutor = includeExecutor;
+    }
+
+    /**
+     * Removes all compiled templates from the template cache.
+     *
+     * @see #setTemplateCaching(boolean)
+     * @since JFXcore 18
+     */
+    public static void clearTemplateCache() {
+        FXMLTemplate.clearTemplates();
+    }
+
     /**
      * Loads an object hierarchy from a FXML document. The location from which
      * the document will be loaded must have been set by a prior call to
@@ -2541,11 +2763,18 @@ public class FXMLLoader {
             throw new IllegalStateException("Location is not set.");
         }
 
+        if (templateCaching) {
+            FXMLTemplate template = FXMLTemplate.getTemplate(location, getClassLoader(), charset);
+            if (template != null) {
+                return loadImpl(null, template, false, callerClass);
+            }
+        }
+
         InputStream inputStream = null;
         T value;
         try {
             inputStream = location.openStream();
-            value = loadImpl(inputStream, callerClass);
+            value = loadImpl(inputStream, null, templateCaching, callerClass);
         } finally {
             if (inputStream != null) {
                 inputStream.close();
@@ -2555,14 +2784,29 @@ public class FXMLLoader {
         return value;
     }
 
-    @SuppressWarnings({ "dep-ann", "unchecked" })
     private <T> T loadImpl(InputStream inputStream,
                            Class<?> callerClass) throws IOException {
         if (inputStream == null) {
             throw new NullPointerException("inputStream is null.");
         }
 
+        return loadImpl(inputStream, null, false, callerClass);
+    }
+
+    /*
+     * Loads the object hierarchy either from the input stream or, if the
+     * template is not null, by replaying the template. If recordTemplate is
+     * true, the document that is read from the input stream is cached as a
+     * template for the current location.
+     */
+    @SuppressWarnings({ "dep-ann", "unchecked" })
+    private <T> T loadImpl(InputStream inputStream,
+                           FXMLTemplate template,
+                           boolean recordTemplate,
+                           Class<?> callerClass) throws IOException {
         this.callerClass = callerClass;
+        this.template = template;
+        FXMLTemplate.Recorder recorder = null;
         controllerAccessor.setCallerClass(callerClass);
         try {
             clearImports();
@@ -2575,45 +2819,71 @@ public class FXMLLoader {
             scriptEngine = null;
 
             // Create the parser
-            try {
-                XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
-                xmlInputFactory.setProperty("javax.xml.stream.isCoalescing", true);
-
-                // Some stream readers incorrectly report an empty string as the prefix
-                // for the default namespace; correct this as needed
-                InputStreamReader inputStreamReader = new InputStreamReader(inputStream, charset);
-                xmlStreamReader = new StreamReaderDelegate(xmlInputFactory.createXMLStreamReader(inputStreamReader)) {
-                    @Override
-                    public String getPrefix() {
-                        String prefix = super.getPrefix();
-
-                        if (prefix != null
-                            && prefix.length() == 0) {
-                            prefix = null;
+            if (template != null) {
+                xmlStreamReader = template.createReader();
+            } else {
+                try {
+                    XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+                    xmlInputFactory.setProperty("javax.xml.stream.isCoalescing", true);
+
+                    // Some stream readers incorrectly report an empty string as the prefix
+                    // for the default namespace; correct this as needed
+                    InputStreamReader inputStreamReader = new InputStreamReader(inputStream, charset);
+                    xmlStreamReader = new StreamReaderDelegate(xmlInputFactory.createXMLStreamReader(inputStreamReader)) {
+                        @Override
+                        public String getPrefix() {
+                            String prefix = super.getPrefix();
+
+                            if (prefix != null
+                                && prefix.length() == 0) {
+                                prefix = null;
+                            }
+
+                            return prefix;
                         }
 
-                        return prefix;
-                    }
+                        @Override
+                        public String getAttributePrefix(int index) {
+                            String attributePrefix = super.getAttributePrefix(index);
 
-                    @Override
-                    public String getAttributePrefix(int index) {
-                        String attributePrefix = super.getAttributePrefix(index);
+                            if (attributePrefix != null
+                                && attributePrefix.length() == 0) {
+                                attributePrefix = null;
+                            }
 
-                        if (attributePrefix != null
-                            && attributePrefix.length() == 0) {
-                            attributePrefix = null;
+                            return attributePrefix;
                         }
+                    };
 
-                        return attributePrefix;
+                    if (recordTemplate || includeExecutor != null) {
+                        recorder = new FXMLTemplate.Recorder(xmlStreamReader);
+                        xmlStreamReader = recorder;
                     }
-                };
-            } catch (XMLStreamException exception) {
-                throw constructLoadException(exception);
+
+                    if (includeExecutor != null) {
+                        // Read the whole document up front, so that the included
+                        // documents can be loaded while it is processed
+                        while (recorder.hasNext()) {
+                            recorder.next();
+                        }
+
+                        template = recorder.toTemplate(charset, Collections.emptyMap());
+                        xmlStreamReader = template.createReader();
+                        this.template = template;
+                    }
+                } catch (XMLStreamException exception) {
+                    throw constructLoadException(exception);
+                }
             }
 
             // Push this loader onto the stack
             loaders.push(this);
 
+            // Start loading the included documents
+            if (includeExecutor != null) {
+                startIncludeTasks();
+            }
+
             // Parse the XML stream
             try {
                 while (xmlStreamReader.hasNext()) {
@@ -2679,6 +2949,11 @@ public class FXMLLoader {
                     }
                 }
             }
+
+            // Cache the document as a template, now that it has been loaded successfully
+            if (recordTemplate) {
+                FXMLTemplate.putTemplate(location, getClassLoader(), recorder.toTemplate(charset, classes));
+            }
         } catch (final LoadException exception) {
             throw exception;
         } catch (final Exception exception) {
@@ -2689,6 +2964,16 @@ public class FXMLLoader {
             controllerAccessor.reset();
             // Clear the parser
             xmlStreamReader = null;
+            this.template = null;
+
+            // Cancel the included documents that were not used
+            if (includeTasks != null) {
+                for (IncludeTask includeTask : includeTasks.values()) {
+                    includeTask.cancel(false);
+                }
+
+                includeTasks = null;
+            }
         }
 
         return (T)root;
@@ -2964,6 +3249,20 @@ public class FXMLLoader {
             // This is an unqualified class name
             type = classes.get(name);
 
+            if (type == null && template != null) {
+                // The class was resolved when the template was compiled
+                String typeName = template.getTypeName(name);
+
+                if (typeName != null) {
+                    try {
+                        type = getClassLoader().loadClass(typeName);
+                        classes.put(name, type);
+                    } catch (ClassNotFoundException exception) {
+                        // No-op
+                    }
+                }
+            }
+
             if (type == null) {
                 // The class has not been loaded yet; look it up
                 for (String packageName : packages) {
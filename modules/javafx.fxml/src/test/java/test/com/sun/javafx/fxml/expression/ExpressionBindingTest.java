@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.javafx.fxml.expression;
+
+import com.sun.javafx.fxml.expression.ExpressionBinding;
+import com.sun.javafx.fxml.expression.ExpressionValue;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExpressionBindingTest {
+
+    public static class Person {
+        private final StringProperty name = new SimpleStringProperty(this, "name");
+        private final ObjectProperty<Person> friend = new SimpleObjectProperty<>(this, "friend");
+        private final ObservableList<Object> items = FXCollections.observableArrayList();
+        private final List<Object> plainItems = new ArrayList<>();
+        private final String id;
+
+        public Person(String id, String name) {
+            this.id = id;
+            this.name.set(name);
+        }
+
+        public String getName() {
+            return name.get();
+        }
+
+        public void setName(String value) {
+            name.set(value);
+        }
+
+        public StringProperty nameProperty() {
+            return name;
+        }
+
+        public Person getFriend() {
+            return friend.get();
+        }
+
+        public void setFriend(Person value) {
+            friend.set(value);
+        }
+
+        public ObjectProperty<Person> friendProperty() {
+            return friend;
+        }
+
+        public ObservableList<Object> getItems() {
+            return items;
+        }
+
+        public List<Object> getPlainItems() {
+            return plainItems;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    private ObservableMap<String, Object> namespace;
+    private final StringProperty target = new SimpleStringProperty();
+
+    @Before
+    public void setUp() {
+        namespace = FXCollections.observableHashMap();
+    }
+
+    private void bind(String expression) {
+        ObservableValue<Object> value = ExpressionBinding.compile(expression).bind(namespace, String.class);
+        target.bind(value.map(Object::toString));
+    }
+
+    @Test
+    public void testVariableIsBoundToNamespace() {
+        bind("person");
+        assertNull(target.get());
+
+        Person person = new Person("1", "Alice");
+        namespace.put("person", person);
+        assertEquals(person.toString(), target.get());
+
+        namespace.put("other", new Person("2", "Bob"));
+        assertEquals(person.toString(), target.get());
+
+        namespace.remove("person");
+        assertNull(target.get());
+    }
+
+    @Test
+    public void testKeyPathFollowsProperties() {
+        Person alice = new Person("1", "Alice");
+        Person bob = new Person("2", "Bob");
+        namespace.put("person", alice);
+
+        bind("person.friend.name");
+        assertNull(target.get());
+
+        alice.setFriend(bob);
+        assertEquals("Bob", target.get());
+
+        bob.setName("Robert");
+        assertEquals("Robert", target.get());
+
+        Person carol = new Person("3", "Carol");
+        alice.setFriend(carol);
+        assertEquals("Carol", target.get());
+
+        bob.setName("Bobby");
+        assertEquals("Carol", target.get());
+
+        namespace.put("person", bob);
+        assertNull(target.get());
+    }
+
+    @Test
+    public void testKeyPathFollowsObservableListsAndMaps() {
+        Person alice = new Person("1", "Alice");
+        ObservableMap<String, Object> map = FXCollections.observableHashMap();
+        namespace.put("person", alice);
+        namespace.put("map", map);
+
+        bind("person.items[1]");
+        alice.getItems().addAll("a", "b");
+        assertEquals("b", target.get());
+
+        alice.getItems().set(1, "c");
+        assertEquals("c", target.get());
+
+        target.bind(ExpressionBinding.compile("map.key").bind(namespace, String.class).map(Object::toString));
+        assertNull(target.get());
+
+        map.put("key", "value");
+        assertEquals("value", target.get());
+    }
+
+    @Test
+    public void testPlainListAndGetterAreEvaluated() {
+        Person alice = new Person("1", "Alice");
+        alice.getPlainItems().add("x");
+        namespace.put("person", alice);
+
+        bind("person.plainItems[0]");
+        assertEquals("x", target.get());
+
+        bind("person.id");
+        assertEquals("1", target.get());
+    }
+
+    @Test
+    public void testValueIsCoerced() {
+        namespace.put("value", 5);
+        ObservableValue<Object> value = ExpressionBinding.compile("value").bind(namespace, Double.class);
+        assertEquals(5.0, value.getValue());
+    }
+
+    @Test
+    public void testCompiledExpressionCanBeShared() {
+        ExpressionBinding expressionBinding = ExpressionBinding.compile("person.name");
+        ObservableMap<String, Object> otherNamespace = FXCollections.observableHashMap();
+        namespace.put("person", new Person("1", "Alice"));
+        otherNamespace.put("person", new Person("2", "Bob"));
+
+        assertEquals("Alice", expressionBinding.bind(namespace, String.class).getValue());
+        assertEquals("Bob", expressionBinding.bind(otherNamespace, String.class).getValue());
+    }
+
+    @Test
+    public void testOtherExpressionsAreEvaluatedByExpressionValue() {
+        namespace.put("a", 1);
+        namespace.put("b", 2);
+        ObservableValue<Object> value = ExpressionBinding.compile("a + b").bind(namespace, Integer.class);
+        assertTrue(value instanceof ExpressionValue);
+        assertEquals(3, value.getValue());
+    }
+}
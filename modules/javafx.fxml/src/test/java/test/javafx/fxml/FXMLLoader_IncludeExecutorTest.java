@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.fxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.LoadException;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Rectangle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FXMLLoader_IncludeExecutorTest {
+    private static final String ROOT =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<?import javafx.scene.layout.*?>\n" +
+        "<VBox xmlns:fx=\"http://javafx.com/fxml\"\n" +
+        "      fx:controller=\"test.javafx.fxml.FXMLLoader_IncludeExecutorTest$RootController\">\n" +
+        "    <fx:include fx:id=\"first\" source=\"leaf.fxml\"/>\n" +
+        "    <fx:include fx:id=\"second\" source=\"branch.fxml\"/>\n" +
+        "    <fx:include source=\"leaf.fxml\"/>\n" +
+        "</VBox>\n";
+
+    private static final String BRANCH =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<?import javafx.scene.layout.*?>\n" +
+        "<Pane xmlns:fx=\"http://javafx.com/fxml\">\n" +
+        "    <fx:include source=\"leaf.fxml\"/>\n" +
+        "    <fx:include source=\"leaf.fxml\"/>\n" +
+        "</Pane>\n";
+
+    private static final String LEAF =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<?import javafx.scene.shape.*?>\n" +
+        "<Rectangle xmlns:fx=\"http://javafx.com/fxml\"\n" +
+        "           fx:controller=\"test.javafx.fxml.FXMLLoader_IncludeExecutorTest$LeafController\"\n" +
+        "           width=\"10\"/>\n";
+
+    private static final String BROKEN =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<?import javafx.scene.layout.*?>\n" +
+        "<VBox xmlns:fx=\"http://javafx.com/fxml\">\n" +
+        "    <fx:include source=\"leaf.fxml\"/>\n" +
+        "    <fx:include source=\"missing.fxml\"/>\n" +
+        "</VBox>\n";
+
+    public static class RootController {
+        @FXML Rectangle first;
+        @FXML LeafController firstController;
+        @FXML Pane second;
+    }
+
+    public static class LeafController {
+        static final AtomicInteger initializeCount = new AtomicInteger();
+
+        @FXML Rectangle rect;
+        Thread initializeThread;
+
+        @FXML
+        void initialize() {
+            initializeThread = Thread.currentThread();
+            initializeCount.incrementAndGet();
+        }
+    }
+
+    private final Map<String, String> documents = new HashMap<>();
+
+    private final URLStreamHandler handler = new URLStreamHandler() {
+        @Override
+        protected URLConnection openConnection(URL url) throws IOException {
+            String document = documents.get(url.getPath());
+            if (document == null) {
+                throw new IOException("Not found: " + url);
+            }
+
+            return new URLConnection(url) {
+                @Override
+                public void connect() {
+                }
+
+                @Override
+                public InputStream getInputStream() {
+                    return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+                }
+            };
+        }
+    };
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        LeafController.initializeCount.set(0);
+        documents.put("/root.fxml", ROOT);
+        documents.put("/branch.fxml", BRANCH);
+        documents.put("/leaf.fxml", LEAF);
+        documents.put("/broken.fxml", BROKEN);
+    }
+
+    @After
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+
+        FXMLLoader.clearTemplateCache();
+    }
+
+    private FXMLLoader createLoader(String path) throws IOException {
+        return new FXMLLoader(new URL("test", null, -1, path, handler));
+    }
+
+    private static void assertLoaded(FXMLLoader loader, VBox root) {
+        assertEquals(3, root.getChildren().size());
+        assertTrue(root.getChildren().get(0) instanceof Rectangle);
+        assertTrue(root.getChildren().get(2) instanceof Rectangle);
+
+        Pane branch = (Pane)root.getChildren().get(1);
+        assertEquals(2, branch.getChildren().size());
+        assertEquals(10, ((Rectangle)branch.getChildren().get(0)).getWidth(), 0);
+
+        RootController controller = loader.getController();
+        assertSame(root.getChildren().get(0), controller.first);
+        assertNotNull(controller.firstController);
+        assertNotNull(controller.firstController.initializeThread);
+        assertSame(branch, controller.second);
+        assertSame(controller.firstController, loader.getNamespace().get("firstController"));
+    }
+
+    @Test
+    public void testIncludeExecutorIsNullByDefault() throws IOException {
+        FXMLLoader loader = createLoader("/root.fxml");
+        assertNull(loader.getIncludeExecutor());
+        assertLoaded(loader, loader.load());
+    }
+
+    @Test
+    public void testIncludesAreLoadedOnExecutor() throws IOException {
+        executor = Executors.newFixedThreadPool(4);
+        FXMLLoader loader = createLoader("/root.fxml");
+        loader.setIncludeExecutor(executor);
+        assertLoaded(loader, loader.load());
+    }
+
+    @Test
+    public void testNestedIncludesDoNotDeadlockOnSingleThread() throws IOException {
+        executor = Executors.newSingleThreadExecutor();
+        FXMLLoader loader = createLoader("/root.fxml");
+        loader.setIncludeExecutor(executor);
+        assertLoaded(loader, loader.load());
+    }
+
+    @Test
+    public void testIncludesAreLoadedOnCallingThreadWhenExecutorRejectsTasks() throws IOException {
+        FXMLLoader loader = createLoader("/root.fxml");
+        loader.setIncludeExecutor(command -> {
+            throw new RejectedExecutionException();
+        });
+
+        VBox root = loader.load();
+        assertLoaded(loader, root);
+        RootController controller = loader.getController();
+        assertSame(Thread.currentThread(), controller.firstController.initializeThread);
+    }
+
+    @Test
+    public void testIncludeExecutorWithTemplateCaching() throws IOException {
+        executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 3; i++) {
+            FXMLLoader loader = createLoader("/root.fxml");
+            loader.setTemplateCaching(true);
+            loader.setIncludeExecutor(executor);
+            assertLoaded(loader, loader.load());
+        }
+    }
+
+    @Test
+    public void testEachIncludeIsLoadedOnce() throws IOException {
+        executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 3; i++) {
+            FXMLLoader loader = createLoader("/root.fxml");
+            loader.setTemplateCaching(i > 0);
+            loader.setIncludeExecutor(executor);
+            assertLoaded(loader, loader.load());
+        }
+
+        // root.fxml includes leaf.fxml twice directly and twice through branch.fxml
+        assertEquals(12, LeafController.initializeCount.get());
+    }
+
+    @Test
+    public void testFailingIncludeIsReported() throws IOException {
+        executor = Executors.newFixedThreadPool(2);
+        FXMLLoader loader = createLoader("/broken.fxml");
+        loader.setIncludeExecutor(executor);
+
+        try {
+            loader.load();
+            fail("LoadException expected");
+        } catch (LoadException ex) {
+            assertTrue(ex.getMessage().contains("/broken.fxml:5"));
+        }
+    }
+}
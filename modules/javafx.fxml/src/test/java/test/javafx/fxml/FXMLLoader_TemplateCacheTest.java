@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.fxml;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.LoadException;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FXMLLoader_TemplateCacheTest {
+    private static final String ROOT =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<?import javafx.scene.layout.*?>\n" +
+        "<?import javafx.scene.shape.*?>\n" +
+        "<!-- comment -->\n" +
+        "<VBox xmlns=\"http://javafx.com/javafx\" xmlns:fx=\"http://javafx.com/fxml\"\n" +
+        "      fx:controller=\"test.javafx.fxml.FXMLLoader_TemplateCacheTest$Controller\" spacing=\"5\">\n" +
+        "    <Rectangle fx:id=\"rect\" width=\"10\" height=\"20\" fill=\"red\"/>\n" +
+        "    <Rectangle width=\"${rect.width}\" height=\"$rect.height\"/>\n" +
+        "    <fx:include fx:id=\"child\" source=\"child.fxml\"/>\n" +
+        "</VBox>\n";
+
+    private static final String CHILD =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<?import javafx.scene.shape.Rectangle?>\n" +
+        "<Rectangle xmlns:fx=\"http://javafx.com/fxml\" width=\"30\"/>\n";
+
+    private static final String BROKEN =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+        "<?import javafx.scene.layout.*?>\n" +
+        "<VBox xmlns:fx=\"http://javafx.com/fxml\">\n" +
+        "    <NoSuchType/>\n" +
+        "</VBox>\n";
+
+    public static class Controller {
+        @FXML Rectangle rect;
+        @FXML Rectangle child;
+        int initializeCount;
+
+        @FXML
+        void initialize() {
+            initializeCount++;
+        }
+    }
+
+    private final Map<String, Integer> openCounts = new HashMap<>();
+    private final Map<String, String> documents = new HashMap<>();
+
+    private final URLStreamHandler handler = new URLStreamHandler() {
+        @Override
+        protected URLConnection openConnection(URL url) throws IOException {
+            String document = documents.get(url.getPath());
+            if (document == null) {
+                throw new IOException("Not found: " + url);
+            }
+
+            openCounts.merge(url.getPath(), 1, Integer::sum);
+
+            return new URLConnection(url) {
+                @Override
+                public void connect() {
+                }
+
+                @Override
+                public InputStream getInputStream() {
+                    return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+                }
+            };
+        }
+    };
+
+    @Before
+    public void setUp() {
+        FXMLLoader.clearTemplateCache();
+        documents.put("/root.fxml", ROOT);
+        documents.put("/child.fxml", CHILD);
+        documents.put("/broken.fxml", BROKEN);
+    }
+
+    @After
+    public void tearDown() {
+        FXMLLoader.clearTemplateCache();
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL("test", null, -1, path, handler);
+    }
+
+    private int openCount(String path) {
+        return openCounts.getOrDefault(path, 0);
+    }
+
+    private FXMLLoader createLoader(String path, boolean templateCaching) throws IOException {
+        FXMLLoader loader = new FXMLLoader(url(path));
+        loader.setTemplateCaching(templateCaching);
+        return loader;
+    }
+
+    private static void assertLoaded(FXMLLoader loader, VBox root) {
+        assertEquals(5, root.getSpacing(), 0);
+        assertEquals(3, root.getChildren().size());
+
+        Rectangle rect = (Rectangle)root.getChildren().get(0);
+        assertEquals(10, rect.getWidth(), 0);
+        assertEquals(20, rect.getHeight(), 0);
+        assertEquals(Color.RED, rect.getFill());
+
+        Rectangle bound = (Rectangle)root.getChildren().get(1);
+        assertEquals(10, bound.getWidth(), 0);
+        assertEquals(20, bound.getHeight(), 0);
+        rect.setWidth(15);
+        assertEquals(15, bound.getWidth(), 0);
+
+        Rectangle child = (Rectangle)root.getChildren().get(2);
+        assertEquals(30, child.getWidth(), 0);
+
+        Controller controller = loader.getController();
+        assertSame(rect, controller.rect);
+        assertSame(child, controller.child);
+        assertEquals(1, controller.initializeCount);
+        assertSame(rect, loader.getNamespace().get("rect"));
+    }
+
+    @Test
+    public void testTemplateCachingIsDisabledByDefault() throws IOException {
+        FXMLLoader loader = new FXMLLoader(url("/root.fxml"));
+        assertFalse(loader.isTemplateCaching());
+
+        loader.load();
+        new FXMLLoader(url("/root.fxml")).load();
+        assertEquals(2, openCount("/root.fxml"));
+        assertEquals(2, openCount("/child.fxml"));
+    }
+
+    @Test
+    public void testFirstLoadProducesSameResultAsUncachedLoad() throws IOException {
+        FXMLLoader loader = createLoader("/root.fxml", true);
+        assertLoaded(loader, loader.load());
+    }
+
+    @Test
+    public void testSubsequentLoadsReplayTemplate() throws IOException {
+        FXMLLoader loader1 = createLoader("/root.fxml", true);
+        VBox root1 = loader1.load();
+        FXMLLoader loader2 = createLoader("/root.fxml", true);
+        VBox root2 = loader2.load();
+
+        assertEquals(1, openCount("/root.fxml"));
+        assertEquals(1, openCount("/child.fxml"));
+        assertNotSame(root1, root2);
+        assertNotSame(loader1.getController(), loader2.getController());
+        assertLoaded(loader1, root1);
+        assertLoaded(loader2, root2);
+    }
+
+    @Test
+    public void testTemplateIsNotReplayedWhenCachingIsDisabled() throws IOException {
+        createLoader("/root.fxml", true).load();
+        createLoader("/root.fxml", false).load();
+        assertEquals(2, openCount("/root.fxml"));
+    }
+
+    @Test
+    public void testTemplatesAreCachedPerClassLoader() throws IOException {
+        createLoader("/root.fxml", true).load();
+
+        FXMLLoader loader = createLoader("/root.fxml", true);
+        loader.setClassLoader(new ClassLoader(getClass().getClassLoader()) {});
+        assertLoaded(loader, loader.load());
+        assertEquals(2, openCount("/root.fxml"));
+    }
+
+    @Test
+    public void testClearTemplateCache() throws IOException {
+        createLoader("/root.fxml", true).load();
+        FXMLLoader.clearTemplateCache();
+        documents.put("/child.fxml", CHILD.replace("30", "40"));
+
+        FXMLLoader loader = createLoader("/root.fxml", true);
+        VBox root = loader.load();
+        assertEquals(2, openCount("/root.fxml"));
+        assertEquals(40, ((Rectangle)root.getChildren().get(2)).getWidth(), 0);
+    }
+
+    @Test
+    public void testDocumentLoadedFromInputStreamIsNotCached() throws IOException {
+        FXMLLoader loader = createLoader("/root.fxml", true);
+        loader.load(new ByteArrayInputStream(ROOT.getBytes(StandardCharsets.UTF_8)));
+        createLoader("/root.fxml", true).load();
+        assertEquals(1, openCount("/root.fxml"));
+        createLoader("/root.fxml", true).load();
+        assertEquals(1, openCount("/root.fxml"));
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() throws IOException {
+        for (int i = 1; i <= 2; i++) {
+            try {
+                createLoader("/broken.fxml", true).load();
+                fail("LoadException expected");
+            } catch (LoadException ex) {
+                assertTrue(ex.getMessage().contains("/broken.fxml:4"));
+            }
+
+            assertEquals(i, openCount("/broken.fxml"));
+        }
+    }
+
+    @Test
+    public void testReplayReportsLineNumbers() throws IOException {
+        documents.put("/broken.fxml", BROKEN.replace("<NoSuchType/>", "<Pane prefWidth=\"$width\"/>"));
+        FXMLLoader loader = createLoader("/broken.fxml", true);
+        loader.getNamespace().put("width", 100.0);
+        VBox root = loader.load();
+        assertEquals(1, root.getChildren().size());
+
+        try {
+            createLoader("/broken.fxml", true).load();
+            fail("LoadException expected");
+        } catch (LoadException ex) {
+            assertTrue(ex.getMessage().contains("/broken.fxml:4"));
+        }
+
+        assertEquals(1, openCount("/broken.fxml"));
+    }
+}
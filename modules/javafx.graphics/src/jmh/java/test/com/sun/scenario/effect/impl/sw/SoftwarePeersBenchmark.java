@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package test.com.sun.scenario.effect.impl.sw;
+
+import com.sun.scenario.effect.Effect;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.ImageData;
+import com.sun.scenario.effect.impl.EffectPeer;
+import com.sun.scenario.effect.impl.sw.vec.VECRendererDelegate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import test.com.sun.scenario.effect.impl.sw.SoftwarePeersTest.PeerSpec;
+import test.com.sun.scenario.effect.impl.sw.SoftwarePeersTest.TestFilterContext;
+import test.com.sun.scenario.effect.impl.sw.SoftwarePeersTest.TestRenderer;
+
+/**
+ * Compares the JSW, SSE and VEC software peers of an effect, filtering the
+ * test images of {@link SoftwarePeersTest}.
+ * <p>
+ * The SSE peers require the native decora library, and the VEC peers require
+ * the {@code jdk.incubator.vector} module, which is added to the forked VM.
+ * A combination for which the peer cannot be created fails in its setup,
+ * which does not affect the other combinations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SoftwarePeersBenchmark {
+
+    public enum Backend {
+        JSW("sw.java.JSW"), SSE("sw.sse.SSE"), VEC("sw.vec.VEC");
+
+        final String prefix;
+
+        Backend(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    @Param({"ColorAdjust", "SepiaTone", "Brightpass", "InvertMask", "PerspectiveTransform",
+            "DisplacementMap", "Blend_SRC_OVER", "Blend_MULTIPLY", "PhongLighting_DISTANT",
+            "PhongLighting_SPOT"})
+    public String peerName;
+
+    @Param
+    public Backend backend;
+
+    private TestRenderer renderer;
+    private FilterContext fctx;
+    private EffectPeer<?> peer;
+    private Effect effect;
+    private ImageData[] inputs;
+
+    @Setup
+    public void setup() {
+        PeerSpec spec = SoftwarePeersTest.peerSpecs().stream()
+            .filter(s -> s.name.equals(peerName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("unknown peer: " + peerName));
+
+        // like the renderer, check the Vector API support before loading a
+        // VEC peer, which makes the incubator module readable
+        if (backend == Backend.VEC && !VECRendererDelegate.isSupported()) {
+            throw new IllegalStateException("jdk.incubator.vector not available");
+        }
+
+        renderer = new TestRenderer();
+        fctx = new TestFilterContext();
+        peer = SoftwarePeersTest.createPeer(backend.prefix, peerName, fctx, renderer);
+        if (peer == null) {
+            throw new IllegalStateException(backend + " peer not available: " + peerName);
+        }
+        effect = spec.effect.get();
+        inputs = Arrays.copyOf(SoftwarePeersTest.createInputs(fctx, 2), spec.numInputs);
+    }
+
+    @Benchmark
+    public int[] filter() {
+        return SoftwarePeersTest.filter(peer, effect, fctx, inputs, renderer);
+    }
+}
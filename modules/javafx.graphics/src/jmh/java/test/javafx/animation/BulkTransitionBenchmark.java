@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.animation;
+
+import com.sun.scenario.DelayedRunnable;
+import com.sun.scenario.animation.AbstractPrimaryTimer;
+import javafx.animation.Animation;
+import javafx.animation.BulkTransition;
+import javafx.animation.BulkTransitionShim;
+import javafx.animation.Interpolator;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.animation.TimelineShim;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.util.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares animating many {@code DoubleProperty} targets with one
+ * {@code Timeline} per target against a single {@link BulkTransition}.
+ * <p>
+ * {@code pulse} measures one animation pulse of the primary timer with all
+ * animations running, {@code createAndPlay} measures setting up and starting
+ * the animations. The animations run with the stub toolkit of the graphics
+ * tests, so the test classes need to be on the class path of the benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djavafx.toolkit=test.com.sun.javafx.pgstub.StubToolkit")
+public class BulkTransitionBenchmark {
+
+    public enum Kind {
+        TIMELINES, BULK, BULK_PARALLEL
+    }
+
+    private static final Duration DURATION = Duration.seconds(1);
+    private static final long PULSE_NANOS = 16_666_667;
+
+    @Param({"1000", "10000", "100000"})
+    public int count;
+
+    @Param
+    public Kind kind;
+
+    private DoubleProperty[] targets;
+    private BenchmarkTimer timer;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        targets = new DoubleProperty[count];
+        for (int i = 0; i < count; ++i) {
+            targets[i] = new SimpleDoubleProperty(i);
+        }
+
+        timer = new BenchmarkTimer();
+        play(timer);
+    }
+
+    @Benchmark
+    public void pulse() {
+        timer.pulse();
+    }
+
+    @Benchmark
+    public Object createAndPlay() {
+        BenchmarkTimer timer = new BenchmarkTimer();
+        play(timer);
+        return timer;
+    }
+
+    private void play(BenchmarkTimer timer) {
+        if (kind == Kind.TIMELINES) {
+            for (int i = 0; i < count; ++i) {
+                Timeline timeline = TimelineShim.getTimeline(timer);
+                timeline.getKeyFrames().add(new KeyFrame(DURATION,
+                    new KeyValue(targets[i], i + 100.0, Interpolator.EASE_BOTH)));
+                timeline.setCycleCount(Animation.INDEFINITE);
+                timeline.setAutoReverse(true);
+                timeline.play();
+            }
+        } else {
+            BulkTransition transition = BulkTransitionShim.getBulkTransition(timer, DURATION);
+            for (int i = 0; i < count; ++i) {
+                transition.add(targets[i], i + 100.0);
+            }
+            transition.setParallel(kind == Kind.BULK_PARALLEL);
+            transition.setCycleCount(Animation.INDEFINITE);
+            transition.setAutoReverse(true);
+            transition.play();
+        }
+    }
+
+    /**
+     * A primary timer that is pulsed by the benchmark instead of the toolkit.
+     */
+    private static final class BenchmarkTimer extends AbstractPrimaryTimer {
+        private long nanos;
+
+        @Override
+        public long nanos() {
+            return nanos;
+        }
+
+        @Override
+        protected void postUpdateAnimationRunnable(DelayedRunnable animationRunnable) {
+        }
+
+        @Override
+        protected int getPulseDuration(int precision) {
+            return precision / 60;
+        }
+
+        void pulse() {
+            nanos += PULSE_NANOS;
+            timePulseImpl(nanos);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import com.sun.scenario.effect.compiler.backend.hw.ES2Backend;
 import com.sun.scenario.effect.compiler.backend.hw.HLSLBackend;
 import com.sun.scenario.effect.compiler.backend.prism.PrismBackend;
 import com.sun.scenario.effect.compiler.backend.sw.java.JSWBackend;
+import com.sun.scenario.effect.compiler.backend.sw.vec.VECBackend;
 import com.sun.scenario.effect.compiler.backend.sw.me.MEBackend;
 import com.sun.scenario.effect.compiler.backend.sw.sse.SSEBackend;
 import com.sun.scenario.effect.compiler.tree.JSLVisitor;
@@ -64,11 +65,12 @@ public class JSLC {
     public static final int OUT_SSE_NATIVE      = (1 << 5);
     public static final int OUT_ME_JAVA         = (1 << 6);
     public static final int OUT_ME_NATIVE       = (1 << 7);
+    public static final int OUT_VEC             = (1 << 8);
 
     public static final int OUT_ME       = OUT_ME_JAVA | OUT_ME_NATIVE;
     public static final int OUT_SSE      = OUT_SSE_JAVA | OUT_SSE_NATIVE;
 
-    public static final int OUT_SW_PEERS   = OUT_JAVA | OUT_SSE;
+    public static final int OUT_SW_PEERS   = OUT_JAVA | OUT_SSE | OUT_VEC;
     public static final int OUT_HW_PEERS   = OUT_PRISM;
     public static final int OUT_HW_SHADERS = OUT_D3D | OUT_ES2;
     public static final int OUT_ALL        = OUT_SW_PEERS | OUT_HW_PEERS | OUT_HW_SHADERS;
@@ -116,6 +118,7 @@ public class JSLC {
      *   /foo/bar/ + rootPkg + /impl/sw/java
      *   /foo/bar/ + rootPkg + /impl/sw/sse
      *   /foo/bar/ + rootPkg + /impl/sw/me
+     *   /foo/bar/ + rootPkg + /impl/sw/vec
      *   /foo/bar/ + rootPkg + /impl/hw/d3d/hlsl
      *   /foo/bar/ + rootPkg + /impl/es2/glsl
      *   /foo/bar/ + rootPkg + /impl/prism/ps
@@ -125,6 +128,7 @@ public class JSLC {
      *   ../decora-jsw/build/gensrc/     + rootPkg + /impl/sw/java
      *   ../decora-sse/build/gensrc/     + rootPkg + /impl/sw/sse
      *   ../decora-me/build/gensrc/      + rootPkg + /impl/sw/me
+     *   ../decora-vec/build/gensrc/     + rootPkg + /impl/sw/vec
      *   ../decora-d3d/build/gensrc/     + rootPkg + /impl/hw/d3d/hlsl
      *   ../decora-es2/build/gensrc/     + rootPkg + /impl/es2/glsl
      *   ../decora-prism-ps/build/gensrc/+ rootPkg + /impl/prism/ps
@@ -136,6 +140,7 @@ public class JSLC {
         OUT_PRISM,      "decora-prism-ps/build/gensrc/{pkg}/impl/prism/ps/PPS{name}Peer.java",
         OUT_SSE_JAVA,   "decora-sse/build/gensrc/{pkg}/impl/sw/sse/SSE{name}Peer.java",
         OUT_ME_JAVA,    "decora-me/build/gensrc/{pkg}/impl/sw/me/ME{name}Peer.java",
+        OUT_VEC,        "decora-vec/build/gensrc/{pkg}/impl/sw/vec/VEC{name}Peer.java",
         OUT_SSE_NATIVE, "decora-sse-native/build/gensrc/SSE{name}Peer.cc",
         OUT_ME_NATIVE,  "decora-me-native/build/gensrc/ME{name}Peer.cc");
 
@@ -231,6 +236,21 @@ public class JSLC {
             }
         }
 
+        if ((outTypes & OUT_VEC) != 0) {
+            File outFile = jslcinfo.getOutputFile(OUT_VEC);
+            if (jslcinfo.force || outOfDate(outFile, sourceTime)) {
+                if (pinfo == null) pinfo = getParserInfo(stream);
+                try {
+                    VECBackend vecBackend = new VECBackend(pinfo.parser, pinfo.visitor, pinfo.program);
+                    String genCode = vecBackend.getGenCode(shaderName, peerName, genericsName, interfaceName);
+                    write(genCode, outFile);
+                } catch (UnsupportedOperationException e) {
+                    // the shader cannot be vectorized; no peer is generated
+                    // and VECRendererDelegate falls back to the JSW peer
+                }
+            }
+        }
+
         if ((outTypes & OUT_SSE) != 0) {
             File outFile = jslcinfo.getOutputFile(OUT_SSE_JAVA);
             // TODO: native code is always generated into the same
@@ -339,7 +359,7 @@ public class JSLC {
             String prefix0 = "Usage: java "+prog+" ";
             String prefix1 = "";
             for (int i = 0; i < prefix0.length(); i++) prefix1 += " ";
-            out.println(prefix0+"[-d3d | -es2 | -java | -sse | -me | -sw | -hw | -all]");
+            out.println(prefix0+"[-d3d | -es2 | -java | -sse | -me | -vec | -sw | -hw | -all]");
             out.println(prefix1+"[-o <outdir>] [-i <srcdir>] [-t]");
             out.println(prefix1+"[-name <name>] [-ifname <interface name>]");
             if (extraOpts != null) {
@@ -389,6 +409,8 @@ public class JSLC {
                 outTypes |= OUT_SSE;
             } else if (arg.equals("-me")) {
                 outTypes |= OUT_ME;
+            } else if (arg.equals("-vec")) {
+                outTypes |= OUT_VEC;
             } else if (arg.equals("-sw")) {
                 outTypes = OUT_SW_PEERS;
             } else if (arg.equals("-hw")) {
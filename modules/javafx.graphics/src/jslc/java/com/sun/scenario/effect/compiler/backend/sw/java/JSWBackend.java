@@ -76,6 +76,7 @@ public class JSWBackend extends TreeScanner {
         StringBuilder interfaceDecl = new StringBuilder();
         StringBuilder constants = new StringBuilder();
         StringBuilder samplers = new StringBuilder();
+        StringBuilder samplerVals = new StringBuilder();
         StringBuilder cleanup = new StringBuilder();
         StringBuilder srcRects = new StringBuilder();
         StringBuilder posDecls = new StringBuilder();
@@ -151,7 +152,7 @@ public class JSWBackend extends TreeScanner {
                     samplers.append("int src" + i + "h = src" + i + ".getHeight();\n");
                     samplers.append("int src" + i + "scan = src" + i + ".getWidth();\n");
                     samplers.append("float[] " + v.getName() + " = src" + i + ".getData();\n");
-                    samplers.append("float " + v.getName() + "_vals[] = new float[4];\n");
+                    samplerVals.append("float " + v.getName() + "_vals[] = new float[4];\n");
 
                     // TODO: for now, assume [0,0,1,1]
                     srcRects.append("float[] src" + i + "Rect = new float[] {0,0,1,1};\n");
@@ -186,7 +187,7 @@ public class JSWBackend extends TreeScanner {
                     samplers.append("setInputNativeBounds(" + i + ", src" + i + "Bounds);\n");
 
                     if (t == Type.LSAMPLER) {
-                        samplers.append("float " + v.getName() + "_vals[] = new float[4];\n");
+                        samplerVals.append("float " + v.getName() + "_vals[] = new float[4];\n");
                     }
 
                     // the source rect decls need to come after all calls to
@@ -232,6 +233,7 @@ public class JSWBackend extends TreeScanner {
         glue.add("interfaceDecl", interfaceDecl.toString());
         glue.add("usercode", usercode.toString());
         glue.add("samplers", samplers.toString());
+        glue.add("samplerVals", samplerVals.toString());
         glue.add("cleanup", cleanup.toString());
         glue.add("srcRects", srcRects.toString());
         glue.add("constants", constants.toString());
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.scenario.effect.compiler.backend.sw.vec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import com.sun.scenario.effect.compiler.JSLParser;
+import com.sun.scenario.effect.compiler.model.BaseType;
+import com.sun.scenario.effect.compiler.model.Qualifier;
+import com.sun.scenario.effect.compiler.model.Type;
+import com.sun.scenario.effect.compiler.model.Variable;
+import com.sun.scenario.effect.compiler.tree.JSLVisitor;
+import com.sun.scenario.effect.compiler.tree.ProgramUnit;
+import org.stringtemplate.v4.ST;
+import org.stringtemplate.v4.STGroup;
+import org.stringtemplate.v4.STGroupFile;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates software peers that use the Vector API ({@code jdk.incubator.vector})
+ * to process several pixels of a row at once.
+ * <p>
+ * The generated peers have the same structure as the peers generated by the
+ * JSW backend; see {@link VECTreeScanner} for how the shader body is translated.
+ * If the shader uses a construct that cannot be vectorized, the constructor
+ * throws {@code UnsupportedOperationException}.
+ */
+public class VECBackend {
+
+    private static final String[] RESERVED_NAMES = {
+        "effect", "rstate", "transform", "outputClip", "inputs", "dstBounds",
+        "dst", "dstx", "dsty", "dstw", "dsth", "dstscan", "dstPixels", "dyi",
+        "dx", "dy", "dy0", "dy1", "indexMap", "color", "color_x", "color_y", "color_z", "color_w",
+        "pixcoord", "pixcoord_x", "pixcoord_y", "FSPECIES", "ISPECIES", "LANES",
+        "ZERO", "IOTA"
+    };
+
+    private final JSLVisitor visitor;
+    private final String body;
+    private final String usercode;
+
+    public VECBackend(JSLParser parser, JSLVisitor visitor, ProgramUnit program) {
+        this.visitor = visitor;
+
+        List<String> reserved = new ArrayList<>(List.of(RESERVED_NAMES));
+        for (Variable v : visitor.getSymbolTable().getGlobalVariables().values()) {
+            String name = v.getName();
+            reserved.add(name);
+            for (int i = 0; i < 4; i++) {
+                reserved.add(name + getSuffix(i));
+            }
+            reserved.add(name + "_arr");
+            reserved.add(name + "_buf");
+            reserved.add(name + "_vals");
+            if (v.getType().getBaseType() == BaseType.SAMPLER) {
+                String src = "src" + v.getReg();
+                reserved.add(src);
+                for (String suffix : new String[] {"x", "y", "w", "h", "scan", "Rect", "Bounds", "InputBounds", "Transform"}) {
+                    reserved.add(src + suffix);
+                }
+                for (String prefix : new String[] {"pos", "inc"}) {
+                    reserved.add(prefix + v.getReg() + "_x");
+                    reserved.add(prefix + v.getReg() + "_y");
+                }
+                reserved.add("pos" + v.getReg() + "_xs");
+            }
+        }
+
+        VECTreeScanner scanner = new VECTreeScanner(reserved);
+        scanner.scan(program);
+        this.body = scanner.getResult();
+        this.usercode = scanner.getUserCode();
+    }
+
+    public final String getGenCode(String effectName,
+                                   String peerName,
+                                   String genericsName,
+                                   String interfaceName)
+    {
+        Map<String, Variable> vars = visitor.getSymbolTable().getGlobalVariables();
+        StringBuilder genericsDecl = new StringBuilder();
+        StringBuilder interfaceDecl = new StringBuilder();
+        StringBuilder constants = new StringBuilder();
+        StringBuilder samplers = new StringBuilder();
+        StringBuilder samplerVals = new StringBuilder();
+        StringBuilder cleanup = new StringBuilder();
+        StringBuilder srcRects = new StringBuilder();
+        StringBuilder posDecls = new StringBuilder();
+        StringBuilder pixInitY = new StringBuilder();
+        StringBuilder pixInitX = new StringBuilder();
+        StringBuilder posIncrY = new StringBuilder();
+        StringBuilder posInitY = new StringBuilder();
+
+        // only the x coordinate varies between the lanes of a vector, so the
+        // y coordinates stay scalar
+        pixInitY.append("float pixcoord_y = (float)dy;\n");
+        pixInitX.append("FloatVector pixcoord_x = IOTA.add((float)dx);\n");
+
+        for (Variable v : vars.values()) {
+            if (v.getQualifier() == Qualifier.CONST && v.getConstValue() == null) {
+                // this must be a special built-in variable (e.g. pos0);
+                // these are handled elsewhere, so just continue...
+                continue;
+            }
+
+            Type t = v.getType();
+            BaseType bt = t.getBaseType();
+            if (v.getQualifier() != null && bt != BaseType.SAMPLER) {
+                String vtype = bt.toString();
+                String vname = v.getName();
+                String accName = v.getAccessorName();
+                if (v.isArray()) {
+                    String bufType = (bt == BaseType.FLOAT) ?
+                        "FloatBuffer" : "IntBuffer";
+                    String bufName = vname + "_buf";
+                    String arrayName = vname + "_arr";
+                    constants.append(bufType + " " + bufName + " = " + accName + "();\n");
+                    constants.append(vtype + "[] " + arrayName);
+                    constants.append(" = new " + vtype + "[");
+                    constants.append(bufName + ".capacity()];\n");
+                    constants.append(bufName + ".get(" + arrayName + ");\n");
+                } else {
+                    if (t.isVector()) {
+                        String arrayName = vname + "_arr";
+                        constants.append(vtype + "[] " + arrayName + " = " + accName + "();\n");
+                        constants.append(vtype + " ");
+                        for (int i = 0; i < t.getNumFields(); i++) {
+                            if (i > 0) {
+                                constants.append(", ");
+                            }
+                            constants.append(vname + getSuffix(i) + " = " + arrayName + "[" + i + "]");
+                        }
+                        constants.append(";\n");
+                    } else {
+                        constants.append(vtype + " " + vname);
+                        if (v.getQualifier() == Qualifier.CONST) {
+                            constants.append(" = " + v.getConstValue());
+                        } else {
+                            constants.append(" = " + accName + "()");
+                        }
+                        constants.append(";\n");
+                    }
+                }
+            } else if (v.getQualifier() == Qualifier.PARAM && bt == BaseType.SAMPLER) {
+                int i = v.getReg();
+                if (t == Type.FSAMPLER) {
+                    samplers.append("FloatMap src" + i + " = (FloatMap)getSamplerData(" + i + ");\n");
+                    samplers.append("int src" + i + "x = 0;\n");
+                    samplers.append("int src" + i + "y = 0;\n");
+                    samplers.append("int src" + i + "w = src" + i + ".getWidth();\n");
+                    samplers.append("int src" + i + "h = src" + i + ".getHeight();\n");
+                    samplers.append("int src" + i + "scan = src" + i + ".getWidth();\n");
+                    samplers.append("float[] " + v.getName() + " = src" + i + ".getData();\n");
+                    samplerVals.append("float[] " + v.getName() + "_vals = new float[4 * LANES];\n");
+
+                    srcRects.append("float[] src" + i + "Rect = new float[] {0,0,1,1};\n");
+                } else {
+                    if (t == Type.LSAMPLER) {
+                        samplers.append("HeapImage src" + i + " = (HeapImage)inputs[" + i + "].getUntransformedImage();\n");
+                    } else {
+                        samplers.append("HeapImage src" + i + " = (HeapImage)inputs[" + i + "].getTransformedImage(dstBounds);\n");
+                        cleanup.append("inputs[" + i + "].releaseTransformedImage(src" + i + ");\n");
+                    }
+                    samplers.append("int src" + i + "x = 0;\n");
+                    samplers.append("int src" + i + "y = 0;\n");
+                    samplers.append("int src" + i + "w = src" + i + ".getPhysicalWidth();\n");
+                    samplers.append("int src" + i + "h = src" + i + ".getPhysicalHeight();\n");
+                    samplers.append("int src" + i + "scan = src" + i + ".getScanlineStride();\n");
+                    samplers.append("int[] " + v.getName() + " =\n");
+                    samplers.append("    src" + i + ".getPixelArray();\n");
+
+                    samplers.append("Rectangle src" + i + "Bounds = new Rectangle(");
+                    samplers.append("src" + i + "x, ");
+                    samplers.append("src" + i + "y, ");
+                    samplers.append("src" + i + "w, ");
+                    samplers.append("src" + i + "h);\n");
+                    if (t == Type.LSAMPLER) {
+                        samplers.append("Rectangle src" + i + "InputBounds = inputs[" + i + "].getUntransformedBounds();\n");
+                        samplers.append("BaseTransform src" + i + "Transform = inputs[" + i + "].getTransform();\n");
+                    } else {
+                        samplers.append("Rectangle src" + i + "InputBounds = inputs[" + i + "].getTransformedBounds(dstBounds);\n");
+                        samplers.append("BaseTransform src" + i + "Transform = BaseTransform.IDENTITY_TRANSFORM;\n");
+                    }
+                    samplers.append("setInputBounds(" + i + ", src" + i + "InputBounds);\n");
+                    samplers.append("setInputNativeBounds(" + i + ", src" + i + "Bounds);\n");
+
+                    if (t == Type.LSAMPLER) {
+                        samplerVals.append("float[] " + v.getName() + "_vals = new float[4 * LANES];\n");
+                    }
+
+                    // the source rect decls need to come after all calls to
+                    // setInput[Native]Bounds() for all inputs (see JSWBackend)
+                    srcRects.append("float[] src" + i + "Rect = new float[4];\n");
+                    srcRects.append("getTextureCoordinates(" + i + ", src" + i + "Rect,\n");
+                    srcRects.append("                      src" + i + "InputBounds.x, src" + i + "InputBounds.y,\n");
+                    srcRects.append("                      src" + i + "w, src" + i + "h,\n");
+                    srcRects.append("                      dstBounds, src" + i + "Transform);\n");
+                }
+
+                posDecls.append("float inc" + i + "_x = (src" + i + "Rect[2] - src" + i + "Rect[0]) / dstw;\n");
+                posDecls.append("float inc" + i + "_y = (src" + i + "Rect[3] - src" + i + "Rect[1]) / dsth;\n");
+                // the x positions are the same for every row; they are
+                // accumulated in the same way as in the JSW peers so that
+                // both produce the same results
+                posDecls.append("float[] pos" + i + "_xs = new float[dstw + LANES];\n");
+                posDecls.append("pos" + i + "_xs[0] = src" + i + "Rect[0] + inc" + i + "_x*0.5f;\n");
+                posDecls.append("for (int i = 1; i < pos" + i + "_xs.length; i++) {\n");
+                posDecls.append("    pos" + i + "_xs[i] = pos" + i + "_xs[i-1] + inc" + i + "_x;\n");
+                posDecls.append("}\n");
+
+                posInitY.append("float pos" + i + "_y = src" + i + "Rect[1] + inc" + i + "_y*0.5f;\n");
+                pixInitX.append("FloatVector pos" + i + "_x = FloatVector.fromArray(FSPECIES, pos" + i + "_xs, dx-dstx);\n");
+                posIncrY.append("pos" + i + "_y += inc" + i + "_y;\n");
+            }
+        }
+
+        if (genericsName != null) {
+            genericsDecl.append("<"+genericsName+">");
+        }
+
+        if (interfaceName != null) {
+            interfaceDecl.append("implements "+interfaceName);
+        }
+
+        STGroup group = new STGroupFile(getClass().getResource("VECGlue.stg"), UTF_8.displayName(), '$', '$');
+        ST glue = group.getInstanceOf("glue");
+        glue.add("effectName", effectName);
+        glue.add("peerName", peerName);
+        glue.add("genericsDecl", genericsDecl.toString());
+        glue.add("interfaceDecl", interfaceDecl.toString());
+        glue.add("usercode", usercode);
+        glue.add("samplers", samplers.toString());
+        glue.add("samplerVals", samplerVals.toString());
+        glue.add("cleanup", cleanup.toString());
+        glue.add("srcRects", srcRects.toString());
+        glue.add("constants", constants.toString());
+        glue.add("posDecls", posDecls.toString());
+        glue.add("pixInitY", pixInitY.toString());
+        glue.add("pixInitX", pixInitX.toString());
+        glue.add("posIncrY", posIncrY.toString());
+        glue.add("posInitY", posInitY.toString());
+        glue.add("body", body);
+        return glue.render();
+    }
+
+    private static final char[] fields = {'x', 'y', 'z', 'w'};
+    static String getSuffix(int i) {
+        return "_" + fields[i];
+    }
+
+    static int getFieldIndex(char field) {
+        switch (field) {
+        case 'r':
+        case 'x':
+            return 0;
+        case 'g':
+        case 'y':
+            return 1;
+        case 'b':
+        case 'z':
+            return 2;
+        case 'a':
+        case 'w':
+            return 3;
+        default:
+            throw new InternalError();
+        }
+    }
+}
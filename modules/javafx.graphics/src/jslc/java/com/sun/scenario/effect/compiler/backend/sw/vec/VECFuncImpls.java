@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.scenario.effect.compiler.backend.sw.vec;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import com.sun.scenario.effect.compiler.model.CoreSymbols;
+import com.sun.scenario.effect.compiler.model.Function;
+import com.sun.scenario.effect.compiler.model.Type;
+import com.sun.scenario.effect.compiler.backend.sw.vec.VECValue.Kind;
+
+import static com.sun.scenario.effect.compiler.model.BinaryOpType.*;
+import static com.sun.scenario.effect.compiler.model.Type.*;
+
+/**
+ * Contains the Vector API implementations for the core (built-in) functions,
+ * except for the sample functions, which are expanded by the tree scanner.
+ * The implementations mirror the expressions used by the JSW backend, so
+ * that both backends produce the same results.
+ */
+class VECFuncImpls {
+
+    /**
+     * Allows an implementation to store an intermediate value in a
+     * temporary variable.
+     */
+    interface Emitter {
+        VECValue temp(VECValue value);
+    }
+
+    interface FuncImpl {
+        /**
+         * Returns the components of the function result, given the
+         * components of the (already evaluated) arguments.
+         */
+        VECValue[] apply(VECValue[][] args, int numFields, Emitter emitter);
+    }
+
+    private static final Map<Function, FuncImpl> funcs = new HashMap<>();
+
+    static FuncImpl get(Function func) {
+        return funcs.get(func);
+    }
+
+    static {
+        // int intcast(float x)
+        declareFunction((args, n, e) -> {
+            if (!args[0][0].isUniform()) {
+                throw new UnsupportedOperationException("intcast() of a per-pixel value");
+            }
+            return new VECValue[] { new VECValue("((int)" + args[0][0].getCode() + ")", Kind.INT) };
+        }, "intcast", FLOAT);
+
+        // <ftype> min(<ftype> x, <ftype> y)
+        // <ftype> min(<ftype> x, float y)
+        declareOverloadsMinMax("min", VECValue::min);
+
+        // <ftype> max(<ftype> x, <ftype> y)
+        // <ftype> max(<ftype> x, float y)
+        declareOverloadsMinMax("max", VECValue::max);
+
+        // <ftype> mod(<ftype> x, <ftype> y)
+        // <ftype> mod(<ftype> x, float y)
+        declareOverloadsMinMax("mod", VECValue::mod);
+
+        // <ftype> pow(<ftype> x, <ftype> y)
+        for (Type type : new Type[] {FLOAT, FLOAT2, FLOAT3, FLOAT4}) {
+            declareFunction((args, n, e) -> {
+                VECValue[] res = new VECValue[n];
+                for (int i = 0; i < n; i++) {
+                    res[i] = VECValue.pow(args[0][i], args[1][i]);
+                }
+                return res;
+            }, "pow", type, type);
+        }
+
+        // <ftype> clamp(<ftype> val, <ftype> min, <ftype> max)
+        // <ftype> clamp(<ftype> val, float min, float max)
+        declareOverloadsClamp();
+
+        // <ftype> smoothstep(<ftype> min, <ftype> max, <ftype> val)
+        // <ftype> smoothstep(float min, float max, <ftype> val)
+        declareOverloadsSmoothstep();
+
+        // <ftype> abs(<ftype> x)
+        declareOverloadsSimple("abs", "Math.abs(%s)", ".abs()");
+
+        // <ftype> floor(<ftype> x)
+        declareOverloadsSimple("floor", "(float)Math.floor(%s)", "floor");
+
+        // <ftype> ceil(<ftype> x)
+        declareOverloadsSimple("ceil", "(float)Math.ceil(%s)", "ceil");
+
+        // <ftype> fract(<ftype> x)
+        declareOverloadsSimple("fract", "(%s - (float)Math.floor(%s))", "fract");
+
+        // <ftype> sign(<ftype> x)
+        declareOverloadsSimple("sign", "Math.signum(%s)", "sign");
+
+        // <ftype> sqrt(<ftype> x)
+        declareOverloadsSimple("sqrt", "(float)Math.sqrt(%s)", ".sqrt()");
+
+        // <ftype> sin(<ftype> x)
+        declareOverloadsSimple("sin", "(float)Math.sin(%s)", ".lanewise(VectorOperators.SIN)");
+
+        // <ftype> cos(<ftype> x)
+        declareOverloadsSimple("cos", "(float)Math.cos(%s)", ".lanewise(VectorOperators.COS)");
+
+        // <ftype> tan(<ftype> x)
+        declareOverloadsSimple("tan", "(float)Math.tan(%s)", ".lanewise(VectorOperators.TAN)");
+
+        for (Type type : new Type[] {FLOAT, FLOAT2, FLOAT3, FLOAT4}) {
+            // float dot(<ftype> x, <ftype> y)
+            declareFunction((args, n, e) -> new VECValue[] {
+                dot(args[0], args[1])
+            }, "dot", type, type);
+
+            // float distance(<ftype> x, <ftype> y)
+            declareFunction((args, n, e) -> {
+                VECValue sum = null;
+                for (int i = 0; i < args[0].length; i++) {
+                    VECValue d = VECValue.binary(SUB, args[0][i], args[1][i]);
+                    VECValue sq = VECValue.binary(MUL, d, d);
+                    sum = (sum == null) ? sq : VECValue.binary(ADD, sum, sq);
+                }
+                return new VECValue[] { sqrt(sum) };
+            }, "distance", type, type);
+
+            // float length(<ftype> x)
+            declareFunction((args, n, e) -> new VECValue[] {
+                sqrt(dot(args[0], args[0]))
+            }, "length", type);
+
+            // <ftype> normalize(<ftype> x)
+            declareFunction((args, n, e) -> {
+                VECValue[] res = new VECValue[n];
+                VECValue denom = (n == 1) ? args[0][0] : e.temp(sqrt(dot(args[0], args[0])));
+                for (int i = 0; i < n; i++) {
+                    res[i] = VECValue.binary(DIV, args[0][i], denom);
+                }
+                return res;
+            }, "normalize", type);
+        }
+
+        // <ftype> mix(<ftype> x, <ftype> y, <ftype> a)
+        // <ftype> mix(<ftype> x, <ftype> y, float a)
+        declareOverloadsMix();
+    }
+
+    private static void declareFunction(FuncImpl impl, String name, Type... ptypes) {
+        Function f = CoreSymbols.getFunction(name, Arrays.asList(ptypes));
+        if (f == null) {
+            throw new InternalError("Core function not found (have you declared the function in CoreSymbols?)");
+        }
+        funcs.put(f, impl);
+    }
+
+    private static VECValue arg(VECValue[] arg, int i) {
+        return arg[arg.length == 1 ? 0 : i];
+    }
+
+    private static VECValue dot(VECValue[] x, VECValue[] y) {
+        VECValue sum = null;
+        for (int i = 0; i < x.length; i++) {
+            VECValue prod = VECValue.binary(MUL, x[i], y[i]);
+            sum = (sum == null) ? prod : VECValue.binary(ADD, sum, prod);
+        }
+        return sum;
+    }
+
+    private static VECValue sqrt(VECValue x) {
+        return VECValue.unary("(float)Math.sqrt(%s)", ".sqrt()", x);
+    }
+
+    /**
+     * Used to declare simple functions of the following form:
+     *   <ftype> name(<ftype> x)
+     */
+    private static void declareOverloadsSimple(String name, String scalarPattern, String vectorPattern) {
+        for (Type type : new Type[] {FLOAT, FLOAT2, FLOAT3, FLOAT4}) {
+            declareFunction((args, n, e) -> {
+                VECValue[] res = new VECValue[n];
+                for (int i = 0; i < n; i++) {
+                    res[i] = VECValue.unary(scalarPattern, vectorPattern, args[0][i]);
+                }
+                return res;
+            }, name, type);
+        }
+    }
+
+    /**
+     * Used to declare min/max functions of the following form:
+     *   <ftype> name(<ftype> x, <ftype> y)
+     *   <ftype> name(<ftype> x, float y)
+     */
+    private static void declareOverloadsMinMax(String name, BinaryOperator<VECValue> op) {
+        FuncImpl impl = (args, n, e) -> {
+            VECValue[] res = new VECValue[n];
+            for (int i = 0; i < n; i++) {
+                res[i] = op.apply(args[0][i], arg(args[1], i));
+            }
+            return res;
+        };
+        for (Type type : new Type[] {FLOAT, FLOAT2, FLOAT3, FLOAT4}) {
+            declareFunction(impl, name, type, type);
+            if (type != FLOAT) {
+                declareFunction(impl, name, type, FLOAT);
+            }
+        }
+    }
+
+    /**
+     * Used to declare clamp functions of the following form:
+     *   <ftype> clamp(<ftype> val, <ftype> min, <ftype> max)
+     *   <ftype> clamp(<ftype> val, float min, float max)
+     */
+    private static void declareOverloadsClamp() {
+        FuncImpl impl = (args, n, e) -> {
+            VECValue[] res = new VECValue[n];
+            for (int i = 0; i < n; i++) {
+                res[i] = VECValue.min(VECValue.max(args[0][i], arg(args[1], i)), arg(args[2], i));
+            }
+            return res;
+        };
+        for (Type type : new Type[] {FLOAT, FLOAT2, FLOAT3, FLOAT4}) {
+            declareFunction(impl, "clamp", type, type, type);
+            if (type != FLOAT) {
+                declareFunction(impl, "clamp", type, FLOAT, FLOAT);
+            }
+        }
+    }
+
+    /**
+     * Used to declare smoothstep functions of the following form:
+     *   <ftype> smoothstep(<ftype> min, <ftype> max, <ftype> val)
+     *   <ftype> smoothstep(float min, float max, <ftype> val)
+     */
+    private static void declareOverloadsSmoothstep() {
+        FuncImpl impl = (args, n, e) -> {
+            VECValue[] res = new VECValue[n];
+            for (int i = 0; i < n; i++) {
+                VECValue min = arg(args[0], i);
+                VECValue max = arg(args[1], i);
+                VECValue val = args[2][i];
+                if (min.isUniform() && max.isUniform() && val.isUniform()) {
+                    res[i] = VECValue.scalar(
+                        "((" + val.getCode() + " < " + min.getCode() + ") ? 0.0f : " +
+                        "(" + val.getCode() + " > " + max.getCode() + ") ? 1.0f : " +
+                        "(" + val.getCode() + " / (" + max.getCode() + " - " + min.getCode() + ")))");
+                } else {
+                    res[i] = VECValue.vector("smoothstep(" + min.getCode(Kind.VECTOR) + ", " +
+                        max.getCode(Kind.VECTOR) + ", " + val.getCode(Kind.VECTOR) + ")");
+                }
+            }
+            return res;
+        };
+        for (Type type : new Type[] {FLOAT, FLOAT2, FLOAT3, FLOAT4}) {
+            declareFunction(impl, "smoothstep", type, type, type);
+            if (type != FLOAT) {
+                declareFunction(impl, "smoothstep", FLOAT, FLOAT, type);
+            }
+        }
+    }
+
+    /**
+     * Used to declare mix functions of the following form:
+     *   <ftype> mix(<ftype> x, <ftype> y, <ftype> a)
+     *   <ftype> mix(<ftype> x, <ftype> y, float a)
+     */
+    private static void declareOverloadsMix() {
+        FuncImpl impl = (args, n, e) -> {
+            VECValue[] res = new VECValue[n];
+            for (int i = 0; i < n; i++) {
+                VECValue a = arg(args[2], i);
+                VECValue x = VECValue.binary(MUL, args[0][i], VECValue.binary(SUB, VECValue.scalar("1.0f"), a));
+                VECValue y = VECValue.binary(MUL, args[1][i], a);
+                res[i] = VECValue.binary(ADD, x, y);
+            }
+            return res;
+        };
+        for (Type type : new Type[] {FLOAT, FLOAT2, FLOAT3, FLOAT4}) {
+            declareFunction(impl, "mix", type, type, type);
+            if (type != FLOAT) {
+                declareFunction(impl, "mix", type, type, FLOAT);
+            }
+        }
+    }
+}
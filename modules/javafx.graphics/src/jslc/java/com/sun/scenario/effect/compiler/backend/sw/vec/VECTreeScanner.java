@@ -0,0 +1,845 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.scenario.effect.compiler.backend.sw.vec;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+import com.sun.scenario.effect.compiler.backend.sw.vec.VECValue.Kind;
+import com.sun.scenario.effect.compiler.model.BaseType;
+import com.sun.scenario.effect.compiler.model.BinaryOpType;
+import com.sun.scenario.effect.compiler.model.Function;
+import com.sun.scenario.effect.compiler.model.Param;
+import com.sun.scenario.effect.compiler.model.Qualifier;
+import com.sun.scenario.effect.compiler.model.Type;
+import com.sun.scenario.effect.compiler.model.UnaryOpType;
+import com.sun.scenario.effect.compiler.model.Variable;
+import com.sun.scenario.effect.compiler.tree.*;
+
+import static com.sun.scenario.effect.compiler.backend.sw.vec.VECBackend.getFieldIndex;
+import static com.sun.scenario.effect.compiler.backend.sw.vec.VECBackend.getSuffix;
+
+/**
+ * Translates the body of the main function into Java code that processes
+ * one {@code FloatVector} worth of pixels at a time.
+ *
+ * Every per-pixel float value is held in a {@code FloatVector}, while uniform
+ * values (params, literals, loop counters) stay scalar. Conditions that depend
+ * on per-pixel values are if-converted: both branches are executed under a
+ * lane mask (skipping a branch entirely if no lane takes it), and assignments
+ * to variables declared outside of the branch are blended using the mask.
+ * Conditions on uniform values are translated to plain Java if statements.
+ *
+ * All function calls are inlined into the body, with their arguments and
+ * results assigned to temporary variables; every declared name is made unique
+ * so that inlined function bodies can be nested freely.
+ *
+ * Constructs that cannot be expressed this way (loops or returns that depend
+ * on per-pixel values, for example) cause an UnsupportedOperationException.
+ */
+class VECTreeScanner extends TreeScanner {
+
+    private final StringBuilder sb = new StringBuilder();
+    private final StringBuilder usercode = new StringBuilder();
+    private final Map<String, FuncDef> funcDefs = new HashMap<>();
+
+    // Java names of the local variables; parameters of the function that is
+    // currently being inlined are looked up by name instead
+    private final Map<Variable, String> localNames = new IdentityHashMap<>();
+    private Map<String, String> paramNames = new HashMap<>();
+
+    // the kind of value held by each (component) variable, and the mask that
+    // was in effect when the variable was declared
+    private final Map<String, Kind> kinds = new HashMap<>();
+    private final Map<String, String> declMasks = new HashMap<>();
+    private final Set<String> usedNames = new HashSet<>();
+    private int tmpCount;
+
+    // the name of the mask of lanes executing the current statement, or null
+    // if all lanes are executing it
+    private String mask;
+    private String loopMask;
+    private int loopDepth;
+
+    // state of the function that is currently being inlined
+    private String returnName;
+    private Type returnType;
+    private String returnMask;
+
+    private final Map<CallExpr, VECValue[]> callResults = new IdentityHashMap<>();
+
+    // state used while evaluating an expression
+    private int index;
+    private VECValue result;
+
+    VECTreeScanner(Collection<String> reservedNames) {
+        usedNames.addAll(reservedNames);
+    }
+
+    private void output(String s) {
+        sb.append(s);
+    }
+
+    String getResult() {
+        return sb.toString();
+    }
+
+    String getUserCode() {
+        return usercode.toString();
+    }
+
+    // ---- expressions ----
+
+    /**
+     * Evaluates the given component of the given expression. The component
+     * index is ignored for expressions of a scalar type.
+     */
+    private VECValue eval(Expr e, int i) {
+        int savedIndex = index;
+        index = i;
+        result = null;
+        scan(e);
+        VECValue res = result;
+        index = savedIndex;
+        if (res == null) {
+            throw new UnsupportedOperationException("Unsupported expression: " + e.getClass().getSimpleName());
+        }
+        return res;
+    }
+
+    @Override
+    public void visitArrayAccessExpr(ArrayAccessExpr e) {
+        if (!(e.getExpr() instanceof VariableExpr)) {
+            throw new UnsupportedOperationException("Array access only supports variable expr");
+        }
+        Variable var = ((VariableExpr)e.getExpr()).getVariable();
+        if (var.getQualifier() != Qualifier.PARAM) {
+            throw new UnsupportedOperationException("Array access only supports param arrays");
+        }
+        VECValue idx = eval(e.getIndex(), 0);
+        if (idx.getKind() != Kind.INT) {
+            throw new UnsupportedOperationException("Array index must be a uniform int value");
+        }
+        Type t = var.getType();
+        int field = t.isVector() ? index : 0;
+        String code = var.getName() + "_arr[" + idx.getCode() + " * " + t.getNumFields() + " + " + field + "]";
+        result = new VECValue(code, t.getBaseType() == BaseType.INT ? Kind.INT : Kind.SCALAR);
+    }
+
+    @Override
+    public void visitBinaryExpr(BinaryExpr e) {
+        BinaryOpType op = e.getOp();
+        if (op.isAssignment()) {
+            throw new UnsupportedOperationException("Assignments are only supported as statements");
+        }
+        VECValue left = eval(e.getLeft(), index);
+        VECValue right = eval(e.getRight(), index);
+        result = VECValue.binary(op, left, right);
+    }
+
+    @Override
+    public void visitCallExpr(CallExpr e) {
+        VECValue[] res = callResults.get(e);
+        if (res == null) {
+            throw new InternalError("Function call has not been expanded");
+        }
+        result = res[res.length == 1 ? 0 : index];
+    }
+
+    @Override
+    public void visitFieldSelectExpr(FieldSelectExpr e) {
+        String fields = e.getFields();
+        char field = fields.length() == 1 ? fields.charAt(0) : fields.charAt(index);
+        result = eval(e.getExpr(), getFieldIndex(field));
+    }
+
+    @Override
+    public void visitLiteralExpr(LiteralExpr e) {
+        Object value = e.getValue();
+        if (value instanceof Float) {
+            result = VECValue.scalar(value + "f");
+        } else if (value instanceof Integer) {
+            result = new VECValue(value.toString(), Kind.INT);
+        } else if (value instanceof Boolean) {
+            result = new VECValue(value.toString(), Kind.BOOL);
+        } else {
+            throw new UnsupportedOperationException("Unsupported literal: " + value);
+        }
+    }
+
+    @Override
+    public void visitParenExpr(ParenExpr e) {
+        result = eval(e.getExpr(), index);
+    }
+
+    @Override
+    public void visitUnaryExpr(UnaryExpr e) {
+        switch (e.getOp()) {
+        case PLUS:
+            result = eval(e.getExpr(), index);
+            break;
+        case MINUS:
+            result = VECValue.neg(eval(e.getExpr(), index));
+            break;
+        case NOT:
+            result = VECValue.not(eval(e.getExpr(), index));
+            break;
+        default:
+            VECValue target = eval(e.getExpr(), index);
+            if (target.getKind() != Kind.INT || !(e.getExpr() instanceof VariableExpr)) {
+                throw new UnsupportedOperationException(e.getOp() + " is only supported as a statement");
+            }
+            result = new VECValue(target.getCode() + e.getOp(), Kind.INT);
+            break;
+        }
+    }
+
+    @Override
+    public void visitVariableExpr(VariableExpr e) {
+        Variable var = e.getVariable();
+        int field = var.getType().isVector() ? index : 0;
+        String name = getName(var, field);
+        result = new VECValue(name, getKind(var, name, field));
+    }
+
+    @Override
+    public void visitVectorCtorExpr(VectorCtorExpr e) {
+        result = eval(e.getParams().get(index), 0);
+    }
+
+    private String getName(Variable var, int field) {
+        String base;
+        if (localNames.containsKey(var)) {
+            base = localNames.get(var);
+        } else if (var.isParam()) {
+            base = paramNames.get(var.getName());
+            if (base == null) {
+                throw new InternalError("Unknown parameter " + var.getName());
+            }
+        } else {
+            base = var.getName();
+        }
+        return var.getType().isVector() ? base + getSuffix(field) : base;
+    }
+
+    private static Kind getKind(BaseType baseType) {
+        switch (baseType) {
+        case FLOAT:
+            return Kind.VECTOR;
+        case INT:
+            return Kind.INT;
+        case BOOL:
+            return Kind.MASK;
+        default:
+            throw new UnsupportedOperationException("Unsupported variable type " + baseType);
+        }
+    }
+
+    private Kind getKind(Variable var, String name, int field) {
+        Kind kind = kinds.get(name);
+        if (kind != null) {
+            return kind;
+        }
+        BaseType baseType = var.getType().getBaseType();
+        if (var.getQualifier() == Qualifier.CONST && var.getConstValue() == null) {
+            // special built-in variables (e.g. pos0); only the x component
+            // varies within a row of pixels
+            String vname = var.getName();
+            if (vname.startsWith("pos") || vname.equals("pixcoord")) {
+                return field == 0 ? Kind.VECTOR : Kind.SCALAR;
+            }
+            throw new UnsupportedOperationException("Unsupported built-in variable " + vname);
+        }
+        if (var.getQualifier() != null) {
+            // params and constants are uniform
+            switch (baseType) {
+            case FLOAT:
+                return Kind.SCALAR;
+            case INT:
+                return Kind.INT;
+            case BOOL:
+                return Kind.BOOL;
+            default:
+                throw new UnsupportedOperationException("Unsupported use of " + var.getName());
+            }
+        }
+        // the color output variable
+        return getKind(baseType);
+    }
+
+    // ---- names and temporary variables ----
+
+    private String uniqueName(String base, Type type) {
+        String name = base;
+        int n = 1;
+        while (!isUnused(name, type)) {
+            name = base + (++n);
+        }
+        usedNames.add(name);
+        if (type.isVector()) {
+            for (int i = 0; i < type.getNumFields(); i++) {
+                usedNames.add(name + getSuffix(i));
+            }
+        }
+        return name;
+    }
+
+    private boolean isUnused(String name, Type type) {
+        if (usedNames.contains(name)) {
+            return false;
+        }
+        if (type.isVector()) {
+            for (int i = 0; i < type.getNumFields(); i++) {
+                if (usedNames.contains(name + getSuffix(i))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String getJavaType(Kind kind) {
+        switch (kind) {
+        case SCALAR:
+            return "float";
+        case VECTOR:
+            return "FloatVector";
+        case INT:
+            return "int";
+        case BOOL:
+            return "boolean";
+        default:
+            return "VectorMask<Float>";
+        }
+    }
+
+    private static String getDefaultValue(Kind kind) {
+        switch (kind) {
+        case VECTOR:
+            return "ZERO";
+        case INT:
+            return "0";
+        default:
+            return VECValue.SPECIES + ".maskAll(false)";
+        }
+    }
+
+    private void declare(String name, Kind kind, String code) {
+        kinds.put(name, kind);
+        declMasks.put(name, mask);
+        output(getJavaType(kind) + " " + name + " = " + code + ";\n");
+    }
+
+    private VECValue temp(String base, VECValue value) {
+        String name = uniqueName(base + (++tmpCount), Type.FLOAT);
+        declare(name, value.getKind(), value.getCode());
+        return new VECValue(name, value.getKind());
+    }
+
+    private VECValue temp(VECValue value) {
+        return temp("tmp", value);
+    }
+
+    // ---- function calls ----
+
+    /**
+     * Expands all function calls contained in the given expression (or
+     * declaration), innermost calls first.
+     */
+    private void expandCalls(Tree tree) {
+        if (tree == null) {
+            return;
+        }
+        new TreeScanner() {
+            @Override
+            public void visitCallExpr(CallExpr e) {
+                super.visitCallExpr(e);
+                expandCall(e);
+            }
+        }.scan(tree);
+    }
+
+    private void expandCall(CallExpr e) {
+        Function func = e.getFunction();
+        List<Param> params = func.getParams();
+        List<Expr> argExprs = e.getParams();
+        if (func.getName().equals("sample")) {
+            expandSample(e);
+            return;
+        }
+
+        VECFuncImpls.FuncImpl impl = VECFuncImpls.get(func);
+        if (impl != null) {
+            // core (built-in) function
+            VECValue[][] args = new VECValue[params.size()][];
+            for (int i = 0; i < params.size(); i++) {
+                Type ptype = params.get(i).getType();
+                args[i] = new VECValue[ptype.getNumFields()];
+                for (int j = 0; j < args[i].length; j++) {
+                    VECValue arg = eval(argExprs.get(i), j);
+                    args[i][j] = isSimple(arg) ? arg : temp(params.get(i).getName() + "_tmp", arg);
+                }
+            }
+            VECValue[] res = impl.apply(args, func.getReturnType().getNumFields(), this::temp);
+            for (int i = 0; i < res.length; i++) {
+                res[i] = temp(func.getName() + "_res", res[i]);
+            }
+            callResults.put(e, res);
+            return;
+        }
+
+        // user-defined function
+        FuncDef def = funcDefs.get(func.getName());
+        if (def == null) {
+            throw new UnsupportedOperationException("Function " + func.getName() + " is not supported");
+        }
+        Type rtype = func.getReturnType();
+        if (rtype.getBaseType() != BaseType.FLOAT) {
+            throw new UnsupportedOperationException("Functions returning " + rtype + " are not supported");
+        }
+        String resName = uniqueName(func.getName() + "_res", rtype);
+        VECValue[] res = new VECValue[rtype.getNumFields()];
+        for (int i = 0; i < res.length; i++) {
+            String name = rtype.isVector() ? resName + getSuffix(i) : resName;
+            declare(name, Kind.VECTOR, "ZERO");
+            res[i] = VECValue.vector(name);
+        }
+
+        // evaluate the arguments in the scope of the caller
+        Map<String, String> names = new HashMap<>();
+        output("{\n");
+        for (int i = 0; i < params.size(); i++) {
+            Param param = params.get(i);
+            Type ptype = param.getType();
+            String pname = uniqueName(param.getName() + "_tmp", ptype);
+            names.put(param.getName(), pname);
+            Kind kind = getKind(ptype.getBaseType());
+            for (int j = 0; j < ptype.getNumFields(); j++) {
+                String name = ptype.isVector() ? pname + getSuffix(j) : pname;
+                declare(name, kind, eval(argExprs.get(i), j).getCode(kind));
+            }
+        }
+
+        Map<String, String> savedParamNames = paramNames;
+        String savedReturnName = returnName;
+        Type savedReturnType = returnType;
+        String savedReturnMask = returnMask;
+        int savedLoopDepth = loopDepth;
+        paramNames = names;
+        returnName = resName;
+        returnType = rtype;
+        returnMask = mask;
+        loopDepth = 0;
+        scan(def.getStmt());
+        paramNames = savedParamNames;
+        returnName = savedReturnName;
+        returnType = savedReturnType;
+        returnMask = savedReturnMask;
+        loopDepth = savedLoopDepth;
+        output("}\n");
+
+        callResults.put(e, res);
+    }
+
+    private void expandSample(CallExpr e) {
+        Variable sampler = ((VariableExpr)e.getParams().get(0)).getVariable();
+        Expr loc = e.getParams().get(1);
+        String s = sampler.getName();
+        String p = "src" + sampler.getReg();
+        String locx = eval(loc, 0).getCode(Kind.VECTOR);
+        String locy = eval(loc, 1).getCode(Kind.VECTOR);
+        String args = locx + ", " + locy + ",\n        " + p + "w, " + p + "h, " + p + "scan, indexMap";
+
+        VECValue[] res = new VECValue[4];
+        Type type = sampler.getType();
+        if (type == Type.LSAMPLER || type == Type.FSAMPLER) {
+            String func = (type == Type.LSAMPLER) ? "lsample" : "fsample";
+            output(func + "(" + s + ", " + args + ", " + s + "_vals);\n");
+            for (int i = 0; i < 4; i++) {
+                res[i] = temp(s + "_res", VECValue.vector(
+                    "FloatVector.fromArray(" + VECValue.SPECIES + ", " + s + "_vals, " + i + " * LANES)"));
+            }
+        } else {
+            String pixels = uniqueName(s + "_tmp", Type.INT);
+            output("IntVector " + pixels + " = sample(" + s + ", " + args + ");\n");
+            int[] shifts = { 16, 8, 0, 24 };
+            for (int i = 0; i < 4; i++) {
+                res[i] = temp(s + "_res", VECValue.vector("unpack(" + pixels + ", " + shifts[i] + ")"));
+            }
+        }
+        callResults.put(e, res);
+    }
+
+    private static boolean isSimple(VECValue value) {
+        String code = value.getCode();
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (!Character.isJavaIdentifierPart(c) && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- statements ----
+
+    private boolean needsBlend(String name) {
+        return mask != null && !Objects.equals(mask, declMasks.get(name));
+    }
+
+    /**
+     * Stores a value in the given (component) variable, blending it with the
+     * previous value if not all lanes are executing the current statement.
+     */
+    private void store(String name, VECValue value) {
+        Kind kind = kinds.get(name);
+        if (kind == null) {
+            // the color output variable is declared by the glue code
+            kind = Kind.VECTOR;
+        }
+        switch (kind) {
+        case VECTOR:
+            if (needsBlend(name)) {
+                String v = value.isVector() ? value.getCode() : value.getCode(Kind.SCALAR);
+                output(name + " = " + name + ".blend(" + v + ", " + mask + ");\n");
+            } else {
+                output(name + " = " + value.getCode(Kind.VECTOR) + ";\n");
+            }
+            break;
+        case MASK:
+            if (needsBlend(name)) {
+                output(name + " = " + name + ".andNot(" + mask + ").or(" +
+                       value.getCode(Kind.MASK) + ".and(" + mask + "));\n");
+            } else {
+                output(name + " = " + value.getCode(Kind.MASK) + ";\n");
+            }
+            break;
+        case INT:
+        case BOOL:
+            if (needsBlend(name) || !value.isUniform()) {
+                throw new UnsupportedOperationException("Assignment of a per-pixel value to " + kind + " variable " + name);
+            }
+            output(name + " = " + value.getCode() + ";\n");
+            break;
+        default:
+            throw new UnsupportedOperationException("Cannot assign to uniform variable " + name);
+        }
+    }
+
+    private void assign(Expr lhs, BinaryOpType op, Expr rhs) {
+        assign(lhs, op, i -> eval(rhs, i), rhs);
+    }
+
+    private void assign(Expr lhs, BinaryOpType op, IntFunction<VECValue> rhs, Expr rhsExpr) {
+        VariableExpr ve;
+        String fields = null;
+        if (lhs instanceof FieldSelectExpr) {
+            ve = (VariableExpr)((FieldSelectExpr)lhs).getExpr();
+            fields = ((FieldSelectExpr)lhs).getFields();
+        } else {
+            ve = (VariableExpr)lhs;
+        }
+        Variable var = ve.getVariable();
+        Type t = var.getType();
+        int count = (fields != null) ? fields.length() : t.getNumFields();
+
+        VECValue[] values = new VECValue[count];
+        String[] targets = new String[count];
+        for (int i = 0; i < count; i++) {
+            int field = (fields != null) ? getFieldIndex(fields.charAt(i)) : i;
+            targets[i] = getName(var, field);
+            VECValue value = rhs.apply(i);
+            if (op != BinaryOpType.EQ) {
+                VECValue current = new VECValue(targets[i], getKind(var, targets[i], field));
+                value = VECValue.binary(op, current, value);
+            }
+            values[i] = value;
+        }
+        if (count > 1 && rhsExpr != null && references(rhsExpr, var)) {
+            // avoid overwriting components that are still to be read
+            for (int i = 0; i < count; i++) {
+                values[i] = temp(values[i]);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            store(targets[i], values[i]);
+        }
+    }
+
+    private static boolean references(Expr expr, Variable var) {
+        boolean[] found = new boolean[1];
+        new TreeScanner() {
+            @Override
+            public void visitVariableExpr(VariableExpr e) {
+                found[0] |= (e.getVariable() == var);
+            }
+        }.scan(expr);
+        return found[0];
+    }
+
+    @Override
+    public void visitBreakStmt(BreakStmt s) {
+        checkJump("break");
+        output("break;\n");
+    }
+
+    @Override
+    public void visitCompoundStmt(CompoundStmt s) {
+        output("{\n");
+        super.visitCompoundStmt(s);
+        output("}\n");
+    }
+
+    @Override
+    public void visitContinueStmt(ContinueStmt s) {
+        checkJump("continue");
+        output("continue;\n");
+    }
+
+    private void checkJump(String stmt) {
+        if (loopDepth == 0 || !Objects.equals(mask, loopMask)) {
+            throw new UnsupportedOperationException("'" + stmt + "' depending on a per-pixel condition");
+        }
+    }
+
+    @Override
+    public void visitDiscardStmt(DiscardStmt s) {
+        // TODO: not yet implemented (same as the JSW backend)
+    }
+
+    @Override
+    public void visitDoWhileStmt(DoWhileStmt s) {
+        String saved = enterLoop();
+        output("do {\n");
+        scan(s.getStmt());
+        output("} while (" + evalLoopCondition(s.getExpr()) + ");\n");
+        exitLoop(saved);
+    }
+
+    @Override
+    public void visitExprStmt(ExprStmt s) {
+        Expr expr = s.getExpr();
+        expandCalls(expr);
+        if (expr instanceof BinaryExpr && ((BinaryExpr)expr).getOp().isAssignment()) {
+            BinaryExpr be = (BinaryExpr)expr;
+            assign(be.getLeft(), be.getOp(), be.getRight());
+        } else if (expr instanceof UnaryExpr &&
+                   (((UnaryExpr)expr).getOp() == UnaryOpType.INC ||
+                    ((UnaryExpr)expr).getOp() == UnaryOpType.DEC))
+        {
+            UnaryExpr ue = (UnaryExpr)expr;
+            if (eval(ue.getExpr(), 0).getKind() == Kind.INT) {
+                output(eval(ue, 0).getCode() + ";\n");
+            } else {
+                assign(ue.getExpr(),
+                       ue.getOp() == UnaryOpType.INC ? BinaryOpType.ADDEQ : BinaryOpType.SUBEQ,
+                       i -> VECValue.scalar("1.0f"), null);
+            }
+        }
+        // other expression statements have no side effects
+    }
+
+    @Override
+    public void visitForStmt(ForStmt s) {
+        output("{\n");
+        scan(s.getInit());
+        String saved = enterLoop();
+        String cond = (s.getCondition() != null) ? evalLoopCondition(s.getCondition()) : "";
+        String update = "";
+        if (s.getExpr() != null) {
+            update = evalLoopUpdate(s.getExpr());
+        }
+        output("for (; " + cond + "; " + update + ") {\n");
+        scan(s.getStmt());
+        output("}\n");
+        exitLoop(saved);
+        output("}\n");
+    }
+
+    private String enterLoop() {
+        String saved = loopMask;
+        loopMask = mask;
+        loopDepth++;
+        return saved;
+    }
+
+    private void exitLoop(String savedLoopMask) {
+        loopMask = savedLoopMask;
+        loopDepth--;
+    }
+
+    private String evalLoopCondition(Expr cond) {
+        checkNoCalls(cond);
+        VECValue c = eval(cond, 0);
+        if (c.getKind() != Kind.BOOL) {
+            throw new UnsupportedOperationException("Loop condition depending on per-pixel values");
+        }
+        return c.getCode();
+    }
+
+    private String evalLoopUpdate(Expr expr) {
+        checkNoCalls(expr);
+        if (expr instanceof BinaryExpr && ((BinaryExpr)expr).getOp().isAssignment()) {
+            BinaryExpr be = (BinaryExpr)expr;
+            VECValue target = eval(be.getLeft(), 0);
+            VECValue value = eval(be.getRight(), 0);
+            if (target.getKind() != Kind.INT || value.getKind() != Kind.INT) {
+                throw new UnsupportedOperationException("Loop update must be an int expression");
+            }
+            return target.getCode() + " " + be.getOp() + " " + value.getCode();
+        }
+        VECValue value = eval(expr, 0);
+        if (value.getKind() != Kind.INT) {
+            throw new UnsupportedOperationException("Loop update must be an int expression");
+        }
+        return value.getCode();
+    }
+
+    private static void checkNoCalls(Expr expr) {
+        new TreeScanner() {
+            @Override
+            public void visitCallExpr(CallExpr e) {
+                throw new UnsupportedOperationException("Function calls in loop conditions");
+            }
+        }.scan(expr);
+    }
+
+    @Override
+    public void visitFuncDef(FuncDef d) {
+        if (d.getFunction().getName().equals("main")) {
+            scan(d.getStmt());
+        } else {
+            // saved for inlining at the point of use
+            funcDefs.put(d.getFunction().getName(), d);
+        }
+    }
+
+    @Override
+    public void visitGlueBlock(GlueBlock b) {
+        usercode.append(b.getText());
+    }
+
+    @Override
+    public void visitReturnStmt(ReturnStmt s) {
+        Expr expr = s.getExpr();
+        if (expr == null) {
+            throw new UnsupportedOperationException("Empty return not yet implemented");
+        }
+        if (returnName == null) {
+            throw new RuntimeException("Return statement not expected");
+        }
+        if (!Objects.equals(mask, returnMask) || loopDepth > 0) {
+            throw new UnsupportedOperationException("Return statement depending on a condition");
+        }
+        expandCalls(expr);
+        VECValue[] values = new VECValue[returnType.getNumFields()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = eval(expr, i);
+        }
+        for (int i = 0; i < values.length; i++) {
+            store(returnType.isVector() ? returnName + getSuffix(i) : returnName, values[i]);
+        }
+    }
+
+    @Override
+    public void visitSelectStmt(SelectStmt s) {
+        Expr ifExpr = s.getIfExpr();
+        expandCalls(ifExpr);
+        VECValue cond = eval(ifExpr, 0);
+        Stmt thenStmt = s.getThenStmt();
+        Stmt elseStmt = s.getElseStmt();
+
+        if (cond.getKind() == Kind.BOOL) {
+            // uniform condition
+            output("if (" + cond.getCode() + ") {\n");
+            scan(thenStmt);
+            output("}\n");
+            if (elseStmt != null) {
+                output("else {\n");
+                scan(elseStmt);
+                output("}\n");
+            }
+            return;
+        }
+
+        // per-pixel condition
+        String outer = mask;
+        VECValue c = temp("cond", new VECValue(cond.getCode(Kind.MASK), Kind.MASK));
+        String thenMask = c.getCode();
+        if (outer != null) {
+            thenMask = temp("mask", new VECValue(outer + ".and(" + c.getCode() + ")", Kind.MASK)).getCode();
+        }
+        output("if (" + thenMask + ".anyTrue()) {\n");
+        mask = thenMask;
+        scan(thenStmt);
+        mask = outer;
+        output("}\n");
+        if (elseStmt != null) {
+            String code = (outer != null) ? outer + ".andNot(" + c.getCode() + ")" : c.getCode() + ".not()";
+            String elseMask = temp("mask", new VECValue(code, Kind.MASK)).getCode();
+            output("if (" + elseMask + ".anyTrue()) {\n");
+            mask = elseMask;
+            scan(elseStmt);
+            mask = outer;
+            output("}\n");
+        }
+    }
+
+    @Override
+    public void visitVarDecl(VarDecl d) {
+        Variable var = d.getVariable();
+        if (var.getQualifier() != null) {
+            // these will be declared separately outside the loop body
+            return;
+        }
+
+        Expr init = d.getInit();
+        expandCalls(init);
+
+        Type t = var.getType();
+        String base = uniqueName(var.getName(), t);
+        Kind kind = getKind(t.getBaseType());
+        String[] codes = new String[t.getNumFields()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (init != null) ? eval(init, i).getCode(kind) : getDefaultValue(kind);
+        }
+        localNames.put(var, base);
+        for (int i = 0; i < codes.length; i++) {
+            declare(t.isVector() ? base + getSuffix(i) : base, kind, codes[i]);
+        }
+    }
+
+    @Override
+    public void visitWhileStmt(WhileStmt s) {
+        String saved = enterLoop();
+        output("while (" + evalLoopCondition(s.getCondition()) + ") {\n");
+        scan(s.getStmt());
+        output("}\n");
+        exitLoop(saved);
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.scenario.effect.compiler.backend.sw.vec;
+
+import com.sun.scenario.effect.compiler.model.BinaryOpType;
+
+/**
+ * The translated form of one component of a JSL expression, consisting of
+ * a fragment of Java code and the kind of value it evaluates to.
+ *
+ * Values that are the same for every pixel (literals, uniform params and
+ * the y components of the position variables) are kept as scalars, while
+ * values that vary from pixel to pixel are represented by one lane of a
+ * {@code FloatVector}. Operations that combine scalars and vectors only
+ * broadcast the scalar operand if the Vector API has no scalar overload.
+ */
+final class VECValue {
+
+    enum Kind {
+        /** a uniform {@code float} */
+        SCALAR,
+        /** a per-pixel {@code FloatVector} */
+        VECTOR,
+        /** a uniform {@code int} */
+        INT,
+        /** a uniform {@code boolean} */
+        BOOL,
+        /** a per-pixel {@code VectorMask<Float>} */
+        MASK
+    }
+
+    static final String SPECIES = "FSPECIES";
+
+    private final String code;
+    private final Kind kind;
+
+    VECValue(String code, Kind kind) {
+        this.code = code;
+        this.kind = kind;
+    }
+
+    static VECValue scalar(String code) {
+        return new VECValue(code, Kind.SCALAR);
+    }
+
+    static VECValue vector(String code) {
+        return new VECValue(code, Kind.VECTOR);
+    }
+
+    String getCode() {
+        return code;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    boolean isVector() {
+        return kind == Kind.VECTOR;
+    }
+
+    boolean isUniform() {
+        return kind != Kind.VECTOR && kind != Kind.MASK;
+    }
+
+    /**
+     * Returns the code of this value converted to the given kind; uniform
+     * values are broadcast to all lanes if a per-pixel kind is requested.
+     */
+    String getCode(Kind target) {
+        if (target == kind) {
+            return code;
+        }
+        if (target == Kind.VECTOR && (kind == Kind.SCALAR || kind == Kind.INT)) {
+            return "FloatVector.broadcast(" + SPECIES + ", " + code + ")";
+        }
+        if (target == Kind.SCALAR && kind == Kind.INT) {
+            return "(float)" + code;
+        }
+        if (target == Kind.MASK && kind == Kind.BOOL) {
+            return SPECIES + ".maskAll(" + code + ")";
+        }
+        throw new UnsupportedOperationException("Cannot convert " + kind + " value to " + target);
+    }
+
+    VECValue toVector() {
+        return isVector() ? this : vector(getCode(Kind.VECTOR));
+    }
+
+    static VECValue binary(BinaryOpType op, VECValue a, VECValue b) {
+        switch (op) {
+        case ADD:
+        case ADDEQ:
+            return commutative("+", "add", a, b);
+        case MUL:
+        case MULEQ:
+            return commutative("*", "mul", a, b);
+        case SUB:
+        case SUBEQ:
+            return ordered("-", "sub", a, b);
+        case DIV:
+        case DIVEQ:
+            return ordered("/", "div", a, b);
+        case EQ:
+            return b;
+        case AND:
+            return logical("&&", "and", a, b);
+        case OR:
+            return logical("||", "or", a, b);
+        case XOR:
+            return logical("!=", "eq(%s).not", a, b);
+        case EQEQ:
+            return compare(op, "EQ", "EQ", a, b);
+        case NEQ:
+            return compare(op, "NE", "NE", a, b);
+        case LT:
+            return compare(op, "LT", "GT", a, b);
+        case GT:
+            return compare(op, "GT", "LT", a, b);
+        case LTEQ:
+            return compare(op, "LE", "GE", a, b);
+        case GTEQ:
+            return compare(op, "GE", "LE", a, b);
+        default:
+            throw new InternalError("Unexpected operator " + op);
+        }
+    }
+
+    static VECValue neg(VECValue a) {
+        switch (a.kind) {
+        case VECTOR:
+            return vector(a.code + ".neg()");
+        case SCALAR:
+        case INT:
+            return new VECValue("(-" + a.code + ")", a.kind);
+        default:
+            throw new UnsupportedOperationException("Cannot negate " + a.kind + " value");
+        }
+    }
+
+    static VECValue not(VECValue a) {
+        switch (a.kind) {
+        case MASK:
+            return new VECValue(a.code + ".not()", Kind.MASK);
+        case BOOL:
+            return new VECValue("(!" + a.code + ")", Kind.BOOL);
+        default:
+            throw new UnsupportedOperationException("Cannot invert " + a.kind + " value");
+        }
+    }
+
+    static VECValue min(VECValue a, VECValue b) {
+        return function("Math.min", "min", a, b);
+    }
+
+    static VECValue max(VECValue a, VECValue b) {
+        return function("Math.max", "max", a, b);
+    }
+
+    /**
+     * Applies a unary function; {@code vectorCode} is a method invocation
+     * on the vector operand (e.g. {@code ".abs()"}) or, if it does not start
+     * with a dot, the name of a static helper method.
+     */
+    static VECValue unary(String scalarFunc, String vectorCode, VECValue a) {
+        if (a.isVector()) {
+            if (vectorCode.startsWith(".")) {
+                return vector(a.code + vectorCode);
+            }
+            return vector(vectorCode + "(" + a.code + ")");
+        }
+        return scalar(scalarFunc.replace("%s", a.getCode(Kind.SCALAR)));
+    }
+
+    static VECValue pow(VECValue a, VECValue b) {
+        if (!a.isVector() && !b.isVector()) {
+            return scalar("(float)Math.pow(" + a.code + ", " + b.code + ")");
+        }
+        return vector(a.getCode(Kind.VECTOR) + ".pow(" + b.code + ")");
+    }
+
+    static VECValue mod(VECValue a, VECValue b) {
+        if (!a.isVector() && !b.isVector()) {
+            return scalar("(" + a.code + " % " + b.code + ")");
+        }
+        return vector("mod(" + a.getCode(Kind.VECTOR) + ", " + b.getCode(Kind.VECTOR) + ")");
+    }
+
+    private static VECValue commutative(String symbol, String method, VECValue a, VECValue b) {
+        checkNumeric(a, b);
+        if (a.isVector()) {
+            return vector(a.code + "." + method + "(" + b.code + ")");
+        }
+        if (b.isVector()) {
+            return vector(b.code + "." + method + "(" + a.code + ")");
+        }
+        return arithmetic(symbol, a, b);
+    }
+
+    private static VECValue ordered(String symbol, String method, VECValue a, VECValue b) {
+        checkNumeric(a, b);
+        if (a.isVector() || b.isVector()) {
+            return vector(a.getCode(Kind.VECTOR) + "." + method + "(" + b.code + ")");
+        }
+        return arithmetic(symbol, a, b);
+    }
+
+    private static VECValue arithmetic(String symbol, VECValue a, VECValue b) {
+        Kind kind = (a.kind == Kind.INT && b.kind == Kind.INT) ? Kind.INT : Kind.SCALAR;
+        return new VECValue("(" + a.code + " " + symbol + " " + b.code + ")", kind);
+    }
+
+    private static VECValue function(String scalarFunc, String method, VECValue a, VECValue b) {
+        checkNumeric(a, b);
+        if (a.isVector()) {
+            return vector(a.code + "." + method + "(" + b.code + ")");
+        }
+        if (b.isVector()) {
+            return vector(b.code + "." + method + "(" + a.code + ")");
+        }
+        return scalar(scalarFunc + "(" + a.code + ", " + b.code + ")");
+    }
+
+    private static VECValue compare(BinaryOpType op, String cmp, String flipped, VECValue a, VECValue b) {
+        checkNumeric(a, b);
+        if (a.isVector()) {
+            return new VECValue(a.code + ".compare(VectorOperators." + cmp + ", " + b.code + ")", Kind.MASK);
+        }
+        if (b.isVector()) {
+            return new VECValue(b.code + ".compare(VectorOperators." + flipped + ", " + a.code + ")", Kind.MASK);
+        }
+        return new VECValue("(" + a.code + " " + op.getSymbol() + " " + b.code + ")", Kind.BOOL);
+    }
+
+    private static VECValue logical(String symbol, String method, VECValue a, VECValue b) {
+        if (a.kind == Kind.BOOL && b.kind == Kind.BOOL) {
+            return new VECValue("(" + a.code + " " + symbol + " " + b.code + ")", Kind.BOOL);
+        }
+        String lhs = a.getCode(Kind.MASK);
+        String rhs = b.getCode(Kind.MASK);
+        if (method.contains("%s")) {
+            return new VECValue(lhs + "." + method.replace("%s", rhs) + "()", Kind.MASK);
+        }
+        return new VECValue(lhs + "." + method + "(" + rhs + ")", Kind.MASK);
+    }
+
+    private static void checkNumeric(VECValue a, VECValue b) {
+        if (a.kind == Kind.BOOL || a.kind == Kind.MASK || b.kind == Kind.BOOL || b.kind == Kind.MASK) {
+            throw new UnsupportedOperationException("Boolean operands are not supported in arithmetic expressions");
+        }
+    }
+}
@@ -49,7 +49,7 @@ public enum DirtyBits {
     NODE_DRAWMODE, // Used by Shape3D
     NODE_SMOOTH,    // Used by ImageView, MediaView, and subclasses of Shape
     NODE_VIEWPORT,  // Used by ImageView and MediaView
-    NODE_CONTENTS,  // Used by ImageView, Light, MediaView, Text, WebView, Region, and subclasses of Shape
+    NODE_CONTENTS,  // Used by ImageView, InstancedMeshView, Light, MediaView, Text, WebView, Region, and subclasses of Shape
 
     // Dirty bits for the Parent class
     PARENT_CHILDREN,  // children removed, added or permuted
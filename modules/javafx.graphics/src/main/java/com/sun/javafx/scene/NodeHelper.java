@@ -240,6 +240,10 @@ public abstract class NodeHelper {
         return nodeAccessor.showMnemonicsProperty(node);
     }
 
+    public static void setScrollCacheOpt(Node node, boolean value) {
+        nodeAccessor.setScrollCacheOpt(node, value);
+    }
+
     public static boolean traverse(Node node, Direction direction, TraversalMethod method) {
         return nodeAccessor.traverse(node, direction, method);
     }
@@ -373,6 +377,7 @@ public abstract class NodeHelper {
         void setShowMnemonics(Node node, boolean value);
         boolean isShowMnemonics(Node node);
         BooleanProperty showMnemonicsProperty(Node node);
+        void setScrollCacheOpt(Node node, boolean value);
         boolean traverse(Node node, Direction direction, TraversalMethod method);
         double getPivotX(Node node);
         double getPivotY(Node node);
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.scene;
+
+import com.sun.javafx.logging.PulseLogger;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.SubScene;
+import java.util.List;
+
+/**
+ * Reports the subtrees whose CSS, layout or synchronization took at least
+ * {@link PulseLogger#SUBTREE_THRESHOLD}. The callers measure the time only if
+ * {@link PulseLogger#SUBTREE_LOGGING_ENABLED} is true, and the description of
+ * the subtree is only computed if it is reported.
+ */
+public final class SubtreeLogger {
+
+    private SubtreeLogger() {
+    }
+
+    /**
+     * Reports the subtree if its processing took long enough.
+     *
+     * @param phase the phase, such as "CSS" or "Layout"
+     * @param node the root of the subtree
+     * @param start the value of {@link System#nanoTime()} before the processing
+     */
+    public static void processed(String phase, Node node, long start) {
+        long duration = System.nanoTime() - start;
+        if (duration >= PulseLogger.SUBTREE_THRESHOLD) {
+            report(phase, node, countNodes(node), duration);
+        }
+    }
+
+    /**
+     * Reports the subtree if its processing took long enough.
+     *
+     * @param phase the phase, such as "CSS" or "Layout"
+     * @param node the root of the subtree
+     * @param subtreeSize the number of nodes in the subtree, if already known
+     * @param start the value of {@link System#nanoTime()} before the processing
+     */
+    public static void processed(String phase, Node node, int subtreeSize, long start) {
+        long duration = System.nanoTime() - start;
+        if (duration >= PulseLogger.SUBTREE_THRESHOLD) {
+            report(phase, node, subtreeSize, duration);
+        }
+    }
+
+    private static void report(String phase, Node node, int subtreeSize, long duration) {
+        List<String> styleClass = node.getStyleClass();
+        PulseLogger.subtreeProcessed(
+                phase, node.getClass().getName(), styleClass.isEmpty() ? null : String.join(" ", styleClass),
+                node.getId(), subtreeSize, duration);
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            List<Node> children = ((Parent)node).getChildrenUnmodifiable();
+            for (int i = 0, max = children.size(); i < max; i++) {
+                count += countNodes(children.get(i));
+            }
+        } else if (node instanceof SubScene) {
+            Parent root = ((SubScene)node).getRoot();
+            if (root != null) {
+                count += countNodes(root);
+            }
+        }
+        return count;
+    }
+}
@@ -97,7 +97,7 @@ public class CacheFilter {
     private double lastYDelta;
     private ScrollCacheState scrollCacheState = ScrollCacheState.CHECKING_PRECONDITIONS;
     // Note: this ImageData is always created and assumed to be untransformed.
-    private ImageData cachedImageData;
+    ImageData cachedImageData;
     private Rectangle cacheBounds = new Rectangle();
     // Used to draw into the cache
     private final Affine2D cachedXform = new Affine2D();
@@ -361,6 +361,18 @@ public class CacheFilter {
         }
     }
 
+    /**
+     * Indicates whether the cached image is still valid except for a pending
+     * translation of its contents by the given amount.
+     */
+    boolean isTranslationPending(double translateXDelta, double translateYDelta) {
+        return cachedImageData != null
+                && scrollCacheState != ScrollCacheState.DISABLED
+                && (lastXDelta != 0 || lastYDelta != 0)
+                && lastXDelta == translateXDelta
+                && lastYDelta == translateYDelta;
+    }
+
     public void dispose() {
         invalidate();
         node = null;
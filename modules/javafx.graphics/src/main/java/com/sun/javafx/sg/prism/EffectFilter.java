@@ -27,16 +27,39 @@ package com.sun.javafx.sg.prism;
 
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.prism.Graphics;
+import com.sun.prism.PrinterGraphics;
+import com.sun.prism.impl.PrismSettings;
 import com.sun.scenario.effect.Effect;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.Filterable;
+import com.sun.scenario.effect.ImageData;
 import com.sun.scenario.effect.impl.prism.PrEffectHelper;
 
 /**
+ * Renders the effect of a node. If enabled with the {@code prism.effectcache}
+ * property, the result of the effect is kept once the node has been rendered
+ * twice with the same content and transform, and is then reused until the
+ * node is invalidated or rendered with a different scale, rotation or shear.
+ * The cached result is also reused if the node has only been moved by whole
+ * pixels.
  */
 public class EffectFilter {
     private Effect effect;
     private NodeEffectInput nodeInput;
 
+    // The cached result of the effect, which is left unlocked while we
+    // hold on to it so that the texture can be reclaimed
+    private ImageData cachedImageData;
+    private FilterContext cachedContext;
+    private double cachedMxt, cachedMyt;
+
+    // The transform of the last rendering, and whether the content has
+    // not changed since then
+    private boolean contentRendered;
+    private double lastMxx, lastMxy, lastMyx, lastMyy, lastMxt, lastMyt;
+
     EffectFilter(Effect effect, NGNode node) {
         this.effect = effect;
         this.nodeInput = new NodeEffectInput(node);
@@ -46,19 +69,160 @@ public class EffectFilter {
     NodeEffectInput getNodeInput() { return nodeInput; }
 
     void dispose() {
+        invalidate();
         effect = null;
         nodeInput.setNode(null);
         nodeInput = null;
     }
 
+    /**
+     * Invalidates the cached result, if any. This is called whenever the
+     * content of the node or the effect itself has changed.
+     */
+    void invalidate() {
+        contentRendered = false;
+        imageDataUnref();
+    }
+
+    private void imageDataUnref() {
+        if (cachedImageData != null) {
+            // The default unref() method assumes the image was locked.
+            Filterable implImage = cachedImageData.getUntransformedImage();
+            if (implImage != null) {
+                implImage.lock();
+            }
+            cachedImageData.unref();
+            cachedImageData = null;
+            cachedContext = null;
+        }
+    }
+
     BaseBounds getBounds(BaseBounds bounds, BaseTransform xform) {
         BaseBounds r = getEffect().getBounds(xform, nodeInput);
         return bounds.deriveWithNewBounds(r);
     }
 
     void render(Graphics g) {
+        if (PrismSettings.effectCache && isCacheable(g)) {
+            BaseTransform xform = g.getTransformNoClone();
+            FilterContext fctx = PrEffectHelper.getFilterContext(g);
+            if (renderCachedImage(g, xform, fctx)) {
+                if (PulseLogger.PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Effect cache hits");
+                }
+                return;
+            }
+            if (PulseLogger.PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Effect cache misses");
+            }
+            if (isResultReusable(xform)) {
+                ImageData res = PrEffectHelper.filterUnclipped(getEffect(), g, nodeInput);
+                getNodeInput().flush();
+                if (res != null) {
+                    PrEffectHelper.renderResult(res, g, 0f, 0f);
+                    res.getUntransformedImage().unlock();
+                    setCachedImage(res, fctx, xform);
+                    return;
+                }
+            }
+            setContentRendered(xform);
+        }
         NodeEffectInput nodeInput = getNodeInput();
         PrEffectHelper.render(getEffect(), g, 0, 0, nodeInput);
         nodeInput.flush();
     }
+
+    private boolean isCacheable(Graphics g) {
+        NGNode node = nodeInput.getNode();
+        return node != null && node.isContentBounds2D() &&
+               g.getTransformNoClone().is2D() &&
+               g.getAssociatedScreen() != null &&
+               !(g instanceof PrinterGraphics);
+    }
+
+    /**
+     * Records that the content has been rendered with the given transform.
+     */
+    void setContentRendered(BaseTransform xform) {
+        contentRendered = true;
+        lastMxx = xform.getMxx();
+        lastMxy = xform.getMxy();
+        lastMyx = xform.getMyx();
+        lastMyy = xform.getMyy();
+        lastMxt = xform.getMxt();
+        lastMyt = xform.getMyt();
+    }
+
+    /**
+     * Indicates whether neither the content nor the transform have changed
+     * since the last rendering, so it is likely that the result of the effect
+     * can be reused by subsequent renderings.
+     */
+    boolean isResultReusable(BaseTransform xform) {
+        return contentRendered &&
+               lastMxx == xform.getMxx() && lastMxy == xform.getMxy() &&
+               lastMyx == xform.getMyx() && lastMyy == xform.getMyy() &&
+               lastMxt == xform.getMxt() && lastMyt == xform.getMyt();
+    }
+
+    /**
+     * Keeps the unlocked result of the effect, which was rendered with the
+     * given transform and filter context.
+     */
+    void setCachedImage(ImageData res, FilterContext fctx, BaseTransform xform) {
+        imageDataUnref();
+        setContentRendered(xform);
+        cachedImageData = res;
+        cachedContext = fctx;
+        cachedMxt = xform.getMxt();
+        cachedMyt = xform.getMyt();
+    }
+
+    boolean hasCachedImage() {
+        return cachedImageData != null;
+    }
+
+    /**
+     * Indicates whether the cached result was produced with the same scale,
+     * rotation and shear and the same filter context, and whether the
+     * translation differs by whole pixels. Otherwise, the cached result is
+     * released.
+     */
+    boolean isCachedImageValid(BaseTransform xform, FilterContext fctx) {
+        if (cachedImageData == null) {
+            return false;
+        }
+        double dx = xform.getMxt() - cachedMxt;
+        double dy = xform.getMyt() - cachedMyt;
+        if (lastMxx == xform.getMxx() && lastMxy == xform.getMxy() &&
+            lastMyx == xform.getMyx() && lastMyy == xform.getMyy() &&
+            dx == Math.rint(dx) && dy == Math.rint(dy) &&
+            cachedContext == fctx)
+        {
+            return true;
+        }
+        imageDataUnref();
+        return false;
+    }
+
+    /**
+     * Renders the cached result if it is valid for the given transform.
+     */
+    private boolean renderCachedImage(Graphics g, BaseTransform xform, FilterContext fctx) {
+        if (!isCachedImageValid(xform, fctx)) {
+            return false;
+        }
+        Filterable implImage = cachedImageData.getUntransformedImage();
+        implImage.lock();
+        if (cachedImageData.validate(cachedContext)) {
+            PrEffectHelper.renderResult(cachedImageData, g,
+                    (float) (xform.getMxt() - cachedMxt),
+                    (float) (xform.getMyt() - cachedMyt));
+            implImage.unlock();
+            return true;
+        }
+        implImage.unlock();
+        imageDataUnref();
+        return false;
+    }
 }
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.Affine3D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * An animation of the transform, the opacity and the clip translation of a
+ * node that is evaluated directly on its peer. Since it does not touch the
+ * FX scene graph, it can be driven by the render thread while the FX thread
+ * is busy.
+ * <p>
+ * All values are captured on the FX thread before the animation is handed
+ * over to the render thread. After that, {@link #update(long)} must only be
+ * called on the render thread while holding the render lock, and the FX
+ * thread must only call {@link #cancel()} and {@link #getValue(int)}.
+ * <p>
+ * The local transform is recomputed on every frame in the same way as
+ * {@code Node.updateLocalToParentTransform} does:
+ * {@code T(layout + translate + pivot) * R(rotate) * S(scale) * T(-pivot) * post},
+ * where {@code post} holds everything that follows the node's own transform
+ * properties (its transforms list and mirroring).
+ */
+public final class NGCompositorAnimation {
+
+    public static final int TRANSLATE_X = 0;
+    public static final int TRANSLATE_Y = 1;
+    public static final int TRANSLATE_Z = 2;
+    public static final int SCALE_X = 3;
+    public static final int SCALE_Y = 4;
+    public static final int SCALE_Z = 5;
+    public static final int ROTATE = 6;
+    public static final int OPACITY = 7;
+    public static final int CLIP_TRANSLATE_X = 8;
+    public static final int CLIP_TRANSLATE_Y = 9;
+    public static final int CHANNEL_COUNT = 10;
+
+    private final NGNode node;
+    private final NGNode clipNode;
+    private final long duration;
+    private final DoubleUnaryOperator interpolator;
+
+    private final double[] fromValues = new double[CHANNEL_COUNT];
+    private final double[] toValues = new double[CHANNEL_COUNT];
+
+    private double layoutX, layoutY;
+    private double pivotX, pivotY, pivotZ;
+    private double axisX, axisY, axisZ = 1;
+    private final Affine3D postTransform = new Affine3D();
+    private final Affine3D clipTransform = new Affine3D();
+
+    // Render thread only
+    private final Affine3D tempTransform = new Affine3D();
+    private BaseBounds tempBounds = new RectBounds();
+    private long startTime = -1;
+
+    private volatile double fraction;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a new animation. All channels are initialized to the identity,
+     * that is, no translation, a scale of 1, no rotation and full opacity.
+     *
+     * @param node the peer of the animated node
+     * @param clipNode the peer of the clip of the animated node, or null
+     * @param duration the duration in nanoseconds
+     * @param interpolator maps the elapsed fraction to the interpolated fraction,
+     *                     this is called on the render thread
+     */
+    public NGCompositorAnimation(NGNode node, NGNode clipNode, long duration,
+                                 DoubleUnaryOperator interpolator) {
+        this.node = node;
+        this.clipNode = clipNode;
+        this.duration = duration;
+        this.interpolator = interpolator;
+        fromValues[SCALE_X] = toValues[SCALE_X] = 1;
+        fromValues[SCALE_Y] = toValues[SCALE_Y] = 1;
+        fromValues[SCALE_Z] = toValues[SCALE_Z] = 1;
+        fromValues[OPACITY] = toValues[OPACITY] = 1;
+    }
+
+    public NGNode getNode() {
+        return node;
+    }
+
+    /**
+     * Sets the start and end value of one of the animated channels.
+     */
+    public void setValues(int channel, double from, double to) {
+        fromValues[channel] = from;
+        toValues[channel] = to;
+    }
+
+    /**
+     * Sets the parts of the local transform of the node that are not animated.
+     *
+     * @param postTransform the transform that is concatenated after the node's
+     *                      own translation, rotation and scale
+     */
+    public void setTransformParameters(double layoutX, double layoutY,
+                                       double pivotX, double pivotY, double pivotZ,
+                                       double axisX, double axisY, double axisZ,
+                                       BaseTransform postTransform) {
+        this.layoutX = layoutX;
+        this.layoutY = layoutY;
+        this.pivotX = pivotX;
+        this.pivotY = pivotY;
+        this.pivotZ = pivotZ;
+        this.axisX = axisX;
+        this.axisY = axisY;
+        this.axisZ = axisZ;
+        this.postTransform.setTransform(postTransform);
+    }
+
+    /**
+     * Sets the local transform of the clip node at the start of the animation.
+     * The clip translation channels are applied on top of it.
+     */
+    public void setClipTransform(BaseTransform clipTransform) {
+        this.clipTransform.setTransform(clipTransform);
+    }
+
+    /**
+     * Stops the animation. A cancelled animation does not modify the peers
+     * anymore, the FX thread is expected to sync the values it wants to keep.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Gets the value of a channel at the last frame that was applied to the peers.
+     */
+    public double getValue(int channel) {
+        return value(channel, interpolator.applyAsDouble(fraction));
+    }
+
+    /**
+     * Applies the frame at the specified time to the peers. The first call
+     * defines the start time of the animation.
+     *
+     * @param now the current time in nanoseconds
+     * @return true if the animation is still running
+     */
+    public boolean update(long now) {
+        if (cancelled) {
+            return false;
+        }
+        if (startTime < 0) {
+            startTime = now;
+        }
+        double t = duration > 0 ? Math.min(1.0, (double)(now - startTime) / duration) : 1.0;
+        fraction = t;
+        apply(interpolator.applyAsDouble(t));
+        return t < 1.0;
+    }
+
+    private double value(int channel, double frac) {
+        double from = fromValues[channel];
+        return from + (toValues[channel] - from) * frac;
+    }
+
+    private boolean isAnimated(int channel) {
+        return fromValues[channel] != toValues[channel];
+    }
+
+    private void apply(double frac) {
+        if (isAnimated(TRANSLATE_X) || isAnimated(TRANSLATE_Y) || isAnimated(TRANSLATE_Z)
+                || isAnimated(SCALE_X) || isAnimated(SCALE_Y) || isAnimated(SCALE_Z)
+                || isAnimated(ROTATE)) {
+            Affine3D tx = tempTransform;
+            tx.setToTranslation(
+                    value(TRANSLATE_X, frac) + layoutX + pivotX,
+                    value(TRANSLATE_Y, frac) + layoutY + pivotY,
+                    value(TRANSLATE_Z, frac) + pivotZ);
+            tx.rotate(Math.toRadians(value(ROTATE, frac)), axisX, axisY, axisZ);
+            tx.scale(value(SCALE_X, frac), value(SCALE_Y, frac), value(SCALE_Z, frac));
+            tx.translate(-pivotX, -pivotY, -pivotZ);
+            tx.concatenate(postTransform);
+            node.setTransformMatrix(tx);
+            updateBounds(node);
+        }
+
+        if (isAnimated(OPACITY)) {
+            node.setOpacity((float)Math.min(1.0, Math.max(0.0, value(OPACITY, frac))));
+        }
+
+        if (clipNode != null && (isAnimated(CLIP_TRANSLATE_X) || isAnimated(CLIP_TRANSLATE_Y))) {
+            Affine3D tx = tempTransform;
+            tx.setTransform(clipTransform);
+            tx.preTranslate(
+                    value(CLIP_TRANSLATE_X, frac) - fromValues[CLIP_TRANSLATE_X],
+                    value(CLIP_TRANSLATE_Y, frac) - fromValues[CLIP_TRANSLATE_Y],
+                    0);
+            clipNode.setTransformMatrix(tx);
+            updateBounds(clipNode);
+        }
+    }
+
+    /*
+     * Recomputes the transformed bounds of the node after its transform has
+     * changed, and grows the transformed bounds of its ancestors so that the
+     * node is not culled and the dirty regions cover its new position. The
+     * ancestors only get their exact bounds back when the FX thread syncs them.
+     */
+    private void updateBounds(NGNode n) {
+        BaseBounds bounds = n.getClippedBounds(tempBounds, n.getTransform());
+        n.setTransformedBounds(bounds, true);
+        for (NGNode p = n.getParent(); p != null; p = p.getParent()) {
+            bounds = p.getTransform().transform(bounds, bounds);
+            bounds = bounds.deriveWithUnion(p.transformedBounds);
+            if (bounds.equals(p.transformedBounds)) {
+                break;
+            }
+            p.setTransformedBounds(bounds, true);
+        }
+        tempBounds = bounds;
+    }
+}
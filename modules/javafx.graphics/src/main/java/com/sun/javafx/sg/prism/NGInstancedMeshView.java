@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.sg.prism;
+
+import com.sun.prism.MeshView;
+
+/**
+ * The peer of {@link javafx.scene.shape.InstancedMeshView}. The instances are
+ * handed over to the prism {@code MeshView}, which renders all of them with
+ * a single instanced draw call if the pipeline supports it.
+ */
+public class NGInstancedMeshView extends NGMeshView {
+
+    private float[] instanceTransforms;
+    private float[] instanceColors;
+    private int numInstances;
+    private boolean instancesDirty = true;
+
+    /**
+     * Sets the instances of this mesh view. The arrays are not copied and
+     * must not be modified while they are in use by this peer.
+     *
+     * @param transforms 12 floats per instance, see {@link MeshView#setInstances}
+     * @param colors 4 floats per instance, or null
+     * @param numInstances the number of instances
+     */
+    public void setInstances(float[] transforms, float[] colors, int numInstances) {
+        this.instanceTransforms = transforms;
+        this.instanceColors = colors;
+        this.numInstances = numInstances;
+        instancesDirty = true;
+        visualsChanged();
+    }
+
+    public int getNumInstances() {
+        return numInstances;
+    }
+
+    @Override
+    void updateMeshView(MeshView meshView, boolean created) {
+        if (created || instancesDirty) {
+            meshView.setInstances(instanceTransforms, instanceColors, numInstances);
+            instancesDirty = false;
+        }
+    }
+}
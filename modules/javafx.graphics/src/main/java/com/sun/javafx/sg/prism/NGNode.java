@@ -213,6 +213,15 @@ public abstract class NGNode {
      */
     private CacheFilter cacheFilter;
 
+    /**
+     * Indicates whether translations of the children of this node are handled
+     * by scrolling the cached image of this node, such that only the newly
+     * exposed area needs to be rendered. This is always enabled when the
+     * prism.scrollcacheopt system property is set, and has no effect unless
+     * the node is cached.
+     */
+    private boolean scrollCacheOpt;
+
     /**
      * A filter used whenever an effect is placed on the node. Of course
      * effects can form a kind of tree, such that this one effect might be
@@ -362,7 +371,7 @@ public abstract class NGNode {
         boolean useHint = false;
 
         // If the parent is cached, try to check if the transformation is only a translation
-        if (parent != null && parent.cacheFilter != null && PrismSettings.scrollCacheOpt) {
+        if (parent != null && parent.isScrollCacheOpt()) {
             if (hint == null) {
                 // If there's no hint created yet, this is the first setTransformMatrix
                 // call and we have nothing to compare to yet.
@@ -394,6 +403,19 @@ public abstract class NGNode {
         invalidateOpaqueRegion();
     }
 
+    /**
+     * Called by the FX scene graph to tell us whether translations of the
+     * children of this node should be handled by scrolling the cached image.
+     * @param scrollCacheOpt whether to enable the scroll cache optimization
+     */
+    public void setScrollCacheOpt(boolean scrollCacheOpt) {
+        this.scrollCacheOpt = scrollCacheOpt;
+    }
+
+    private boolean isScrollCacheOpt() {
+        return cacheFilter != null && (scrollCacheOpt || PrismSettings.scrollCacheOpt);
+    }
+
     /**
      * Called by the FX scene graph whenever the clip node for this node changes.
      * @param clipNode can be null if the clip node is being cleared
@@ -826,9 +848,22 @@ public abstract class NGNode {
                 parent.dirtyChildrenAccumulated++;
                 parent.invalidateCacheByTranslation(hint);
                 parent.markTreeDirty();
+            } else if (parent != null && parent.dirty == DirtyFlag.CLEAN
+                    && parent.cacheFilter != null
+                    && parent.cacheFilter.isTranslationPending(hint.translateXDelta, hint.translateYDelta)) {
+                // All siblings that have become dirty so far were translated by
+                // the same amount (otherwise the cache would have been
+                // invalidated), so the cached image can still be scrolled.
+                // This is the case for the cells of a virtualized control.
+                dirty = DirtyFlag.DIRTY_BY_TRANSLATION;
+                parent.dirtyChildrenAccumulated++;
             } else {
                 markDirty();
             }
+        } else if (dirty == DirtyFlag.DIRTY_BY_TRANSLATION) {
+            // The node was translated again, so the translation of the cached
+            // image of the parent no longer matches the translation of this node.
+            markDirty();
         }
     }
 
@@ -939,12 +974,16 @@ public abstract class NGNode {
      * Invalidates the cache, if it is in use. There are several operations
      * which need to cause the cached raster to become invalid so that a
      * subsequent render operation will result in the cached image being
-     * reconstructed.
+     * reconstructed. The cached result of the effect, if any, is invalidated
+     * as well.
      */
     protected final void invalidateCache() {
         if (cacheFilter != null) {
             cacheFilter.invalidate();
         }
+        if (effectFilter != null) {
+            effectFilter.invalidate();
+        }
     }
 
     /**
@@ -955,6 +994,9 @@ public abstract class NGNode {
         if (cacheFilter != null) {
             cacheFilter.invalidateByTranslation(hint.translateXDelta, hint.translateYDelta);
         }
+        if (effectFilter != null) {
+            effectFilter.invalidate();
+        }
     }
 
     /***************************************************************************
@@ -1939,6 +1981,25 @@ public abstract class NGNode {
      *                                                                         *
      **************************************************************************/
 
+    /**
+     * Returns the approximate number of pixels painted by this node, which is the
+     * area of its content bounds in device space, within the current clip. The
+     * transform of the graphics must include the transform of this node.
+     */
+    private long getPaintedArea(Graphics g) {
+        BaseBounds bounds = g.getTransformNoClone().transform(contentBounds, TEMP_BOUNDS);
+        float x0 = bounds.getMinX(), y0 = bounds.getMinY();
+        float x1 = bounds.getMaxX(), y1 = bounds.getMaxY();
+        Rectangle clip = g.getClipRectNoClone();
+        if (clip != null) {
+            x0 = Math.max(x0, clip.x);
+            y0 = Math.max(y0, clip.y);
+            x1 = Math.min(x1, clip.x + clip.width);
+            y1 = Math.min(y1, clip.y + clip.height);
+        }
+        return x1 > x0 && y1 > y0 ? (long)((x1 - x0) * (y1 - y0)) : 0;
+    }
+
     /**
      * Render the tree of nodes to the specified G (graphics) object
      * descending from this node as the root. This method is designed to avoid
@@ -2048,6 +2109,13 @@ public abstract class NGNode {
         // The clip must be below the cache filter, as this is expected in the
         // CacheFilter in order to apply scrolling optimization
         g.transform(getTransform());
+
+        // The painted area of the frame is measured before rendering, as the
+        // filters below may leave the graphics in device space
+        boolean countPaintedArea = PULSE_LOGGING_ENABLED && PulseLogger.RENDER_STATISTICS.enabled;
+        long paintedArea = countPaintedArea ? PulseLogger.RENDER_STATISTICS.paintedArea : 0;
+        long nodePaintedArea = countPaintedArea ? getPaintedArea(g) : 0;
+
         // Try to keep track of whether this node was *really* painted. Still an
         // approximation, but somewhat more accurate (at least it doesn't include
         // groups which don't paint anything themselves).
@@ -2070,9 +2138,21 @@ public abstract class NGNode {
             p = true;
         } else {
             renderContent(g);
-            if (PrismSettings.showOverdraw) {
+            if (PrismSettings.showOverdraw || PULSE_LOGGING_ENABLED) {
                 p = this instanceof NGRegion || !(this instanceof NGGroup);
             }
+            if (countPaintedArea) {
+                // the children painted into the frame themselves
+                paintedArea = PulseLogger.RENDER_STATISTICS.paintedArea;
+            }
+        }
+
+        if (countPaintedArea) {
+            // The content of a node with a blend mode, opacity, cache, clip or
+            // effect is painted into the region of the node as a whole, so the
+            // areas that its descendants and its clip node added are dropped
+            // and the region is counted once
+            PulseLogger.RENDER_STATISTICS.paintedArea = p ? paintedArea + nodePaintedArea : paintedArea;
         }
 
         if (preCullingTurnedOff) {
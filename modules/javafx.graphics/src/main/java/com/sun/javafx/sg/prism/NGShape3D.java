@@ -89,9 +89,11 @@ public abstract class NGShape3D extends NGNode {
             meshView = null;
         }
 
+        boolean meshViewCreated = false;
         if (meshView == null && mesh != null) {
             meshView = rf.createMeshView(mesh.createMesh(rf));
             materialDirty = drawModeDirty = true;
+            meshViewCreated = true;
         }
 
         if (meshView == null || !mesh.validate()) {
@@ -233,9 +235,20 @@ public abstract class NGShape3D extends NGNode {
                     0, 0, 0);   // inner outer falloff
         }
 
+        updateMeshView(meshView, meshViewCreated);
         meshView.render(g);
     }
 
+    /**
+     * Called right before the mesh view is rendered, so that subclasses can
+     * update state of the mesh view that is not handled by this class.
+     *
+     * @param meshView the mesh view that is about to be rendered
+     * @param created whether the mesh view has been created for this render
+     */
+    void updateMeshView(MeshView meshView, boolean created) {
+    }
+
     public void setMesh(NGTriangleMesh triangleMesh) {
         this.mesh = triangleMesh;
         meshView = null;
@@ -58,6 +58,9 @@ public class NGTriangleMesh {
     private int[] faceSmoothingGroups;
     private int[] faceSmoothingGroupsFromAndLengthIndices = new int[2];
 
+    // the range of the last sync, which is merged into the ranges above
+    private final int[] syncedFromAndLengthIndices = new int[2];
+
     Mesh createMesh(ResourceFactory rf) {
 
         // Check whether the mesh is valid; dispose and recreate if needed
@@ -88,6 +91,11 @@ public class NGTriangleMesh {
                 throw new RuntimeException("NGTriangleMesh: buildGeometry failed");
             }
             meshDirty = false;
+            pointsFromAndLengthIndices[1] = 0;
+            normalsFromAndLengthIndices[1] = 0;
+            texCoordsFromAndLengthIndices[1] = 0;
+            facesFromAndLengthIndices[1] = 0;
+            faceSmoothingGroupsFromAndLengthIndices[1] = 0;
         }
         return true;
     }
@@ -142,29 +150,58 @@ public class NGTriangleMesh {
 
     public void syncPoints(FloatArraySyncer array) {
         meshDirty = true;
-        points = array != null ? array.syncTo(points, pointsFromAndLengthIndices) : null;
+        points = array != null ? array.syncTo(points, syncedFromAndLengthIndices) : null;
+        mergeRange(pointsFromAndLengthIndices);
     }
 
     public void syncNormals(FloatArraySyncer array) {
         meshDirty = true;
-        normals = array != null ? array.syncTo(normals, normalsFromAndLengthIndices) : null;
+        normals = array != null ? array.syncTo(normals, syncedFromAndLengthIndices) : null;
+        mergeRange(normalsFromAndLengthIndices);
     }
 
     public void syncTexCoords(FloatArraySyncer array) {
         meshDirty = true;
-        texCoords = array != null ? array.syncTo(texCoords, texCoordsFromAndLengthIndices) : null;
+        texCoords = array != null ? array.syncTo(texCoords, syncedFromAndLengthIndices) : null;
+        mergeRange(texCoordsFromAndLengthIndices);
     }
 
     public void syncFaces(IntegerArraySyncer array) {
         meshDirty = true;
-        faces = array != null ? array.syncTo(faces, facesFromAndLengthIndices) : null;
+        faces = array != null ? array.syncTo(faces, syncedFromAndLengthIndices) : null;
+        mergeRange(facesFromAndLengthIndices);
     }
 
     public void syncFaceSmoothingGroups(IntegerArraySyncer array) {
         meshDirty = true;
-        faceSmoothingGroups = array != null ? array.syncTo(faceSmoothingGroups, faceSmoothingGroupsFromAndLengthIndices) : null;
+        faceSmoothingGroups = array != null ? array.syncTo(faceSmoothingGroups, syncedFromAndLengthIndices) : null;
+        mergeRange(faceSmoothingGroupsFromAndLengthIndices);
+    }
+
+    /**
+     * Merges the range of the last sync into the given range, so that all
+     * the changes since the mesh was last built are applied to the mesh
+     * even if it was not rendered in between.
+     */
+    private void mergeRange(int[] fromAndLengthIndices) {
+        int from = syncedFromAndLengthIndices[0];
+        int length = syncedFromAndLengthIndices[1];
+        if (fromAndLengthIndices[1] == 0) {
+            fromAndLengthIndices[0] = from;
+            fromAndLengthIndices[1] = length;
+        } else if (length > 0) {
+            int to = Math.max(fromAndLengthIndices[0] + fromAndLengthIndices[1], from + length);
+            fromAndLengthIndices[0] = Math.min(fromAndLengthIndices[0], from);
+            fromAndLengthIndices[1] = to - fromAndLengthIndices[0];
+        }
+        syncedFromAndLengthIndices[0] = 0;
+        syncedFromAndLengthIndices[1] = 0;
     }
 
+    // NOTE: This method is used for unit test purpose only.
+    int[] test_getPointsFromAndLengthIndices() {
+        return this.pointsFromAndLengthIndices;
+    }
     // NOTE: This method is used for unit test purpose only.
     int[] test_getFaceSmoothingGroups() {
         return this.faceSmoothingGroups;
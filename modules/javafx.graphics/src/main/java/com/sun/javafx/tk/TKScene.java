@@ -27,6 +27,7 @@ package com.sun.javafx.tk;
 
 import java.security.AccessControlContext;
 import com.sun.javafx.sg.prism.NGCamera;
+import com.sun.javafx.sg.prism.NGCompositorAnimation;
 import com.sun.javafx.sg.prism.NGLightBase;
 import com.sun.javafx.sg.prism.NGNode;
 
@@ -85,6 +86,20 @@ public interface TKScene {
 
     public void entireSceneNeedsRepaint();
 
+    /**
+     * Starts evaluating the given animation on the render thread, where it
+     * repaints this scene on every frame without going through a pulse.
+     *
+     * @param animation the animation, which must not be modified afterwards
+     * @param onFinished called on the FX thread when the animation has
+     *                   finished, unless it has been cancelled
+     * @return false if this scene cannot run animations on the render thread,
+     *         in which case the caller has to run the animation itself
+     */
+    public default boolean startCompositorAnimation(NGCompositorAnimation animation, Runnable onFinished) {
+        return false;
+    }
+
     public TKClipboard createDragboard(boolean isDragSource);
 
     @SuppressWarnings("removal")
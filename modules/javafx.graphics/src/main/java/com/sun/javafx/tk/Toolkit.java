@@ -75,6 +75,7 @@ import com.sun.glass.ui.GlassRobot;
 import com.sun.glass.utils.NativeLibLoader;
 import com.sun.javafx.PlatformUtil;
 import com.sun.javafx.beans.event.AbstractNotifyListener;
+import com.sun.javafx.binding.WeakListenerCleaner;
 import com.sun.javafx.embed.HostInterface;
 import com.sun.javafx.geom.Path2D;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -442,6 +443,10 @@ public abstract class Toolkit {
         if (lastTkPulseListener != null) {
             runPulse(lastTkPulseListener, lastTkPulseAcc);
         }
+
+        // Remove the weak listeners that were garbage collected since the last
+        // pulse, so that they do not accumulate in long-lived observables
+        WeakListenerCleaner.cleanUp();
     }
     public void addStageTkPulseListener(TKPulseListener listener) {
         if (listener == null) {
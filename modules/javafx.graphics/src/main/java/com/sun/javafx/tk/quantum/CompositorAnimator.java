@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.javafx.tk.quantum;
+
+import com.sun.glass.ui.Application;
+import com.sun.javafx.logging.PulseLogger;
+import com.sun.javafx.sg.prism.NGCompositorAnimation;
+import com.sun.javafx.tk.RenderJob;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
+/**
+ * Drives {@link NGCompositorAnimation}s on the render thread. While there are
+ * running animations, the pulse timer posts a frame on every tick. A frame
+ * evaluates the animations under the render lock and repaints the scenes
+ * they belong to, without waiting for the FX thread.
+ * <p>
+ * Animations are added on the FX thread. A scene that already has a paint
+ * job pending is not repainted by the frame, since that paint job picks up
+ * the updated peers anyway.
+ */
+final class CompositorAnimator {
+
+    private static final class Entry {
+        final ViewScene scene;
+        final NGCompositorAnimation animation;
+        final Runnable onFinished;
+
+        Entry(ViewScene scene, NGCompositorAnimation animation, Runnable onFinished) {
+            this.scene = scene;
+            this.animation = animation;
+            this.onFinished = onFinished;
+        }
+    }
+
+    // Guarded by this
+    private final List<Entry> added = new ArrayList<>();
+    private volatile boolean active;
+
+    // Render thread only
+    private final List<Entry> running = new ArrayList<>();
+    private final List<ViewScene> scenes = new ArrayList<>();
+
+    private final AtomicBoolean framePosted = new AtomicBoolean();
+    private final RenderJob frameJob = new RenderJob(this::renderFrame);
+
+    /**
+     * Adds an animation, which is evaluated from the next frame on.
+     * This method is only called on the FX thread.
+     */
+    synchronized void start(ViewScene scene, NGCompositorAnimation animation, Runnable onFinished) {
+        added.add(new Entry(scene, animation, onFinished));
+        active = true;
+    }
+
+    /**
+     * Gets whether there are animations that need frames.
+     */
+    boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Posts a frame to the render thread, unless there is nothing to animate
+     * or the previous frame has not been rendered yet.
+     */
+    void postFrame() {
+        if (active && !framePosted.getAndSet(true)) {
+            QuantumRenderer.getInstance().submitRenderJob(frameJob);
+        }
+    }
+
+    private void renderFrame() {
+        framePosted.set(false);
+
+        synchronized (this) {
+            running.addAll(added);
+            added.clear();
+        }
+
+        long now = System.nanoTime();
+        ViewPainter.renderLock.lock();
+        try {
+            for (Iterator<Entry> it = running.iterator(); it.hasNext();) {
+                Entry entry = it.next();
+                if (entry.animation.isCancelled()) {
+                    it.remove();
+                    continue;
+                }
+
+                if (!entry.animation.update(now) || entry.scene.getPainter() == null) {
+                    it.remove();
+                    Application.invokeLater(entry.onFinished);
+                }
+
+                if (!scenes.contains(entry.scene)) {
+                    scenes.add(entry.scene);
+                }
+            }
+
+            if (PULSE_LOGGING_ENABLED && !scenes.isEmpty()) {
+                PulseLogger.incrementCounter("Compositor animation frames");
+            }
+
+            for (ViewScene scene : scenes) {
+                ViewPainter painter = scene.getPainter();
+                if (painter != null && !scene.isPainting()) {
+                    painter.run();
+                }
+            }
+        } finally {
+            scenes.clear();
+            ViewPainter.renderLock.unlock();
+        }
+
+        synchronized (this) {
+            active = !running.isEmpty() || !added.isEmpty();
+        }
+    }
+}
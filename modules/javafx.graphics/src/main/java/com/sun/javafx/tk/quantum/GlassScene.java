@@ -289,6 +289,10 @@ abstract class GlassScene implements TKScene {
         return painting.getAndSet(value);
     }
 
+    boolean isPainting() {
+        return painting.get();
+    }
+
     void repaint() {
         // Overridden in subclasses
     }
@@ -97,6 +97,7 @@ import com.sun.javafx.perf.PerformanceTracker;
 import com.sun.javafx.runtime.async.AbstractRemoteResource;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.scene.text.TextLayoutFactory;
+import com.sun.javafx.sg.prism.NGCompositorAnimation;
 import com.sun.javafx.sg.prism.NGNode;
 import com.sun.javafx.tk.CompletionListener;
 import com.sun.javafx.tk.FileChooserType;
@@ -238,6 +239,7 @@ public final class QuantumToolkit extends Toolkit {
     private Timer                   pulseTimer = null;
     private Thread                  shutdownHook = null;
     private PaintCollector          collector;
+    private final CompositorAnimator compositorAnimator = new CompositorAnimator();
     private QuantumRenderer         renderer;
     private GraphicsPipeline        pipeline;
 
@@ -353,6 +355,9 @@ public final class QuantumToolkit extends Toolkit {
             pulseRunnable = () -> QuantumToolkit.this.pulseFromQueue();
             timerRunnable = () -> {
                 try {
+                    if (toolkitRunning.get()) {
+                        compositorAnimator.postFrame();
+                    }
                     QuantumToolkit.this.postPulse();
                 } catch (Throwable th) {
                     th.printStackTrace(System.err);
@@ -498,7 +503,8 @@ public final class QuantumToolkit extends Toolkit {
             if (debug) {
                 System.err.println("QT.postPulse@(" + System.nanoTime() + "): " + pulseString());
             }
-        } else if (!animationRunning.get() && !nextPulseRequested.get() && !pulseRunning.get()) {
+        } else if (!animationRunning.get() && !nextPulseRequested.get() && !pulseRunning.get()
+                && !compositorAnimator.isActive()) {
             pauseTimer();
         } else if (debug) {
             System.err.println("QT.postPulse#(" + System.nanoTime() + "): DROP : " + pulseString());
@@ -884,6 +890,15 @@ public final class QuantumToolkit extends Toolkit {
         this.animationRunnable = animationRunnable;
     }
 
+    /**
+     * Starts an animation that is evaluated on the render thread, the pulse
+     * timer keeps running for as long as there are such animations.
+     */
+    void startCompositorAnimation(ViewScene scene, NGCompositorAnimation animation, Runnable onFinished) {
+        compositorAnimator.start(scene, animation, onFinished);
+        resumeTimer();
+    }
+
     @Override public void requestNextPulse() {
         nextPulseRequested.set(true);
     }
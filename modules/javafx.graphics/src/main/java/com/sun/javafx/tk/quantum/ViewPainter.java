@@ -318,6 +318,10 @@ abstract class ViewPainter implements Runnable {
                     dirtyRect.height = (int) Math.ceil (dirtyRegion.getMaxY() * pixelScaleY) - y0;
                     g.setClipRect(dirtyRect);
                     g.setClipRectIndex(i);
+                    if (PULSE_LOGGING_ENABLED && PulseLogger.RENDER_STATISTICS.enabled) {
+                        PulseLogger.RENDER_STATISTICS.dirtyRegions++;
+                        PulseLogger.RENDER_STATISTICS.dirtyArea += (long)dirtyRect.width * dirtyRect.height;
+                    }
                     doPaint(g, getRootPath(i));
                     getRootPath(i).clear();
                 }
@@ -326,6 +330,9 @@ abstract class ViewPainter implements Runnable {
             // There are no dirty regions, so just paint everything
             g.setHasPreCullingBits(false);
             g.setClipRect(null);
+            if (PULSE_LOGGING_ENABLED && PulseLogger.RENDER_STATISTICS.enabled) {
+                PulseLogger.RENDER_STATISTICS.dirtyArea += (long)Math.ceil(width * pixelScaleX) * (long)Math.ceil(height * pixelScaleY);
+            }
             this.doPaint(g, null);
         }
         root.renderForcedContent(g);
@@ -33,6 +33,7 @@ import com.sun.glass.ui.View;
 import com.sun.glass.ui.Window;
 import com.sun.javafx.cursor.CursorFrame;
 import com.sun.javafx.scene.NodeHelper;
+import com.sun.javafx.sg.prism.NGCompositorAnimation;
 import com.sun.javafx.sg.prism.NGNode;
 import com.sun.javafx.tk.Toolkit;
 import com.sun.prism.GraphicsPipeline;
@@ -142,6 +143,17 @@ class ViewScene extends GlassScene {
         }
     }
 
+    @Override
+    public boolean startCompositorAnimation(NGCompositorAnimation animation, Runnable onFinished) {
+        // Without a native window manager, all windows are recomposed by the
+        // pulse, so the render thread cannot repaint a single scene on its own
+        if (platformView == null || painter == null || !Application.GetApplication().hasWindowManager()) {
+            return false;
+        }
+        ((QuantumToolkit)Toolkit.getToolkit()).startCompositorAnimation(this, animation, onFinished);
+        return true;
+    }
+
     @Override
     public void enableInputMethodEvents(boolean enable) {
         platformView.enableInputMethodEvents(enable);
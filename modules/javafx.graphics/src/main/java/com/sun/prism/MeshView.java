@@ -50,6 +50,20 @@ public interface MeshView extends GraphicsResource {
             float ca, float la, float qa, float isAttenuated, float maxRange, float dirX, float dirY, float dirZ,
             float innerAngle, float outerAngle, float falloff);
 
+    /**
+     * Sets the instances of this mesh view. Each instance is described by a
+     * 3x4 row-major affine transform in {@code transforms} and an optional
+     * RGBA color in {@code colors}, which is multiplied with the diffuse color
+     * of the material. Instances without a color are rendered in white.
+     * A negative {@code numInstances} renders the mesh once, without any
+     * instance transform.
+     *
+     * @param transforms 12 floats per instance, may be null if numInstances <= 0
+     * @param colors 4 floats per instance, may be null or shorter than needed
+     * @param numInstances the number of instances, or -1 if not instanced
+     */
+    public void setInstances(float[] transforms, float[] colors, int numInstances);
+
     public void render(Graphics g);
 
     public boolean isValid();
@@ -31,6 +31,8 @@ import com.sun.javafx.geom.Vec3d;
 import com.sun.javafx.geom.transform.Affine3D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 import com.sun.javafx.sg.prism.NGCamera;
 import com.sun.javafx.sg.prism.NGDefaultCamera;
 import com.sun.prism.CompositeMode;
@@ -658,6 +660,9 @@ class D3DContext extends BaseShaderContext {
         }
 
         nRenderMeshView(pContext, nativeMeshView);
+        if (PULSE_LOGGING_ENABLED && PulseLogger.RENDER_STATISTICS.enabled) {
+            PulseLogger.RENDER_STATISTICS.drawCalls++;
+        }
     }
 
     @Override
@@ -95,10 +95,20 @@ class D3DMeshView extends BaseMeshView {
     @Override
     public void render(Graphics g) {
         material.lockTextureMaps();
-        context.renderMeshView(nativeHandle, g);
+        super.render(g);
         material.unlockTextureMaps();
     }
 
+    @Override
+    protected void renderMesh(Graphics g) {
+        context.renderMeshView(nativeHandle, g);
+    }
+
+    @Override
+    protected void setInstanceColor(float r, float g, float b, float a) {
+        material.modulateDiffuseColor(r, g, b, a);
+    }
+
     @Override
     public boolean isValid() {
         return !context.isDisposed();
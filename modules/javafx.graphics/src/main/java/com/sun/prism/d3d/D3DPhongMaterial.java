@@ -43,6 +43,10 @@ class D3DPhongMaterial extends BasePhongMaterial implements PhongMaterial {
     private final D3DContext context;
     private final long nativeHandle;
     private TextureMap maps[] = new TextureMap[MAX_MAP_TYPE];
+    private float diffuseRed = 1;
+    private float diffuseGreen = 1;
+    private float diffuseBlue = 1;
+    private float diffuseAlpha = 1;
 
     private D3DPhongMaterial(D3DContext context, long nativeHandle,
             Disposer.Record disposerRecord) {
@@ -63,9 +67,22 @@ class D3DPhongMaterial extends BasePhongMaterial implements PhongMaterial {
 
     @Override
     public void setDiffuseColor(float r, float g, float b, float a) {
+        diffuseRed = r;
+        diffuseGreen = g;
+        diffuseBlue = b;
+        diffuseAlpha = a;
         context.setDiffuseColor(nativeHandle, r, g, b, a);
     }
 
+    /**
+     * Multiplies the diffuse color with the given color until the next call
+     * of this method. Used to render the instances of a mesh view one by one.
+     */
+    void modulateDiffuseColor(float r, float g, float b, float a) {
+        context.setDiffuseColor(nativeHandle, diffuseRed * r, diffuseGreen * g,
+                diffuseBlue * b, diffuseAlpha * a);
+    }
+
     @Override
     public void setSpecularColor(boolean set, float r, float g, float b, float a) {
         context.setSpecularColor(nativeHandle, set, r, g, b, a);
@@ -25,6 +25,8 @@
 
 package com.sun.prism.d3d;
 
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 import com.sun.prism.MediaFrame;
 import com.sun.prism.PixelFormat;
 import com.sun.prism.Texture;
@@ -140,6 +142,9 @@ class D3DTexture extends BaseTexture<D3DTextureResource>
     {
         checkUpdateParams(pixels, format,
                           dstx, dsty, srcx, srcy, srcw, srch, srcscan);
+        if (PULSE_LOGGING_ENABLED && PulseLogger.RENDER_STATISTICS.enabled) {
+            PulseLogger.RENDER_STATISTICS.textureUploads++;
+        }
 
         if (!skipFlush) {
             getContext().flushVertexBuffer();
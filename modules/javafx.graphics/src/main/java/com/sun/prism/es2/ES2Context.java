@@ -32,6 +32,8 @@ import com.sun.javafx.geom.transform.Affine2D;
 import com.sun.javafx.geom.transform.Affine3D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 import com.sun.javafx.sg.prism.NGCamera;
 import com.sun.javafx.sg.prism.NGDefaultCamera;
 import com.sun.prism.CompositeMode;
@@ -138,8 +140,8 @@ class ES2Context extends BaseShaderContext {
         return pixelFormat;
     }
 
-    ES2Shader getPhongShader(ES2MeshView meshView) {
-        return ES2PhongShader.getShader(meshView, this);
+    ES2Shader getPhongShader(ES2MeshView meshView, boolean instanced) {
+        return ES2PhongShader.getShader(meshView, this, instanced);
     }
 
     void makeCurrent(GLDrawable drawable) {
@@ -403,6 +405,12 @@ class ES2Context extends BaseShaderContext {
                 vertexBufferLength, indexBuffer, indexBufferLength);
     }
 
+    boolean updateNativeGeometry(long nativeHandle, float[] vertexBuffer,
+            int vertexBufferLength, int from, int length) {
+        return glContext.updateNativeGeometry(nativeHandle, vertexBuffer,
+                vertexBufferLength, from, length);
+    }
+
     long createES2PhongMaterial() {
         return glContext.createES2PhongMaterial();
     }
@@ -470,8 +478,37 @@ class ES2Context extends BaseShaderContext {
     }
 
     void renderMeshView(long nativeHandle, Graphics g, ES2MeshView meshView) {
+        ES2Shader shader = getPhongShader(meshView, false);
+        setMeshViewParameters(shader, g, meshView);
+        glContext.renderMeshView(nativeHandle);
+        if (PULSE_LOGGING_ENABLED && PulseLogger.RENDER_STATISTICS.enabled) {
+            PulseLogger.RENDER_STATISTICS.drawCalls++;
+        }
+    }
 
-        ES2Shader shader = (ES2Shader) getPhongShader(meshView);
+    /**
+     * Renders all instances of the mesh view with a single instanced draw.
+     *
+     * @return false if instanced drawing is not available, in which case
+     *         nothing has been rendered
+     */
+    boolean renderMeshViewInstanced(long nativeHandle, Graphics g, ES2MeshView meshView) {
+        if (!glContext.canRenderInstanced()) {
+            return false;
+        }
+        float[] instanceData = meshView.getDirtyInstanceData();
+        if (instanceData != null && !glContext.updateInstanceData(nativeHandle,
+                instanceData, meshView.getNumInstances())) {
+            meshView.invalidateInstanceData();
+            return false;
+        }
+        ES2Shader shader = getPhongShader(meshView, true);
+        setMeshViewParameters(shader, g, meshView);
+        glContext.renderMeshViewInstanced(nativeHandle);
+        return true;
+    }
+
+    private void setMeshViewParameters(ES2Shader shader, Graphics g, ES2MeshView meshView) {
         setShaderProgram(shader.getProgramObject());
 
         // Support retina display by scaling the projViewTx and pass it to the shader.
@@ -505,8 +542,6 @@ class ES2Context extends BaseShaderContext {
 //        printRawMatrix("worldMatrix");
 
         ES2PhongShader.setShaderParamaters(shader, meshView, this);
-
-        glContext.renderMeshView(nativeHandle);
     }
 
     @Override
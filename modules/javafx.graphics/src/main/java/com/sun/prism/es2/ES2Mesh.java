@@ -78,6 +78,13 @@ class ES2Mesh extends BaseMesh {
                 vertexBufferLength, indexBufferShort, indexBufferLength);
     }
 
+    @Override
+    protected boolean updateNativeGeometry(float[] vertexBuffer, int vertexBufferLength,
+            int from, int length) {
+        return context.updateNativeGeometry(nativeHandle, vertexBuffer,
+                vertexBufferLength, from, length);
+    }
+
     static class ES2MeshDisposerRecord implements Disposer.Record {
 
         private final ES2Context context;
@@ -41,6 +41,14 @@ class ES2MeshView extends BaseMeshView {
     private float ambientLightRed = 0;
     private float ambientLightBlue = 0;
     private float ambientLightGreen = 0;
+    private float instanceColorRed = 1;
+    private float instanceColorGreen = 1;
+    private float instanceColorBlue = 1;
+    private float instanceColorAlpha = 1;
+
+    // the instance transforms and colors interleaved as they are uploaded
+    private float[] instanceData;
+    private boolean instanceDataDirty;
 
     // NOTE: We only support up to 3 point lights at the present
     private ES2Light[] lights = new ES2Light[3];
@@ -117,13 +125,93 @@ class ES2MeshView extends BaseMeshView {
         return lights;
     }
 
+    @Override
+    public void setInstances(float[] transforms, float[] colors, int numInstances) {
+        super.setInstances(transforms, colors, numInstances);
+        instanceDataDirty = true;
+    }
+
+    @Override
+    protected void setInstanceColor(float r, float g, float b, float a) {
+        instanceColorRed = r;
+        instanceColorGreen = g;
+        instanceColorBlue = b;
+        instanceColorAlpha = a;
+    }
+
+    float getInstanceColorRed() {
+        return instanceColorRed;
+    }
+
+    float getInstanceColorGreen() {
+        return instanceColorGreen;
+    }
+
+    float getInstanceColorBlue() {
+        return instanceColorBlue;
+    }
+
+    float getInstanceColorAlpha() {
+        return instanceColorAlpha;
+    }
+
+    /**
+     * Returns the instance data that has to be uploaded before the next
+     * instanced draw, or null if it has not changed since the last call.
+     * Each instance takes {@code GLContext.INSTANCE_DATA_SIZE} floats: the
+     * three rows of its transform followed by its color.
+     */
+    float[] getDirtyInstanceData() {
+        if (!instanceDataDirty) {
+            return null;
+        }
+        int numInstances = getNumInstances();
+        float[] transforms = getInstanceTransforms();
+        float[] colors = getInstanceColors();
+        int size = numInstances * GLContext.INSTANCE_DATA_SIZE;
+        if (instanceData == null || instanceData.length < size) {
+            instanceData = new float[size];
+        }
+        for (int i = 0; i < numInstances; i++) {
+            int d = i * GLContext.INSTANCE_DATA_SIZE;
+            System.arraycopy(transforms, i * INSTANCE_TRANSFORM_SIZE,
+                    instanceData, d, INSTANCE_TRANSFORM_SIZE);
+            d += INSTANCE_TRANSFORM_SIZE;
+            int c = i * INSTANCE_COLOR_SIZE;
+            if (colors != null && c + INSTANCE_COLOR_SIZE <= colors.length) {
+                System.arraycopy(colors, c, instanceData, d, INSTANCE_COLOR_SIZE);
+            } else {
+                instanceData[d] = instanceData[d + 1] = 1f;
+                instanceData[d + 2] = instanceData[d + 3] = 1f;
+            }
+        }
+        instanceDataDirty = false;
+        return instanceData;
+    }
+
+    void invalidateInstanceData() {
+        instanceDataDirty = true;
+    }
+
     @Override
     public void render(Graphics g) {
         material.lockTextureMaps();
-        context.renderMeshView(nativeHandle, g, this);
+        super.render(g);
         material.unlockTextureMaps();
     }
 
+    @Override
+    protected void renderMesh(Graphics g) {
+        context.renderMeshView(nativeHandle, g, this);
+    }
+
+    @Override
+    protected void renderInstances(Graphics g) {
+        if (!context.renderMeshViewInstanced(nativeHandle, g, this)) {
+            super.renderInstances(g);
+        }
+    }
+
     ES2PhongMaterial getMaterial() {
         return material;
     }
@@ -133,6 +221,7 @@ class ES2MeshView extends BaseMeshView {
         // TODO: 3D - Need a mechanism to "decRefCount" Mesh and Material
         material = null;
         lights = null;
+        instanceData = null;
         disposerRecord.dispose();
         count--;
     }
@@ -34,7 +34,7 @@ import java.util.Map;
 class ES2PhongShader {
 
     //dimensions:
-    static ES2Shader shaders[][][][][] = null;
+    static ES2Shader shaders[][][][][][] = null;
     static String vertexShaderSource;
     static String mainFragShaderSource;
 
@@ -65,6 +65,7 @@ class ES2PhongShader {
         TEXTURE,
     }
     static final int lightStateCount = 4;
+    private static final String INSTANCED_DEFINE = "#define INSTANCED\n";
     private static String diffuseShaderParts[] = new String[DiffuseState.values().length];
     private static String specularShaderParts[] = new String[SpecularState.values().length];
     private static String selfIllumShaderParts[] = new String[SelfIllumState.values().length];
@@ -73,7 +74,7 @@ class ES2PhongShader {
 
     static {
         shaders = new ES2Shader[DiffuseState.values().length][SpecularState.values().length]
-                [SelfIllumState.values().length][BumpMapState.values().length][lightStateCount];
+                [SelfIllumState.values().length][BumpMapState.values().length][lightStateCount][2];
 
         //NOTE: When creating new shaders, underscore denotes a "shader part"
         diffuseShaderParts[DiffuseState.NONE.ordinal()] =
@@ -124,7 +125,7 @@ class ES2PhongShader {
                 SpecularState.COLOR : SpecularState.NONE;
     }
 
-    static ES2Shader getShader(ES2MeshView meshView, ES2Context context) {
+    static ES2Shader getShader(ES2MeshView meshView, ES2Context context, boolean instanced) {
 
         ES2PhongMaterial material = meshView.getMaterial();
 
@@ -150,14 +151,21 @@ class ES2PhongShader {
             if (light != null && light.w > 0) { numLights++; }
         }
 
+        int instancedState = instanced ? 1 : 0;
         ES2Shader shader = shaders[diffuseState.ordinal()][specularState.ordinal()]
-                [selfIllumState.ordinal()][bumpState.ordinal()][numLights];
+                [selfIllumState.ordinal()][bumpState.ordinal()][numLights][instancedState];
         if (shader == null) {
             String fragShader = lightingShaderParts[numLights].replace("vec4 apply_diffuse();", diffuseShaderParts[diffuseState.ordinal()]);
             fragShader = fragShader.replace("vec4 apply_specular();", specularShaderParts[specularState.ordinal()]);
             fragShader = fragShader.replace("vec3 apply_normal();", normalMapShaderParts[bumpState.ordinal()]);
             fragShader = fragShader.replace("vec4 apply_selfIllum();", selfIllumShaderParts[selfIllumState.ordinal()]);
 
+            String vertShader = vertexShaderSource;
+            if (instanced) {
+                vertShader = INSTANCED_DEFINE + vertShader;
+                fragShader = INSTANCED_DEFINE + fragShader;
+            }
+
             String[] pixelShaders = new String[]{
                 fragShader
             };
@@ -167,6 +175,12 @@ class ES2PhongShader {
             attributes.put("pos", 0);
             attributes.put("texCoords", 1);
             attributes.put("tangent", 2);
+            if (instanced) {
+                attributes.put("instanceRow0", 3);
+                attributes.put("instanceRow1", 4);
+                attributes.put("instanceRow2", 5);
+                attributes.put("instanceColor", 6);
+            }
 
             Map<String, Integer> samplers = new HashMap<String, Integer>();
             samplers.put("diffuseTexture", 0);
@@ -174,11 +188,11 @@ class ES2PhongShader {
             samplers.put("normalMap", 2);
             samplers.put("selfIllumTexture", 3);
 
-            shader = ES2Shader.createFromSource(context, vertexShaderSource, pixelShaders, samplers, attributes, 1, false);
+            shader = ES2Shader.createFromSource(context, vertShader, pixelShaders, samplers, attributes, 1, false);
 
 
             shaders[diffuseState.ordinal()][specularState.ordinal()][selfIllumState.ordinal()]
-                    [bumpState.ordinal()][numLights] = shader;
+                    [bumpState.ordinal()][numLights][instancedState] = shader;
         }
         return shader;
     }
@@ -187,9 +201,12 @@ class ES2PhongShader {
 
         ES2PhongMaterial material = meshView.getMaterial();
 
-        shader.setConstant("diffuseColor", material.diffuseColor.getRed(),
-                material.diffuseColor.getGreen(), material.diffuseColor.getBlue(),
-                material.diffuseColor.getAlpha());
+        // the instance color is white unless the instances are drawn one by one
+        shader.setConstant("diffuseColor",
+                material.diffuseColor.getRed() * meshView.getInstanceColorRed(),
+                material.diffuseColor.getGreen() * meshView.getInstanceColorGreen(),
+                material.diffuseColor.getBlue() * meshView.getInstanceColorBlue(),
+                material.diffuseColor.getAlpha() * meshView.getInstanceColorAlpha());
 
         shader.setConstant("specularColor", material.specularColor.getRed(),
                 material.specularColor.getGreen(), material.specularColor.getBlue(),
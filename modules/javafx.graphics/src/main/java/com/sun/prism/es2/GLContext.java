@@ -115,10 +115,14 @@ abstract class GLContext {
     // Use by Uniform Matrix
     final static int NUM_MATRIX_ELEMENTS          = 16;
 
+    // Floats per instance of an instanced mesh view: 3 transform rows + color
+    final static int INSTANCE_DATA_SIZE           = 16;
+
     long nativeCtxInfo;
     private int maxTextureSize = -1;
     private Boolean nonPowTwoExtAvailable;
     private Boolean clampToZeroAvailable;
+    private Boolean instancingAvailable;
 
     // TODO : Consider moving these cached values to ES2Context.
     // track some other state here to avoid redundant state changes
@@ -235,6 +239,8 @@ abstract class GLContext {
             float[] vertexBuffer, int vertexBufferLength, short[] indexBuffer, int indexBufferLength);
     private static native boolean nBuildNativeGeometryInt(long nativeCtxInfo, long nativeHandle,
             float[] vertexBuffer, int vertexBufferLength, int[] indexBuffer, int indexBufferLength);
+    private static native boolean nUpdateNativeGeometry(long nativeCtxInfo, long nativeHandle,
+            float[] vertexBuffer, int vertexBufferLength, int from, int length);
     private static native long nCreateES2PhongMaterial(long nativeCtxInfo);
     private static native void nReleaseES2PhongMaterial(long nativeCtxInfo, long nativeHandle);
     private static native void nSetSolidColor(long nativeCtxInfo, long nativePhongMaterial,
@@ -256,6 +262,9 @@ abstract class GLContext {
             float isAttenuated, float maxRange, float dirX, float dirY, float dirZ,
             float innerAngle, float outerAngle, float falloff);
     private static native void nRenderMeshView(long nativeCtxInfo, long nativeMeshViewInfo);
+    private static native boolean nUpdateInstanceData(long nativeCtxInfo, long nativeMeshViewInfo,
+            float[] instanceData, int numInstances);
+    private static native void nRenderMeshViewInstanced(long nativeCtxInfo, long nativeMeshViewInfo);
     private static native void nBlit(long nativeCtxInfo, int srcFBO, int dstFBO,
             int srcX0, int srcY0, int srcX1, int srcY1,
             int dstX0, int dstY0, int dstX1, int dstY1);
@@ -315,6 +324,16 @@ abstract class GLContext {
         return clampToZeroAvailable.booleanValue();
     }
 
+    boolean canRenderInstanced() {
+        if (instancingAvailable == null) {
+            instancingAvailable = !PrismSettings.noInstancing
+                && ES2Pipeline.glFactory.isGL2()
+                && ES2Pipeline.glFactory.isGLExtensionSupported("GL_ARB_instanced_arrays")
+                && ES2Pipeline.glFactory.isGLExtensionSupported("GL_ARB_draw_instanced");
+        }
+        return instancingAvailable.booleanValue();
+    }
+
     void clearBuffers(Color color, boolean clearColor,
             boolean clearDepth, boolean ignoreScissor) {
         float r = color.getRedPremult();
@@ -760,6 +779,12 @@ abstract class GLContext {
                 vertexBufferLength, indexBuffer, indexBufferLength);
     }
 
+    boolean updateNativeGeometry(long nativeHandle, float[] vertexBuffer,
+            int vertexBufferLength, int from, int length) {
+        return nUpdateNativeGeometry(nativeCtxInfo, nativeHandle, vertexBuffer,
+                vertexBufferLength, from, length);
+    }
+
     long createES2PhongMaterial() {
         return nCreateES2PhongMaterial(nativeCtxInfo);
     }
@@ -820,4 +845,12 @@ abstract class GLContext {
     void renderMeshView(long nativeMeshViewInfo) {
         nRenderMeshView(nativeCtxInfo, nativeMeshViewInfo);
     }
+
+    boolean updateInstanceData(long nativeMeshViewInfo, float[] instanceData, int numInstances) {
+        return nUpdateInstanceData(nativeCtxInfo, nativeMeshViewInfo, instanceData, numInstances);
+    }
+
+    void renderMeshViewInstanced(long nativeMeshViewInfo) {
+        nRenderMeshViewInstanced(nativeCtxInfo, nativeMeshViewInfo);
+    }
 }
@@ -37,6 +37,8 @@ import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.javafx.image.ByteToBytePixelConverter;
 import com.sun.javafx.image.impl.ByteGray;
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 import com.sun.javafx.sg.prism.NGCamera;
 import com.sun.prism.PixelFormat;
 import com.sun.prism.RTTexture;
@@ -123,6 +125,9 @@ public abstract class BaseContext {
     public void drawQuads(float coordArray[], byte colorArray[], int numVertices) {
         flushMask();
         renderQuads(coordArray, colorArray, numVertices);
+        if (PULSE_LOGGING_ENABLED && PulseLogger.RENDER_STATISTICS.enabled) {
+            PulseLogger.RENDER_STATISTICS.drawCalls++;
+        }
     }
 
     protected GeneralTransform3D getPerspectiveTransformNoClone() {
@@ -78,7 +78,34 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
     public abstract boolean buildNativeGeometry(float[] vertexBuffer,
             int vertexBufferLength, short[] indexBufferShort, int indexBufferLength);
 
+    /**
+     * Updates a range of the vertex buffer of the native geometry after
+     * the vertex data in that range has been changed. The index buffer and
+     * the length of the vertex buffer are the same as for the last call to
+     * {@code buildNativeGeometry}. The default implementation builds the
+     * native geometry again.
+     *
+     * @param vertexBuffer the vertex buffer
+     * @param vertexBufferLength the length of the vertex buffer
+     * @param from the index of the first changed element
+     * @param length the number of changed elements
+     * @return true if the native geometry was updated successfully
+     */
+    protected boolean updateNativeGeometry(float[] vertexBuffer,
+            int vertexBufferLength, int from, int length) {
+        if (indexBuffer != null) {
+            return buildNativeGeometry(vertexBuffer, vertexBufferLength,
+                    indexBuffer, indexBufferSize);
+        } else {
+            return buildNativeGeometry(vertexBuffer, vertexBufferLength,
+                    indexBufferShort, indexBufferSize);
+        }
+    }
+
     private boolean[] dirtyVertices;
+    // The range of dirty vertices is [dirtyVerticesFrom, dirtyVerticesTo)
+    private int dirtyVerticesFrom;
+    private int dirtyVerticesTo;
     private float[] cachedNormals;
     private float[] cachedTangents;
     private float[] cachedBitangents;
@@ -94,13 +121,14 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
 
     private void convertNormalsToQuats(MeshTempState instance, int numberOfVertices,
             float[] normals, float[] tangents, float[] bitangents,
-            float[] vertexBuffer, boolean[] dirtys) {
+            float[] vertexBuffer, boolean[] dirtys, int from) {
 
         Vec3f normal = instance.vec3f1;
         Vec3f tangent = instance.vec3f2;
         Vec3f bitangent = instance.vec3f3;
-        for (int i = 0, vbIndex = 0; i < numberOfVertices; i++, vbIndex += VERTEX_SIZE_VB) {
-            // Note: If dirtys isn't null, dirtys.length == numberOfVertices is true
+        for (int i = from, vbIndex = from * VERTEX_SIZE_VB; i < numberOfVertices;
+                i++, vbIndex += VERTEX_SIZE_VB) {
+            // Note: If dirtys isn't null, dirtys.length >= numberOfVertices is true
             if (dirtys == null || dirtys[i]) {
                 int index = i * NORMAL_SIZE;
 
@@ -300,7 +328,7 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
         numberOfVertices = vbCount / VERTEX_SIZE_VB;
 
         convertNormalsToQuats(instance, numberOfVertices,
-                cachedNormals, cachedTangents, cachedBitangents, vertexBuffer, null);
+                cachedNormals, cachedTangents, cachedBitangents, vertexBuffer, null, 0);
 
         indexBufferSize = numFaces * 3;
 
@@ -329,12 +357,13 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
             float[] normals, int[] normalsFromAndLengthIndices,
             float[] texCoords, int[] texCoordsFromAndLengthIndices) {
 
-        if (dirtyVertices == null) {
+        if (dirtyVertices == null || dirtyVertices.length != numberOfVertices) {
             // Create a dirty array of size equal to number of vertices in vertexBuffer.
             dirtyVertices = new boolean[numberOfVertices];
         }
-        // Clear dirty array before use.
-        Arrays.fill(dirtyVertices, false);
+        // The dirty array is cleared after use, so only the range needs to be reset.
+        dirtyVerticesFrom = numberOfVertices;
+        dirtyVerticesTo = 0;
 
         // Find out the list of modified points
         int startPoint = pointsFromAndLengthIndices[0] / POINT_SIZE;
@@ -358,7 +387,7 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
                             vertexBuffer[vbIndex] = points[pointOffset];
                             vertexBuffer[vbIndex + 1] = points[pointOffset + 1];
                             vertexBuffer[vbIndex + 2] = points[pointOffset + 2];
-                            dirtyVertices[locs[j]] = true;
+                            markVertexDirty(locs[j]);
                         }
                     } else {
                         int loc = mp2vb.getLoc();
@@ -366,7 +395,7 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
                         vertexBuffer[vbIndex] = points[pointOffset];
                         vertexBuffer[vbIndex + 1] = points[pointOffset + 1];
                         vertexBuffer[vbIndex + 2] = points[pointOffset + 2];
-                        dirtyVertices[loc] = true;
+                        markVertexDirty(loc);
                     }
                 }
             }
@@ -393,14 +422,14 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
                             int vbIndex = (locs[j] * VERTEX_SIZE_VB) + POINT_SIZE_VB;
                             vertexBuffer[vbIndex] = texCoords[texCoordOffset];
                             vertexBuffer[vbIndex + 1] = texCoords[texCoordOffset + 1];
-                            dirtyVertices[locs[j]] = true;
+                            markVertexDirty(locs[j]);
                         }
                     } else {
                         int loc = mt2vb.getLoc();
                         int vbIndex = (loc * VERTEX_SIZE_VB) + POINT_SIZE_VB;
                         vertexBuffer[vbIndex] = texCoords[texCoordOffset];
                         vertexBuffer[vbIndex + 1] = texCoords[texCoordOffset + 1];
-                        dirtyVertices[loc] = true;
+                        markVertexDirty(loc);
                     }
                 }
             }
@@ -429,7 +458,7 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
                             cachedNormals[index] = normals[normalOffset];
                             cachedNormals[index + 1] = normals[normalOffset + 1];
                             cachedNormals[index + 2] = normals[normalOffset + 2];
-                            dirtyVertices[locs[j]] = true;
+                            markVertexDirty(locs[j]);
                         }
                     } else {
                         int loc = mn2vb.getLoc();
@@ -437,7 +466,7 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
                             cachedNormals[index] = normals[normalOffset];
                             cachedNormals[index + 1] = normals[normalOffset + 1];
                             cachedNormals[index + 2] = normals[normalOffset + 2];
-                            dirtyVertices[loc] = true;
+                            markVertexDirty(loc);
                     }
                 }
             }
@@ -453,8 +482,13 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
                 instance.triTexCoords[i] = new Vec2f();
             }
         }
+        if (dirtyVerticesFrom >= dirtyVerticesTo) {
+            // Nothing has changed
+            return true;
+        }
+
         // Every 3 vertices form a triangle
-        for (int j = 0; j < numberOfVertices; j += 3) {
+        for (int j = dirtyVerticesFrom - dirtyVerticesFrom % 3; j < dirtyVerticesTo; j += 3) {
             // Only process the triangle that has one of more dirty vertices
             if (dirtyVertices[j] || dirtyVertices[j+1] || dirtyVertices[j+2]) {
                 int vbIndex = j * VERTEX_SIZE_VB;
@@ -482,22 +516,34 @@ public abstract class BaseMesh extends BaseGraphicsResource implements Mesh {
                     cachedBitangents[index + 1] = instance.triNormals[2].y;
                     cachedBitangents[index + 2] = instance.triNormals[2].z;
                     index += NORMAL_SIZE;
+                    // The tangent space of all the vertices of the triangle
+                    // has changed, so their quaternions need to be updated
+                    markVertexDirty(j + i);
                 }
 
             }
         }
 
-        convertNormalsToQuats(instance, numberOfVertices,
-                cachedNormals, cachedTangents, cachedBitangents, vertexBuffer, dirtyVertices);
+        convertNormalsToQuats(instance, dirtyVerticesTo,
+                cachedNormals, cachedTangents, cachedBitangents, vertexBuffer,
+                dirtyVertices, dirtyVerticesFrom);
 
-        if (indexBuffer != null) {
-            return buildNativeGeometry(vertexBuffer,
-                    numberOfVertices * VERTEX_SIZE_VB, indexBuffer, indexBufferSize);
-        } else {
-            return buildNativeGeometry(vertexBuffer,
-                    numberOfVertices * VERTEX_SIZE_VB, indexBufferShort, indexBufferSize);
-        }
+        Arrays.fill(dirtyVertices, dirtyVerticesFrom, dirtyVerticesTo, false);
 
+        // Only upload the range of the vertex buffer that has changed
+        return updateNativeGeometry(vertexBuffer, numberOfVertices * VERTEX_SIZE_VB,
+                dirtyVerticesFrom * VERTEX_SIZE_VB,
+                (dirtyVerticesTo - dirtyVerticesFrom) * VERTEX_SIZE_VB);
+    }
+
+    private void markVertexDirty(int loc) {
+        dirtyVertices[loc] = true;
+        if (loc < dirtyVerticesFrom) {
+            dirtyVerticesFrom = loc;
+        }
+        if (loc >= dirtyVerticesTo) {
+            dirtyVerticesTo = loc + 1;
+        }
     }
 
     @Override
@@ -25,6 +25,8 @@
 
 package com.sun.prism.impl;
 
+import com.sun.javafx.geom.transform.Affine3D;
+import com.sun.prism.Graphics;
 import com.sun.prism.MeshView;
 
 /**
@@ -32,6 +34,16 @@ import com.sun.prism.MeshView;
  */
 public abstract class BaseMeshView extends BaseGraphicsResource implements MeshView {
 
+    public static final int INSTANCE_TRANSFORM_SIZE = 12;
+    public static final int INSTANCE_COLOR_SIZE = 4;
+
+    private float[] instanceTransforms;
+    private float[] instanceColors;
+    private int numInstances = -1;
+
+    private final Affine3D savedTx = new Affine3D();
+    private final Affine3D instanceTx = new Affine3D();
+
     protected BaseMeshView(Disposer.Record disposerRecord) {
         super(disposerRecord);
     }
@@ -41,4 +53,77 @@ public abstract class BaseMeshView extends BaseGraphicsResource implements MeshV
         return true;
     }
 
+    @Override
+    public void setInstances(float[] transforms, float[] colors, int numInstances) {
+        if (numInstances > 0 && (transforms == null
+                || transforms.length < numInstances * INSTANCE_TRANSFORM_SIZE)) {
+            throw new IllegalArgumentException("not enough instance transforms");
+        }
+        this.instanceTransforms = transforms;
+        this.instanceColors = colors;
+        this.numInstances = numInstances;
+    }
+
+    public final int getNumInstances() {
+        return numInstances;
+    }
+
+    public final float[] getInstanceTransforms() {
+        return instanceTransforms;
+    }
+
+    public final float[] getInstanceColors() {
+        return instanceColors;
+    }
+
+    @Override
+    public void render(Graphics g) {
+        if (numInstances < 0) {
+            renderMesh(g);
+        } else if (numInstances > 0) {
+            renderInstances(g);
+        }
+    }
+
+    /**
+     * Renders the mesh once with the current transform of the graphics.
+     */
+    protected abstract void renderMesh(Graphics g);
+
+    /**
+     * Sets the color that is multiplied with the diffuse color of the
+     * material for the following calls to {@link #renderMesh(Graphics)}.
+     */
+    protected abstract void setInstanceColor(float r, float g, float b, float a);
+
+    /**
+     * Renders all instances of the mesh. The default implementation issues
+     * one draw call per instance; pipelines that support instanced drawing
+     * override this method to render all instances at once.
+     */
+    protected void renderInstances(Graphics g) {
+        final float[] tx = instanceTransforms;
+        final float[] colors = instanceColors;
+        savedTx.setTransform(g.getTransformNoClone());
+        try {
+            for (int i = 0; i < numInstances; i++) {
+                int t = i * INSTANCE_TRANSFORM_SIZE;
+                instanceTx.setTransform(savedTx);
+                instanceTx.concatenate(tx[t],     tx[t + 1], tx[t + 2],  tx[t + 3],
+                                       tx[t + 4], tx[t + 5], tx[t + 6],  tx[t + 7],
+                                       tx[t + 8], tx[t + 9], tx[t + 10], tx[t + 11]);
+                g.setTransform(instanceTx);
+                int c = i * INSTANCE_COLOR_SIZE;
+                if (colors != null && c + INSTANCE_COLOR_SIZE <= colors.length) {
+                    setInstanceColor(colors[c], colors[c + 1], colors[c + 2], colors[c + 3]);
+                } else {
+                    setInstanceColor(1f, 1f, 1f, 1f);
+                }
+                renderMesh(g);
+            }
+        } finally {
+            setInstanceColor(1f, 1f, 1f, 1f);
+            g.setTransform(savedTx);
+        }
+    }
 }
@@ -25,7 +25,10 @@
 
 package com.sun.prism.impl;
 
+import com.sun.javafx.logging.PulseLogger;
 import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The base implementation of the {@link ResourcePool} interface, providing
@@ -66,7 +69,14 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
         stageReasons[5] = "Pruning all older than "+RECENTLY_USEFUL;
     }
 
+    // All pools, for reporting their statistics at the end of each frame
+    private static final List<BaseResourcePool<?>> pools = new CopyOnWriteArrayList<>();
+
     long managedSize;
+    // Number of allocations and evictions since the last report, only counted
+    // if the render statistics are enabled
+    private int allocations;
+    private int evictions;
     final long origTarget;
     long curTarget;
     final long maxSize;
@@ -90,6 +100,23 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
                         ? max
                         : Math.min(parent.max(), max));
         managerThread = Thread.currentThread();
+        pools.add(this);
+    }
+
+    /**
+     * Reports the number of allocations and evictions since the last report,
+     * and the current size of each pool that is in use to the pulse logger.
+     * This is called at the end of each frame if the render statistics are enabled.
+     */
+    public static void reportStatistics() {
+        for (BaseResourcePool<?> pool : pools) {
+            if (pool.allocations > 0 || pool.evictions > 0 || pool.managedSize > 0) {
+                PulseLogger.texturePoolStatistics(pool.toString(), pool.allocations, pool.evictions,
+                                                  pool.used(), pool.target(), pool.max());
+            }
+            pool.allocations = 0;
+            pool.evictions = 0;
+        }
     }
 
     /**
@@ -232,6 +259,9 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
                        predicate.test(mr))
             {
                 if (PrismSettings.poolDebug) showLink("pruning", cur, true);
+                if (PulseLogger.RENDER_STATISTICS.enabled) {
+                    evictions++;
+                }
                 mr.free();
                 mr.resource = null;
                 recordFree(cur.size);
@@ -440,6 +470,9 @@ public abstract class BaseResourcePool<T> implements ResourcePool<T> {
         long size = size(mr.resource);
         resourceHead.insert(mr, size);
         recordAllocated(size);
+        if (PulseLogger.RENDER_STATISTICS.enabled) {
+            allocations++;
+        }
     }
 
     @Override
@@ -253,6 +253,9 @@ public class GlyphCache {
         }
 
         // Render the glyph and insert it in the cache
+        if (PULSE_LOGGING_ENABLED && PulseLogger.RENDER_STATISTICS.enabled) {
+            PulseLogger.RENDER_STATISTICS.glyphCacheMisses++;
+        }
         GlyphData data = null;
         Glyph glyph = strike.getGlyph(glyphCode);
         if (glyph != null) {
@@ -288,6 +291,9 @@ public class GlyphCache {
                 if (!packer.add(rect)) {
                     if (PULSE_LOGGING_ENABLED) {
                         PulseLogger.incrementCounter("Font Glyph Cache Cleared");
+                        if (PulseLogger.RENDER_STATISTICS.enabled) {
+                            PulseLogger.RENDER_STATISTICS.glyphCacheFlushes++;
+                        }
                     }
                     // If add fails,clear up the cache. Try add again.
                     clearAll();
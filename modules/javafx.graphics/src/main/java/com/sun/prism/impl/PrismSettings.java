@@ -46,6 +46,7 @@ public final class PrismSettings {
     public static final boolean dirtyOptsEnabled;
     public static final boolean occlusionCullingEnabled;
     public static final boolean scrollCacheOpt;
+    public static final boolean effectCache;
     public static final boolean threadCheck;
     public static final boolean cacheSimpleShapes;
     public static final boolean cacheComplexShapes;
@@ -68,6 +69,7 @@ public final class PrismSettings {
     public static final boolean disableRegionCaching;
     public static final boolean forcePow2;
     public static final boolean noClampToZero;
+    public static final boolean noInstancing;
     public static final boolean disableD3D9Ex;
     public static final boolean allowHiDPIScaling;
     public static final long maxVram;
@@ -139,6 +141,9 @@ public final class PrismSettings {
         // Disabled as a workaround for RT-39755.
         scrollCacheOpt = getBoolean(systemProperties, "prism.scrollcacheopt", false);
 
+        // Reuse the results of effects whose input has not changed
+        effectCache = getBoolean(systemProperties, "prism.effectcache", false);
+
         /* Dirty region optimizations */
         threadCheck = getBoolean(systemProperties, "prism.threadcheck", false);
 
@@ -262,6 +267,7 @@ public final class PrismSettings {
 
         forcePow2 = getBoolean(systemProperties, "prism.forcepowerof2", false);
         noClampToZero = getBoolean(systemProperties, "prism.noclamptozero", false);
+        noInstancing = getBoolean(systemProperties, "prism.noinstancing", false);
 
         allowHiDPIScaling = getBoolean(systemProperties, "prism.allowhidpi", true);
 
@@ -292,6 +298,7 @@ public final class PrismSettings {
             }
             printBooleanOption(forcePow2, "Forcing power of 2 sizes for textures");
             printBooleanOption(!noClampToZero, "Using hardware CLAMP_TO_ZERO mode");
+            printBooleanOption(!noInstancing, "Using hardware instanced rendering");
             printBooleanOption(allowHiDPIScaling, "Opting in for HiDPI pixel scaling");
         }
 
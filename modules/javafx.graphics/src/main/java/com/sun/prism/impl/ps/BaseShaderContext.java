@@ -30,6 +30,8 @@ import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.transform.Affine3D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 import com.sun.javafx.sg.prism.NGCamera;
 import com.sun.prism.CompositeMode;
 import com.sun.prism.PixelFormat;
@@ -681,6 +683,7 @@ public abstract class BaseShaderContext extends BaseContext {
         if ((checkFlags & CHECK_SHADER) != 0) {
             if (shader != state.lastShader) {
                 flushVertexBuffer();
+                countStateChange();
                 shader.enable();
                 state.lastShader = shader;
                 // the transform matrix is part of the state of each shader
@@ -694,6 +697,7 @@ public abstract class BaseShaderContext extends BaseContext {
         if ((checkFlags & CHECK_TRANSFORM) != 0) {
             if (!state.isXformValid || !xform.equals(state.lastTransform)) {
                 flushVertexBuffer();
+                countStateChange();
                 updateShaderTransform(shader, xform);
                 state.lastTransform.setTransform(xform);
                 state.isXformValid = true;
@@ -704,6 +708,7 @@ public abstract class BaseShaderContext extends BaseContext {
             Rectangle clip = g.getClipRectNoClone();
             if (clip != state.lastClip) {
                 flushVertexBuffer();
+                countStateChange();
                 updateClipRect(clip);
                 state.lastClip = clip;
             }
@@ -713,18 +718,26 @@ public abstract class BaseShaderContext extends BaseContext {
             CompositeMode mode = g.getCompositeMode();
             if (mode != state.lastComp) {
                 flushVertexBuffer();
+                countStateChange();
                 updateCompositeMode(mode);
                 state.lastComp = mode;
             }
         }
     }
 
+    private static void countStateChange() {
+        if (PULSE_LOGGING_ENABLED && PulseLogger.RENDER_STATISTICS.enabled) {
+            PulseLogger.RENDER_STATISTICS.stateChanges++;
+        }
+    }
+
     private void setTexture(int texUnit, Texture tex) {
         if (checkDisposed()) return;
 
         if (tex != null) tex.assertLocked();
         if (tex != state.lastTextures[texUnit]) {
             flushVertexBuffer();
+            countStateChange();
             updateTexture(texUnit, tex);
             state.lastTextures[texUnit] = tex;
         }
@@ -787,6 +800,7 @@ public abstract class BaseShaderContext extends BaseContext {
             depthTest != state.lastDepthTest)
         {
             flushVertexBuffer();
+            countStateChange();
             state = updateRenderTarget(target, camera, depthTest);
             state.lastRenderTarget = target;
             state.lastCamera = camera;
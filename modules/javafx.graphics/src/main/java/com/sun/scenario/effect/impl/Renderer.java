@@ -297,8 +297,8 @@ public abstract class Renderer {
 
     /**
      * This method can be used by subclasses to create a backup renderer,
-     * either a SW (Java) renderer or an SSE (native) renderer, depending
-     * on what is available.
+     * either a SW (Java) renderer, a Vector API renderer or an SSE (native)
+     * renderer, depending on what is available.
      *
      * @return an instance of Renderer that uses CPU filtering
      */
@@ -306,6 +306,17 @@ public abstract class Renderer {
         return RendererFactory.getSoftwareRenderer();
     }
 
+    /**
+     * Returns whether the Vector API (VEC) software renderer should be
+     * preferred over the other software renderers; this is enabled with the
+     * {@code decora.vector} system property.
+     *
+     * @return true if the VEC renderer is enabled
+     */
+    protected static boolean isVectorRendererEnabled() {
+        return RendererFactory.isVectorEnabled();
+    }
+
     /**
      * Returns an instance of backup renderer to be used if this renderer
      * is in {@code LOST} state.
@@ -43,6 +43,8 @@ class RendererFactory {
     private static String rootPkg = Renderer.rootPkg;
     private static boolean tryRSL = true;
     private static boolean trySIMD = false;
+    // the Vector API renderer requires an incubator module, so it is opt-in
+    private static boolean tryVector = false;
     // by default we only enable jogl hw acceleration on MacOS
     private static boolean tryJOGL = PlatformUtil.isMac();
     private static boolean tryPrism = true;
@@ -55,6 +57,9 @@ class RendererFactory {
             if ("false".equals(System.getProperty("decora.simd"))) {
                 trySIMD = false;
             }
+            if ("true".equals(System.getProperty("decora.vector"))) {
+                tryVector = true;
+            }
             String tryJOGLProp = System.getProperty("decora.jogl");
             if (tryJOGLProp != null) {
                 tryJOGL = Boolean.parseBoolean(tryJOGLProp);
@@ -142,6 +147,45 @@ class RendererFactory {
         return null;
     }
 
+    static boolean isVectorEnabled() {
+        return tryVector;
+    }
+
+    private static Renderer getVectorRenderer() {
+        if (tryVector) {
+            try {
+                Class klass = Class.forName(rootPkg + ".impl.prism.sw.PSWRenderer");
+                Class screenClass = Class.forName("com.sun.glass.ui.Screen");
+                Method m = klass.getMethod("createVECInstance",
+                                           new Class[] { screenClass });
+                Renderer vecRenderer =
+                    (Renderer)m.invoke(null, new Object[] { null } );
+                if (vecRenderer != null) {
+                    return vecRenderer;
+                }
+            } catch (Throwable e) {e.printStackTrace();}
+            // don't bother trying to find Vector API renderer again
+            tryVector = false;
+        }
+        return null;
+    }
+
+    private static Renderer getVectorRenderer(FilterContext fctx) {
+        if (tryVector) {
+            try {
+                Class klass = Class.forName(rootPkg + ".impl.prism.sw.PSWRenderer");
+                Method m = klass.getMethod("createVECInstance",
+                                           new Class[] { FilterContext.class });
+                Renderer vecRenderer =
+                   (Renderer)m.invoke(null, new Object[] { fctx } );
+                if (vecRenderer != null) {
+                    return vecRenderer;
+                }
+            } catch (Throwable e) {}
+        }
+        return null;
+    }
+
     private static Renderer getJavaRenderer() {
         try {
             Class klass = Class.forName(rootPkg + ".impl.prism.sw.PSWRenderer");
@@ -172,7 +216,10 @@ class RendererFactory {
     }
 
     static Renderer getSoftwareRenderer() {
-        Renderer r = getSSERenderer();
+        Renderer r = getVectorRenderer();
+        if (r == null) {
+            r = getSSERenderer();
+        }
         if (r == null) {
             r = getJavaRenderer();
         }
@@ -204,6 +251,10 @@ class RendererFactory {
                 // next try the JOGL renderer
                 r = createJOGLRenderer(fctx);
             }
+            if (r == null && tryVector) {
+                // next try the Vector API renderer
+                r = getVectorRenderer(fctx);
+            }
             if (r == null && trySIMD) {
                 // next try the SSE renderer
                 r = getSSERenderer();
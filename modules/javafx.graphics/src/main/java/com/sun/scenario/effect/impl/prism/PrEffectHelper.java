@@ -26,6 +26,7 @@
 package com.sun.scenario.effect.impl.prism;
 
 import com.sun.glass.ui.Screen;
+import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.PickRay;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.Rectangle;
@@ -131,15 +132,7 @@ public class PrEffectHelper {
             rclip = clipbounds(cul, cur, cll, clr);
         }
 
-        Screen screen = g.getAssociatedScreen();
-        FilterContext fctx;
-        // RT-27555
-        if (screen == null) {
-            ResourceFactory factory = g.getResourceFactory();
-            fctx = PrFilterContext.getPrinterContext(factory);
-        } else {
-            fctx = PrFilterContext.getInstance(screen);
-        }
+        FilterContext fctx = getFilterContext(g);
         // TODO: Pass the camera down so that nodes can render with it
         // for proper perspective below this level.
         PrRenderInfo prinfo;
@@ -180,6 +173,88 @@ public class PrEffectHelper {
         g.setTransform(origtx);
     }
 
+    /**
+     * Returns the {@code FilterContext} that is used to filter effects
+     * which are rendered to the provided {@code Graphics}.
+     *
+     * @param g the {@code Graphics} to which effects will be rendered
+     * @return the {@code FilterContext} for the {@code Graphics}
+     */
+    public static FilterContext getFilterContext(Graphics g) {
+        Screen screen = g.getAssociatedScreen();
+        // RT-27555
+        if (screen == null) {
+            ResourceFactory factory = g.getResourceFactory();
+            return PrFilterContext.getPrinterContext(factory);
+        }
+        return PrFilterContext.getInstance(screen);
+    }
+
+    /**
+     * Applies the given filter effect to the series of inputs using the
+     * current 2D transform of the provided {@code Graphics}, but unlike
+     * {@link #render(Effect, Graphics, float, float, Effect)} the result
+     * is neither clipped to the clip of the {@code Graphics} nor rendered
+     * directly. The result can therefore be kept and rendered later by
+     * {@link #renderResult(ImageData, Graphics, float, float)}.
+     * <p>
+     * Returns {@code null} if the current transform is not a 2D transform,
+     * if the result would be larger than the maximum texture size, or if
+     * the effect did not produce a valid result.
+     *
+     * @param effect the effect to be filtered
+     * @param g the {@code Graphics} to which the result will be rendered
+     * @param defaultInput the default input {@code Effect} to be used if
+     *                     any of the inputs for any of the effects in the
+     *                     chain are unspecified (i.e. {@code null}).
+     * @return the locked result, or {@code null}
+     */
+    public static ImageData filterUnclipped(Effect effect, Graphics g,
+                                            Effect defaultInput)
+    {
+        BaseTransform transform = g.getTransformNoClone();
+        if (!transform.is2D()) {
+            return null;
+        }
+        BaseBounds bounds = effect.getBounds(transform, defaultInput);
+        int maxSize = g.getResourceFactory().getMaximumTextureSize();
+        if (bounds.isEmpty() ||
+            Math.ceil(bounds.getWidth()) + 1 > maxSize ||
+            Math.ceil(bounds.getHeight()) + 1 > maxSize)
+        {
+            return null;
+        }
+        FilterContext fctx = getFilterContext(g);
+        ImagePool.numEffects++;
+        ImageData res = effect.filter(fctx, transform.copy(), null, null, defaultInput);
+        if (res != null && !res.validate(fctx)) {
+            res.unref();
+            res = null;
+        }
+        return res;
+    }
+
+    /**
+     * Renders a result produced by
+     * {@link #filterUnclipped(Effect, Graphics, Effect)} to the provided
+     * {@code Graphics}, offset by the specified amount in device space.
+     *
+     * @param res the locked result to be rendered
+     * @param g the {@code Graphics} to which the result will be rendered
+     * @param dx the horizontal offset in device space
+     * @param dy the vertical offset in device space
+     */
+    public static void renderResult(ImageData res, Graphics g, float dx, float dy) {
+        BaseTransform origtx = g.getTransformNoClone().copy();
+        Rectangle r = res.getUntransformedBounds();
+        Texture tex = ((PrTexture)res.getUntransformedImage()).getTextureObject();
+        g.setTransform(null);
+        g.translate(dx, dy);
+        g.transform(res.getTransform());
+        g.drawTexture(tex, r.x, r.y, r.width, r.height);
+        g.setTransform(origtx);
+    }
+
     static Point2D project(float x, float y, double vw, double vh,
                            NGCamera cam, BaseTransform inv,
                            PickRay tmpray, Vec3d tmpvec, Point2D ret)
@@ -119,6 +119,48 @@ public class PSWRenderer extends PrRenderer {
         return ret;
     }
 
+    /**
+     * Returns a {@code VEC} (Vector API/CPU) renderer for the given screen,
+     * or null if the {@code jdk.incubator.vector} module is not available.
+     *
+     * @return a {@code VEC} (Vector API/CPU) renderer
+     */
+    public synchronized static PSWRenderer createVECInstance(Screen screen) {
+        PSWRenderer ret = null;
+        try {
+            Class klass = Class.forName(rootPkg + ".impl.sw.vec.VECRendererDelegate");
+            RendererDelegate delegate = (RendererDelegate)klass.getDeclaredConstructor().newInstance();
+            ret = new PSWRenderer(screen, delegate);
+        } catch (Throwable e) {}
+        return ret;
+    }
+
+    /**
+     * Returns a {@code VEC} (Vector API/CPU) renderer for the given resource
+     * factory, or null if the {@code jdk.incubator.vector} module is not
+     * available.
+     *
+     * @return a {@code VEC} (Vector API/CPU) renderer
+     */
+    public synchronized static PSWRenderer createVECInstance(ResourceFactory factory) {
+        PSWRenderer ret = null;
+        try {
+            Class klass = Class.forName(rootPkg + ".impl.sw.vec.VECRendererDelegate");
+            RendererDelegate delegate = (RendererDelegate)klass.getDeclaredConstructor().newInstance();
+            ret = new PSWRenderer(factory, delegate);
+        } catch (Throwable e) {}
+        return ret;
+    }
+
+    public synchronized static PSWRenderer createVECInstance(FilterContext fctx) {
+        PSWRenderer ret = null;
+        try {
+            ResourceFactory factory = (ResourceFactory)fctx.getReferent();
+            ret = createVECInstance(factory);
+        } catch (Throwable e) {}
+        return ret;
+    }
+
     /**
      * Returns an {@code SSE} (SIMD/CPU) renderer for the given screen.
      *
@@ -141,7 +183,13 @@ public class PSWRenderer extends PrRenderer {
             return null;
         }
         Screen screen = (Screen)ref;
-        Renderer renderer = createSSEInstance(screen);
+        Renderer renderer = null;
+        if (isVectorRendererEnabled()) {
+            renderer = createVECInstance(screen);
+        }
+        if (renderer == null) {
+            renderer = createSSEInstance(screen);
+        }
         if (renderer == null) {
             renderer = createJSWInstance(screen);
         }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package com.sun.scenario.effect.impl.sw;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Executes the filter loops of the software peers in bands of rows (or
+ * columns) on multiple threads. The calling thread filters the first band
+ * and waits for the other bands, which are filtered by the threads of a
+ * fork-join pool.
+ * <p>
+ * Filter regions with fewer pixels than the parallel threshold are filtered
+ * on the calling thread, since the overhead of dispatching the bands would
+ * exceed the benefit for small regions. The default executor can be
+ * configured with the {@code decora.sw.threads} and
+ * {@code decora.sw.parallelThreshold} system properties.
+ */
+public final class BandExecutor {
+
+    /**
+     * Filters the bands of a filter region.
+     */
+    @FunctionalInterface
+    public interface BandTask {
+        /**
+         * Filters the rows (or columns) in the range [start,end).
+         */
+        void filter(int start, int end);
+    }
+
+    private static final int DEFAULT_THRESHOLD = 256 * 256;
+
+    // the minimum number of pixels of a band
+    private static final int MIN_BAND_PIXELS = 16 * 1024;
+
+    private static BandExecutor defaultExecutor;
+
+    /**
+     * Returns the executor that is used by the software peers.
+     */
+    public static synchronized BandExecutor getDefault() {
+        if (defaultExecutor == null) {
+            int threads = Runtime.getRuntime().availableProcessors();
+            int threshold = DEFAULT_THRESHOLD;
+            try {
+                threads = Integer.getInteger("decora.sw.threads", threads);
+                threshold = Integer.getInteger("decora.sw.parallelThreshold", threshold);
+            } catch (SecurityException ignore) {
+            }
+            defaultExecutor = new BandExecutor(threads, threshold);
+        }
+        return defaultExecutor;
+    }
+
+    // used by tests
+    static synchronized void setDefault(BandExecutor executor) {
+        defaultExecutor = executor;
+    }
+
+    private final int threads;
+    private final int threshold;
+    private ForkJoinPool pool;
+
+    /**
+     * Creates an executor that uses up to {@code threads} threads (including
+     * the calling thread) for filter regions with at least {@code threshold}
+     * pixels.
+     */
+    public BandExecutor(int threads, int threshold) {
+        this.threads = Math.max(1, threads);
+        this.threshold = Math.max(0, threshold);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Filters the range [0,count) of rows (or columns), each of which consists
+     * of {@code length} pixels. The bands are filtered concurrently, so the
+     * task must not modify any state that is shared between bands.
+     */
+    public void execute(int count, int length, BandTask task) {
+        long pixels = (long)count * length;
+        int bands = (int)Math.min(Math.min(threads, count), pixels / MIN_BAND_PIXELS);
+        if (bands <= 1 || pixels < threshold) {
+            task.filter(0, count);
+            return;
+        }
+
+        ForkJoinPool pool = getPool();
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[bands - 1];
+        for (int i = 1; i < bands; i++) {
+            int start = (int)((long)count * i / bands);
+            int end = (int)((long)count * (i + 1) / bands);
+            tasks[i - 1] = pool.submit(() -> task.filter(start, end));
+        }
+
+        try {
+            task.filter(0, count / bands);
+        } finally {
+            // the other bands write into the same destination, so we need to
+            // wait for them to complete even if the first band failed
+            for (ForkJoinTask<?> t : tasks) {
+                t.join();
+            }
+        }
+    }
+
+    @SuppressWarnings("removal")
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = AccessController.doPrivileged((PrivilegedAction<ForkJoinPool>) () ->
+                new ForkJoinPool(threads - 1, p -> {
+                    ForkJoinWorkerThread thread =
+                        ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    thread.setName("Decora Filter Thread " + thread.getPoolIndex());
+                    return thread;
+                }, null, false));
+        }
+        return pool;
+    }
+}
@@ -29,6 +29,7 @@ import com.sun.scenario.effect.FilterContext;
 import com.sun.scenario.effect.impl.EffectPeer;
 import com.sun.scenario.effect.impl.Renderer;
 import com.sun.scenario.effect.impl.state.RenderState;
+import com.sun.scenario.effect.impl.sw.BandExecutor;
 
 public abstract class JSWEffectPeer<T extends RenderState> extends EffectPeer<T> {
 
@@ -41,6 +42,16 @@ public abstract class JSWEffectPeer<T extends RenderState> extends EffectPeer<T>
     protected final static int FVALS_G = 1;
     protected final static int FVALS_B = 2;
 
+    /**
+     * Filters the range [0,count) of rows (or columns) of the destination,
+     * each of which consists of {@code length} pixels. Large regions are
+     * split into bands that are filtered concurrently, so the task must not
+     * modify any state that is shared between bands.
+     */
+    protected static void filterBands(int count, int length, BandExecutor.BandTask task) {
+        BandExecutor.getDefault().execute(count, length, task);
+    }
+
     protected final void laccum(int pixel, float mul, float fvals[]) {
         mul /= 255f;
         fvals[FVALS_R] += ((pixel >>  16) & 0xff) * mul;
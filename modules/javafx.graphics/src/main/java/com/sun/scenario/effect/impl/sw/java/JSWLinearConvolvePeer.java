@@ -177,37 +177,47 @@ public class JSWLinearConvolvePeer extends JSWEffectPeer<LinearConvolveRenderSta
                                 float deltax, float deltay,
                                 float dxcol, float dycol, float dxrow, float dyrow)
     {
-        int dstrow = 0;
-        float fvals[] = new float[4];
         // srcxy0 point at UL corner, shift them to center of 1st dest pixel:
-        srcx0 += (dxrow + dxcol) * 0.5f;
-        srcy0 += (dyrow + dycol) * 0.5f;
-        for (int dy = 0; dy < dsth; dy++) {
-            float srcx = srcx0;
-            float srcy = srcy0;
-            for (int dx = 0; dx < dstw; dx++) {
-                fvals[0] = fvals[1] = fvals[2] = fvals[3] = 0.0f;
-                float sampx = srcx + offsetx;
-                float sampy = srcy + offsety;
-                for (int i = 0; i < count; ++i) {
-                    laccumsample(srcPixels, sampx, sampy,
-                                 srcw, srch, srcscan,
-                                 weights[i], fvals);
-                    sampx += deltax;
-                    sampy += deltay;
+        float srcxc = srcx0 + (dxrow + dxcol) * 0.5f;
+        float srcyc = srcy0 + (dyrow + dycol) * 0.5f;
+        filterBands(dsth, dstw, (dy0, dy1) -> {
+            float fvals[] = new float[4];
+            float srcrowx = srcxc;
+            float srcrowy = srcyc;
+            // advance to the first row of the band in the same way as the
+            // loop below, so that the results do not depend on the bands
+            for (int dy = 0; dy < dy0; dy++) {
+                srcrowx += dxrow;
+                srcrowy += dyrow;
+            }
+            int dstrow = dy0 * dstscan;
+            for (int dy = dy0; dy < dy1; dy++) {
+                float srcx = srcrowx;
+                float srcy = srcrowy;
+                for (int dx = 0; dx < dstw; dx++) {
+                    fvals[0] = fvals[1] = fvals[2] = fvals[3] = 0.0f;
+                    float sampx = srcx + offsetx;
+                    float sampy = srcy + offsety;
+                    for (int i = 0; i < count; ++i) {
+                        laccumsample(srcPixels, sampx, sampy,
+                                     srcw, srch, srcscan,
+                                     weights[i], fvals);
+                        sampx += deltax;
+                        sampy += deltay;
+                    }
+                    dstPixels[dstrow + dx] =
+                        (((fvals[FVALS_A] < cmin) ? 0 : ((fvals[FVALS_A] > cmax) ? 255 : ((int) fvals[FVALS_A]))) << 24) +
+                        (((fvals[FVALS_R] < cmin) ? 0 : ((fvals[FVALS_R] > cmax) ? 255 : ((int) fvals[FVALS_R]))) << 16) +
+                        (((fvals[FVALS_G] < cmin) ? 0 : ((fvals[FVALS_G] > cmax) ? 255 : ((int) fvals[FVALS_G]))) <<  8) +
+                        (((fvals[FVALS_B] < cmin) ? 0 : ((fvals[FVALS_B] > cmax) ? 255 : ((int) fvals[FVALS_B])))      );
+                    srcx += dxcol;
+                    srcy += dycol;
                 }
-                dstPixels[dstrow + dx] =
-                    (((fvals[FVALS_A] < cmin) ? 0 : ((fvals[FVALS_A] > cmax) ? 255 : ((int) fvals[FVALS_A]))) << 24) +
-                    (((fvals[FVALS_R] < cmin) ? 0 : ((fvals[FVALS_R] > cmax) ? 255 : ((int) fvals[FVALS_R]))) << 16) +
-                    (((fvals[FVALS_G] < cmin) ? 0 : ((fvals[FVALS_G] > cmax) ? 255 : ((int) fvals[FVALS_G]))) <<  8) +
-                    (((fvals[FVALS_B] < cmin) ? 0 : ((fvals[FVALS_B] > cmax) ? 255 : ((int) fvals[FVALS_B])))      );
-                srcx += dxcol;
-                srcy += dycol;
+                srcrowx += dxrow;
+                srcrowy += dyrow;
+                dstrow += dstscan;
             }
-            srcx0 += dxrow;
-            srcy0 += dyrow;
-            dstrow += dstscan;
-        }
+        });
     }
 
     /*
@@ -225,52 +235,54 @@ public class JSWLinearConvolvePeer extends JSWEffectPeer<LinearConvolveRenderSta
         // cvals stores the component values from the surrounding K pixels
         // from x-r to x+r
         int kernelSize = weights.length / 2;
-        float cvals[] = new float[kernelSize * 4];
-        int dstrow = 0;
-        int srcrow = 0;
-        for (int r = 0; r < dstrows; r++) {
-            int dstoff = dstrow;
-            int srcoff = srcrow;
-            // Must clear out the array at the start of every line
-            // Might be able to rely on the fact that the previous line must
-            // have run out of data towards the end of the scan line, though.
-            for (int i = 0; i < cvals.length; i++) {
-                cvals[i] = 0f;
-            }
-            int koff = kernelSize;
-            for (int c = 0; c < dstcols; c++) {
-                // Load the data for this x location into the array.
-                int i = (kernelSize - koff) * 4;
-                int rgb = (c < srccols) ? srcPixels[srcoff] : 0;
-                cvals[i+0] = (rgb >>> 24);
-                cvals[i+1] = (rgb >>  16) & 0xff;
-                cvals[i+2] = (rgb >>   8) & 0xff;
-                cvals[i+3] = (rgb       ) & 0xff;
-                // Bump the koff to the next spot to align the coefficients.
-                if (--koff <= 0) {
-                    koff += kernelSize;
+        filterBands(dstrows, dstcols, (r0, r1) -> {
+            float cvals[] = new float[kernelSize * 4];
+            int dstrow = r0 * drowinc;
+            int srcrow = r0 * srowinc;
+            for (int r = r0; r < r1; r++) {
+                int dstoff = dstrow;
+                int srcoff = srcrow;
+                // Must clear out the array at the start of every line
+                // Might be able to rely on the fact that the previous line must
+                // have run out of data towards the end of the scan line, though.
+                for (int i = 0; i < cvals.length; i++) {
+                    cvals[i] = 0f;
                 }
-                float suma = 0;
-                float sumr = 0;
-                float sumg = 0;
-                float sumb = 0;
-                for (i = 0; i < cvals.length; i += 4) {
-                    float factor = weights[koff + (i>>2)];
-                    suma += cvals[i+0] * factor;
-                    sumr += cvals[i+1] * factor;
-                    sumg += cvals[i+2] * factor;
-                    sumb += cvals[i+3] * factor;
+                int koff = kernelSize;
+                for (int c = 0; c < dstcols; c++) {
+                    // Load the data for this x location into the array.
+                    int i = (kernelSize - koff) * 4;
+                    int rgb = (c < srccols) ? srcPixels[srcoff] : 0;
+                    cvals[i+0] = (rgb >>> 24);
+                    cvals[i+1] = (rgb >>  16) & 0xff;
+                    cvals[i+2] = (rgb >>   8) & 0xff;
+                    cvals[i+3] = (rgb       ) & 0xff;
+                    // Bump the koff to the next spot to align the coefficients.
+                    if (--koff <= 0) {
+                        koff += kernelSize;
+                    }
+                    float suma = 0;
+                    float sumr = 0;
+                    float sumg = 0;
+                    float sumb = 0;
+                    for (i = 0; i < cvals.length; i += 4) {
+                        float factor = weights[koff + (i>>2)];
+                        suma += cvals[i+0] * factor;
+                        sumr += cvals[i+1] * factor;
+                        sumg += cvals[i+2] * factor;
+                        sumb += cvals[i+3] * factor;
+                    }
+                    dstPixels[dstoff] =
+                        (((suma < cmin) ? 0 : ((suma > cmax) ? 255 : ((int) suma))) << 24) +
+                        (((sumr < cmin) ? 0 : ((sumr > cmax) ? 255 : ((int) sumr))) << 16) +
+                        (((sumg < cmin) ? 0 : ((sumg > cmax) ? 255 : ((int) sumg))) <<  8) +
+                        (((sumb < cmin) ? 0 : ((sumb > cmax) ? 255 : ((int) sumb)))      );
+                    dstoff += dcolinc;
+                    srcoff += scolinc;
                 }
-                dstPixels[dstoff] =
-                    (((suma < cmin) ? 0 : ((suma > cmax) ? 255 : ((int) suma))) << 24) +
-                    (((sumr < cmin) ? 0 : ((sumr > cmax) ? 255 : ((int) sumr))) << 16) +
-                    (((sumg < cmin) ? 0 : ((sumg > cmax) ? 255 : ((int) sumg))) <<  8) +
-                    (((sumb < cmin) ? 0 : ((sumb > cmax) ? 255 : ((int) sumb)))      );
-                dstoff += dcolinc;
-                srcoff += scolinc;
+                dstrow += drowinc;
+                srcrow += srowinc;
             }
-            dstrow += drowinc;
-            srcrow += srowinc;
-        }
+        });
     }
 }
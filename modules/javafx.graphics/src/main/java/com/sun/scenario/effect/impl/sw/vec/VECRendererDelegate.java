@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.scenario.effect.impl.sw.vec;
+
+import com.sun.scenario.effect.Effect.AccelType;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.sw.RendererDelegate;
+
+/**
+ * Selects the peers that are generated by the Vector API backend of JSLC.
+ * Effects for which no such peer exists (hand-written peers, or shaders that
+ * could not be vectorized) use the JSW peer instead.
+ */
+public class VECRendererDelegate implements RendererDelegate {
+
+    /**
+     * Returns whether the {@code jdk.incubator.vector} module is available.
+     * The incubator module is not resolved by default, so this requires
+     * {@code --add-modules jdk.incubator.vector}. Since javafx.graphics does
+     * not require the incubator module, the VEC peers are compiled separately
+     * and the module is made readable here, before any of them is loaded.
+     */
+    public static boolean isSupported() {
+        Module vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector").orElse(null);
+        if (vectorModule == null) {
+            return false;
+        }
+        VECRendererDelegate.class.getModule().addReads(vectorModule);
+        return true;
+    }
+
+    public VECRendererDelegate() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("required module (jdk.incubator.vector)" +
+                                                    " not available");
+        }
+    }
+
+    public AccelType getAccelType() {
+        return AccelType.SIMD;
+    }
+
+    public String getPlatformPeerName(String name, int unrollCount) {
+        String peerName = Renderer.rootPkg + ".impl.sw.vec.VEC" + name + "Peer";
+        try {
+            Class.forName(peerName, false, VECRendererDelegate.class.getClassLoader());
+            return peerName;
+        } catch (ClassNotFoundException e) {
+            return Renderer.rootPkg + ".impl.sw.java.JSW" + name + "Peer";
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package javafx.animation;
+
+import com.sun.scenario.animation.AbstractPrimaryTimer;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.value.WritableDoubleValue;
+import javafx.util.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * This {@code Transition} animates a large number of {@code double} targets,
+ * for example the positions of thousands of nodes in a graph layout, as a
+ * single animation.
+ * <p>
+ * Animating every target with its own {@code Transition} or {@code Timeline}
+ * registers one pulse receiver per animation and interpolates boxed values
+ * through {@link KeyValue}s. A {@code BulkTransition} instead keeps the start
+ * and end values and the timing of all targets in primitive arrays, and
+ * interpolates them in a single loop on every pulse. Each target can be
+ * animated in its own interval of the transition, which makes it easy to
+ * stagger the targets.
+ * <p>
+ * If there is no explicit start value for a target, its current value is used
+ * whenever the transition is started. The {@link #interpolatorProperty() interpolator}
+ * is applied to the interval of each target separately.
+ * <p>
+ * If {@link #setParallel(boolean) parallel} interpolation is enabled, the values
+ * of large transitions are computed on multiple threads before they are written
+ * to the targets on the JavaFX application thread. In that case, the interpolator
+ * must be thread-safe, which is the case for all built-in interpolators.
+ *
+ * <pre>{@code
+ * BulkTransition transition = new BulkTransition(Duration.millis(500));
+ * for (Node node : nodes) {
+ *     transition.add(node.layoutXProperty(), newX(node));
+ *     transition.add(node.layoutYProperty(), newY(node));
+ * }
+ * transition.play();
+ * }</pre>
+ *
+ * @see Transition
+ * @see Animation
+ * @since JFXcore 18
+ */
+public final class BulkTransition extends Transition {
+
+    /**
+     * The minimum number of targets for which the values are computed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * The number of targets that are computed by one parallel task.
+     */
+    private static final int PARALLEL_BAND_SIZE = 1024;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private WritableDoubleValue[] targets = new WritableDoubleValue[INITIAL_CAPACITY];
+    private double[] fromValues = new double[INITIAL_CAPACITY];
+    private double[] toValues = new double[INITIAL_CAPACITY];
+    private double[] startValues = new double[INITIAL_CAPACITY];
+    private double[] beginFractions = new double[INITIAL_CAPACITY];
+    private double[] endFractions = new double[INITIAL_CAPACITY];
+    private double[] values;
+    private int size;
+    private boolean parallel;
+
+    /**
+     * The duration of this {@code Transition}.
+     * <p>
+     * It is not possible to change the {@code duration} of a running
+     * {@code BulkTransition}. If the value of {@code duration} is changed for a
+     * running {@code BulkTransition}, the animation has to be stopped and started again to
+     * pick up the new value.
+     * <p>
+     * Setting duration to value lower than {@link Duration#ZERO} will result
+     * in {@link IllegalArgumentException}.
+     *
+     * @defaultValue 400ms
+     */
+    private ObjectProperty<Duration> duration;
+    private static final Duration DEFAULT_DURATION = Duration.millis(400);
+
+    public final void setDuration(Duration value) {
+        if ((duration != null) || (!DEFAULT_DURATION.equals(value))) {
+            durationProperty().set(value);
+        }
+    }
+
+    public final Duration getDuration() {
+        return (duration == null)? DEFAULT_DURATION : duration.get();
+    }
+
+    public final ObjectProperty<Duration> durationProperty() {
+        if (duration == null) {
+            duration = new ObjectPropertyBase<Duration>(DEFAULT_DURATION) {
+
+                @Override
+                public void invalidated() {
+                    try {
+                        setCycleDuration(getDuration());
+                    } catch (IllegalArgumentException e) {
+                        if (isBound()) {
+                            unbind();
+                        }
+                        set(getCycleDuration());
+                        throw e;
+                    }
+                }
+
+                @Override
+                public Object getBean() {
+                    return BulkTransition.this;
+                }
+
+                @Override
+                public String getName() {
+                    return "duration";
+                }
+            };
+        }
+        return duration;
+    }
+
+    /**
+     * The constructor of {@code BulkTransition}.
+     *
+     * @param duration
+     *            The duration of the {@code BulkTransition}
+     */
+    public BulkTransition(Duration duration) {
+        setDuration(duration);
+        setCycleDuration(duration);
+    }
+
+    /**
+     * The constructor of {@code BulkTransition}
+     */
+    public BulkTransition() {
+        this(DEFAULT_DURATION);
+    }
+
+    // For testing purposes
+    BulkTransition(AbstractPrimaryTimer timer, Duration duration) {
+        super(timer);
+        setDuration(duration);
+        setCycleDuration(duration);
+    }
+
+    /**
+     * Adds a target that is animated from its current value to the specified
+     * value over the whole duration of this transition.
+     *
+     * @param target the target
+     * @param toValue the end value
+     * @return the index of the target
+     * @throws NullPointerException if {@code target} is null
+     */
+    public int add(WritableDoubleValue target, double toValue) {
+        return add(target, Double.NaN, toValue, 0, 1);
+    }
+
+    /**
+     * Adds a target that is animated between the specified values over the
+     * whole duration of this transition.
+     *
+     * @param target the target
+     * @param fromValue the start value, or {@code NaN} to start from the
+     *                  current value of the target
+     * @param toValue the end value
+     * @return the index of the target
+     * @throws NullPointerException if {@code target} is null
+     */
+    public int add(WritableDoubleValue target, double fromValue, double toValue) {
+        return add(target, fromValue, toValue, 0, 1);
+    }
+
+    /**
+     * Adds a target that is animated between the specified values in an interval
+     * of this transition. Before the interval, the target has its start value;
+     * after the interval, it has its end value.
+     *
+     * @param target the target
+     * @param fromValue the start value, or {@code NaN} to start from the
+     *                  current value of the target
+     * @param toValue the end value
+     * @param beginFraction the start of the interval as a fraction of the duration
+     * @param endFraction the end of the interval as a fraction of the duration
+     * @return the index of the target
+     * @throws NullPointerException if {@code target} is null
+     * @throws IllegalArgumentException if the interval is not within [0, 1]
+     *         or {@code beginFraction} is larger than {@code endFraction}
+     */
+    public int add(WritableDoubleValue target, double fromValue, double toValue,
+                   double beginFraction, double endFraction) {
+        Objects.requireNonNull(target, "target cannot be null");
+        if (!(beginFraction >= 0 && beginFraction <= endFraction && endFraction <= 1)) {
+            throw new IllegalArgumentException(
+                "Invalid interval: [" + beginFraction + ", " + endFraction + "]");
+        }
+
+        if (size == targets.length) {
+            int capacity = size * 2;
+            targets = Arrays.copyOf(targets, capacity);
+            fromValues = Arrays.copyOf(fromValues, capacity);
+            toValues = Arrays.copyOf(toValues, capacity);
+            startValues = Arrays.copyOf(startValues, capacity);
+            beginFractions = Arrays.copyOf(beginFractions, capacity);
+            endFractions = Arrays.copyOf(endFractions, capacity);
+        }
+
+        int index = size++;
+        targets[index] = target;
+        fromValues[index] = fromValue;
+        toValues[index] = toValue;
+        startValues[index] = Double.isNaN(fromValue) ? target.get() : fromValue;
+        beginFractions[index] = beginFraction;
+        endFractions[index] = endFraction;
+        return index;
+    }
+
+    /**
+     * Changes the end value of a target. If the transition is running, the
+     * target continues from its start value to the new end value.
+     *
+     * @param index the index of the target
+     * @param toValue the new end value
+     * @throws IndexOutOfBoundsException if there is no target at {@code index}
+     */
+    public void setToValue(int index, double toValue) {
+        Objects.checkIndex(index, size);
+        toValues[index] = toValue;
+    }
+
+    /**
+     * Gets the end value of a target.
+     *
+     * @param index the index of the target
+     * @return the end value
+     * @throws IndexOutOfBoundsException if there is no target at {@code index}
+     */
+    public double getToValue(int index) {
+        Objects.checkIndex(index, size);
+        return toValues[index];
+    }
+
+    /**
+     * Gets the number of targets of this transition.
+     *
+     * @return the number of targets
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all targets from this transition.
+     */
+    public void clear() {
+        Arrays.fill(targets, 0, size, null);
+        size = 0;
+        values = null;
+    }
+
+    /**
+     * Gets whether the values of large transitions are computed in parallel.
+     *
+     * @return whether the values are computed in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether the values of large transitions are computed in parallel.
+     * The targets are always written on the thread that runs the animation.
+     *
+     * @param parallel whether the values are computed in parallel
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The fraction is the linear position within the transition; the interpolator
+     * is applied to the interval of each target.
+     */
+    @Override
+    protected void interpolate(double frac) {
+        update(frac, getCachedInterpolator());
+    }
+
+    @Override
+    void sync(boolean forceSync) {
+        super.sync(forceSync);
+        if (forceSync) {
+            for (int i = 0; i < size; ++i) {
+                double from = fromValues[i];
+                startValues[i] = Double.isNaN(from) ? targets[i].get() : from;
+            }
+        }
+    }
+
+    @Override
+    void doPlayTo(long currentTicks, long cycleTicks) {
+        setCurrentTicks(currentTicks);
+        update(cycleTicks <= 0 ? 1.0 : (double)currentTicks / cycleTicks, getCachedInterpolator());
+    }
+
+    @Override
+    void doJumpTo(long currentTicks, long cycleTicks, boolean forceJump) {
+        setCurrentTicks(currentTicks);
+        if (getStatus() != Status.STOPPED || forceJump) {
+            sync(false);
+            update(cycleTicks <= 0 ? 1.0 : (double)currentTicks / cycleTicks, getCachedInterpolator());
+        }
+    }
+
+    private void update(double frac, Interpolator interpolator) {
+        final int size = this.size;
+        if (parallel && size >= PARALLEL_THRESHOLD) {
+            if (values == null || values.length < size) {
+                values = new double[targets.length];
+            }
+
+            final double[] values = this.values;
+            IntStream.range(0, (size + PARALLEL_BAND_SIZE - 1) / PARALLEL_BAND_SIZE).parallel().forEach(band -> {
+                int end = Math.min(size, (band + 1) * PARALLEL_BAND_SIZE);
+                for (int i = band * PARALLEL_BAND_SIZE; i < end; ++i) {
+                    values[i] = computeValue(i, frac, interpolator);
+                }
+            });
+
+            for (int i = 0; i < size; ++i) {
+                targets[i].set(values[i]);
+            }
+        } else {
+            for (int i = 0; i < size; ++i) {
+                targets[i].set(computeValue(i, frac, interpolator));
+            }
+        }
+    }
+
+    private double computeValue(int index, double frac, Interpolator interpolator) {
+        double begin = beginFractions[index];
+        double end = endFractions[index];
+        double start = startValues[index];
+        double t;
+        if (frac <= begin) {
+            t = frac < end ? 0.0 : 1.0;
+        } else if (frac >= end) {
+            t = 1.0;
+        } else {
+            t = (frac - begin) / (end - begin);
+        }
+        return start + (toValues[index] - start) * interpolator.interpolate(0.0, 1.0, t);
+    }
+}
@@ -0,0 +1,584 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package javafx.animation;
+
+import com.sun.javafx.geom.transform.Affine3D;
+import com.sun.javafx.geom.transform.NoninvertibleTransformException;
+import com.sun.javafx.scene.NodeHelper;
+import com.sun.javafx.scene.SceneHelper;
+import com.sun.javafx.sg.prism.NGCompositorAnimation;
+import com.sun.javafx.tk.TKScene;
+import com.sun.javafx.tk.Toolkit;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.NodeOrientation;
+import javafx.geometry.Point3D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.transform.Transform;
+import javafx.util.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.sun.javafx.sg.prism.NGCompositorAnimation.*;
+
+/**
+ * An animation of the translation, scale, rotation and opacity of a node, and
+ * of the translation of its clip, that is evaluated on the render thread.
+ * <p>
+ * The frames of a regular {@link Animation} are computed on the JavaFX
+ * application thread and need a full pulse (CSS, layout and synchronization)
+ * before they are rendered, so the animation stutters when the application
+ * thread is busy. A {@code CompositorTransition} captures the state of the
+ * node when it is started and then updates the rendered node directly on the
+ * render thread, which keeps the animation smooth even if the application
+ * thread is blocked. When the transition finishes, the end values are set on
+ * the properties of the node and {@link #onFinishedProperty() onFinished} is
+ * called on the application thread.
+ * <p>
+ * Because the node itself only changes when the transition has finished, the
+ * following restrictions apply while it is running:
+ * <ul>
+ *     <li>the animated properties of the node and its clip keep their start
+ *         values, so picking and layout do not see the animated position;
+ *     <li>the layout position, bounds, rotation axis and transforms of the node,
+ *         as well as the clip, must not be changed.
+ * </ul>
+ * If the transition cannot be evaluated on the render thread, for example
+ * because the node is not shown in a window, it falls back to a regular
+ * animation on the application thread.
+ * <p>
+ * Only the values that are set on the transition are animated; all other
+ * values are left unchanged. The interpolator may be called on the render
+ * thread and must therefore be thread-safe, which is the case for all
+ * built-in interpolators.
+ *
+ * <pre>{@code
+ * CompositorTransition transition = new CompositorTransition(Duration.millis(300), node);
+ * transition.setToX(200);
+ * transition.setToOpacity(0.5);
+ * transition.play();
+ * }</pre>
+ *
+ * @see Transition
+ * @since JFXcore 18
+ */
+public final class CompositorTransition {
+
+    private final Duration duration;
+    private final Node node;
+    private final double[] toValues = new double[CHANNEL_COUNT];
+    private final double[] fromValues = new double[CHANNEL_COUNT];
+    private final double[] endValues = new double[CHANNEL_COUNT];
+    private Interpolator interpolator = Interpolator.EASE_BOTH;
+
+    private NGCompositorAnimation animation;
+    private Transition fallback;
+
+    /**
+     * Creates a new {@code CompositorTransition}.
+     *
+     * @param duration the duration of the transition, must be finite and not negative
+     * @param node the animated node
+     * @throws NullPointerException if {@code duration} or {@code node} is null
+     * @throws IllegalArgumentException if {@code duration} is negative or not finite
+     */
+    public CompositorTransition(Duration duration, Node node) {
+        Objects.requireNonNull(duration, "duration cannot be null");
+        Objects.requireNonNull(node, "node cannot be null");
+        if (duration.lessThan(Duration.ZERO) || duration.isIndefinite() || duration.isUnknown()) {
+            throw new IllegalArgumentException("duration must be finite and not negative: " + duration);
+        }
+        this.duration = duration;
+        this.node = node;
+        Arrays.fill(toValues, Double.NaN);
+    }
+
+    /**
+     * Gets the duration of this transition.
+     *
+     * @return the duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the node that is animated by this transition.
+     *
+     * @return the node
+     */
+    public Node getNode() {
+        return node;
+    }
+
+    /**
+     * Gets the interpolator of this transition, the default is {@link Interpolator#EASE_BOTH}.
+     *
+     * @return the interpolator
+     */
+    public Interpolator getInterpolator() {
+        return interpolator;
+    }
+
+    /**
+     * Sets the interpolator of this transition, which takes effect when the
+     * transition is played the next time.
+     *
+     * @param interpolator the interpolator, must be thread-safe
+     * @throws NullPointerException if {@code interpolator} is null
+     */
+    public void setInterpolator(Interpolator interpolator) {
+        this.interpolator = Objects.requireNonNull(interpolator, "interpolator cannot be null");
+    }
+
+    /**
+     * Gets the end value of {@link Node#translateXProperty() translateX}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToX() {
+        return toValues[TRANSLATE_X];
+    }
+
+    /**
+     * Sets the end value of {@link Node#translateXProperty() translateX}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToX(double value) {
+        toValues[TRANSLATE_X] = value;
+    }
+
+    /**
+     * Gets the end value of {@link Node#translateYProperty() translateY}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToY() {
+        return toValues[TRANSLATE_Y];
+    }
+
+    /**
+     * Sets the end value of {@link Node#translateYProperty() translateY}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToY(double value) {
+        toValues[TRANSLATE_Y] = value;
+    }
+
+    /**
+     * Gets the end value of {@link Node#translateZProperty() translateZ}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToZ() {
+        return toValues[TRANSLATE_Z];
+    }
+
+    /**
+     * Sets the end value of {@link Node#translateZProperty() translateZ}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToZ(double value) {
+        toValues[TRANSLATE_Z] = value;
+    }
+
+    /**
+     * Gets the end value of {@link Node#scaleXProperty() scaleX}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToScaleX() {
+        return toValues[SCALE_X];
+    }
+
+    /**
+     * Sets the end value of {@link Node#scaleXProperty() scaleX}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToScaleX(double value) {
+        toValues[SCALE_X] = value;
+    }
+
+    /**
+     * Gets the end value of {@link Node#scaleYProperty() scaleY}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToScaleY() {
+        return toValues[SCALE_Y];
+    }
+
+    /**
+     * Sets the end value of {@link Node#scaleYProperty() scaleY}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToScaleY(double value) {
+        toValues[SCALE_Y] = value;
+    }
+
+    /**
+     * Gets the end value of {@link Node#scaleZProperty() scaleZ}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToScaleZ() {
+        return toValues[SCALE_Z];
+    }
+
+    /**
+     * Sets the end value of {@link Node#scaleZProperty() scaleZ}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToScaleZ(double value) {
+        toValues[SCALE_Z] = value;
+    }
+
+    /**
+     * Gets the end value of {@link Node#rotateProperty() rotate}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToAngle() {
+        return toValues[ROTATE];
+    }
+
+    /**
+     * Sets the end value of {@link Node#rotateProperty() rotate}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToAngle(double value) {
+        toValues[ROTATE] = value;
+    }
+
+    /**
+     * Gets the end value of {@link Node#opacityProperty() opacity}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToOpacity() {
+        return toValues[OPACITY];
+    }
+
+    /**
+     * Sets the end value of {@link Node#opacityProperty() opacity}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToOpacity(double value) {
+        toValues[OPACITY] = value;
+    }
+
+    /**
+     * Gets the end value of the {@code translateX} property of the {@link Node#clipProperty() clip}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToClipX() {
+        return toValues[CLIP_TRANSLATE_X];
+    }
+
+    /**
+     * Sets the end value of the {@code translateX} property of the {@link Node#clipProperty() clip}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToClipX(double value) {
+        toValues[CLIP_TRANSLATE_X] = value;
+    }
+
+    /**
+     * Gets the end value of the {@code translateY} property of the {@link Node#clipProperty() clip}.
+     *
+     * @return the end value, or {@code NaN} if it is not animated
+     */
+    public double getToClipY() {
+        return toValues[CLIP_TRANSLATE_Y];
+    }
+
+    /**
+     * Sets the end value of the {@code translateY} property of the {@link Node#clipProperty() clip}.
+     *
+     * @param value the end value, or {@code NaN} if it should not be animated
+     */
+    public void setToClipY(double value) {
+        toValues[CLIP_TRANSLATE_Y] = value;
+    }
+
+    private final ReadOnlyObjectWrapper<Animation.Status> status =
+        new ReadOnlyObjectWrapper<>(this, "status", Animation.Status.STOPPED);
+
+    /**
+     * The status of this transition, which is either {@code RUNNING} or {@code STOPPED}.
+     *
+     * @return the status property
+     * @defaultValue {@code STOPPED}
+     */
+    public ReadOnlyObjectProperty<Animation.Status> statusProperty() {
+        return status.getReadOnlyProperty();
+    }
+
+    public Animation.Status getStatus() {
+        return status.get();
+    }
+
+    private final ObjectProperty<EventHandler<ActionEvent>> onFinished =
+        new SimpleObjectProperty<>(this, "onFinished");
+
+    /**
+     * The action to be executed on the application thread when the transition
+     * has reached its end. It is not called when the transition is stopped.
+     *
+     * @return the onFinished property
+     * @defaultValue {@code null}
+     */
+    public ObjectProperty<EventHandler<ActionEvent>> onFinishedProperty() {
+        return onFinished;
+    }
+
+    public EventHandler<ActionEvent> getOnFinished() {
+        return onFinished.get();
+    }
+
+    public void setOnFinished(EventHandler<ActionEvent> value) {
+        onFinished.set(value);
+    }
+
+    /**
+     * Starts the transition from the current values of the node. Calling this
+     * method has no effect if the transition is already running.
+     *
+     * @throws IllegalStateException if this method is not called on the application thread
+     */
+    public void play() {
+        Toolkit.getToolkit().checkFxUserThread();
+        if (getStatus() == Animation.Status.RUNNING) {
+            return;
+        }
+
+        Node clip = node.getClip();
+        for (int channel = 0; channel < CHANNEL_COUNT; ++channel) {
+            fromValues[channel] = getValue(node, clip, channel);
+            endValues[channel] = clip == null && channel >= CLIP_TRANSLATE_X ? Double.NaN : toValues[channel];
+        }
+
+        status.set(Animation.Status.RUNNING);
+        if (!startOnRenderThread(clip)) {
+            startOnApplicationThread(clip);
+        }
+    }
+
+    /**
+     * Stops the transition. The node keeps the values of the last frame
+     * that was rendered.
+     *
+     * @throws IllegalStateException if this method is not called on the application thread
+     */
+    public void stop() {
+        Toolkit.getToolkit().checkFxUserThread();
+        if (getStatus() != Animation.Status.RUNNING) {
+            return;
+        }
+
+        if (animation != null) {
+            NGCompositorAnimation current = animation;
+            animation = null;
+            current.cancel();
+            Node clip = node.getClip();
+            for (int channel = 0; channel < CHANNEL_COUNT; ++channel) {
+                if (!Double.isNaN(endValues[channel])) {
+                    setValue(node, clip, channel, current.getValue(channel));
+                }
+            }
+        } else if (fallback != null) {
+            fallback.setOnFinished(null);
+            fallback.stop();
+            fallback = null;
+        }
+
+        status.set(Animation.Status.STOPPED);
+    }
+
+    private boolean startOnRenderThread(Node clip) {
+        Scene scene = node.getScene();
+        if (scene == null || scene.getWindow() == null || !scene.getWindow().isShowing()) {
+            return false;
+        }
+
+        // The mirroring of the scene root is applied before its own transform,
+        // which cannot be expressed by the render thread animation.
+        if (scene.getRoot() == node && node.getEffectiveNodeOrientation() == NodeOrientation.RIGHT_TO_LEFT) {
+            return false;
+        }
+
+        double pivotX = NodeHelper.getPivotX(node);
+        double pivotY = NodeHelper.getPivotY(node);
+        double pivotZ = NodeHelper.getPivotZ(node);
+        Point3D axis = node.getRotationAxis();
+
+        // The part of the local transform that follows the node's own translation,
+        // rotation and scale: its transforms and mirroring.
+        Affine3D postTransform = new Affine3D();
+        postTransform.setToTranslation(
+            node.getTranslateX() + node.getLayoutX() + pivotX,
+            node.getTranslateY() + node.getLayoutY() + pivotY,
+            node.getTranslateZ() + pivotZ);
+        postTransform.rotate(Math.toRadians(node.getRotate()), axis.getX(), axis.getY(), axis.getZ());
+        postTransform.scale(node.getScaleX(), node.getScaleY(), node.getScaleZ());
+        postTransform.translate(-pivotX, -pivotY, -pivotZ);
+
+        try {
+            postTransform.invert();
+        } catch (NoninvertibleTransformException e) {
+            return false;
+        }
+
+        postTransform.concatenate(toAffine3D(node.getLocalToParentTransform()));
+
+        Interpolator interpolator = this.interpolator;
+        NGCompositorAnimation animation = new NGCompositorAnimation(
+            NodeHelper.getPeer(node),
+            clip != null ? NodeHelper.getPeer(clip) : null,
+            (long)(duration.toMillis() * 1_000_000),
+            fraction -> interpolator.interpolate(0.0, 1.0, fraction));
+
+        animation.setTransformParameters(
+            node.getLayoutX(), node.getLayoutY(), pivotX, pivotY, pivotZ,
+            axis.getX(), axis.getY(), axis.getZ(), postTransform);
+
+        if (clip != null) {
+            animation.setClipTransform(toAffine3D(clip.getLocalToParentTransform()));
+        }
+
+        for (int channel = 0; channel < CHANNEL_COUNT; ++channel) {
+            double from = fromValues[channel];
+            double to = endValues[channel];
+            animation.setValues(channel, from, Double.isNaN(to) ? from : to);
+        }
+
+        TKScene peer = SceneHelper.getPeer(scene);
+        if (peer == null || !peer.startCompositorAnimation(animation, () -> finished(animation))) {
+            return false;
+        }
+
+        this.animation = animation;
+        return true;
+    }
+
+    private void startOnApplicationThread(Node clip) {
+        Transition transition = new Transition() {
+            {
+                setCycleDuration(duration);
+            }
+
+            @Override
+            protected void interpolate(double frac) {
+                for (int channel = 0; channel < CHANNEL_COUNT; ++channel) {
+                    double to = endValues[channel];
+                    if (!Double.isNaN(to)) {
+                        double from = fromValues[channel];
+                        setValue(node, clip, channel, from + (to - from) * frac);
+                    }
+                }
+            }
+        };
+
+        transition.setInterpolator(interpolator);
+        transition.setOnFinished(event -> finished(transition));
+        fallback = transition;
+        transition.play();
+    }
+
+    private void finished(Object source) {
+        if (source != animation && source != fallback) {
+            return;
+        }
+
+        animation = null;
+        fallback = null;
+        Node clip = node.getClip();
+        for (int channel = 0; channel < CHANNEL_COUNT; ++channel) {
+            double to = endValues[channel];
+            if (!Double.isNaN(to)) {
+                setValue(node, clip, channel, to);
+            }
+        }
+
+        status.set(Animation.Status.STOPPED);
+
+        EventHandler<ActionEvent> handler = getOnFinished();
+        if (handler != null) {
+            handler.handle(new ActionEvent(this, null));
+        }
+    }
+
+    private static Affine3D toAffine3D(Transform t) {
+        return new Affine3D(
+            t.getMxx(), t.getMxy(), t.getMxz(), t.getTx(),
+            t.getMyx(), t.getMyy(), t.getMyz(), t.getTy(),
+            t.getMzx(), t.getMzy(), t.getMzz(), t.getTz());
+    }
+
+    private static double getValue(Node node, Node clip, int channel) {
+        switch (channel) {
+            case TRANSLATE_X: return node.getTranslateX();
+            case TRANSLATE_Y: return node.getTranslateY();
+            case TRANSLATE_Z: return node.getTranslateZ();
+            case SCALE_X: return node.getScaleX();
+            case SCALE_Y: return node.getScaleY();
+            case SCALE_Z: return node.getScaleZ();
+            case ROTATE: return node.getRotate();
+            case OPACITY: return node.getOpacity();
+            case CLIP_TRANSLATE_X: return clip != null ? clip.getTranslateX() : 0;
+            case CLIP_TRANSLATE_Y: return clip != null ? clip.getTranslateY() : 0;
+            default: throw new IllegalArgumentException();
+        }
+    }
+
+    private static void setValue(Node node, Node clip, int channel, double value) {
+        switch (channel) {
+            case TRANSLATE_X: node.setTranslateX(value); break;
+            case TRANSLATE_Y: node.setTranslateY(value); break;
+            case TRANSLATE_Z: node.setTranslateZ(value); break;
+            case SCALE_X: node.setScaleX(value); break;
+            case SCALE_Y: node.setScaleY(value); break;
+            case SCALE_Z: node.setScaleZ(value); break;
+            case ROTATE: node.setRotate(value); break;
+            case OPACITY: node.setOpacity(value); break;
+            case CLIP_TRANSLATE_X: if (clip != null) clip.setTranslateX(value); break;
+            case CLIP_TRANSLATE_Y: if (clip != null) clip.setTranslateY(value); break;
+            default: throw new IllegalArgumentException();
+        }
+    }
+}
@@ -268,6 +268,8 @@ public class StyleConverter<F, T> {
         os.writeShort(index);
     }
 
+    // Values may be converted concurrently when styles are resolved in parallel
+    private static final Object cacheLock = new Object();
     private static Map<ParsedValue, Object> cache;
 
     /**
@@ -275,8 +277,10 @@ public class StyleConverter<F, T> {
      * @since 9
      */
     public static void clearCache() {
-        if (cache != null) {
-            cache.clear();
+        synchronized (cacheLock) {
+            if (cache != null) {
+                cache.clear();
+            }
         }
     }
 
@@ -287,8 +291,10 @@ public class StyleConverter<F, T> {
      * @since 9
      */
     protected T getCachedValue(ParsedValue key) {
-        if (cache != null) {
-            return (T)cache.get(key);
+        synchronized (cacheLock) {
+            if (cache != null) {
+                return (T)cache.get(key);
+            }
         }
         return null;
     }
@@ -300,8 +306,10 @@ public class StyleConverter<F, T> {
      * @since 9
      */
     protected void cacheValue(ParsedValue key, Object value) {
-        if (cache == null) cache = new WeakHashMap<>();
-        cache.put(key, value);
+        synchronized (cacheLock) {
+            if (cache == null) cache = new WeakHashMap<>();
+            cache.put(key, value);
+        }
     }
 
     // map of StyleConverter class name to StyleConverter
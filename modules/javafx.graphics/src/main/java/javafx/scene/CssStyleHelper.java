@@ -734,6 +734,156 @@ final class CssStyleHelper {
 
     private boolean transitionStateInProgress = false;
 
+    // The values that were calculated for the next transitionToState by
+    // ParallelStyleResolver, or null.
+    private CalculatedValues calculatedValues;
+
+    /*
+     * The values of the properties of a node that are not in the shared cache,
+     * calculated ahead of transitionToState. The lookups read the scene graph
+     * and the style maps, but do not modify the caches of the style helpers,
+     * so the values of different nodes can be calculated concurrently once
+     * they have been prepared on the FX thread.
+     */
+    static final class CalculatedValues {
+
+        private final CssStyleHelper helper;
+        private final Node node;
+        private final StyleMap styleMap;
+        private final Set<PseudoClass> states;
+        private final CalculatedValue cachedFont;
+        private final StyleCacheEntry.Key cacheEntryKey;
+        private final List<CssMetaData<? extends Styleable, ?>> styleables;
+        private CalculatedValue[] values;
+
+        private CalculatedValues(CssStyleHelper helper, Node node, StyleMap styleMap,
+                                 Set<PseudoClass>[] transitionStates, CalculatedValue cachedFont,
+                                 StyleCacheEntry.Key cacheEntryKey) {
+            this.helper = helper;
+            this.node = node;
+            this.styleMap = styleMap;
+            this.states = transitionStates[0];
+            this.cachedFont = cachedFont;
+            this.cacheEntryKey = cacheEntryKey;
+            this.styleables = node.getCssMetaData();
+        }
+
+        /*
+         * Looks up the values of the settable properties of the node. This
+         * may be called on any thread. If a lookup fails, no values are kept
+         * and transitionToState does the lookups itself.
+         */
+        void calculate() {
+            final boolean inheritOnly = styleMap.isEmpty();
+            final CalculatedValue[] values = new CalculatedValue[styleables.size()];
+
+            try {
+                for (int n = 0; n < values.length; n++) {
+                    @SuppressWarnings("unchecked")
+                    final CssMetaData<Styleable,Object> cssMetaData =
+                            (CssMetaData<Styleable,Object>)styleables.get(n);
+
+                    if (inheritOnly && cssMetaData.isInherits() == false) {
+                        continue;
+                    }
+
+                    if (!cssMetaData.isSettable(node)) continue;
+
+                    values[n] = helper.lookup(node, cssMetaData, styleMap, states, node, cachedFont);
+                }
+            } catch (RuntimeException e) {
+                return;
+            }
+
+            this.values = values;
+        }
+
+        /*
+         * Hands the values to the style helper of the node. Called on the FX
+         * thread after calculate has completed.
+         */
+        void publish() {
+            if (values != null) {
+                helper.calculatedValues = this;
+            }
+        }
+
+        /*
+         * Gets the values, provided that they were calculated for the same
+         * cache entry, style map and properties as those of the transition.
+         */
+        CalculatedValue[] getValues(StyleCacheEntry.Key cacheEntryKey, StyleMap styleMap,
+                                    List<CssMetaData<? extends Styleable, ?>> styleables) {
+            if (this.styleMap != styleMap
+                    || this.styleables != styleables
+                    || !this.cacheEntryKey.equals(cacheEntryKey)) {
+                return null;
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Prepares the calculation of the values of the node for the next
+     * transitionToState on the FX thread. This resolves everything the
+     * lookups would otherwise lazily create: the font of the node, the
+     * shared cache and the cascading styles of the style map.
+     *
+     * @return the values to calculate, or null if there is nothing to
+     *         calculate since the values are already in the shared cache
+     */
+    CalculatedValues prepareCalculatedValues(final Node node) {
+
+        calculatedValues = null;
+
+        if (cacheContainer == null) {
+            return null;
+        }
+
+        final StyleMap styleMap = getStyleMap(node);
+        if (styleMap == null) {
+            return null;
+        }
+
+        styleMap.getCascadingStyles();
+
+        final StyleCache sharedCache = StyleManager.getInstance().getSharedCache(node, node.getSubScene(), cacheContainer.styleCacheKey);
+        if (sharedCache == null) {
+            return null;
+        }
+
+        final Set<PseudoClass>[] transitionStates = getTransitionStates(node);
+        final CalculatedValue cachedFont = getCachedFont(node, styleMap, transitionStates);
+        final StyleCacheEntry.Key cacheEntryKey = new StyleCacheEntry.Key(transitionStates, (Font)cachedFont.getValue());
+
+        if (sharedCache.getStyleCacheEntry(cacheEntryKey) != null) {
+            return null;
+        }
+
+        return new CalculatedValues(this, node, styleMap, transitionStates, cachedFont, cacheEntryKey);
+    }
+
+    /**
+     * Prepares the ancestors of the node for the calculation of values on
+     * other threads, since lookups of inherited styles and relative font
+     * sizes read the style maps and fonts of the ancestors.
+     */
+    static void prepareAncestors(final Node node) {
+        for (Node parent = node.getParent(); parent != null; parent = parent.getParent()) {
+            final CssStyleHelper helper = parent.styleHelper;
+            if (helper == null || helper.cacheContainer == null) {
+                continue;
+            }
+
+            final StyleMap styleMap = helper.getStyleMap(parent);
+            if (styleMap != null) {
+                styleMap.getCascadingStyles();
+            }
+
+            helper.getCachedFont(parent);
+        }
+    }
+
     /**
      * Called by the Node whenever it has transitioned from one set of
      * pseudo-class states to another. This function will then lookup the
@@ -777,21 +927,13 @@ final class CssStyleHelper {
 
         }
 
-        final Set<PseudoClass>[] transitionStates = getTransitionStates(node);
-
-        final StyleCacheEntry.Key fontCacheKey = new StyleCacheEntry.Key(transitionStates, Font.getDefault());
-        CalculatedValue cachedFont = cacheContainer.fontSizeCache.get(fontCacheKey);
-
-        if (cachedFont == null) {
-
-            cachedFont = lookupFont(node, "-fx-font", styleMap, cachedFont);
+        // Values that were calculated ahead of time by ParallelStyleResolver
+        final CalculatedValues calculatedValues = this.calculatedValues;
+        this.calculatedValues = null;
 
-            if (cachedFont == SKIP) cachedFont = getCachedFont(node.getStyleableParent());
-            if (cachedFont == null) cachedFont = new CalculatedValue(Font.getDefault(), null, false);
-
-            cacheContainer.fontSizeCache.put(fontCacheKey,cachedFont);
+        final Set<PseudoClass>[] transitionStates = getTransitionStates(node);
 
-        }
+        final CalculatedValue cachedFont = getCachedFont(node, styleMap, transitionStates);
 
         final Font fontForRelativeSizes = (Font)cachedFont.getValue();
 
@@ -814,6 +956,9 @@ final class CssStyleHelper {
         final boolean isForceSlowpath = cacheContainer.forceSlowpath;
         cacheContainer.forceSlowpath = false;
 
+        final CalculatedValue[] precalculated = calculatedValues != null
+                ? calculatedValues.getValues(cacheEntryKey, styleMap, styleables) : null;
+
         // For each property that is settable, we need to do a lookup and
         // transition to that value.
         transitionStateInProgress = true;
@@ -855,8 +1000,14 @@ final class CssStyleHelper {
             } else if (calculatedValue == null) {
 
                 // slowpath!
-                calculatedValue = lookup(node, cssMetaData, styleMap, transitionStates[0],
-                        node, cachedFont);
+                if (precalculated != null) {
+                    calculatedValue = precalculated[n];
+                }
+
+                if (calculatedValue == null) {
+                    calculatedValue = lookup(node, cssMetaData, styleMap, transitionStates[0],
+                            node, cachedFont);
+                }
 
                 // lookup is not supposed to return null.
                 if (calculatedValue == null) {
@@ -1005,6 +1156,30 @@ final class CssStyleHelper {
         transitionStateInProgress = false;
     }
 
+    /*
+     * Gets the font for relative sizes of the node in these transition states,
+     * and adds it to the fontSizeCache if it was not there yet.
+     */
+    private CalculatedValue getCachedFont(final Node node, final StyleMap styleMap,
+                                          final Set<PseudoClass>[] transitionStates) {
+
+        final StyleCacheEntry.Key fontCacheKey = new StyleCacheEntry.Key(transitionStates, Font.getDefault());
+        CalculatedValue cachedFont = cacheContainer.fontSizeCache.get(fontCacheKey);
+
+        if (cachedFont == null) {
+
+            cachedFont = lookupFont(node, "-fx-font", styleMap, cachedFont);
+
+            if (cachedFont == SKIP) cachedFont = getCachedFont(node.getStyleableParent());
+            if (cachedFont == null) cachedFont = new CalculatedValue(Font.getDefault(), null, false);
+
+            cacheContainer.fontSizeCache.put(fontCacheKey,cachedFont);
+
+        }
+
+        return cachedFont;
+    }
+
     /**
      * Gets the CSS CascadingStyle for the property of this node in these pseudo-class
      * states. A null style may be returned if there is no style information
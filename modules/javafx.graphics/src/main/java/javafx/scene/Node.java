@@ -153,6 +153,7 @@ import com.sun.javafx.scene.EventHandlerProperties;
 import com.sun.javafx.scene.LayoutFlags;
 import com.sun.javafx.scene.NodeEventDispatcher;
 import com.sun.javafx.scene.NodeHelper;
+import com.sun.javafx.scene.SubtreeLogger;
 import com.sun.javafx.scene.SceneHelper;
 import com.sun.javafx.scene.SceneUtils;
 import com.sun.javafx.scene.command.CommandHandlerList;
@@ -170,6 +171,7 @@ import javafx.scene.shape.Shape3D;
 import javafx.util.Incubating;
 import com.sun.javafx.logging.PlatformLogger;
 import com.sun.javafx.logging.PlatformLogger.Level;
+import com.sun.javafx.logging.PulseLogger;
 
 /**
  * Base class for scene graph nodes. A scene graph is a set of tree data structures
@@ -524,6 +526,11 @@ public abstract class Node implements EventTarget, Styleable {
                 return node.isShowMnemonics();
             }
 
+            @Override
+            public void setScrollCacheOpt(Node node, boolean value) {
+                node.setScrollCacheOpt(value);
+            }
+
             @Override
             public BooleanProperty showMnemonicsProperty(Node node) {
                 return node.showMnemonicsProperty();
@@ -861,6 +868,7 @@ public abstract class Node implements EventTarget, Styleable {
 
         if (isDirty(DirtyBits.NODE_CACHE)) {
             peer.setCachedAsBitmap(isCache(), getCacheHint());
+            peer.setScrollCacheOpt(scrollCacheOpt);
         }
 
         if (isDirty(DirtyBits.NODE_CLIP)) {
@@ -8715,6 +8723,20 @@ public abstract class Node implements EventTarget, Styleable {
     }
 
 
+    /*
+     * Should translations of the children of this node scroll the cached image
+     * of this node? Only applies if the node is cached.
+     * Accessible via a NodeAccessor.
+     */
+    private boolean scrollCacheOpt;
+
+    final void setScrollCacheOpt(boolean value) {
+        if (scrollCacheOpt != value) {
+            scrollCacheOpt = value;
+            NodeHelper.markDirty(this, DirtyBits.NODE_CACHE);
+        }
+    }
+
     /**
      * References a node that is a labelFor this node.
      * Accessible via a NodeAccessor. See Label.labelFor for details.
@@ -9663,6 +9685,7 @@ public abstract class Node implements EventTarget, Styleable {
     }
 
     void processCSS() {
+        final long start = PulseLogger.SUBTREE_LOGGING_ENABLED ? System.nanoTime() : 0;
         switch (cssFlag) {
             case CLEAN:
                 break;
@@ -9681,7 +9704,41 @@ public abstract class Node implements EventTarget, Styleable {
             case REAPPLY:
             case UPDATE:
             default:
-                NodeHelper.processCSS(this);
+                if (ParallelStyleResolver.isEnabled()) {
+                    ParallelStyleResolver.processCSS(this);
+                } else {
+                    NodeHelper.processCSS(this);
+                }
+        }
+        if (PulseLogger.SUBTREE_LOGGING_ENABLED) {
+            SubtreeLogger.processed("CSS", this, start);
+        }
+    }
+
+    //
+    // Prepares the calculation of the CSS values of this node and its children for
+    // ParallelStyleResolver, in the order in which they are processed. Since processing
+    // CSS also updates the children of the node, all descendants are prepared. A deferred
+    // REAPPLY is done now, so that the values are calculated with the new style helpers.
+    //
+    void prepareCalculatedValues(List<CssStyleHelper.CalculatedValues> values) {
+
+        if (cssFlag == CssFlags.REAPPLY) {
+            reapplyCss();
+        }
+
+        if (styleHelper != null && getScene() != null) {
+            final CssStyleHelper.CalculatedValues calculatedValues = styleHelper.prepareCalculatedValues(this);
+            if (calculatedValues != null) {
+                values.add(calculatedValues);
+            }
+        }
+
+        if (this instanceof Parent) {
+            List<Node> children = ((Parent) this).getChildren();
+            for (int i = 0, max = children.size(); i < max; i++) {
+                children.get(i).prepareCalculatedValues(values);
+            }
         }
     }
 
@@ -9788,6 +9845,8 @@ public abstract class Node implements EventTarget, Styleable {
         // Nothing to do...
         if (cssFlag == CssFlags.CLEAN) return;
 
+        final long start = PulseLogger.INSTRUMENTATION_ENABLED ? System.nanoTime() : 0;
+
         // if REAPPLY was deferred, process it now...
         if (cssFlag == CssFlags.REAPPLY) {
             reapplyCss();
@@ -9801,6 +9860,10 @@ public abstract class Node implements EventTarget, Styleable {
         if (styleHelper != null && getScene() != null) {
             styleHelper.transitionToState(this);
         }
+
+        if (PulseLogger.INSTRUMENTATION_ENABLED) {
+            PulseLogger.nodeProcessed("CSS", this, start);
+        }
     }
 
 
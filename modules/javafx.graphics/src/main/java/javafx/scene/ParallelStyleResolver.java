@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package javafx.scene;
+
+import com.sun.javafx.css.StyleManager;
+import com.sun.javafx.scene.NodeHelper;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Processes the CSS of a subtree with the calculated values of its nodes
+ * computed in parallel.
+ * <p>
+ * The nodes of the subtree are first prepared on the FX thread in the order in
+ * which they are processed, which reapplies CSS where necessary and resolves
+ * the fonts, style maps and caches that the lookups would otherwise create.
+ * The values that are not in the shared style cache are then calculated on a
+ * fork-join pool. Each task calculates a range of the prepared nodes, which are
+ * neighbouring sibling subtrees since the nodes are in tree order. Finally, the
+ * subtree is processed as usual: {@link CssStyleHelper#transitionToState} uses
+ * the calculated values instead of looking them up, and still adds them to the
+ * shared cache and applies them to the properties on the FX thread.
+ * <p>
+ * This mode is disabled by default. It is enabled with the
+ * {@code javafx.css.parallel} system property; subtrees with fewer nodes to
+ * calculate than {@code javafx.css.parallelThreshold} are processed without
+ * calculating values in parallel. The number of threads can be configured
+ * with the {@code javafx.css.threads} system property.
+ */
+final class ParallelStyleResolver {
+
+    private static final int DEFAULT_THRESHOLD = 500;
+
+    // the maximum number of nodes calculated by a single task
+    private static final int MAX_TASK_NODES = 32;
+
+    private static volatile boolean enabled;
+    private static int threshold = DEFAULT_THRESHOLD;
+    private static int threads = Runtime.getRuntime().availableProcessors();
+    private static ForkJoinPool pool;
+
+    // true while a subtree is processed, since the nested calls to processCSS
+    // are part of the same pass
+    private static volatile boolean processing;
+
+    static {
+        @SuppressWarnings("removal")
+        var dummy = AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            enabled = Boolean.getBoolean("javafx.css.parallel");
+            threshold = Integer.getInteger("javafx.css.parallelThreshold", DEFAULT_THRESHOLD);
+            threads = Integer.getInteger("javafx.css.threads", threads);
+            return null;
+        });
+    }
+
+    private ParallelStyleResolver() {
+    }
+
+    static boolean isEnabled() {
+        return enabled && !processing;
+    }
+
+    // used by tests
+    static void setEnabled(boolean enabled, int threshold) {
+        ParallelStyleResolver.enabled = enabled;
+        ParallelStyleResolver.threshold = threshold;
+    }
+
+    /**
+     * Processes the CSS of the node and its descendants.
+     */
+    static void processCSS(Node node) {
+        processing = true;
+
+        try {
+            CssStyleHelper.prepareAncestors(node);
+
+            List<CssStyleHelper.CalculatedValues> values = new ArrayList<>();
+            node.prepareCalculatedValues(values);
+
+            // errors are collected in a list that is not thread-safe
+            if (values.size() >= threshold && values.size() > 1 && StyleManager.getErrors() == null) {
+                getPool().invoke(new CalculateTask(values, 0, values.size()));
+
+                for (int i = 0, max = values.size(); i < max; i++) {
+                    values.get(i).publish();
+                }
+            }
+
+            NodeHelper.processCSS(node);
+        } finally {
+            processing = false;
+        }
+    }
+
+    @SuppressWarnings("removal")
+    private static ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = AccessController.doPrivileged((PrivilegedAction<ForkJoinPool>) () ->
+                new ForkJoinPool(Math.max(1, threads), p -> {
+                    ForkJoinWorkerThread thread =
+                        ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    thread.setName("JavaFX CSS Thread " + thread.getPoolIndex());
+                    return thread;
+                }, null, false));
+        }
+        return pool;
+    }
+
+    // tasks are never serialized
+    @SuppressWarnings("serial")
+    private static final class CalculateTask extends RecursiveAction {
+        private final List<CssStyleHelper.CalculatedValues> values;
+        private final int start, end;
+
+        CalculateTask(List<CssStyleHelper.CalculatedValues> values, int start, int end) {
+            this.values = values;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= MAX_TASK_NODES) {
+                for (int i = start; i < end; i++) {
+                    values.get(i).calculate();
+                }
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new CalculateTask(values, start, mid), new CalculateTask(values, mid, end));
+            }
+        }
+    }
+}
@@ -48,6 +48,7 @@ import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.javafx.scene.CssFlags;
 import com.sun.javafx.scene.DirtyBits;
 import com.sun.javafx.scene.input.PickResultChooser;
@@ -57,6 +58,7 @@ import com.sun.javafx.tk.Toolkit;
 import com.sun.javafx.scene.LayoutFlags;
 import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.scene.ParentHelper;
+import com.sun.javafx.scene.SubtreeLogger;
 import com.sun.javafx.stage.WindowHelper;
 import java.util.Collections;
 import javafx.stage.Window;
@@ -1188,6 +1190,7 @@ public abstract class Parent extends Node {
         // Hence we need to cache and reset it before performing layout.
         LayoutFlags flag = layoutFlag;
         setLayoutFlag(LayoutFlags.CLEAN);
+        final long start = PulseLogger.SUBTREE_LOGGING_ENABLED ? System.nanoTime() : 0;
         switch(flag) {
             case CLEAN:
                 break;
@@ -1204,7 +1207,13 @@ public abstract class Parent extends Node {
                     break;
                 }
                 performingLayout = true;
-                layoutChildren();
+                if (PulseLogger.INSTRUMENTATION_ENABLED) {
+                    final long layoutStart = System.nanoTime();
+                    layoutChildren();
+                    PulseLogger.nodeProcessed("Layout", this, layoutStart);
+                } else {
+                    layoutChildren();
+                }
                 // Intended fall-through
             case DIRTY_BRANCH:
                 for (int i = 0, max = children.size(); i < max; i++) {
@@ -1220,6 +1229,9 @@ public abstract class Parent extends Node {
                 performingLayout = false;
                 break;
         }
+        if (PulseLogger.SUBTREE_LOGGING_ENABLED) {
+            SubtreeLogger.processed("Layout", this, start);
+        }
     }
 
     /**
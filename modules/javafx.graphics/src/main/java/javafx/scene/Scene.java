@@ -44,6 +44,7 @@ import com.sun.javafx.scene.CssFlags;
 import com.sun.javafx.scene.LayoutFlags;
 import com.sun.javafx.scene.SceneEventDispatcher;
 import com.sun.javafx.scene.SceneHelper;
+import com.sun.javafx.scene.SubtreeLogger;
 import com.sun.javafx.scene.input.DragboardHelper;
 import com.sun.javafx.scene.input.ExtendedInputMethodRequests;
 import com.sun.javafx.scene.input.InputEventUtils;
@@ -2377,9 +2378,15 @@ public class Scene implements EventTarget {
                     Node node = dirtyNodes[i];
                     dirtyNodes[i] = null;
                     if (node.getScene() == Scene.this) {
+                        if (PulseLogger.SUBTREE_LOGGING_ENABLED) {
+                            final long start = System.nanoTime();
+                            node.syncPeer();
+                            SubtreeLogger.processed("Synchronization", node, 1, start);
+                        } else {
                             node.syncPeer();
                         }
                     }
+                }
                 dirtyNodesSize = 0;
             }
 
@@ -2391,6 +2398,7 @@ public class Scene implements EventTarget {
          * The return value is the number of nodes in the graph.
          */
         private int syncAll(Node node) {
+            final long start = PulseLogger.SUBTREE_LOGGING_ENABLED ? System.nanoTime() : 0;
             node.syncPeer();
             int size = 1;
             if (node instanceof Parent) {
@@ -2411,6 +2419,10 @@ public class Scene implements EventTarget {
                 size += syncAll(node.getClip());
             }
 
+            if (PulseLogger.SUBTREE_LOGGING_ENABLED) {
+                SubtreeLogger.processed("Synchronization", node, size, start);
+            }
+
             return size;
         }
 
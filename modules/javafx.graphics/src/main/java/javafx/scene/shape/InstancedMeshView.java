@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package javafx.scene.shape;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.BoxBounds;
+import com.sun.javafx.geom.PickRay;
+import com.sun.javafx.geom.transform.Affine3D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.geom.transform.NoninvertibleTransformException;
+import com.sun.javafx.scene.DirtyBits;
+import com.sun.javafx.scene.NodeHelper;
+import com.sun.javafx.scene.input.PickResultChooser;
+import com.sun.javafx.scene.shape.InstancedMeshViewHelper;
+import com.sun.javafx.scene.shape.MeshHelper;
+import com.sun.javafx.sg.prism.NGInstancedMeshView;
+import com.sun.javafx.sg.prism.NGNode;
+import javafx.collections.ArrayChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableFloatArray;
+import javafx.scene.Node;
+
+/**
+ * The {@code InstancedMeshView} class renders many instances of the same
+ * {@link Mesh} with the same material. Each instance has its own transform
+ * and, optionally, its own color. Compared to a separate {@link MeshView}
+ * for every instance, this saves the per-node overhead of the scene graph
+ * and allows pipelines that support it to render all instances with a
+ * single instanced draw call.
+ * <p>
+ * The instances are defined by {@link #getInstanceTransforms()}, which holds
+ * 12 floats per instance: the first three rows of an affine 3D transform in
+ * row-major order,
+ * {@code mxx, mxy, mxz, tx, myx, myy, myz, ty, mzx, mzy, mzz, tz}.
+ * The transform of an instance is applied before the transforms of the node.
+ * {@link #getInstanceColors()} holds 4 floats per instance,
+ * {@code red, green, blue, opacity}, which are multiplied with the diffuse
+ * color of the material. Instances without a color are rendered as if their
+ * color was white.
+ * <p>
+ * When picking, the intersected face and point are reported for the closest
+ * instance; the point is given in the local coordinates of this node.
+ *
+ * @since JFXcore 18
+ */
+public class InstancedMeshView extends MeshView {
+    static {
+         // This is used by classes in different packages to get access to
+         // private and package private methods.
+        InstancedMeshViewHelper.setInstancedMeshViewAccessor(new InstancedMeshViewHelper.InstancedMeshViewAccessor() {
+            @Override
+            public NGNode doCreatePeer(Node node) {
+                return ((InstancedMeshView) node).doCreatePeer();
+            }
+
+            @Override
+            public void doUpdatePeer(Node node) {
+                ((InstancedMeshView) node).doUpdatePeer();
+            }
+
+            @Override
+            public BaseBounds doComputeGeomBounds(Node node,
+                    BaseBounds bounds, BaseTransform tx) {
+                return ((InstancedMeshView) node).doComputeGeomBounds(bounds, tx);
+            }
+
+            @Override
+            public boolean doComputeIntersects(Node node, PickRay pickRay,
+                    PickResultChooser pickResult) {
+                return ((InstancedMeshView) node).doComputeIntersects(pickRay, pickResult);
+            }
+        });
+    }
+
+    /**
+     * Number of floats that describe the transform of one instance.
+     */
+    public static final int TRANSFORM_SIZE = 12;
+
+    /**
+     * Number of floats that describe the color of one instance.
+     */
+    public static final int COLOR_SIZE = 4;
+
+    private final ObservableFloatArray instanceTransforms = FXCollections.observableFloatArray();
+    private final ObservableFloatArray instanceColors = FXCollections.observableFloatArray();
+
+    // The arrays last handed over to the peer, reused while their size does not change
+    private float[] syncedTransforms;
+    private float[] syncedColors;
+
+    {
+        // To initialize the class helper at the begining each constructor of this class
+        InstancedMeshViewHelper.initHelper(this);
+
+        instanceTransforms.addListener((ArrayChangeListener<ObservableFloatArray>)
+                (array, sizeChanged, from, to) -> {
+                    NodeHelper.markDirty(this, DirtyBits.NODE_CONTENTS);
+                    NodeHelper.geomChanged(this);
+                });
+        instanceColors.addListener((ArrayChangeListener<ObservableFloatArray>)
+                (array, sizeChanged, from, to) -> {
+                    NodeHelper.markDirty(this, DirtyBits.NODE_CONTENTS);
+                });
+    }
+
+    /**
+     * Creates a new instance of {@code InstancedMeshView} class without
+     * any instances.
+     */
+    public InstancedMeshView() {
+    }
+
+    /**
+     * Creates a new instance of {@code InstancedMeshView} class with the
+     * specified {@code Mesh} surface and without any instances.
+     * @param mesh the mesh surface
+     */
+    public InstancedMeshView(Mesh mesh) {
+        super(mesh);
+    }
+
+    /**
+     * Gets the transforms of the instances, {@value #TRANSFORM_SIZE} floats
+     * per instance. Trailing floats that do not make up a complete transform
+     * are ignored.
+     *
+     * @return the array of instance transforms
+     */
+    public final ObservableFloatArray getInstanceTransforms() {
+        return instanceTransforms;
+    }
+
+    /**
+     * Gets the colors of the instances, {@value #COLOR_SIZE} floats per
+     * instance, in the range of 0 to 1.
+     *
+     * @return the array of instance colors
+     */
+    public final ObservableFloatArray getInstanceColors() {
+        return instanceColors;
+    }
+
+    /**
+     * Gets the number of instances, which is determined by the size of
+     * {@link #getInstanceTransforms()}.
+     *
+     * @return the number of instances
+     */
+    public final int getInstanceCount() {
+        return instanceTransforms.size() / TRANSFORM_SIZE;
+    }
+
+    /*
+     * Note: This method MUST only be called via its accessor method.
+     */
+    private NGNode doCreatePeer() {
+        return new NGInstancedMeshView();
+    }
+
+    /*
+     * Note: This method MUST only be called via its accessor method.
+     */
+    private void doUpdatePeer() {
+        if (NodeHelper.isDirty(this, DirtyBits.NODE_CONTENTS)) {
+            NGInstancedMeshView peer = NodeHelper.getPeer(this);
+            int count = getInstanceCount();
+            syncedTransforms = toArray(instanceTransforms, count * TRANSFORM_SIZE, syncedTransforms);
+            syncedColors = toArray(instanceColors,
+                    Math.min(count * COLOR_SIZE, instanceColors.size()), syncedColors);
+            peer.setInstances(syncedTransforms, syncedColors, count);
+        }
+    }
+
+    private static float[] toArray(ObservableFloatArray array, int size, float[] dest) {
+        if (dest == null || dest.length != size) {
+            dest = new float[size];
+        }
+        return array.toArray(0, dest, size);
+    }
+
+    /*
+     * Note: This method MUST only be called via its accessor method.
+     */
+    private BaseBounds doComputeGeomBounds(BaseBounds bounds, BaseTransform tx) {
+        final Mesh mesh = getMesh();
+        final int count = getInstanceCount();
+        if (mesh == null || count == 0) {
+            return bounds.makeEmpty();
+        }
+        BaseBounds meshBounds = mesh.computeBounds(new BoxBounds());
+        if (meshBounds.isEmpty()) {
+            return bounds.makeEmpty();
+        }
+
+        // Transform the center and the extents of the mesh bounds by every
+        // instance transform and take the union of the results
+        final float cx = (meshBounds.getMinX() + meshBounds.getMaxX()) / 2;
+        final float cy = (meshBounds.getMinY() + meshBounds.getMaxY()) / 2;
+        final float cz = (meshBounds.getMinZ() + meshBounds.getMaxZ()) / 2;
+        final float ex = meshBounds.getWidth() / 2;
+        final float ey = meshBounds.getHeight() / 2;
+        final float ez = meshBounds.getDepth() / 2;
+
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float maxZ = Float.NEGATIVE_INFINITY;
+        final ObservableFloatArray t = instanceTransforms;
+        for (int i = 0; i < count; i++) {
+            int o = i * TRANSFORM_SIZE;
+            float mxx = t.get(o),     mxy = t.get(o + 1), mxz = t.get(o + 2),  mxt = t.get(o + 3);
+            float myx = t.get(o + 4), myy = t.get(o + 5), myz = t.get(o + 6),  myt = t.get(o + 7);
+            float mzx = t.get(o + 8), mzy = t.get(o + 9), mzz = t.get(o + 10), mzt = t.get(o + 11);
+
+            float x = mxx * cx + mxy * cy + mxz * cz + mxt;
+            float y = myx * cx + myy * cy + myz * cz + myt;
+            float z = mzx * cx + mzy * cy + mzz * cz + mzt;
+            float dx = Math.abs(mxx) * ex + Math.abs(mxy) * ey + Math.abs(mxz) * ez;
+            float dy = Math.abs(myx) * ex + Math.abs(myy) * ey + Math.abs(myz) * ez;
+            float dz = Math.abs(mzx) * ex + Math.abs(mzy) * ey + Math.abs(mzz) * ez;
+
+            minX = Math.min(minX, x - dx);
+            minY = Math.min(minY, y - dy);
+            minZ = Math.min(minZ, z - dz);
+            maxX = Math.max(maxX, x + dx);
+            maxY = Math.max(maxY, y + dy);
+            maxZ = Math.max(maxZ, z + dz);
+        }
+        bounds = bounds.deriveWithNewBounds(minX, minY, minZ, maxX, maxY, maxZ);
+        return tx.transform(bounds, bounds);
+    }
+
+    /*
+     * Note: This method MUST only be called via its accessor method.
+     */
+    private boolean doComputeIntersects(PickRay pickRay, PickResultChooser pickResult) {
+        final Mesh mesh = getMesh();
+        final int count = getInstanceCount();
+        if (mesh == null || count == 0) {
+            return false;
+        }
+
+        final Affine3D instanceTx = new Affine3D();
+        final PickRay instanceRay = new PickRay();
+        final ObservableFloatArray t = instanceTransforms;
+        PickResultChooser closest = null;
+        for (int i = 0; i < count; i++) {
+            int o = i * TRANSFORM_SIZE;
+            instanceTx.setTransform(
+                    t.get(o),     t.get(o + 1), t.get(o + 2),  t.get(o + 3),
+                    t.get(o + 4), t.get(o + 5), t.get(o + 6),  t.get(o + 7),
+                    t.get(o + 8), t.get(o + 9), t.get(o + 10), t.get(o + 11));
+            instanceRay.setPickRay(pickRay);
+            try {
+                // keeps the distances comparable between the instances
+                instanceRay.inverseTransform(instanceTx);
+            } catch (NoninvertibleTransformException e) {
+                continue;
+            }
+
+            // Cheap test first, most instances are not hit
+            if (!MeshHelper.computeIntersects(mesh, instanceRay, null, this, getCullFace(), false)) {
+                continue;
+            }
+            if (pickResult == null) {
+                return true;
+            }
+            PickResultChooser chooser = new PickResultChooser();
+            MeshHelper.computeIntersects(mesh, instanceRay, chooser, this, getCullFace(), true);
+            if (!chooser.isEmpty() && (closest == null
+                    || chooser.getIntersectedDistance() < closest.getIntersectedDistance())) {
+                closest = chooser;
+            }
+        }
+
+        if (closest == null) {
+            return false;
+        }
+
+        // The point has been computed in the coordinates of the instance
+        double distance = closest.getIntersectedDistance();
+        pickResult.offer(this, distance, closest.getIntersectedFace(),
+                PickResultChooser.computePoint(pickRay, distance),
+                closest.getIntersectedTexCoord());
+        return true;
+    }
+}
@@ -1817,6 +1817,7 @@ JNIEXPORT jlong JNICALL Java_com_sun_prism_es2_GLContext_nCreateES2Mesh
     /* initialize the structure */
     meshInfo->vboIDArray[MESH_VERTEXBUFFER] = 0;
     meshInfo->vboIDArray[MESH_INDEXBUFFER] = 0;
+    meshInfo->vertexBufferSize = 0;
     meshInfo->indexBufferSize = 0;
     meshInfo->indexBufferType = 0;
 
@@ -1893,6 +1894,7 @@ JNIEXPORT jboolean JNICALL Java_com_sun_prism_es2_GLContext_nBuildNativeGeometry
         ctxInfo->glBindBuffer(GL_ARRAY_BUFFER, meshInfo->vboIDArray[MESH_VERTEXBUFFER]);
         ctxInfo->glBufferData(GL_ARRAY_BUFFER, uvbSize * sizeof (GLfloat),
                 vertexBuffer, GL_STATIC_DRAW);
+        meshInfo->vertexBufferSize = uvbSize;
 
         // Initialize index buffer
         ctxInfo->glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, meshInfo->vboIDArray[MESH_INDEXBUFFER]);
@@ -1962,6 +1964,7 @@ JNIEXPORT jboolean JNICALL Java_com_sun_prism_es2_GLContext_nBuildNativeGeometry
         ctxInfo->glBindBuffer(GL_ARRAY_BUFFER, meshInfo->vboIDArray[MESH_VERTEXBUFFER]);
         ctxInfo->glBufferData(GL_ARRAY_BUFFER, uvbSize * sizeof (GLfloat),
                 vertexBuffer, GL_STATIC_DRAW);
+        meshInfo->vertexBufferSize = uvbSize;
 
         // Initialize index buffer
         ctxInfo->glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, meshInfo->vboIDArray[MESH_INDEXBUFFER]);
@@ -1985,6 +1988,53 @@ JNIEXPORT jboolean JNICALL Java_com_sun_prism_es2_GLContext_nBuildNativeGeometry
     return status;
 }
 
+/*
+ * Class:     com_sun_prism_es2_GLContext
+ * Method:    nUpdateNativeGeometry
+ * Signature: (JJ[FIII)Z
+ */
+JNIEXPORT jboolean JNICALL Java_com_sun_prism_es2_GLContext_nUpdateNativeGeometry
+(JNIEnv *env, jclass class, jlong nativeCtxInfo, jlong nativeMeshInfo,
+        jfloatArray vbArray, jint vbSize, jint from, jint length)
+{
+    GLuint vertexBufferSize;
+    GLfloat *vertexBuffer;
+    jboolean status = JNI_TRUE;
+
+    ContextInfo *ctxInfo = (ContextInfo *) jlong_to_ptr(nativeCtxInfo);
+    MeshInfo *meshInfo = (MeshInfo *) jlong_to_ptr(nativeMeshInfo);
+    if ((ctxInfo == NULL) || (meshInfo == NULL) || (vbArray == NULL) ||
+            (ctxInfo->glBindBuffer == NULL) ||
+            (ctxInfo->glBufferSubData == NULL) ||
+            (meshInfo->vboIDArray[MESH_VERTEXBUFFER] == 0) ||
+            from < 0 || length < 0 ||
+            (GLuint) vbSize != meshInfo->vertexBufferSize ||
+            (GLuint) from > meshInfo->vertexBufferSize - (GLuint) length) {
+        return JNI_FALSE;
+    }
+
+    vertexBufferSize = (*env)->GetArrayLength(env, vbArray);
+    vertexBuffer = (GLfloat *) ((*env)->GetPrimitiveArrayCritical(env, vbArray, NULL));
+
+    if (vertexBuffer == NULL || (GLuint) vbSize > vertexBufferSize) {
+        status = JNI_FALSE;
+    }
+
+    if (status) {
+        // Update the changed range of the vertex buffer only
+        ctxInfo->glBindBuffer(GL_ARRAY_BUFFER, meshInfo->vboIDArray[MESH_VERTEXBUFFER]);
+        ctxInfo->glBufferSubData(GL_ARRAY_BUFFER, from * sizeof (GLfloat),
+                length * sizeof (GLfloat), vertexBuffer + from);
+        ctxInfo->glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    if (vertexBuffer) {
+        (*env)->ReleasePrimitiveArrayCritical(env, vbArray, vertexBuffer, JNI_ABORT);
+    }
+
+    return status;
+}
+
 /*
  * Class:     com_sun_prism_es2_GLContext
  * Method:    nCreateES2PhongMaterial
@@ -2133,6 +2183,9 @@ JNIEXPORT jlong JNICALL Java_com_sun_prism_es2_GLContext_nCreateES2MeshView
     meshViewInfo->lightInnerAngle = 0;
     meshViewInfo->lightOuterAngle = 0;
     meshViewInfo->lightFalloff = 0;
+    meshViewInfo->instanceBufferID = 0;
+    meshViewInfo->instanceBufferSize = 0;
+    meshViewInfo->numInstances = 0;
 
     return ptr_to_jlong(meshViewInfo);
 }
@@ -2151,6 +2204,10 @@ JNIEXPORT void JNICALL Java_com_sun_prism_es2_GLContext_nReleaseES2MeshView
         return;
     }
 
+    if ((mvInfo->instanceBufferID != 0) && (ctxInfo->glDeleteBuffers != NULL)) {
+        ctxInfo->glDeleteBuffers(1, &(mvInfo->instanceBufferID));
+    }
+
     // TODO: 3D - Native clean up. Need to determine do we have to free what
     //            is held by ES2MeshViewInfo.
     free(mvInfo);
@@ -2364,3 +2421,142 @@ JNIEXPORT void JNICALL Java_com_sun_prism_es2_GLContext_nRenderMeshView
     ctxInfo->glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
 }
 
+/*
+ * Class:     com_sun_prism_es2_GLContext
+ * Method:    nUpdateInstanceData
+ * Signature: (JJ[FI)Z
+ */
+JNIEXPORT jboolean JNICALL Java_com_sun_prism_es2_GLContext_nUpdateInstanceData
+  (JNIEnv *env, jclass class, jlong nativeCtxInfo, jlong nativeMeshViewInfo,
+        jfloatArray dataArray, jint numInstances)
+{
+    GLuint dataSize;
+    GLuint size;
+    GLfloat *data;
+
+    ContextInfo *ctxInfo = (ContextInfo *) jlong_to_ptr(nativeCtxInfo);
+    MeshViewInfo *mvInfo = (MeshViewInfo *) jlong_to_ptr(nativeMeshViewInfo);
+    if ((ctxInfo == NULL) || (mvInfo == NULL) || (dataArray == NULL) ||
+            (ctxInfo->glGenBuffers == NULL) ||
+            (ctxInfo->glBindBuffer == NULL) ||
+            (ctxInfo->glBufferData == NULL) ||
+            (ctxInfo->glBufferSubData == NULL) ||
+            (numInstances < 0) ||
+            ((GLuint) numInstances > ((GLuint) -1) / INST_3D_STRIDE)) {
+        return JNI_FALSE;
+    }
+
+    size = numInstances * INST_3D_SIZE;
+    dataSize = (*env)->GetArrayLength(env, dataArray);
+    if (size > dataSize) {
+        return JNI_FALSE;
+    }
+
+    if (mvInfo->instanceBufferID == 0) {
+        ctxInfo->glGenBuffers(1, &(mvInfo->instanceBufferID));
+        if (mvInfo->instanceBufferID == 0) {
+            return JNI_FALSE;
+        }
+    }
+
+    data = (GLfloat *) ((*env)->GetPrimitiveArrayCritical(env, dataArray, NULL));
+    if (data == NULL) {
+        return JNI_FALSE;
+    }
+
+    ctxInfo->glBindBuffer(GL_ARRAY_BUFFER, mvInfo->instanceBufferID);
+    if (size > mvInfo->instanceBufferSize) {
+        // Grow the buffer, the instance data usually changes every frame
+        ctxInfo->glBufferData(GL_ARRAY_BUFFER, size * sizeof (GLfloat),
+                data, GL_STREAM_DRAW);
+        mvInfo->instanceBufferSize = size;
+    } else if (size > 0) {
+        ctxInfo->glBufferSubData(GL_ARRAY_BUFFER, 0, size * sizeof (GLfloat), data);
+    }
+    ctxInfo->glBindBuffer(GL_ARRAY_BUFFER, 0);
+    mvInfo->numInstances = numInstances;
+
+    (*env)->ReleasePrimitiveArrayCritical(env, dataArray, data, JNI_ABORT);
+
+    return JNI_TRUE;
+}
+
+/*
+ * Class:     com_sun_prism_es2_GLContext
+ * Method:    nRenderMeshViewInstanced
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_com_sun_prism_es2_GLContext_nRenderMeshViewInstanced
+  (JNIEnv *env, jclass class, jlong nativeCtxInfo, jlong nativeMeshViewInfo)
+{
+    GLuint offset = 0;
+    GLuint i;
+    MeshInfo *mInfo;
+    ContextInfo *ctxInfo = (ContextInfo *) jlong_to_ptr(nativeCtxInfo);
+    MeshViewInfo *mvInfo = (MeshViewInfo *) jlong_to_ptr(nativeMeshViewInfo);
+    if ((ctxInfo == NULL) || (mvInfo == NULL) ||
+            (ctxInfo->glBindBuffer == NULL) ||
+            (ctxInfo->glDisableVertexAttribArray == NULL) ||
+            (ctxInfo->glEnableVertexAttribArray == NULL) ||
+            (ctxInfo->glVertexAttribPointer == NULL) ||
+            (ctxInfo->glVertexAttribDivisor == NULL) ||
+            (ctxInfo->glDrawElementsInstanced == NULL)) {
+        return;
+    }
+
+    if ((mvInfo->phongMaterialInfo == NULL) || (mvInfo->meshInfo == NULL) ||
+            (mvInfo->instanceBufferID == 0) || (mvInfo->numInstances == 0)) {
+        return;
+    }
+
+    setCullMode(ctxInfo, mvInfo);
+    setPolyonMode(ctxInfo, mvInfo);
+
+    // Per-instance attributes: 3 transform rows and the color
+    ctxInfo->glBindBuffer(GL_ARRAY_BUFFER, mvInfo->instanceBufferID);
+    for (i = 0; i < 3; i++) {
+        ctxInfo->glEnableVertexAttribArray(IR_3D_INDEX + i);
+        ctxInfo->glVertexAttribPointer(IR_3D_INDEX + i, IR_3D_SIZE, GL_FLOAT, GL_FALSE,
+                INST_3D_STRIDE, (const GLvoid *) jlong_to_ptr((jlong) offset));
+        ctxInfo->glVertexAttribDivisor(IR_3D_INDEX + i, 1);
+        offset += IR_3D_SIZE * sizeof(GLfloat);
+    }
+    ctxInfo->glEnableVertexAttribArray(IC_3D_INDEX);
+    ctxInfo->glVertexAttribPointer(IC_3D_INDEX, IC_3D_SIZE, GL_FLOAT, GL_FALSE,
+            INST_3D_STRIDE, (const GLvoid *) jlong_to_ptr((jlong) offset));
+    ctxInfo->glVertexAttribDivisor(IC_3D_INDEX, 1);
+
+    // Per-vertex attributes, as in nRenderMeshView
+    offset = 0;
+    mInfo = mvInfo->meshInfo;
+    ctxInfo->glBindBuffer(GL_ARRAY_BUFFER, mInfo->vboIDArray[MESH_VERTEXBUFFER]);
+    ctxInfo->glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, mInfo->vboIDArray[MESH_INDEXBUFFER]);
+
+    ctxInfo->glEnableVertexAttribArray(VC_3D_INDEX);
+    ctxInfo->glEnableVertexAttribArray(TC_3D_INDEX);
+    ctxInfo->glEnableVertexAttribArray(NC_3D_INDEX);
+
+    ctxInfo->glVertexAttribPointer(VC_3D_INDEX, VC_3D_SIZE, GL_FLOAT, GL_FALSE,
+            VERT_3D_STRIDE, (const GLvoid *) jlong_to_ptr((jlong) offset));
+    offset += VC_3D_SIZE * sizeof(GLfloat);
+    ctxInfo->glVertexAttribPointer(TC_3D_INDEX, TC_3D_SIZE, GL_FLOAT, GL_FALSE,
+            VERT_3D_STRIDE, (const GLvoid *) jlong_to_ptr((jlong) offset));
+    offset += TC_3D_SIZE * sizeof(GLfloat);
+    ctxInfo->glVertexAttribPointer(NC_3D_INDEX, NC_3D_SIZE, GL_FLOAT, GL_FALSE,
+            VERT_3D_STRIDE, (const GLvoid *) jlong_to_ptr((jlong) offset));
+
+    ctxInfo->glDrawElementsInstanced(GL_TRIANGLES, mInfo->indexBufferSize,
+            mInfo->indexBufferType, 0, mvInfo->numInstances);
+
+    // Reset states, the 2D pipeline expects a divisor of 0
+    for (i = IR_3D_INDEX; i <= IC_3D_INDEX; i++) {
+        ctxInfo->glVertexAttribDivisor(i, 0);
+        ctxInfo->glDisableVertexAttribArray(i);
+    }
+    ctxInfo->glDisableVertexAttribArray(VC_3D_INDEX);
+    ctxInfo->glDisableVertexAttribArray(NC_3D_INDEX);
+    ctxInfo->glDisableVertexAttribArray(TC_3D_INDEX);
+    ctxInfo->glBindBuffer(GL_ARRAY_BUFFER, 0);
+    ctxInfo->glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
+}
+
@@ -317,6 +317,8 @@ struct ContextInfoRec {
     PFNGLTEXIMAGE2DMULTISAMPLEPROC glTexImage2DMultisample;
     PFNGLRENDERBUFFERSTORAGEMULTISAMPLEPROC glRenderbufferStorageMultisample;
     PFNGLBLITFRAMEBUFFERPROC glBlitFramebuffer;
+    PFNGLVERTEXATTRIBDIVISORPROC glVertexAttribDivisor;
+    PFNGLDRAWELEMENTSINSTANCEDPROC glDrawElementsInstanced;
 
     /* For state caching */
     StateInfo state;
@@ -352,6 +354,14 @@ extern void deletePixelFormatInfo(PixelFormatInfo *pfInfo);
 #define VERT_3D_SIZE (VC_3D_SIZE + TC_3D_SIZE + NC_3D_SIZE)
 #define VERT_3D_STRIDE (sizeof(GLfloat) * VERT_3D_SIZE)
 
+/* Per-instance attributes of instanced mesh views */
+#define IR_3D_INDEX 3  /* first of the 3 transform rows */
+#define IC_3D_INDEX 6
+#define IR_3D_SIZE 4   /* mxx, mxy, mxz, mxt */
+#define IC_3D_SIZE 4   /* r, g, b, a */
+#define INST_3D_SIZE (3 * IR_3D_SIZE + IC_3D_SIZE)
+#define INST_3D_STRIDE (sizeof(GLfloat) * INST_3D_SIZE)
+
 #define MESH_VERTEXBUFFER 0
 #define MESH_INDEXBUFFER 1
 #define MESH_MAX_BUFFERS 2
@@ -361,6 +371,7 @@ struct MeshInfoRec {
     // vboIDArray[MESH_VERTEXBUFFER] used to store interleave points and tex. coords.
     // vboIDArray[MESH_INDEXBUFFER] used to store element indices
     GLuint vboIDArray[MESH_MAX_BUFFERS];
+    GLuint vertexBufferSize;
     GLuint indexBufferSize;
     GLenum indexBufferType;
 };
@@ -389,6 +400,9 @@ struct MeshViewInfoRec {
     GLboolean cullEnable;
     GLenum cullMode;
     GLenum fillMode;
+    GLuint instanceBufferID;
+    GLuint instanceBufferSize;
+    GLuint numInstances;
 };
 
 /*
@@ -32,6 +32,16 @@ attribute vec3 pos;
 attribute vec2 texCoords;
 attribute vec4 tangent;
 
+#ifdef INSTANCED
+// the rows of the 3x4 instance transform and the instance color
+attribute vec4 instanceRow0;
+attribute vec4 instanceRow1;
+attribute vec4 instanceRow2;
+attribute vec4 instanceColor;
+
+varying vec4 oInstanceColor;
+#endif
+
 struct Light {
     vec4 pos;
     vec3 color;
@@ -59,7 +69,18 @@ void main()
 {
     vec3 tangentFrame[3];
 
-    vec4 worldPos = worldMatrix * vec4(pos, 1.0);
+#ifdef INSTANCED
+    mat4 modelMatrix = worldMatrix * mat4(
+            instanceRow0.x, instanceRow1.x, instanceRow2.x, 0.0,
+            instanceRow0.y, instanceRow1.y, instanceRow2.y, 0.0,
+            instanceRow0.z, instanceRow1.z, instanceRow2.z, 0.0,
+            instanceRow0.w, instanceRow1.w, instanceRow2.w, 1.0);
+    oInstanceColor = instanceColor;
+#else
+    mat4 modelMatrix = worldMatrix;
+#endif
+
+    vec4 worldPos = modelMatrix * vec4(pos, 1.0);
 
     // Note: The breaking of a vector and scale computation statement into
     //       2 separate statements is intentional to workaround a shader
@@ -80,9 +101,9 @@ void main()
     tangentFrame[2] = vec3(r1.z, r2.y, t4.x);
     tangentFrame[2] *= (tangent.w>=0.0) ? 1.0 : -1.0;
 
-    mat3 sWorldMatrix = mat3(worldMatrix[0].xyz,
-                             worldMatrix[1].xyz,
-                             worldMatrix[2].xyz);
+    mat3 sWorldMatrix = mat3(modelMatrix[0].xyz,
+                             modelMatrix[1].xyz,
+                             modelMatrix[2].xyz);
 
     //Translate the tangent frame to world space.
     tangentFrame[0] = sWorldMatrix * tangentFrame[0];
@@ -111,7 +132,7 @@ void main()
     D = lights[2].dir.xyz;
     lightTangentSpaceDirections[2] = vec4( getLocalVector(D,tangentFrame), 1.0);
 
-    mat4 mvpMatrix = viewProjectionMatrix * worldMatrix;
+    mat4 mvpMatrix = viewProjectionMatrix * modelMatrix;
 
     //Send texcoords to Pixel Shader and calculate vertex position.
     oTexCoords = texCoords;
@@ -56,11 +56,17 @@ vec4 apply_selfIllum();
 uniform vec3 ambientColor;
 
 varying vec3 eyePos;
+#ifdef INSTANCED
+varying vec4 oInstanceColor;
+#endif
 
 void main()
 {
     gl_FragColor = vec4(0.0,0.0,0.0,1.0);
     vec4 diffuse = apply_diffuse();
+#ifdef INSTANCED
+    diffuse *= oInstanceColor;
+#endif
 
     if (diffuse.a == 0.0) discard;
 
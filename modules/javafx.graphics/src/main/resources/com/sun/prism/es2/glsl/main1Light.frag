@@ -72,6 +72,9 @@ uniform Light lights[3];
 varying vec3 eyePos;
 varying vec4 lightTangentSpacePositions[3];
 varying vec4 lightTangentSpaceDirections[3];
+#ifdef INSTANCED
+varying vec4 oInstanceColor;
+#endif
 
 // Because pow(0, 0) is undefined (https://www.khronos.org/registry/OpenGL-Refpages/es3.0/html/pow.xhtml),
 // we need special treatment for falloff == 0 cases
@@ -145,6 +148,9 @@ void computeLight(int i, vec3 n, vec3 refl, float specPower, inout vec3 d, inout
 void main()
 {
     vec4 diffuse = apply_diffuse();
+#ifdef INSTANCED
+    diffuse *= oInstanceColor;
+#endif
 
     if (diffuse.a == 0.0) discard;
 
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.scenario.effect.impl.sw.vec;
+
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.state.RenderState;
+import com.sun.scenario.effect.impl.sw.java.JSWEffectPeer;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Base class for the software peers that are generated by the Vector API
+ * backend of JSLC. The generated code processes {@link #LANES} pixels of a
+ * row at once; the methods of this class implement the operations that are
+ * not directly available in the Vector API, matching the results of the
+ * corresponding scalar code in the JSW peers as closely as possible.
+ */
+public abstract class VECEffectPeer<T extends RenderState> extends JSWEffectPeer<T> {
+
+    protected static final VectorSpecies<Float> FSPECIES = FloatVector.SPECIES_PREFERRED;
+    protected static final VectorSpecies<Integer> ISPECIES = FSPECIES.withLanes(int.class);
+    protected static final int LANES = FSPECIES.length();
+    protected static final FloatVector ZERO = FloatVector.zero(FSPECIES);
+    protected static final FloatVector IOTA = ZERO.addIndex(1);
+
+    private static final IntVector IIOTA = IntVector.zero(ISPECIES).addIndex(1);
+
+    // floats with a magnitude of at least 2^23 have no fractional part, and
+    // adding 2^23 to a non-negative integral float below 2^23 yields a float
+    // whose mantissa bits are the value of the integer
+    private static final float NO_FRACTION = 8388608f;
+    private static final int NO_FRACTION_BITS = 0x4B000000;
+
+    protected VECEffectPeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    /**
+     * Loads the pixels at the given offsets for all lanes of the mask, and
+     * zero for the other lanes.
+     */
+    private static IntVector gather(int[] img, IntVector offsets, VectorMask<Integer> mask, int[] indexMap) {
+        if (!mask.anyTrue()) {
+            return IntVector.zero(ISPECIES);
+        }
+        if (mask.allTrue()) {
+            int first = offsets.lane(0);
+            if (offsets.compare(VectorOperators.EQ, IIOTA.add(first)).allTrue()) {
+                return IntVector.fromArray(ISPECIES, img, first);
+            }
+        }
+        offsets.blend(0, mask.not()).intoArray(indexMap, 0);
+        return IntVector.fromArray(ISPECIES, img, 0, indexMap, 0, mask);
+    }
+
+    /**
+     * Samples the given image at the nearest pixel, returning transparent
+     * pixels for locations outside of the image.
+     */
+    protected static IntVector sample(int[] img,
+                                      FloatVector loc_x, FloatVector loc_y,
+                                      int w, int h, int scan, int[] indexMap)
+    {
+        FloatVector fx = loc_x.mul(w);
+        FloatVector fy = loc_y.mul(h);
+        VectorMask<Float> valid =
+            loc_x.compare(VectorOperators.GE, 0f).and(loc_y.compare(VectorOperators.GE, 0f))
+                .and(fx.compare(VectorOperators.LT, w))
+                .and(fy.compare(VectorOperators.LT, h));
+        IntVector iloc_x = toInt(truncPositive(fx));
+        IntVector iloc_y = toInt(truncPositive(fy));
+        return gather(img, iloc_y.mul(scan).add(iloc_x), valid.cast(ISPECIES), indexMap);
+    }
+
+    /**
+     * Extracts the 8-bit component at the given bit offset of each pixel
+     * as a float in the range [0,1].
+     */
+    protected static FloatVector unpack(IntVector pixels, int shift) {
+        return toFloat(pixels.lanewise(VectorOperators.LSHR, shift).and(0xff)).div(255f);
+    }
+
+    /**
+     * Samples the given image with bilinear interpolation, storing the
+     * r, g, b and a components of all lanes in consecutive blocks of
+     * {@code LANES} values of {@code fvals}.
+     * This uses the same computations as {@link JSWEffectPeer#lsample}.
+     */
+    protected final void lsample(int[] img,
+                                 FloatVector floc_x, FloatVector floc_y,
+                                 int w, int h, int scan,
+                                 int[] indexMap, float[] fvals)
+    {
+        floc_x = floc_x.mul(w).add(0.5f);
+        floc_y = floc_y.mul(h).add(0.5f);
+        VectorMask<Integer> valid =
+            floc_x.compare(VectorOperators.GT, 0f).and(floc_y.compare(VectorOperators.GT, 0f))
+                .and(floc_x.compare(VectorOperators.LT, w + 1))
+                .and(floc_y.compare(VectorOperators.LT, h + 1)).cast(ISPECIES);
+        FloatVector tloc_x = truncPositive(floc_x);
+        FloatVector tloc_y = truncPositive(floc_y);
+        IntVector iloc_x = toInt(tloc_x);
+        IntVector iloc_y = toInt(tloc_y);
+
+        floc_x = floc_x.sub(tloc_x);
+        floc_y = floc_y.sub(tloc_y);
+        IntVector offset = iloc_y.mul(scan).add(iloc_x);
+        FloatVector fract = floc_x.mul(floc_y);
+
+        VectorMask<Integer> inX = iloc_x.compare(VectorOperators.LT, w);
+        VectorMask<Integer> pastX = iloc_x.compare(VectorOperators.GT, 0);
+        VectorMask<Integer> inY = valid.and(iloc_y.compare(VectorOperators.LT, h));
+        VectorMask<Integer> pastY = valid.and(iloc_y.compare(VectorOperators.GT, 0));
+
+        FloatVector[] acc = { ZERO, ZERO, ZERO, ZERO };
+        laccum(acc, gather(img, offset, inY.and(inX), indexMap),
+               fract, inY.and(inX));
+        laccum(acc, gather(img, offset.sub(1), inY.and(pastX), indexMap),
+               floc_y.sub(fract), inY.and(pastX));
+        laccum(acc, gather(img, offset.sub(scan), pastY.and(inX), indexMap),
+               floc_x.sub(fract), pastY.and(inX));
+        laccum(acc, gather(img, offset.sub(scan + 1), pastY.and(pastX), indexMap),
+               FloatVector.broadcast(FSPECIES, 1f).sub(floc_x).sub(floc_y).add(fract), pastY.and(pastX));
+        for (int i = 0; i < 4; i++) {
+            acc[i].intoArray(fvals, i * LANES);
+        }
+    }
+
+    private static void laccum(FloatVector[] acc, IntVector pixels, FloatVector mul, VectorMask<Integer> mask) {
+        if (!mask.anyTrue()) {
+            return;
+        }
+        VectorMask<Float> fmask = mask.cast(FSPECIES);
+        mul = mul.div(255f);
+        acc[FVALS_R] = acc[FVALS_R].add(toFloat(pixels.lanewise(VectorOperators.LSHR, 16).and(0xff)).mul(mul), fmask);
+        acc[FVALS_G] = acc[FVALS_G].add(toFloat(pixels.lanewise(VectorOperators.LSHR, 8).and(0xff)).mul(mul), fmask);
+        acc[FVALS_B] = acc[FVALS_B].add(toFloat(pixels.and(0xff)).mul(mul), fmask);
+        acc[FVALS_A] = acc[FVALS_A].add(toFloat(pixels.lanewise(VectorOperators.LSHR, 24)).mul(mul), fmask);
+    }
+
+    /**
+     * Samples the given float map with bilinear interpolation, storing the
+     * four components of all lanes in consecutive blocks of {@code LANES}
+     * values of {@code fvals}.
+     * This uses the same computations as {@link JSWEffectPeer#fsample}.
+     */
+    protected final void fsample(float[] map,
+                                 FloatVector floc_x, FloatVector floc_y,
+                                 int w, int h, int scan,
+                                 int[] indexMap, float[] fvals)
+    {
+        floc_x = floc_x.mul(w).add(0.5f);
+        floc_y = floc_y.mul(h).add(0.5f);
+        VectorMask<Integer> valid =
+            floc_x.compare(VectorOperators.GT, 0f).and(floc_y.compare(VectorOperators.GT, 0f))
+                .and(floc_x.compare(VectorOperators.LT, w + 1))
+                .and(floc_y.compare(VectorOperators.LT, h + 1)).cast(ISPECIES);
+        FloatVector tloc_x = truncPositive(floc_x);
+        FloatVector tloc_y = truncPositive(floc_y);
+        IntVector iloc_x = toInt(tloc_x);
+        IntVector iloc_y = toInt(tloc_y);
+
+        floc_x = floc_x.sub(tloc_x);
+        floc_y = floc_y.sub(tloc_y);
+        IntVector offset = iloc_y.mul(scan).add(iloc_x).mul(4);
+        FloatVector fract = floc_x.mul(floc_y);
+
+        VectorMask<Integer> inX = iloc_x.compare(VectorOperators.LT, w);
+        VectorMask<Integer> pastX = iloc_x.compare(VectorOperators.GT, 0);
+        VectorMask<Integer> inY = valid.and(iloc_y.compare(VectorOperators.LT, h));
+        VectorMask<Integer> pastY = valid.and(iloc_y.compare(VectorOperators.GT, 0));
+
+        FloatVector[] acc = { ZERO, ZERO, ZERO, ZERO };
+        faccum(acc, map, offset, fract, inY.and(inX), indexMap);
+        faccum(acc, map, offset.sub(4), floc_y.sub(fract), inY.and(pastX), indexMap);
+        faccum(acc, map, offset.sub(scan * 4), floc_x.sub(fract), pastY.and(inX), indexMap);
+        faccum(acc, map, offset.sub(scan * 4 + 4),
+               FloatVector.broadcast(FSPECIES, 1f).sub(floc_x).sub(floc_y).add(fract), pastY.and(pastX), indexMap);
+        for (int i = 0; i < 4; i++) {
+            acc[i].intoArray(fvals, i * LANES);
+        }
+    }
+
+    private static void faccum(FloatVector[] acc, float[] map, IntVector offsets, FloatVector mul,
+                               VectorMask<Integer> mask, int[] indexMap)
+    {
+        if (!mask.anyTrue()) {
+            return;
+        }
+        VectorMask<Float> fmask = mask.cast(FSPECIES);
+        offsets.blend(0, mask.not()).intoArray(indexMap, 0);
+        for (int i = 0; i < 4; i++) {
+            FloatVector vals = FloatVector.fromArray(FSPECIES, map, i, indexMap, 0, fmask);
+            acc[i] = acc[i].add(vals.mul(mul), fmask);
+        }
+    }
+
+    /**
+     * Clamps the color components to the valid range of premultiplied
+     * colors and stores the resulting pixels in the given array, writing
+     * at most {@code count} pixels.
+     */
+    protected static void store(FloatVector r, FloatVector g, FloatVector b, FloatVector a,
+                                int[] dstPixels, int offset, int count)
+    {
+        a = a.blend(0f, a.compare(VectorOperators.LT, 0f)).blend(1f, a.compare(VectorOperators.GT, 1f));
+        r = r.blend(0f, r.compare(VectorOperators.LT, 0f)).blend(a, r.compare(VectorOperators.GT, a));
+        g = g.blend(0f, g.compare(VectorOperators.LT, 0f)).blend(a, g.compare(VectorOperators.GT, a));
+        b = b.blend(0f, b.compare(VectorOperators.LT, 0f)).blend(a, b.compare(VectorOperators.GT, a));
+        IntVector pixels = toByte(r).lanewise(VectorOperators.LSHL, 16)
+            .or(toByte(g).lanewise(VectorOperators.LSHL, 8))
+            .or(toByte(b))
+            .or(toByte(a).lanewise(VectorOperators.LSHL, 24));
+        if (count >= LANES) {
+            pixels.intoArray(dstPixels, offset);
+        } else {
+            pixels.intoArray(dstPixels, offset, ISPECIES.indexInRange(0, count));
+        }
+    }
+
+    /*
+     * The F2I and I2F conversions of the Vector API are not intrinsified on
+     * all platforms and are then much slower than the equivalent scalar code,
+     * so the conversions are done with float arithmetic and reinterpretation
+     * instead: adding and subtracting 2^23 rounds a float to the nearest
+     * integer.
+     */
+
+    /**
+     * Truncates floats in the range [0,2^23) to integral floats; the results
+     * for other values are undefined.
+     */
+    private static FloatVector truncPositive(FloatVector x) {
+        FloatVector t = x.add(NO_FRACTION).sub(NO_FRACTION);
+        return t.sub(1f, t.compare(VectorOperators.GT, x));
+    }
+
+    /**
+     * Converts integral floats in the range [0,2^23) to ints; the results
+     * for other values are undefined.
+     */
+    private static IntVector toInt(FloatVector x) {
+        return x.add(NO_FRACTION).reinterpretAsInts().sub(NO_FRACTION_BITS);
+    }
+
+    /**
+     * Converts color components in the range [0,1] to ints in the range
+     * [0,255] in the same way as {@code (int)(v * 0xff)}, except that values
+     * outside of the range (including NaN) are converted to 0.
+     */
+    private static IntVector toByte(FloatVector v) {
+        FloatVector f = v.mul(0xff);
+        f = f.blend(0f, f.compare(VectorOperators.LE, 255f).not());
+        return toInt(truncPositive(f));
+    }
+
+    /**
+     * Converts ints in the range [0,2^23) to floats; the results for other
+     * values are undefined.
+     */
+    private static FloatVector toFloat(IntVector v) {
+        return v.or(NO_FRACTION_BITS).reinterpretAsFloats().sub(NO_FRACTION);
+    }
+
+    protected static FloatVector floor(FloatVector x) {
+        // rounds the magnitude to the nearest integer
+        FloatVector t = x.abs().add(NO_FRACTION).sub(NO_FRACTION);
+        t = t.blend(t.neg(), x.compare(VectorOperators.LT, 0f));
+        t = t.sub(1f, t.compare(VectorOperators.GT, x));
+        // large values (and NaN) are already integral
+        return t.blend(x, x.abs().compare(VectorOperators.GE, NO_FRACTION).or(x.test(VectorOperators.IS_NAN)));
+    }
+
+    protected static FloatVector ceil(FloatVector x) {
+        return floor(x.neg()).neg();
+    }
+
+    protected static FloatVector fract(FloatVector x) {
+        return x.sub(floor(x));
+    }
+
+    protected static FloatVector sign(FloatVector x) {
+        FloatVector one = FloatVector.broadcast(FSPECIES, 1f);
+        FloatVector res = one.blend(-1f, x.compare(VectorOperators.LT, 0f));
+        // zero (of either sign) and NaN are returned unchanged, as in Math.signum()
+        return res.blend(x, x.compare(VectorOperators.EQ, 0f).or(x.test(VectorOperators.IS_NAN)));
+    }
+
+    protected static FloatVector mod(FloatVector x, FloatVector y) {
+        // same as the Java % operator, which truncates the quotient
+        FloatVector q = x.div(y);
+        FloatVector t = floor(q.abs());
+        t = t.blend(t.neg(), q.compare(VectorOperators.LT, 0f));
+        return x.sub(t.mul(y));
+    }
+
+    protected static FloatVector smoothstep(FloatVector min, FloatVector max, FloatVector val) {
+        // matches the (approximate) implementation of the JSW peers
+        FloatVector res = val.div(max.sub(min));
+        res = res.blend(1f, val.compare(VectorOperators.GT, max));
+        return res.blend(0f, val.compare(VectorOperators.LT, min));
+    }
+}
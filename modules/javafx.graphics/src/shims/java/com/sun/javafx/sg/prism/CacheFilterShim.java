@@ -26,8 +26,10 @@
 package com.sun.javafx.sg.prism;
 
 import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.scenario.effect.ImageData;
 import javafx.scene.CacheHint;
 
 public class CacheFilterShim {
@@ -50,4 +52,24 @@ public class CacheFilterShim {
         return new CacheFilter(node, cacheHint);
     }
 
+    /**
+     * Gives the cache filter a cached image without rendering, as if the node
+     * had been rendered to the cache before.
+     */
+    public static void setCachedImage(CacheFilter cf, int width, int height) {
+        cf.cachedImageData = new ImageData(null, null, new Rectangle(0, 0, width, height));
+    }
+
+    public static boolean hasCachedImage(CacheFilter cf) {
+        return cf.cachedImageData != null;
+    }
+
+    public static void invalidateByTranslation(CacheFilter cf, double translateXDelta, double translateYDelta) {
+        cf.invalidateByTranslation(translateXDelta, translateYDelta);
+    }
+
+    public static boolean isTranslationPending(CacheFilter cf, double translateXDelta, double translateYDelta) {
+        return cf.isTranslationPending(translateXDelta, translateYDelta);
+    }
+
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.ImageData;
+
+public class EffectFilterShim {
+
+    /**
+     * Gives the effect filter a cached result without filtering, as if the
+     * effect had been rendered with the given transform and filter context.
+     */
+    public static void setCachedImage(EffectFilter ef, FilterContext fctx, BaseTransform xform) {
+        ef.setCachedImage(new ImageData(fctx, null, new Rectangle(0, 0, 10, 10)), fctx, xform);
+    }
+
+    public static boolean hasCachedImage(EffectFilter ef) {
+        return ef.hasCachedImage();
+    }
+
+    public static boolean isCachedImageValid(EffectFilter ef, BaseTransform xform, FilterContext fctx) {
+        return ef.isCachedImageValid(xform, fctx);
+    }
+
+    public static void setContentRendered(EffectFilter ef, BaseTransform xform) {
+        ef.setContentRendered(xform);
+    }
+
+    public static boolean isResultReusable(EffectFilter ef, BaseTransform xform) {
+        return ef.isResultReusable(xform);
+    }
+
+}
@@ -44,6 +44,11 @@ public class NGTriangleMeshShim extends NGTriangleMesh {
         return super.test_getPoints();
     }
 
+    @Override
+    public int[] test_getPointsFromAndLengthIndices() {
+        return super.test_getPointsFromAndLengthIndices();
+    }
+
     @Override
     public float[] test_getNormals() {
         return super.test_getNormals();
@@ -31,6 +31,8 @@ import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.javafx.geom.transform.Translate2D;
 import com.sun.javafx.sg.prism.CacheFilter;
 import com.sun.javafx.sg.prism.CacheFilterShim;
+import com.sun.javafx.sg.prism.NGGroup;
+import com.sun.javafx.sg.prism.NGNode;
 import com.sun.javafx.sg.prism.NGNodeShim;
 import com.sun.javafx.sg.prism.NGRectangle;
 import javafx.scene.CacheHint;
@@ -158,4 +160,117 @@ public class CacheFilterTest {
         CacheFilterShim.computeDirtyBounds(cf, result, BaseTransform.IDENTITY_TRANSFORM, new GeneralTransform3D());
         assertEquals(new RectBounds(0, 0, 111, 131), result);
     }
+
+    /******************************************************************
+     *                                                                *
+     *  Tests for scrolling the cached image when the children of     *
+     *  the cached node are only translated.                          *
+     *                                                                *
+     *****************************************************************/
+
+    @Test public void translationIsNotPendingWithoutCachedImage() {
+        NGRectangle r = new NGRectangle();
+        CacheFilter cf = CacheFilterShim.getCacheFilter(r, CacheHint.DEFAULT);
+        CacheFilterShim.invalidateByTranslation(cf, 0, 3);
+        assertFalse(CacheFilterShim.isTranslationPending(cf, 0, 3));
+    }
+
+    @Test public void translationIsPendingForSameDelta() {
+        NGRectangle r = new NGRectangle();
+        CacheFilter cf = CacheFilterShim.getCacheFilter(r, CacheHint.DEFAULT);
+        CacheFilterShim.setCachedImage(cf, 100, 100);
+        assertFalse(CacheFilterShim.isTranslationPending(cf, 0, 0));
+
+        CacheFilterShim.invalidateByTranslation(cf, 0, 3);
+        assertTrue(CacheFilterShim.hasCachedImage(cf));
+        assertTrue(CacheFilterShim.isTranslationPending(cf, 0, 3));
+        assertFalse(CacheFilterShim.isTranslationPending(cf, 0, -3));
+        assertFalse(CacheFilterShim.isTranslationPending(cf, 3, 0));
+    }
+
+    @Test public void translationIsNotPendingAfterInvalidate() {
+        NGRectangle r = new NGRectangle();
+        CacheFilter cf = CacheFilterShim.getCacheFilter(r, CacheHint.DEFAULT);
+        CacheFilterShim.setCachedImage(cf, 100, 100);
+        CacheFilterShim.invalidateByTranslation(cf, 0, 3);
+        cf.invalidate();
+        assertFalse(CacheFilterShim.hasCachedImage(cf));
+        assertFalse(CacheFilterShim.isTranslationPending(cf, 0, 3));
+    }
+
+    @Test public void diagonalTranslationDropsCachedImage() {
+        NGRectangle r = new NGRectangle();
+        CacheFilter cf = CacheFilterShim.getCacheFilter(r, CacheHint.DEFAULT);
+        CacheFilterShim.setCachedImage(cf, 100, 100);
+        CacheFilterShim.invalidateByTranslation(cf, 3, 3);
+        assertFalse(CacheFilterShim.hasCachedImage(cf));
+        assertFalse(CacheFilterShim.isTranslationPending(cf, 3, 3));
+    }
+
+    /**
+     * Creates a cached group that scrolls its cache when its children are
+     * translated, with the given number of rectangles and a cached image,
+     * as it would be after it has been rendered.
+     */
+    private static NGGroup createScrollCachedGroup(int childCount) {
+        NGGroup group = new NGGroup();
+        group.setCachedAsBitmap(true, CacheHint.DEFAULT);
+        group.setScrollCacheOpt(true);
+        for (int i = 0; i < childCount; i++) {
+            NGRectangle r = new NGRectangle();
+            r.updateRectangle(0, 0, 100, 10, 0, 0);
+            group.add(-1, r);
+            r.setTransformMatrix(new Translate2D(0, (i + 1) * 10));
+            NGNodeShim.clearDirty(r);
+        }
+        NGNodeShim.clearDirty(group);
+        CacheFilterShim.setCachedImage(group.getCacheFilter(), 100, (childCount + 1) * 10);
+        return group;
+    }
+
+    @Test public void siblingsTranslatedBySameAmountKeepCachedImage() {
+        NGGroup group = createScrollCachedGroup(3);
+        for (int i = 0; i < 3; i++) {
+            NGNode child = group.getChildren().get(i);
+            child.setTransformMatrix(new Translate2D(0, (i + 1) * 10 - 3));
+            assertEquals(NGNode.DirtyFlag.DIRTY_BY_TRANSLATION, NGNodeShim.dirty(child));
+        }
+
+        assertTrue(NGNodeShim.childDirty(group));
+        assertEquals(NGNode.DirtyFlag.CLEAN, NGNodeShim.dirty(group));
+        assertTrue(CacheFilterShim.hasCachedImage(group.getCacheFilter()));
+        assertTrue(CacheFilterShim.isTranslationPending(group.getCacheFilter(), 0, -3));
+    }
+
+    @Test public void siblingTranslatedByDifferentAmountDropsCachedImage() {
+        NGGroup group = createScrollCachedGroup(2);
+        NGNode first = group.getChildren().get(0);
+        NGNode second = group.getChildren().get(1);
+        first.setTransformMatrix(new Translate2D(0, 10 - 3));
+        second.setTransformMatrix(new Translate2D(0, 20 - 5));
+
+        assertEquals(NGNode.DirtyFlag.DIRTY_BY_TRANSLATION, NGNodeShim.dirty(first));
+        assertEquals(NGNode.DirtyFlag.DIRTY, NGNodeShim.dirty(second));
+        assertFalse(CacheFilterShim.hasCachedImage(group.getCacheFilter()));
+    }
+
+    @Test public void nodeTranslatedTwiceDropsCachedImage() {
+        NGGroup group = createScrollCachedGroup(2);
+        NGNode first = group.getChildren().get(0);
+        first.setTransformMatrix(new Translate2D(0, 10 - 3));
+        first.setTransformMatrix(new Translate2D(0, 10 - 6));
+
+        assertEquals(NGNode.DirtyFlag.DIRTY, NGNodeShim.dirty(first));
+        assertFalse(CacheFilterShim.hasCachedImage(group.getCacheFilter()));
+    }
+
+    @Test public void translationWithoutScrollCacheOptDropsCachedImage() {
+        NGGroup group = createScrollCachedGroup(2);
+        group.setScrollCacheOpt(false);
+        NGNode first = group.getChildren().get(0);
+        first.setTransformMatrix(new Translate2D(0, 10 - 3));
+
+        assertEquals(NGNode.DirtyFlag.DIRTY, NGNodeShim.dirty(first));
+        assertFalse(CacheFilterShim.hasCachedImage(group.getCacheFilter()));
+    }
 }
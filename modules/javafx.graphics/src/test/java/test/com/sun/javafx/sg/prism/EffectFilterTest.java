@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package test.com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.geom.transform.Translate2D;
+import com.sun.javafx.sg.prism.EffectFilter;
+import com.sun.javafx.sg.prism.EffectFilterShim;
+import com.sun.javafx.sg.prism.NGGroup;
+import com.sun.javafx.sg.prism.NGNode;
+import com.sun.javafx.sg.prism.NGNodeShim;
+import com.sun.javafx.sg.prism.NGRectangle;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.GaussianBlur;
+import javafx.scene.CacheHint;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EffectFilterTest {
+
+    private final BaseTransform xform = new Translate2D(10, 20);
+    private FilterContext fctx;
+    private NGRectangle r;
+    private EffectFilter ef;
+
+    @Before
+    public void setup() {
+        fctx = new FilterContext(new Object()) {};
+        r = new NGRectangle();
+        r.updateRectangle(0, 0, 100, 50, 0, 0);
+        r.setEffect(new GaussianBlur());
+        ef = r.getEffectFilter();
+    }
+
+    /******************************************************************
+     *                                                                *
+     *  Tests to make sure that the result of the effect is only      *
+     *  kept once the content was rendered with the same transform.   *
+     *                                                                *
+     *****************************************************************/
+
+    @Test public void resultIsNotReusableBeforeFirstRendering() {
+        assertFalse(EffectFilterShim.isResultReusable(ef, xform));
+    }
+
+    @Test public void resultIsReusableAfterRenderingWithSameTransform() {
+        EffectFilterShim.setContentRendered(ef, xform);
+        assertTrue(EffectFilterShim.isResultReusable(ef, xform));
+    }
+
+    @Test public void resultIsNotReusableAfterRenderingWithOtherTransform() {
+        EffectFilterShim.setContentRendered(ef, xform);
+        assertFalse(EffectFilterShim.isResultReusable(ef, new Translate2D(11, 20)));
+    }
+
+    /******************************************************************
+     *                                                                *
+     *  Tests for hits and misses of the cached result.               *
+     *                                                                *
+     *****************************************************************/
+
+    @Test public void missWithoutCachedImage() {
+        assertFalse(EffectFilterShim.hasCachedImage(ef));
+        assertFalse(EffectFilterShim.isCachedImageValid(ef, xform, fctx));
+    }
+
+    @Test public void hitWithSameTransform() {
+        EffectFilterShim.setCachedImage(ef, fctx, xform);
+        assertTrue(EffectFilterShim.isCachedImageValid(ef, xform, fctx));
+        assertTrue(EffectFilterShim.hasCachedImage(ef));
+    }
+
+    @Test public void hitWhenTranslatedByWholePixels() {
+        EffectFilterShim.setCachedImage(ef, fctx, xform);
+        assertTrue(EffectFilterShim.isCachedImageValid(ef, new Translate2D(15, 17), fctx));
+        assertTrue(EffectFilterShim.hasCachedImage(ef));
+    }
+
+    @Test public void missWhenTranslatedBySubpixels() {
+        EffectFilterShim.setCachedImage(ef, fctx, xform);
+        assertFalse(EffectFilterShim.isCachedImageValid(ef, new Translate2D(10.5, 20), fctx));
+        assertFalse(EffectFilterShim.hasCachedImage(ef));
+    }
+
+    @Test public void missWhenScaled() {
+        EffectFilterShim.setCachedImage(ef, fctx, xform);
+        assertFalse(EffectFilterShim.isCachedImageValid(ef, new Affine2D(2, 0, 0, 2, 10, 20), fctx));
+        assertFalse(EffectFilterShim.hasCachedImage(ef));
+    }
+
+    @Test public void missWithOtherFilterContext() {
+        EffectFilterShim.setCachedImage(ef, fctx, xform);
+        assertFalse(EffectFilterShim.isCachedImageValid(ef, xform, new FilterContext(new Object()) {}));
+        assertFalse(EffectFilterShim.hasCachedImage(ef));
+    }
+
+    /******************************************************************
+     *                                                                *
+     *  Tests for the invalidation of the cached result when the      *
+     *  effect or the content of the node changes.                    *
+     *                                                                *
+     *****************************************************************/
+
+    @Test public void effectChangeInvalidatesCachedImage() {
+        EffectFilterShim.setCachedImage(ef, fctx, xform);
+        r.effectChanged();
+        assertFalse(EffectFilterShim.hasCachedImage(ef));
+        assertFalse(EffectFilterShim.isResultReusable(ef, xform));
+    }
+
+    @Test public void replacingEffectReleasesCachedImage() {
+        EffectFilterShim.setCachedImage(ef, fctx, xform);
+        r.setEffect(new GaussianBlur());
+        assertFalse(EffectFilterShim.hasCachedImage(ef));
+        assertNotSame(ef, r.getEffectFilter());
+        assertFalse(EffectFilterShim.hasCachedImage(r.getEffectFilter()));
+    }
+
+    @Test public void contentChangeInvalidatesCachedImage() {
+        EffectFilterShim.setCachedImage(ef, fctx, xform);
+        r.updateRectangle(0, 0, 100, 60, 0, 0);
+        assertFalse(EffectFilterShim.hasCachedImage(ef));
+        assertFalse(EffectFilterShim.isResultReusable(ef, xform));
+    }
+
+    @Test public void childChangeInvalidatesCachedImageOfParent() {
+        NGGroup group = new NGGroup();
+        group.setEffect(new GaussianBlur());
+        group.add(-1, r);
+        NGNodeShim.clearDirty(r);
+        NGNodeShim.clearDirty(group);
+        EffectFilter groupFilter = group.getEffectFilter();
+        EffectFilterShim.setCachedImage(groupFilter, fctx, xform);
+
+        r.updateRectangle(0, 0, 100, 60, 0, 0);
+        assertFalse(EffectFilterShim.hasCachedImage(groupFilter));
+    }
+
+    @Test public void childTranslationInvalidatesCachedImageOfParent() {
+        NGGroup group = new NGGroup();
+        group.setEffect(new GaussianBlur());
+        group.setCachedAsBitmap(true, CacheHint.DEFAULT);
+        group.setScrollCacheOpt(true);
+        group.add(-1, r);
+        r.setTransformMatrix(new Translate2D(0, 10));
+        NGNodeShim.clearDirty(r);
+        NGNodeShim.clearDirty(group);
+        EffectFilter groupFilter = group.getEffectFilter();
+        EffectFilterShim.setCachedImage(groupFilter, fctx, xform);
+
+        r.setTransformMatrix(new Translate2D(0, 7));
+        assertEquals(NGNode.DirtyFlag.DIRTY_BY_TRANSLATION, NGNodeShim.dirty(r));
+        assertFalse(EffectFilterShim.hasCachedImage(groupFilter));
+    }
+}
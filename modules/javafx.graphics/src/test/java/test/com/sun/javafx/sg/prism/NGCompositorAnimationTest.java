@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.Point2D;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.sg.prism.NGCompositorAnimation;
+import com.sun.javafx.sg.prism.NGNode;
+import com.sun.javafx.sg.prism.NGNodeShim;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.sun.javafx.sg.prism.NGCompositorAnimation.*;
+import static org.junit.Assert.*;
+
+public class NGCompositorAnimationTest extends NGTestBase {
+
+    private static final double EPSILON = 1e-9;
+    private static final long DURATION = 1000;
+
+    private TestNGRectangle rect;
+    private TestNGGroup group;
+
+    @Before
+    public void setup() {
+        rect = createRectangle(0, 0, 10, 10);
+        group = createGroup(rect);
+        NGNodeShim.clearDirty(group);
+        NGNodeShim.clearDirty(rect);
+    }
+
+    private NGCompositorAnimation createAnimation(NGNode clip) {
+        NGCompositorAnimation animation = new NGCompositorAnimation(rect, clip, DURATION, f -> f);
+        animation.setTransformParameters(0, 0, 5, 5, 0, 0, 0, 1, BaseTransform.IDENTITY_TRANSFORM);
+        return animation;
+    }
+
+    private static Point2D transform(NGNode node, double x, double y) {
+        return node.getTransform().transform(new Point2D((float)x, (float)y), null);
+    }
+
+    @Test
+    public void translationIsAppliedToTransformAndBounds() {
+        NGCompositorAnimation animation = createAnimation(null);
+        animation.setValues(TRANSLATE_X, 0, 100);
+
+        assertTrue(animation.update(0));
+        assertEquals(0, rect.getTransform().getMxt(), EPSILON);
+
+        assertTrue(animation.update(500));
+        assertEquals(50, rect.getTransform().getMxt(), EPSILON);
+        assertEquals(NGNode.DirtyFlag.DIRTY, NGNodeShim.dirty(rect));
+        assertEquals(new RectBounds(50, 0, 60, 10), rect.getCompleteBounds(new RectBounds(), BaseTransform.IDENTITY_TRANSFORM));
+
+        assertFalse(animation.update(1000));
+        assertEquals(100, rect.getTransform().getMxt(), EPSILON);
+        assertEquals(100, animation.getValue(TRANSLATE_X), EPSILON);
+    }
+
+    @Test
+    public void parentBoundsGrowToContainAnimatedNode() {
+        NGCompositorAnimation animation = createAnimation(null);
+        animation.setValues(TRANSLATE_Y, 0, 100);
+
+        animation.update(0);
+        animation.update(1000);
+        BaseBounds bounds = group.getCompleteBounds(new RectBounds(), BaseTransform.IDENTITY_TRANSFORM);
+        assertEquals(0, bounds.getMinY(), EPSILON);
+        assertEquals(110, bounds.getMaxY(), EPSILON);
+    }
+
+    @Test
+    public void rotationAndScaleAreAppliedAroundPivot() {
+        NGCompositorAnimation animation = createAnimation(null);
+        animation.setValues(ROTATE, 0, 90);
+        animation.setValues(SCALE_X, 1, 2);
+        animation.setValues(SCALE_Y, 1, 2);
+
+        animation.update(0);
+        animation.update(1000);
+        Point2D p = transform(rect, 0, 0);
+        assertEquals(15, p.x, 1e-5);
+        assertEquals(-5, p.y, 1e-5);
+        p = transform(rect, 5, 5);
+        assertEquals(5, p.x, 1e-5);
+        assertEquals(5, p.y, 1e-5);
+    }
+
+    @Test
+    public void layoutAndPostTransformArePartOfTheTransform() {
+        NGCompositorAnimation animation = new NGCompositorAnimation(rect, null, DURATION, f -> f);
+        animation.setTransformParameters(20, 0, 5, 5, 0, 0, 0, 1, BaseTransform.getTranslateInstance(0, 30));
+        animation.setValues(TRANSLATE_X, 0, 10);
+
+        animation.update(0);
+        animation.update(1000);
+        assertEquals(30, rect.getTransform().getMxt(), EPSILON);
+        assertEquals(30, rect.getTransform().getMyt(), EPSILON);
+    }
+
+    @Test
+    public void opacityIsInterpolatedWithoutChangingTheTransform() {
+        translate(rect, 7, 0);
+        NGCompositorAnimation animation = new NGCompositorAnimation(rect, null, DURATION, f -> f * f);
+        animation.setValues(OPACITY, 1, 0);
+
+        animation.update(0);
+        animation.update(500);
+        assertEquals(0.75f, rect.getOpacity(), 1e-6f);
+        assertEquals(7, rect.getTransform().getMxt(), EPSILON);
+        assertEquals(0.75, animation.getValue(OPACITY), EPSILON);
+    }
+
+    @Test
+    public void clipTranslationIsAppliedToClipNode() {
+        TestNGRectangle clip = createRectangle(0, 0, 5, 5);
+        translate(clip, 5, 0);
+        rect.setClipNode(clip);
+        NGNodeShim.clearDirty(clip);
+        NGNodeShim.clearDirty(rect);
+
+        NGCompositorAnimation animation = createAnimation(clip);
+        animation.setClipTransform(clip.getTransform());
+        animation.setValues(CLIP_TRANSLATE_X, 5, 15);
+
+        animation.update(0);
+        animation.update(1000);
+        assertEquals(15, clip.getTransform().getMxt(), EPSILON);
+        assertEquals(0, rect.getTransform().getMxt(), EPSILON);
+        assertEquals(NGNode.DirtyFlag.DIRTY, NGNodeShim.dirty(rect));
+    }
+
+    @Test
+    public void cancelledAnimationDoesNotUpdatePeers() {
+        NGCompositorAnimation animation = createAnimation(null);
+        animation.setValues(TRANSLATE_X, 0, 100);
+
+        animation.update(0);
+        animation.update(250);
+        animation.cancel();
+        assertTrue(animation.isCancelled());
+        assertFalse(animation.update(500));
+        assertEquals(25, rect.getTransform().getMxt(), EPSILON);
+        assertEquals(25, animation.getValue(TRANSLATE_X), EPSILON);
+    }
+}
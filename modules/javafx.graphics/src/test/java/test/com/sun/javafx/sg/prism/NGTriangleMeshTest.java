@@ -95,6 +95,40 @@ public class NGTriangleMeshTest {
         assertArrayEquals(expecteds, actuals, EPSILON_FLOAT);
     }
 
+    /**
+     * Test that the ranges of several syncs of the points are merged
+     * until the mesh is built.
+     */
+    @Test
+    public void testSyncPointsMergesRanges() {
+        final float[] points = new float[]{0, 1, 2, 3, 4, 5, 6, 7, 8};
+        NGTriangleMeshShim instance = new NGTriangleMeshShim();
+        instance.syncPoints((array, fromAndLengthIndices) -> {
+            fromAndLengthIndices[0] = 0;
+            fromAndLengthIndices[1] = points.length;
+            return points;
+        });
+        assertArrayEquals(new int[]{0, 9}, instance.test_getPointsFromAndLengthIndices());
+
+        instance = new NGTriangleMeshShim();
+        instance.syncPoints((array, fromAndLengthIndices) -> {
+            fromAndLengthIndices[0] = 6;
+            fromAndLengthIndices[1] = 2;
+            return points;
+        });
+        instance.syncPoints((array, fromAndLengthIndices) -> {
+            fromAndLengthIndices[0] = 1;
+            fromAndLengthIndices[1] = 3;
+            return array;
+        });
+        instance.syncPoints((array, fromAndLengthIndices) -> {
+            fromAndLengthIndices[0] = 0;
+            fromAndLengthIndices[1] = 0;
+            return array;
+        });
+        assertArrayEquals(new int[]{1, 7}, instance.test_getPointsFromAndLengthIndices());
+    }
+
     /**
      * Test of syncNormals method, of class NGTriangleMesh.
      */
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.prism.impl;
+
+import com.sun.prism.impl.BaseMesh;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BaseMeshTest {
+
+    private static class TestMesh extends BaseMesh {
+        float[] vertexBuffer;
+        int builds;
+        int updateFrom = -1;
+        int updateLength = -1;
+
+        TestMesh() {
+            super(() -> {});
+        }
+
+        @Override
+        public boolean buildNativeGeometry(float[] vertexBuffer, int vertexBufferLength,
+                int[] indexBufferInt, int indexBufferLength) {
+            this.vertexBuffer = Arrays.copyOf(vertexBuffer, vertexBufferLength);
+            builds++;
+            return true;
+        }
+
+        @Override
+        public boolean buildNativeGeometry(float[] vertexBuffer, int vertexBufferLength,
+                short[] indexBufferShort, int indexBufferLength) {
+            this.vertexBuffer = Arrays.copyOf(vertexBuffer, vertexBufferLength);
+            builds++;
+            return true;
+        }
+
+        @Override
+        protected boolean updateNativeGeometry(float[] vertexBuffer, int vertexBufferLength,
+                int from, int length) {
+            assertEquals(this.vertexBuffer.length, vertexBufferLength);
+            System.arraycopy(vertexBuffer, from, this.vertexBuffer, from, length);
+            updateFrom = from;
+            updateLength = length;
+            return true;
+        }
+
+        @Override
+        public int getCount() {
+            return 1;
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+
+    private final float[] points = {
+        0, 0, 0,
+        1, 0, 0,
+        0, 1, 0,
+        1, 1, 0,
+        2, 0, 0,
+        2, 1, 0
+    };
+    private final float[] normals = {
+        0, 0, 1,
+        0, 0, -1
+    };
+    private final float[] texCoords = {
+        0, 0,
+        1, 0,
+        0, 1,
+        1, 1
+    };
+    // point, normal, texCoord for each vertex
+    private final int[] faces = {
+        0, 0, 0,  1, 0, 1,  2, 0, 2,
+        2, 0, 2,  1, 0, 1,  3, 0, 3,
+        1, 1, 0,  4, 1, 1,  3, 1, 2,
+        3, 1, 2,  4, 1, 1,  5, 1, 3
+    };
+
+    private static int[] range(int from, int length) {
+        return new int[] {from, length};
+    }
+
+    private static boolean build(BaseMesh mesh, float[] points, int[] pointsRange,
+            float[] normals, int[] normalsRange, float[] texCoords, int[] texCoordsRange,
+            int[] faces, int[] facesRange) {
+        return mesh.buildGeometry(true, points, pointsRange, normals, normalsRange,
+                texCoords, texCoordsRange, faces, facesRange, new int[0], range(0, 0));
+    }
+
+    private TestMesh buildFull(float[] points, float[] normals, float[] texCoords) {
+        TestMesh mesh = new TestMesh();
+        assertTrue(build(mesh, points, range(0, points.length), normals, range(0, normals.length),
+                texCoords, range(0, texCoords.length), faces, range(0, faces.length)));
+        return mesh;
+    }
+
+    @Test
+    public void testPartialPointsUpdateUploadsChangedVerticesOnly() {
+        TestMesh mesh = buildFull(points, normals, texCoords);
+        assertEquals(1, mesh.builds);
+
+        // Point 5 is only used by the last triangle
+        float[] newPoints = points.clone();
+        newPoints[16] = 2.5f;
+        assertTrue(build(mesh, newPoints, range(15, 3), normals, range(0, 0),
+                texCoords, range(0, 0), faces, range(0, 0)));
+        assertEquals(1, mesh.builds);
+        assertEquals(9 * 9, mesh.updateFrom);
+        assertEquals(3 * 9, mesh.updateLength);
+
+        TestMesh expected = buildFull(newPoints, normals, texCoords);
+        assertArrayEquals(expected.vertexBuffer, mesh.vertexBuffer, 0f);
+    }
+
+    @Test
+    public void testPartialNormalsUpdateMatchesFullBuild() {
+        TestMesh mesh = buildFull(points, normals, texCoords);
+
+        float[] newNormals = normals.clone();
+        newNormals[3] = 1;
+        newNormals[5] = 0;
+        assertTrue(build(mesh, points, range(0, 0), newNormals, range(3, 3),
+                texCoords, range(0, 0), faces, range(0, 0)));
+        assertEquals(1, mesh.builds);
+        assertEquals(6 * 9, mesh.updateFrom);
+        assertEquals(6 * 9, mesh.updateLength);
+
+        TestMesh expected = buildFull(points, newNormals, texCoords);
+        assertArrayEquals(expected.vertexBuffer, mesh.vertexBuffer, 0f);
+    }
+
+    @Test
+    public void testPartialTexCoordsUpdateMatchesFullBuild() {
+        TestMesh mesh = buildFull(points, normals, texCoords);
+
+        float[] newTexCoords = texCoords.clone();
+        newTexCoords[0] = 0.5f;
+        assertTrue(build(mesh, points, range(0, 0), normals, range(0, 0),
+                newTexCoords, range(0, 2), faces, range(0, 0)));
+        assertEquals(1, mesh.builds);
+
+        TestMesh expected = buildFull(points, normals, newTexCoords);
+        assertArrayEquals(expected.vertexBuffer, mesh.vertexBuffer, 0f);
+    }
+
+    @Test
+    public void testFacesUpdateRebuildsGeometry() {
+        TestMesh mesh = buildFull(points, normals, texCoords);
+        assertTrue(build(mesh, points, range(0, 0), normals, range(0, 0),
+                texCoords, range(0, 0), faces, range(0, 9)));
+        assertEquals(2, mesh.builds);
+        assertEquals(-1, mesh.updateFrom);
+    }
+}
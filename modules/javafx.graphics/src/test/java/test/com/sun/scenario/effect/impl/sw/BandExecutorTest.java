@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.com.sun.scenario.effect.impl.sw;
+
+import com.sun.scenario.effect.impl.sw.BandExecutor;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BandExecutorTest {
+
+    @Test
+    public void testSmallRegionIsFilteredOnCallingThread() {
+        BandExecutor executor = new BandExecutor(4, 100 * 100);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        int[] calls = new int[1];
+        executor.execute(50, 100, (start, end) -> {
+            threads.add(Thread.currentThread());
+            assertEquals(0, start);
+            assertEquals(50, end);
+            calls[0]++;
+        });
+        assertEquals(1, calls[0]);
+        assertSame(Thread.currentThread(), threads.iterator().next());
+    }
+
+    @Test
+    public void testSingleThreadedExecutorDoesNotSplit() {
+        BandExecutor executor = new BandExecutor(1, 0);
+        int[] calls = new int[1];
+        executor.execute(1000, 1000, (start, end) -> {
+            assertEquals(0, start);
+            assertEquals(1000, end);
+            calls[0]++;
+        });
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void testLargeRegionIsSplitIntoDisjointBands() {
+        BandExecutor executor = new BandExecutor(4, 0);
+        AtomicIntegerArray rows = new AtomicIntegerArray(1001);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        executor.execute(rows.length(), 500, (start, end) -> {
+            threads.add(Thread.currentThread());
+            for (int i = start; i < end; i++) {
+                rows.incrementAndGet(i);
+            }
+        });
+        for (int i = 0; i < rows.length(); i++) {
+            assertEquals("row " + i, 1, rows.get(i));
+        }
+        assertTrue(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void testBandsAreNotSmallerThanOneRow() {
+        BandExecutor executor = new BandExecutor(8, 0);
+        AtomicIntegerArray rows = new AtomicIntegerArray(3);
+        executor.execute(rows.length(), 100_000, (start, end) -> {
+            assertEquals(start + 1, end);
+            rows.incrementAndGet(start);
+        });
+        for (int i = 0; i < rows.length(); i++) {
+            assertEquals(1, rows.get(i));
+        }
+    }
+
+    @Test
+    public void testExceptionIsPropagated() {
+        BandExecutor executor = new BandExecutor(4, 0);
+        try {
+            executor.execute(400, 400, (start, end) -> {
+                if (end == 400) {
+                    throw new IllegalStateException("last band");
+                }
+            });
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            // the exception may be wrapped if it was thrown by a pool thread
+            assertTrue(e.getMessage().contains("last band"));
+        }
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package test.com.sun.scenario.effect.impl.sw;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.scenario.effect.Blend;
+import com.sun.scenario.effect.BoxBlur;
+import com.sun.scenario.effect.BoxShadow;
+import com.sun.scenario.effect.Brightpass;
+import com.sun.scenario.effect.Color4f;
+import com.sun.scenario.effect.ColorAdjust;
+import com.sun.scenario.effect.DisplacementMap;
+import com.sun.scenario.effect.Effect;
+import com.sun.scenario.effect.Effect.AccelType;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.FilterEffect;
+import com.sun.scenario.effect.Filterable;
+import com.sun.scenario.effect.FloatMap;
+import com.sun.scenario.effect.GaussianBlur;
+import com.sun.scenario.effect.GaussianShadow;
+import com.sun.scenario.effect.ImageData;
+import com.sun.scenario.effect.InvertMask;
+import com.sun.scenario.effect.PerspectiveTransform;
+import com.sun.scenario.effect.PhongLighting;
+import com.sun.scenario.effect.SepiaTone;
+import com.sun.scenario.effect.impl.EffectPeer;
+import com.sun.scenario.effect.impl.HeapImage;
+import com.sun.scenario.effect.impl.ImagePool;
+import com.sun.scenario.effect.impl.PoolFilterable;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.state.LinearConvolveRenderState;
+import com.sun.scenario.effect.impl.state.RenderState;
+import com.sun.scenario.effect.impl.sw.BandExecutor;
+import com.sun.scenario.effect.impl.sw.BandExecutorShim;
+import com.sun.scenario.effect.impl.sw.vec.VECRendererDelegate;
+import com.sun.scenario.effect.light.DistantLight;
+import com.sun.scenario.effect.light.PointLight;
+import com.sun.scenario.effect.light.SpotLight;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Compares the software peers generated by the Vector API (VEC) backend of
+ * JSLC with the JSW peers, and checks that filtering in parallel bands does
+ * not change the results. The peer specs and test images are shared with
+ * {@code SoftwarePeersBenchmark}.
+ */
+public class SoftwarePeersTest {
+
+    static final int WIDTH = 517;
+    static final int HEIGHT = 131;
+
+    static class PeerSpec {
+        final String name;
+        final Supplier<FilterEffect<?>> effect;
+        final int numInputs;
+
+        PeerSpec(String name, Supplier<FilterEffect<?>> effect, int numInputs) {
+            this.name = name;
+            this.effect = effect;
+            this.numInputs = numInputs;
+        }
+    }
+
+    static List<PeerSpec> peerSpecs() {
+        List<PeerSpec> specs = new ArrayList<>();
+        specs.add(new PeerSpec("ColorAdjust", () -> {
+            ColorAdjust effect = new ColorAdjust();
+            effect.setHue(0.3f);
+            effect.setSaturation(-0.4f);
+            effect.setBrightness(0.2f);
+            effect.setContrast(0.5f);
+            return effect;
+        }, 1));
+        specs.add(new PeerSpec("SepiaTone", () -> {
+            SepiaTone effect = new SepiaTone();
+            effect.setLevel(0.7f);
+            return effect;
+        }, 1));
+        specs.add(new PeerSpec("Brightpass", () -> {
+            Brightpass effect = new Brightpass();
+            effect.setThreshold(0.4f);
+            return effect;
+        }, 1));
+        specs.add(new PeerSpec("InvertMask", () -> {
+            InvertMask effect = new InvertMask();
+            effect.setOffsetX(3);
+            effect.setOffsetY(-2);
+            return effect;
+        }, 1));
+        specs.add(new PeerSpec("PerspectiveTransform", () -> {
+            PerspectiveTransform effect = new PerspectiveTransform();
+            effect.setQuadMapping(10, 5, WIDTH - 30, 0, WIDTH, HEIGHT, 0, HEIGHT - 20);
+            return effect;
+        }, 1));
+        specs.add(new PeerSpec("DisplacementMap", () -> {
+            FloatMap map = new FloatMap(64, 32);
+            Random random = new Random(1);
+            for (int y = 0; y < 32; y++) {
+                for (int x = 0; x < 64; x++) {
+                    map.setSamples(x, y, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f);
+                }
+            }
+            DisplacementMap effect = new DisplacementMap(map);
+            effect.setScaleX(0.2f);
+            effect.setScaleY(0.3f);
+            return effect;
+        }, 1));
+        for (Blend.Mode mode : Blend.Mode.values()) {
+            specs.add(new PeerSpec("Blend_" + mode.name(), () -> {
+                Blend effect = new Blend(mode, null, null);
+                effect.setOpacity(0.8f);
+                return effect;
+            }, 2));
+        }
+        specs.add(new PeerSpec("PhongLighting_DISTANT", () -> new PhongLighting(new DistantLight()), 2));
+        specs.add(new PeerSpec("PhongLighting_POINT", () -> new PhongLighting(new PointLight(WIDTH / 2f, HEIGHT / 2f, 50, Color4f.WHITE)), 2));
+        specs.add(new PeerSpec("PhongLighting_SPOT", () -> new PhongLighting(new SpotLight(WIDTH / 2f, 0, 50, Color4f.WHITE)), 2));
+        return specs;
+    }
+
+    private static boolean isVectorSupported() {
+        return VECRendererDelegate.isSupported();
+    }
+
+    @Test
+    public void testVectorPeersMatchJavaPeers() throws Exception {
+        assumeTrue(isVectorSupported());
+
+        TestRenderer renderer = new TestRenderer();
+        FilterContext fctx = new TestFilterContext();
+        ImageData[] inputs = createInputs(fctx, 2);
+
+        int tested = 0;
+        for (PeerSpec spec : peerSpecs()) {
+            EffectPeer<?> vecPeer = createPeer("sw.vec.VEC", spec.name, fctx, renderer);
+            if (vecPeer == null) {
+                // not vectorized by JSLC, the JSW peer is used instead
+                continue;
+            }
+            EffectPeer<?> jswPeer = createPeer("sw.java.JSW", spec.name, fctx, renderer);
+            ImageData[] peerInputs = Arrays.copyOf(inputs, spec.numInputs);
+            int[] expected = filter(jswPeer, spec.effect.get(), fctx, peerInputs, renderer);
+            int[] actual = filter(vecPeer, spec.effect.get(), fctx, peerInputs, renderer);
+            assertPixelsEqual(spec.name, expected, actual);
+            tested++;
+        }
+        assertTrue(tested > 0);
+    }
+
+    @Test
+    public void testBandedPeersMatchSingleThreadedPeers() throws Exception {
+        TestRenderer renderer = new TestRenderer();
+        FilterContext fctx = new TestFilterContext();
+        ImageData[] inputs = createInputs(fctx, 2);
+        List<String> prefixes = new ArrayList<>(List.of("sw.java.JSW"));
+        if (isVectorSupported()) {
+            prefixes.add("sw.vec.VEC");
+        }
+
+        try {
+            for (String prefix : prefixes) {
+                for (PeerSpec spec : peerSpecs()) {
+                    EffectPeer<?> peer = createPeer(prefix, spec.name, fctx, renderer);
+                    if (peer == null) {
+                        continue;
+                    }
+                    ImageData[] peerInputs = Arrays.copyOf(inputs, spec.numInputs);
+                    BandExecutorShim.setDefault(new BandExecutor(1, Integer.MAX_VALUE));
+                    int[] expected = filter(peer, spec.effect.get(), fctx, peerInputs, renderer);
+                    BandExecutorShim.setDefault(new BandExecutor(4, 0));
+                    int[] actual = filter(peer, spec.effect.get(), fctx, peerInputs, renderer);
+                    assertArrayEquals(prefix + spec.name, expected, actual);
+                }
+            }
+
+            List<PeerSpec> convolveSpecs = List.of(
+                new PeerSpec("LinearConvolve", () -> new GaussianBlur(12f, null), 1),
+                new PeerSpec("LinearConvolveShadow", () -> new GaussianShadow(12f, new Color4f(0.2f, 0.4f, 0.6f, 0.8f), null), 1),
+                new PeerSpec("BoxBlur", () -> new BoxBlur(9, 6, 3, null), 1),
+                new PeerSpec("BoxShadow", () -> new BoxShadow(9, 6, 3, null), 1));
+            for (PeerSpec spec : convolveSpecs) {
+                EffectPeer<?> peer = createPeer("sw.java.JSW", spec.name, fctx, renderer);
+                BandExecutorShim.setDefault(new BandExecutor(1, Integer.MAX_VALUE));
+                int[] expected = filterPasses(peer, spec.effect.get(), fctx, inputs[0], renderer);
+                BandExecutorShim.setDefault(new BandExecutor(4, 0));
+                int[] actual = filterPasses(peer, spec.effect.get(), fctx, inputs[0], renderer);
+                assertArrayEquals(spec.name, expected, actual);
+            }
+        } finally {
+            BandExecutorShim.setDefault(null);
+        }
+    }
+
+    static EffectPeer<?> createPeer(String prefix, String name, FilterContext fctx, Renderer renderer) {
+        String className = Renderer.rootPkg + ".impl." + prefix + name + "Peer";
+        try {
+            Class<?> cls = Class.forName(className);
+            return (EffectPeer<?>)cls.getConstructor(FilterContext.class, Renderer.class, String.class)
+                .newInstance(fctx, renderer, name);
+        } catch (ClassNotFoundException | UnsatisfiedLinkError | ExceptionInInitializerError e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            // SSE peers cannot be initialized without the native library
+            if (e.getCause() instanceof LinkageError) {
+                return null;
+            }
+            throw new AssertionError(e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int[] filter(EffectPeer peer, Effect effect, FilterContext fctx,
+                                ImageData[] inputs, TestRenderer renderer) {
+        Rectangle bounds = new Rectangle(0, 0, WIDTH, HEIGHT);
+        Object rstate = ((FilterEffect<?>)effect).getRenderState(
+            fctx, BaseTransform.IDENTITY_TRANSFORM, bounds, null, null);
+        ImageData result = peer.filter(effect, (RenderState)rstate,
+                                       BaseTransform.IDENTITY_TRANSFORM, bounds, inputs);
+        TestImage image = (TestImage)result.getUntransformedImage();
+        Rectangle rb = result.getUntransformedBounds();
+        int[] pixels = new int[rb.width * rb.height];
+        for (int y = 0; y < rb.height; y++) {
+            System.arraycopy(image.pixels, y * image.width, pixels, y * rb.width, rb.width);
+        }
+        renderer.releaseCompatibleImage(image);
+        return pixels;
+    }
+
+    // filters both passes of a separable convolution, in the same way as
+    // LinearConvolveCoreEffect.filterImageDatas()
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int[] filterPasses(EffectPeer peer, Effect effect, FilterContext fctx,
+                                      ImageData input, TestRenderer renderer) {
+        Rectangle bounds = new Rectangle(0, 0, WIDTH, HEIGHT);
+        LinearConvolveRenderState rstate = (LinearConvolveRenderState)((FilterEffect<?>)effect).getRenderState(
+            fctx, BaseTransform.IDENTITY_TRANSFORM, bounds, null, null);
+        Rectangle clip = new Rectangle(bounds);
+        clip.grow(100, 100);
+        // the intermediate images are not released, since that would require
+        // a renderer for the filter context
+        ImageData src = input;
+        for (int pass = 0; pass < 2; pass++) {
+            src = rstate.validatePassInput(src, pass);
+            peer.setPass(pass);
+            src = peer.filter(effect, rstate, BaseTransform.IDENTITY_TRANSFORM, clip, src);
+        }
+        TestImage image = (TestImage)src.getUntransformedImage();
+        Rectangle rb = src.getUntransformedBounds();
+        int[] pixels = new int[rb.width * rb.height];
+        for (int y = 0; y < rb.height; y++) {
+            System.arraycopy(image.pixels, y * image.width, pixels, y * rb.width, rb.width);
+        }
+        return pixels;
+    }
+
+    static ImageData[] createInputs(FilterContext fctx, int count) {
+        Random random = new Random(42);
+        ImageData[] inputs = new ImageData[count];
+        for (int i = 0; i < count; i++) {
+            TestImage image = new TestImage(WIDTH, HEIGHT);
+            for (int p = 0; p < image.pixels.length; p++) {
+                // random premultiplied colors, including transparent and opaque ones
+                int a = (p % 7 == 0) ? 0 : (p % 5 == 0) ? 255 : random.nextInt(256);
+                int r = random.nextInt(a + 1);
+                int g = random.nextInt(a + 1);
+                int b = random.nextInt(a + 1);
+                image.pixels[p] = (a << 24) | (r << 16) | (g << 8) | b;
+            }
+            inputs[i] = new ImageData(fctx, image, new Rectangle(0, 0, WIDTH, HEIGHT));
+        }
+        return inputs;
+    }
+
+    private static void assertPixelsEqual(String name, int[] expected, int[] actual) {
+        assertEquals(name, expected.length, actual.length);
+        int mismatches = 0;
+        for (int i = 0; i < expected.length; i++) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                int e = (expected[i] >>> shift) & 0xff;
+                int a = (actual[i] >>> shift) & 0xff;
+                // allow for differences in the rounding of float operations
+                if (Math.abs(e - a) > 2) {
+                    mismatches++;
+                    break;
+                }
+            }
+        }
+        // a few pixels may end up on the other side of a threshold
+        if (mismatches > expected.length / 1000) {
+            fail(name + ": " + mismatches + " of " + expected.length + " pixels differ");
+        }
+    }
+
+    static class TestFilterContext extends FilterContext {
+        TestFilterContext() {
+            super(new Object());
+        }
+    }
+
+    static class TestImage implements HeapImage, PoolFilterable {
+        final int width;
+        final int height;
+        final int[] pixels;
+        private int contentWidth;
+        private int contentHeight;
+        private ImagePool pool;
+
+        TestImage(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.pixels = new int[width * height];
+            this.contentWidth = width;
+            this.contentHeight = height;
+        }
+
+        @Override public int getScanlineStride() { return width; }
+        @Override public int[] getPixelArray() { return pixels; }
+        @Override public Object getData() { return this; }
+        @Override public int getContentWidth() { return contentWidth; }
+        @Override public int getContentHeight() { return contentHeight; }
+        @Override public void setContentWidth(int contentW) { contentWidth = contentW; }
+        @Override public void setContentHeight(int contentH) { contentHeight = contentH; }
+        @Override public int getMaxContentWidth() { return width; }
+        @Override public int getMaxContentHeight() { return height; }
+        @Override public int getPhysicalWidth() { return width; }
+        @Override public int getPhysicalHeight() { return height; }
+        @Override public float getPixelScale() { return 1f; }
+        @Override public void flush() {}
+        @Override public void lock() {}
+        @Override public void unlock() {}
+        @Override public boolean isLost() { return false; }
+        @Override public void setImagePool(ImagePool pool) { this.pool = pool; }
+        @Override public ImagePool getImagePool() { return pool; }
+    }
+
+    static class TestRenderer extends Renderer {
+        @Override public AccelType getAccelType() { return AccelType.NONE; }
+        @Override public int getCompatibleWidth(int w) { return w; }
+        @Override public int getCompatibleHeight(int h) { return h; }
+        @Override public PoolFilterable createCompatibleImage(int w, int h) { return new TestImage(w, h); }
+        @Override public void clearImage(Filterable image) { Arrays.fill(((TestImage)image).pixels, 0); }
+        @Override public RendererState getRendererState() { return RendererState.OK; }
+        @Override protected Renderer getBackupRenderer() { return this; }
+        @Override public boolean isImageDataCompatible(ImageData id) { return true; }
+
+        @Override
+        public ImageData createImageData(FilterContext fctx, Filterable src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Filterable transform(FilterContext fctx, Filterable original, BaseTransform transform,
+                                    Rectangle origBounds, Rectangle xformBounds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ImageData transform(FilterContext fctx, ImageData original, BaseTransform transform,
+                                   Rectangle origBounds, Rectangle xformBounds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected EffectPeer createPeer(FilterContext fctx, String name, int unrollCount) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
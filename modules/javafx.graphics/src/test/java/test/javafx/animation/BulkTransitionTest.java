@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.animation;
+
+import com.sun.javafx.animation.TickCalculation;
+import com.sun.javafx.tk.Toolkit;
+import javafx.animation.Animation;
+import javafx.animation.BulkTransition;
+import javafx.animation.BulkTransitionShim;
+import javafx.animation.Interpolator;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.util.Duration;
+import org.junit.Before;
+import org.junit.Test;
+import test.com.sun.javafx.pgstub.StubToolkit;
+
+import static org.junit.Assert.*;
+
+public class BulkTransitionTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private StubToolkit toolkit;
+    private BulkTransition transition;
+
+    @Before
+    public void setUp() {
+        toolkit = (StubToolkit)Toolkit.getToolkit();
+        toolkit.setAnimationTime(0);
+        transition = new BulkTransition(Duration.millis(1000));
+        transition.setInterpolator(Interpolator.LINEAR);
+    }
+
+    @Test
+    public void testDefaultValues() {
+        BulkTransition t = new BulkTransition();
+        assertEquals(Duration.millis(400), t.getDuration());
+        assertEquals(Duration.millis(400), t.getCycleDuration());
+        assertEquals(0, t.size());
+        assertFalse(t.isParallel());
+    }
+
+    @Test
+    public void testTargetsAreAnimatedFromCurrentValue() {
+        DoubleProperty a = new SimpleDoubleProperty(10);
+        DoubleProperty b = new SimpleDoubleProperty(0);
+        assertEquals(0, transition.add(a, 20));
+        assertEquals(1, transition.add(b, 100, 200));
+        a.set(0);
+
+        transition.play();
+        toolkit.setAnimationTime(250);
+        assertEquals(5, a.get(), EPSILON);
+        assertEquals(125, b.get(), EPSILON);
+
+        toolkit.setAnimationTime(2000);
+        assertEquals(20, a.get(), EPSILON);
+        assertEquals(200, b.get(), EPSILON);
+        assertEquals(Animation.Status.STOPPED, transition.getStatus());
+    }
+
+    @Test
+    public void testTargetsAreAnimatedInTheirInterval() {
+        DoubleProperty a = new SimpleDoubleProperty();
+        DoubleProperty b = new SimpleDoubleProperty();
+        transition.add(a, 0, 100, 0, 0.5);
+        transition.add(b, 0, 100, 0.5, 1);
+        transition.play();
+
+        toolkit.setAnimationTime(250);
+        assertEquals(50, a.get(), EPSILON);
+        assertEquals(0, b.get(), EPSILON);
+
+        toolkit.setAnimationTime(750);
+        assertEquals(100, a.get(), EPSILON);
+        assertEquals(50, b.get(), EPSILON);
+    }
+
+    @Test
+    public void testInterpolatorIsAppliedPerInterval() {
+        DoubleProperty a = new SimpleDoubleProperty();
+        transition.setInterpolator(Interpolator.DISCRETE);
+        transition.add(a, 0, 100, 0, 0.5);
+        transition.play();
+
+        toolkit.setAnimationTime(400);
+        assertEquals(0, a.get(), EPSILON);
+        toolkit.setAnimationTime(600);
+        assertEquals(100, a.get(), EPSILON);
+    }
+
+    @Test
+    public void testSetToValue() {
+        DoubleProperty a = new SimpleDoubleProperty();
+        int index = transition.add(a, 0, 100);
+        transition.setToValue(index, 200);
+        assertEquals(200, transition.getToValue(index), EPSILON);
+        transition.play();
+
+        toolkit.setAnimationTime(500);
+        assertEquals(100, a.get(), EPSILON);
+    }
+
+    @Test
+    public void testParallelInterpolation() {
+        DoubleProperty[] targets = new DoubleProperty[10000];
+        for (int i = 0; i < targets.length; ++i) {
+            targets[i] = new SimpleDoubleProperty(i);
+            transition.add(targets[i], 2 * i);
+        }
+        transition.setParallel(true);
+        transition.play();
+
+        toolkit.setAnimationTime(500);
+        for (int i = 0; i < targets.length; ++i) {
+            assertEquals(1.5 * i, targets[i].get(), EPSILON);
+        }
+
+        toolkit.setAnimationTime(2000);
+        for (int i = 0; i < targets.length; ++i) {
+            assertEquals(2 * i, targets[i].get(), EPSILON);
+        }
+    }
+
+    @Test
+    public void testTransitionIsDrivenByPrimaryTimer() {
+        AbstractPrimaryTimerMock timer = new AbstractPrimaryTimerMock();
+        BulkTransition t = BulkTransitionShim.getBulkTransition(timer, Duration.millis(1000));
+        t.setInterpolator(Interpolator.LINEAR);
+        DoubleProperty a = new SimpleDoubleProperty();
+        DoubleProperty b = new SimpleDoubleProperty();
+        t.add(a, 0, 1000);
+        t.add(b, 1000, 0);
+        t.play();
+
+        timer.pulse();
+        double elapsed = TickCalculation.toMillis(100);
+        assertEquals(elapsed, a.get(), 1e-6);
+        assertEquals(1000 - elapsed, b.get(), 1e-6);
+    }
+
+    @Test
+    public void testClear() {
+        DoubleProperty a = new SimpleDoubleProperty();
+        transition.add(a, 100);
+        transition.clear();
+        assertEquals(0, transition.size());
+        transition.play();
+        toolkit.setAnimationTime(500);
+        assertEquals(0, a.get(), EPSILON);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidIntervalIsRejected() {
+        transition.add(new SimpleDoubleProperty(), 0, 1, 0.6, 0.5);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidIndexIsRejected() {
+        transition.add(new SimpleDoubleProperty(), 1);
+        transition.setToValue(1, 0);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.animation;
+
+import com.sun.javafx.tk.Toolkit;
+import javafx.animation.Animation;
+import javafx.animation.CompositorTransition;
+import javafx.animation.Interpolator;
+import javafx.scene.shape.Rectangle;
+import javafx.util.Duration;
+import org.junit.Before;
+import org.junit.Test;
+import test.com.sun.javafx.pgstub.StubToolkit;
+
+import static org.junit.Assert.*;
+
+public class CompositorTransitionTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private StubToolkit toolkit;
+    private Rectangle node;
+    private CompositorTransition transition;
+
+    @Before
+    public void setUp() {
+        toolkit = (StubToolkit)Toolkit.getToolkit();
+        toolkit.setAnimationTime(0);
+        node = new Rectangle(10, 10);
+        transition = new CompositorTransition(Duration.millis(1000), node);
+        transition.setInterpolator(Interpolator.LINEAR);
+    }
+
+    @Test
+    public void testDefaultValues() {
+        assertEquals(Duration.millis(1000), transition.getDuration());
+        assertSame(node, transition.getNode());
+        assertTrue(Double.isNaN(transition.getToX()));
+        assertTrue(Double.isNaN(transition.getToOpacity()));
+        assertTrue(Double.isNaN(transition.getToClipX()));
+        assertEquals(Animation.Status.STOPPED, transition.getStatus());
+        assertEquals(Interpolator.EASE_BOTH, new CompositorTransition(Duration.ZERO, node).getInterpolator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIndefiniteDurationIsRejected() {
+        new CompositorTransition(Duration.INDEFINITE, node);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullNodeIsRejected() {
+        new CompositorTransition(Duration.ONE, null);
+    }
+
+    @Test
+    public void testTransitionRunsOnApplicationThreadWhenNodeIsNotShowing() {
+        node.setTranslateX(10);
+        transition.setToX(110);
+        transition.setToOpacity(0.5);
+        transition.play();
+        assertEquals(Animation.Status.RUNNING, transition.getStatus());
+
+        toolkit.setAnimationTime(500);
+        assertEquals(60, node.getTranslateX(), EPSILON);
+        assertEquals(0.75, node.getOpacity(), EPSILON);
+        assertEquals(0, node.getTranslateY(), EPSILON);
+        assertEquals(1, node.getScaleX(), EPSILON);
+    }
+
+    @Test
+    public void testEndValuesAreSetWhenFinished() {
+        int[] finished = new int[1];
+        transition.setOnFinished(event -> finished[0]++);
+        transition.setToY(50);
+        transition.setToAngle(90);
+        transition.play();
+
+        toolkit.setAnimationTime(2000);
+        assertEquals(50, node.getTranslateY(), EPSILON);
+        assertEquals(90, node.getRotate(), EPSILON);
+        assertEquals(Animation.Status.STOPPED, transition.getStatus());
+        assertEquals(1, finished[0]);
+    }
+
+    @Test
+    public void testStopKeepsCurrentValues() {
+        int[] finished = new int[1];
+        transition.setOnFinished(event -> finished[0]++);
+        transition.setToScaleX(3);
+        transition.play();
+
+        toolkit.setAnimationTime(500);
+        transition.stop();
+        assertEquals(Animation.Status.STOPPED, transition.getStatus());
+        assertEquals(2, node.getScaleX(), EPSILON);
+
+        toolkit.setAnimationTime(2000);
+        assertEquals(2, node.getScaleX(), EPSILON);
+        assertEquals(0, finished[0]);
+    }
+
+    @Test
+    public void testClipTranslationIsAnimated() {
+        Rectangle clip = new Rectangle(5, 5);
+        node.setClip(clip);
+        transition.setToClipX(20);
+        transition.setToClipY(-20);
+        transition.play();
+
+        toolkit.setAnimationTime(500);
+        assertEquals(10, clip.getTranslateX(), EPSILON);
+        assertEquals(-10, clip.getTranslateY(), EPSILON);
+        assertEquals(0, node.getTranslateX(), EPSILON);
+
+        toolkit.setAnimationTime(2000);
+        assertEquals(20, clip.getTranslateX(), EPSILON);
+        assertEquals(-20, clip.getTranslateY(), EPSILON);
+    }
+
+    @Test
+    public void testClipTranslationIsIgnoredWithoutClip() {
+        transition.setToClipX(20);
+        transition.play();
+        toolkit.setAnimationTime(2000);
+        assertEquals(Animation.Status.STOPPED, transition.getStatus());
+        assertEquals(20, transition.getToClipX(), EPSILON);
+        assertEquals(0, node.getTranslateX(), EPSILON);
+    }
+
+    @Test
+    public void testTransitionCanBePlayedAgainFromCurrentValues() {
+        transition.setToX(100);
+        transition.play();
+        toolkit.setAnimationTime(2000);
+        assertEquals(100, node.getTranslateX(), EPSILON);
+
+        node.setTranslateX(0);
+        transition.play();
+        toolkit.setAnimationTime(2500);
+        assertEquals(50, node.getTranslateX(), EPSILON);
+    }
+}
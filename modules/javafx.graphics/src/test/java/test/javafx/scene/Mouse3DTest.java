@@ -52,6 +52,7 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.Box;
 import javafx.scene.shape.CullFace;
 import javafx.scene.shape.Cylinder;
+import javafx.scene.shape.InstancedMeshView;
 import javafx.scene.shape.MeshView;
 import javafx.scene.shape.Sphere;
 import javafx.scene.shape.TriangleMesh;
@@ -1356,6 +1357,39 @@ public class Mouse3DTest {
                 m, point(60, 20, 0), 1000, 0, point(0.6, 0.2));
     }
 
+    @Test
+    public void shouldPickNearestInstanceOfInstancedMeshXY() {
+        InstancedMeshView m = new InstancedMeshView(meshXY().getMesh());
+        m.getInstanceTransforms().addAll(
+            1, 0, 0, 0,   0, 1, 0, 0,   0, 0, 1, 0,
+            1, 0, 0, 30,  0, 1, 0, 0,   0, 0, 1, -7,
+            1, 0, 0, 500, 0, 1, 0, 0,   0, 0, 1, -20);
+        doHandleMove(m, me);
+        Scene s = scene(group(m), perspective(), true);
+        makeParallel(s, 60, 20);
+        SceneHelper.processMouseEvent(s, generateMouseEvent(MouseEvent.MOUSE_MOVED));
+
+        MouseEvent e = me.event;
+        assertNotNull(e);
+        assertCoordinates(e, 60, 20, -7);
+        assertPickResult(e.getPickResult(),
+                m, point(60, 20, -7), 993, 0, point(0.3, 0.2));
+    }
+
+    @Test
+    public void shouldNotPickInstancedMeshXYOutsideOfInstances() {
+        InstancedMeshView m = new InstancedMeshView(meshXY().getMesh());
+        m.getInstanceTransforms().addAll(
+            1, 0, 0, 500, 0, 1, 0, 0,   0, 0, 1, 0);
+        doHandleMove(m, me);
+        Scene s = scene(group(m), perspective(), true);
+        makeParallel(s, 60, 20);
+        SceneHelper.processMouseEvent(s, generateMouseEvent(MouseEvent.MOUSE_MOVED));
+
+        MouseEvent e = me.event;
+        assertNull(e);
+    }
+
     @Test
     public void shouldNotPickMeshXYOutsideOfIt() {
         Node m = meshXY().handleMove(me);
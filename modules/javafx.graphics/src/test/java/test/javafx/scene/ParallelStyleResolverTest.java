@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package test.javafx.scene;
+
+import com.sun.javafx.css.StyleManager;
+import com.sun.javafx.tk.Toolkit;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.css.CssParser;
+import javafx.css.PseudoClass;
+import javafx.css.Stylesheet;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.ParallelStyleResolverShim;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ParallelStyleResolverTest {
+
+    private static final int PANES = 40;
+    private static final int TEXTS = 20;
+
+    private final List<Stage> stages = new ArrayList<>();
+
+    private static void resetStyleManager() {
+        StyleManager sm = StyleManager.getInstance();
+        sm.userAgentStylesheetContainers.clear();
+        sm.platformUserAgentStylesheetContainers.clear();
+        sm.stylesheetContainerMap.clear();
+        sm.cacheContainerMap.clear();
+        sm.hasDefaultUserAgentStylesheet = false;
+    }
+
+    @Before
+    public void setup() throws IOException {
+        resetStyleManager();
+        Stylesheet stylesheet = new CssParser().parse(
+                "ParallelStyleResolverTest",
+                ".root { -fx-base: #336699; -fx-font-size: 10px; }\n"
+                + ".pane { -fx-background-color: -fx-base; -fx-padding: 1em; }\n"
+                + ".pane:selected { -fx-background-color: derive(-fx-base, 50%); }\n"
+                + ".big { -fx-base: red; -fx-font-size: 2em; }\n"
+                + ".text { -fx-fill: -fx-base; -fx-font-style: italic; }\n"
+                + ".pane:selected .text { -fx-fill: green; }\n"
+        );
+        StyleManager.getInstance().setDefaultUserAgentStylesheet(stylesheet);
+    }
+
+    @After
+    public void cleanup() {
+        ParallelStyleResolverShim.setEnabled(false, 0);
+        stages.forEach(Stage::hide);
+    }
+
+    @AfterClass
+    public static void cleanupOnce() {
+        resetStyleManager();
+    }
+
+    private StackPane createScene(boolean parallel) {
+        ParallelStyleResolverShim.setEnabled(parallel, 1);
+
+        StackPane root = new StackPane();
+        root.getStyleClass().add("root");
+        for (int i = 0; i < PANES; i++) {
+            Pane pane = new Pane();
+            pane.getStyleClass().add("pane");
+            if (i % 3 == 0) {
+                pane.getStyleClass().add("big");
+            }
+            for (int j = 0; j < TEXTS; j++) {
+                Text text = new Text("text " + j);
+                text.getStyleClass().add("text");
+                pane.getChildren().add(text);
+            }
+            root.getChildren().add(pane);
+        }
+
+        Stage stage = new Stage();
+        stage.setScene(new Scene(root));
+        stage.show();
+        stages.add(stage);
+        Toolkit.getToolkit().firePulse();
+        return root;
+    }
+
+    private static void assertSameStyles(Node expected, Node actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        if (expected instanceof Pane) {
+            assertEquals(((Pane)expected).getBackground(), ((Pane)actual).getBackground());
+            assertEquals(((Pane)expected).getPadding(), ((Pane)actual).getPadding());
+            List<Node> expectedChildren = ((Pane)expected).getChildren();
+            List<Node> actualChildren = ((Pane)actual).getChildren();
+            assertEquals(expectedChildren.size(), actualChildren.size());
+            for (int i = 0; i < expectedChildren.size(); i++) {
+                assertSameStyles(expectedChildren.get(i), actualChildren.get(i));
+            }
+        } else if (expected instanceof Text) {
+            assertEquals(((Text)expected).getFill(), ((Text)actual).getFill());
+            assertEquals(((Text)expected).getFont(), ((Text)actual).getFont());
+        }
+    }
+
+    @Test
+    public void testParallelResolutionAppliesSameStylesAsSequentialResolution() {
+        StackPane sequential = createScene(false);
+        StackPane parallel = createScene(true);
+
+        assertSameStyles(sequential, parallel);
+
+        Pane big = (Pane)parallel.getChildren().get(0);
+        assertEquals(new Insets(20), big.getPadding());
+        assertEquals(Color.RED, ((Text)big.getChildren().get(0)).getFill());
+        assertEquals(20, ((Text)big.getChildren().get(0)).getFont().getSize(), 0);
+
+        Pane small = (Pane)parallel.getChildren().get(1);
+        assertEquals(new Insets(10), small.getPadding());
+        assertEquals(Color.web("#336699"), ((Text)small.getChildren().get(0)).getFill());
+    }
+
+    @Test
+    public void testPseudoClassChangeIsAppliedWithParallelResolution() {
+        StackPane sequential = createScene(false);
+        StackPane parallel = createScene(true);
+
+        PseudoClass selected = PseudoClass.getPseudoClass("selected");
+        for (int i = 0; i < PANES; i += 2) {
+            sequential.getChildren().get(i).pseudoClassStateChanged(selected, true);
+        }
+        ParallelStyleResolverShim.setEnabled(false, 0);
+        Toolkit.getToolkit().firePulse();
+
+        for (int i = 0; i < PANES; i += 2) {
+            parallel.getChildren().get(i).pseudoClassStateChanged(selected, true);
+        }
+        ParallelStyleResolverShim.setEnabled(true, 1);
+        Toolkit.getToolkit().firePulse();
+
+        assertSameStyles(sequential, parallel);
+        assertEquals(Color.GREEN, ((Text)((Pane)parallel.getChildren().get(0)).getChildren().get(0)).getFill());
+        assertNotEquals(Color.GREEN, ((Text)((Pane)parallel.getChildren().get(1)).getChildren().get(0)).getFill());
+    }
+
+    @Test
+    public void testUserSetValueIsNotOverriddenByUserAgentStyle() {
+        ParallelStyleResolverShim.setEnabled(true, 1);
+
+        StackPane root = new StackPane();
+        root.getStyleClass().add("root");
+        List<Text> texts = new ArrayList<>();
+        for (int i = 0; i < TEXTS; i++) {
+            Text text = new Text("text " + i);
+            text.getStyleClass().add("text");
+            text.setFill(Color.YELLOW);
+            texts.add(text);
+        }
+        root.getChildren().addAll(texts);
+
+        Stage stage = new Stage();
+        stage.setScene(new Scene(root));
+        stage.show();
+        stages.add(stage);
+        Toolkit.getToolkit().firePulse();
+
+        for (Text text : texts) {
+            assertEquals(Color.YELLOW, text.getFill());
+            assertEquals("Italic", text.getFont().getStyle());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package test.javafx.scene.shape;
+
+import com.sun.javafx.scene.NodeHelper;
+import com.sun.javafx.sg.prism.NGInstancedMeshView;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.shape.InstancedMeshView;
+import javafx.scene.shape.TriangleMesh;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class InstancedMeshViewTest {
+
+    private static final float[] IDENTITY = {
+        1, 0, 0, 0,
+        0, 1, 0, 0,
+        0, 0, 1, 0
+    };
+
+    private static TriangleMesh unitTriangle() {
+        TriangleMesh mesh = new TriangleMesh();
+        mesh.getPoints().setAll(0, 0, 0,   1, 0, 0,   1, 1, 0);
+        mesh.getTexCoords().setAll(0, 0);
+        mesh.getFaces().setAll(0, 0, 2, 0, 1, 0);
+        return mesh;
+    }
+
+    private static float[] translate(float tx, float ty, float tz) {
+        return new float[] {
+            1, 0, 0, tx,
+            0, 1, 0, ty,
+            0, 0, 1, tz
+        };
+    }
+
+    private static void assertBounds(Bounds expected, Bounds actual) {
+        assertEquals(expected.getMinX(), actual.getMinX(), 1e-5);
+        assertEquals(expected.getMinY(), actual.getMinY(), 1e-5);
+        assertEquals(expected.getMinZ(), actual.getMinZ(), 1e-5);
+        assertEquals(expected.getMaxX(), actual.getMaxX(), 1e-5);
+        assertEquals(expected.getMaxY(), actual.getMaxY(), 1e-5);
+        assertEquals(expected.getMaxZ(), actual.getMaxZ(), 1e-5);
+    }
+
+    @Test
+    public void testBoundsWithoutInstancesAreEmpty() {
+        InstancedMeshView view = new InstancedMeshView(unitTriangle());
+        assertEquals(0, view.getInstanceCount());
+        assertTrue(view.getBoundsInLocal().isEmpty());
+    }
+
+    @Test
+    public void testBoundsAreUnionOfInstances() {
+        InstancedMeshView view = new InstancedMeshView(unitTriangle());
+        view.getInstanceTransforms().addAll(IDENTITY);
+        assertBounds(new BoundingBox(0, 0, 0, 1, 1, 0), view.getBoundsInLocal());
+
+        view.getInstanceTransforms().addAll(translate(10, 20, 30));
+        assertEquals(2, view.getInstanceCount());
+        assertBounds(new BoundingBox(0, 0, 0, 11, 21, 30), view.getBoundsInLocal());
+
+        view.getInstanceTransforms().setAll(translate(-5, 0, 0));
+        assertBounds(new BoundingBox(-5, 0, 0, 1, 1, 0), view.getBoundsInLocal());
+    }
+
+    @Test
+    public void testBoundsOfScaledAndRotatedInstance() {
+        InstancedMeshView view = new InstancedMeshView(unitTriangle());
+        // rotation by 90 degrees around z, scaled by 2
+        view.getInstanceTransforms().addAll(
+            0, -2, 0, 0,
+            2,  0, 0, 0,
+            0,  0, 2, 0);
+        assertBounds(new BoundingBox(-2, 0, 0, 2, 2, 0), view.getBoundsInLocal());
+    }
+
+    @Test
+    public void testIncompleteTransformIsIgnored() {
+        InstancedMeshView view = new InstancedMeshView(unitTriangle());
+        view.getInstanceTransforms().addAll(IDENTITY);
+        view.getInstanceTransforms().addAll(1, 0, 0, 100);
+        assertEquals(1, view.getInstanceCount());
+        assertBounds(new BoundingBox(0, 0, 0, 1, 1, 0), view.getBoundsInLocal());
+    }
+
+    @Test
+    public void testBoundsFollowMeshChanges() {
+        TriangleMesh mesh = unitTriangle();
+        InstancedMeshView view = new InstancedMeshView(mesh);
+        view.getInstanceTransforms().addAll(translate(10, 0, 0));
+        assertBounds(new BoundingBox(10, 0, 0, 1, 1, 0), view.getBoundsInLocal());
+        NodeHelper.updatePeer(view); // clears the dirty flag of the mesh
+
+        mesh.getPoints().set(3, 2);
+        assertBounds(new BoundingBox(10, 0, 0, 2, 1, 0), view.getBoundsInLocal());
+    }
+
+    @Test
+    public void testInstancesAreSyncedToPeer() {
+        InstancedMeshView view = new InstancedMeshView(unitTriangle());
+        view.getInstanceTransforms().addAll(IDENTITY);
+        view.getInstanceTransforms().addAll(translate(1, 2, 3));
+        view.getInstanceColors().addAll(1, 0, 0, 1);
+        NodeHelper.updatePeer(view);
+
+        NGInstancedMeshView peer = NodeHelper.getPeer(view);
+        assertEquals(2, peer.getNumInstances());
+
+        view.getInstanceTransforms().clear();
+        NodeHelper.updatePeer(view);
+        assertEquals(0, peer.getNumInstances());
+    }
+}
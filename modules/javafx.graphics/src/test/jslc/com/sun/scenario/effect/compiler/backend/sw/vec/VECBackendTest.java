@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.sun.scenario.effect.compiler.backend.sw.vec;
+
+import com.sun.scenario.effect.compiler.JSLC;
+import com.sun.scenario.effect.compiler.JSLC.ParserInfo;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VECBackendTest {
+
+    private static String genCode(String source) throws Exception {
+        ParserInfo pinfo = JSLC.getParserInfo(source);
+        VECBackend backend = new VECBackend(pinfo.parser, pinfo.visitor, pinfo.program);
+        return backend.getGenCode("Effect", "Foo", null, null);
+    }
+
+    @Test
+    public void generatesVectorPeer() throws Exception {
+        String code = genCode(
+            "param sampler img;\n" +
+            "param float opacity;\n" +
+            "void main() {\n" +
+            "    color = sample(img, pos0) * opacity;\n" +
+            "}\n");
+        assertTrue(code.contains("class VECFooPeer extends VECEffectPeer"));
+        assertTrue(code.contains("dx += LANES"));
+        assertTrue(code.contains("IntVector img_tmp = sample(img, pos0_x"));
+        assertTrue(code.contains(".mul(opacity)"));
+    }
+
+    @Test
+    public void uniformConditionIsNotMasked() throws Exception {
+        String code = genCode(
+            "param sampler img;\n" +
+            "param float level;\n" +
+            "void main() {\n" +
+            "    float4 c = sample(img, pos0);\n" +
+            "    if (level > 1.0) {\n" +
+            "        c.rgb = c.rgb * level;\n" +
+            "    }\n" +
+            "    color = c;\n" +
+            "}\n");
+        assertTrue(code.contains("if ((level > 1.0f))"));
+        assertFalse(code.contains("VectorMask<Float> cond"));
+    }
+
+    @Test
+    public void perPixelConditionIsMasked() throws Exception {
+        String code = genCode(
+            "param sampler img;\n" +
+            "void main() {\n" +
+            "    float4 c = sample(img, pos0);\n" +
+            "    if (c.a > 0.0) {\n" +
+            "        c.rgb = c.rgb / c.a;\n" +
+            "    } else {\n" +
+            "        c.rgb = float3(1.0);\n" +
+            "    }\n" +
+            "    color = c;\n" +
+            "}\n");
+        assertTrue(code.contains("VectorMask<Float> cond"));
+        assertTrue(code.contains(".anyTrue()"));
+        assertTrue(code.contains("c_x = c_x.blend("));
+    }
+
+    @Test
+    public void userFunctionsAreInlined() throws Exception {
+        String code = genCode(
+            "param sampler img;\n" +
+            "float3 scale(float3 v, float f) {\n" +
+            "    return v * f;\n" +
+            "}\n" +
+            "void main() {\n" +
+            "    float4 c = sample(img, pos0);\n" +
+            "    float3 s = scale(scale(c.rgb, 0.5), 2.0);\n" +
+            "    color = float4(s.r, s.g, s.b, c.a);\n" +
+            "}\n");
+        assertTrue(code.contains("FloatVector scale_res_x = ZERO;"));
+        assertTrue(code.contains("FloatVector scale_res2_x = ZERO;"));
+        assertTrue(code.contains("FloatVector v_tmp2_x"));
+    }
+
+    @Test
+    public void unrolledLoopOverParamArray() throws Exception {
+        String code = genCode(
+            "param sampler img;\n" +
+            "param float4 kvals[8];\n" +
+            "void main() {\n" +
+            "    float4 sum = float4(0.0);\n" +
+            "    int i;\n" +
+            "    for (i = 0; i < 8; i++) {\n" +
+            "        sum += kvals[i].z * sample(img, pos0 + kvals[i].xy);\n" +
+            "    }\n" +
+            "    color = sum;\n" +
+            "}\n");
+        assertTrue(code.contains("for (; (i < 8); i++)"));
+        assertTrue(code.contains("kvals_arr[i * 4 + 2]"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void perPixelLoopConditionIsNotSupported() throws Exception {
+        genCode(
+            "param sampler img;\n" +
+            "void main() {\n" +
+            "    float4 c = sample(img, pos0);\n" +
+            "    while (c.a < 1.0) {\n" +
+            "        c.a += 0.5;\n" +
+            "    }\n" +
+            "    color = c;\n" +
+            "}\n");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void conditionalReturnIsNotSupported() throws Exception {
+        genCode(
+            "param sampler img;\n" +
+            "float f(float v) {\n" +
+            "    if (v > 0.5) {\n" +
+            "        return 1.0;\n" +
+            "    }\n" +
+            "    return v;\n" +
+            "}\n" +
+            "void main() {\n" +
+            "    float4 c = sample(img, pos0);\n" +
+            "    color = float4(f(c.r));\n" +
+            "}\n");
+    }
+}
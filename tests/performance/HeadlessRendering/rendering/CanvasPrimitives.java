@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package rendering;
+
+import javafx.scene.Parent;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import java.util.SplittableRandom;
+
+/**
+ * A canvas that is cleared and filled with 1,000,000 lines, rectangles and
+ * ovals in every pulse.
+ */
+final class CanvasPrimitives extends Workload {
+
+    private static final int PRIMITIVES = 1_000_000;
+    private static final Color[] COLORS = {
+        Color.CRIMSON, Color.DARKORANGE, Color.GOLD, Color.SEAGREEN, Color.STEELBLUE, Color.SLATEBLUE
+    };
+
+    private final SplittableRandom random = new SplittableRandom(1);
+    private Canvas canvas;
+
+    CanvasPrimitives() {
+        super("CanvasPrimitives");
+    }
+
+    @Override
+    Parent createRoot() {
+        canvas = new Canvas(RenderingBenchmark.WIDTH, RenderingBenchmark.HEIGHT);
+        return new Pane(canvas);
+    }
+
+    @Override
+    void update(int pulse) {
+        double w = canvas.getWidth();
+        double h = canvas.getHeight();
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, w, h);
+        for (int i = 0; i < PRIMITIVES; i++) {
+            double x = random.nextDouble(w);
+            double y = random.nextDouble(h);
+            Color color = COLORS[i % COLORS.length];
+            switch (i % 3) {
+                case 0:
+                    gc.setStroke(color);
+                    gc.strokeLine(x, y, x + random.nextDouble(-20, 20), y + random.nextDouble(-20, 20));
+                    break;
+                case 1:
+                    gc.setFill(color);
+                    gc.fillRect(x, y, 4, 4);
+                    break;
+                default:
+                    gc.setFill(color);
+                    gc.fillOval(x, y, 5, 5);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package rendering;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.layout.FlowPane;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 3,000 controls whose look depends on a style class of the root. Every
+ * pulse toggles the style class, so that the styles of all controls need
+ * to be looked up and applied again, which also changes their size.
+ */
+final class CssRestyling extends Workload {
+
+    private static final int COUNT = 3_000;
+    private static final String STYLESHEET =
+            ".alternate { -fx-base: #2f4f6f; -fx-font-size: 11px; }\n" +
+            ".alternate .button { -fx-padding: 2 4 2 4; }\n" +
+            ".alternate .label { -fx-text-fill: #f0e68c; }\n";
+
+    private FlowPane root;
+
+    CssRestyling() {
+        super("CssRestyling");
+    }
+
+    @Override
+    Parent createRoot() {
+        root = new FlowPane(2, 2);
+        for (int i = 0; i < COUNT; i++) {
+            switch (i % 4) {
+                case 0: root.getChildren().add(new Button("Button " + i)); break;
+                case 1: root.getChildren().add(new Label("Label " + i)); break;
+                case 2: root.getChildren().add(new CheckBox("Check " + i)); break;
+                default: root.getChildren().add(new ToggleButton("Toggle " + i)); break;
+            }
+        }
+        return root;
+    }
+
+    @Override
+    void initialize(Scene scene) {
+        scene.getStylesheets().add("data:text/css;base64," +
+                Base64.getEncoder().encodeToString(STYLESHEET.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    void update(int pulse) {
+        if (pulse % 2 == 0) {
+            root.getStyleClass().add("alternate");
+        } else {
+            root.getStyleClass().remove("alternate");
+        }
+    }
+}
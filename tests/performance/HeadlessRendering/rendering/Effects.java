@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package rendering;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.effect.Bloom;
+import javafx.scene.effect.BoxBlur;
+import javafx.scene.effect.ColorAdjust;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
+import javafx.scene.effect.GaussianBlur;
+import javafx.scene.effect.InnerShadow;
+import javafx.scene.effect.Reflection;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * 200 shapes with drop shadows, blurs, inner shadows, blooms, color
+ * adjustments and reflections. Every pulse rotates all shapes, so that all
+ * effects need to be applied again.
+ */
+final class Effects extends Workload {
+
+    private static final int COUNT = 200;
+    private static final int COLUMNS = 20;
+
+    private final Node[] nodes = new Node[COUNT];
+
+    Effects() {
+        super("Effects");
+    }
+
+    @Override
+    Parent createRoot() {
+        Pane pane = new Pane();
+        for (int i = 0; i < COUNT; i++) {
+            Node node = i % 2 == 0
+                    ? new Rectangle(40, 30, Color.hsb(i * 7 % 360, 0.8, 0.9))
+                    : new Circle(18, Color.hsb(i * 7 % 360, 0.6, 0.8));
+            node.relocate(10 + i % COLUMNS * 63, 10 + i / COLUMNS * 78);
+            node.setEffect(createEffect(i));
+            nodes[i] = node;
+        }
+        pane.getChildren().addAll(nodes);
+        return pane;
+    }
+
+    private static Effect createEffect(int index) {
+        switch (index % 7) {
+            case 0: return new DropShadow(10, 4, 4, Color.BLACK);
+            case 1: return new GaussianBlur(8);
+            case 2: return new InnerShadow(8, Color.DARKBLUE);
+            case 3: return new Bloom(0.3);
+            case 4: return new ColorAdjust(0.3, -0.2, 0.1, 0.2);
+            case 5: return new BoxBlur(6, 6, 3);
+            default: return new Reflection(2, 0.6, 0.5, 0);
+        }
+    }
+
+    @Override
+    void update(int pulse) {
+        for (Node node : nodes) {
+            node.setRotate(pulse * 3 % 360);
+        }
+    }
+}
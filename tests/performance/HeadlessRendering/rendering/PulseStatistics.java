@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package rendering;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * The per-phase timings and render statistics of the measured pulses, read
+ * from the {@code javafx.PulsePhase} and {@code javafx.RenderFrame} events
+ * that the JFR pulse logger has recorded.
+ * <p>
+ * The recording starts during the pulse before the first measured pulse and
+ * stops after the last measured pulse has been rendered. The first pulse in
+ * the recording is therefore incomplete and skipped, and only the following
+ * pulses are counted.
+ */
+final class PulseStatistics {
+
+    static final String PULSE_PHASE_EVENT = "javafx.PulsePhase";
+    static final String RENDER_FRAME_EVENT = "javafx.RenderFrame";
+
+    private static final String[] RENDER_COUNTERS = {
+        "drawCalls", "stateChanges", "textureUploads", "glyphCacheMisses",
+        "glyphCacheFlushes", "dirtyRegions", "dirtyArea", "paintedArea"
+    };
+
+    /**
+     * The time spent in one phase, in the order in which the phases first
+     * occurred.
+     */
+    static final class Phase {
+        final String name;
+        private final Map<Integer, Long> durations = new HashMap<>();
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        double getMeanMillis(int pulses) {
+            long total = 0;
+            for (long duration : durations.values()) {
+                total += duration;
+            }
+            return total / 1e6 / pulses;
+        }
+
+        double getMaxMillis() {
+            long max = 0;
+            for (long duration : durations.values()) {
+                max = Math.max(max, duration);
+            }
+            return max / 1e6;
+        }
+    }
+
+    private final int pulses;
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final Map<String, Double> renderCounters = new LinkedHashMap<>();
+    private int renderedFrames;
+
+    private PulseStatistics(int pulses) {
+        this.pulses = pulses;
+        for (String counter : RENDER_COUNTERS) {
+            renderCounters.put(counter, 0.0);
+        }
+    }
+
+    static PulseStatistics read(Path recording, int pulses) throws IOException {
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recording);
+
+        TreeSet<Integer> pulseIds = new TreeSet<>();
+        for (RecordedEvent event : events) {
+            if (PULSE_PHASE_EVENT.equals(event.getEventType().getName())) {
+                int pulseId = event.getInt("pulseId");
+                if (pulseId > 0) {
+                    pulseIds.add(pulseId);
+                }
+            }
+        }
+        if (!pulseIds.isEmpty()) {
+            pulseIds.pollFirst();
+        }
+        Set<Integer> measured = new TreeSet<>(new ArrayList<>(pulseIds).subList(0, Math.min(pulses, pulseIds.size())));
+
+        PulseStatistics statistics = new PulseStatistics(measured.size());
+        for (RecordedEvent event : events) {
+            String type = event.getEventType().getName();
+            if (!(PULSE_PHASE_EVENT.equals(type) || RENDER_FRAME_EVENT.equals(type))
+                    || !measured.contains(event.getInt("pulseId"))) {
+                continue;
+            }
+            if (PULSE_PHASE_EVENT.equals(type)) {
+                statistics.addPhase(event.getString("phaseName"), event.getInt("pulseId"), event.getDuration().toNanos());
+            } else if (RENDER_FRAME_EVENT.equals(type)) {
+                statistics.addRenderFrame(event);
+            }
+        }
+        return statistics;
+    }
+
+    private void addPhase(String name, int pulseId, long duration) {
+        phases.computeIfAbsent(name, Phase::new).durations.merge(pulseId, duration, Long::sum);
+    }
+
+    private void addRenderFrame(RecordedEvent event) {
+        renderedFrames++;
+        for (String counter : RENDER_COUNTERS) {
+            renderCounters.merge(counter, ((Number)event.getValue(counter)).doubleValue(), Double::sum);
+        }
+    }
+
+    /**
+     * The number of pulses that the statistics cover.
+     */
+    int getPulses() {
+        return pulses;
+    }
+
+    Iterable<Phase> getPhases() {
+        return phases.values();
+    }
+
+    int getRenderedFrames() {
+        return renderedFrames;
+    }
+
+    /**
+     * The mean values of the render counters per rendered frame.
+     */
+    Map<String, Double> getRenderCounters() {
+        Map<String, Double> means = new LinkedHashMap<>();
+        renderCounters.forEach((counter, total) -> means.put(counter, renderedFrames > 0 ? total / renderedFrames : 0));
+        return means;
+    }
+}
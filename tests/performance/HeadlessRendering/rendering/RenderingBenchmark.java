@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package rendering;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+/**
+ * Renders a set of canonical workloads headlessly with the Monocle headless
+ * platform and the software pipeline, and reports per-phase timings of the
+ * pulses and the allocations of the JavaFX application and render threads.
+ * <p>
+ * Every workload runs in its own stage for a number of warmup pulses, which
+ * are not measured, followed by the measured pulses. The pulses run at full
+ * speed, one after the other. The phase timings and render statistics come
+ * from the JFR events of the pulse logger, which is enabled by initializing
+ * Flight Recorder before the toolkit starts.
+ * <p>
+ * Usage, with the modules and native libraries of a build that includes
+ * Monocle, like the shims used by the tests:
+ * <pre>
+ * javac -d out @build/testcompile.args tests/performance/HeadlessRendering/rendering/*.java
+ * java @build/testrun.args -cp out rendering.RenderingBenchmark [options] [workload...]
+ *
+ * --warmup=N   pulses before measuring each workload (default 100)
+ * --pulses=N   measured pulses of each workload (default 300)
+ * --csv=FILE   also writes the results to FILE, one value per line
+ * --jfr=DIR    keeps the recording of each workload in DIR
+ * </pre>
+ * All workloads run if none are given. The platform, pipeline and screen
+ * size can be changed with the usual system properties.
+ */
+public final class RenderingBenchmark {
+
+    static final int WIDTH = 1280;
+    static final int HEIGHT = 800;
+
+    private static final Map<String, Supplier<Workload>> WORKLOADS = new LinkedHashMap<>();
+
+    static {
+        register(TableViewScrolling::new);
+        register(TextNodes::new);
+        register(CanvasPrimitives::new);
+        register(Effects::new);
+        register(SvgPaths::new);
+        register(CssRestyling::new);
+    }
+
+    private static void register(Supplier<Workload> workload) {
+        WORKLOADS.put(workload.get().getName(), workload);
+    }
+
+    /**
+     * The result of one workload.
+     */
+    private static final class Result {
+        final String workload;
+        PulseStatistics statistics;
+        final long elapsedNanos;
+        final long fxAllocatedBytes;
+        final long renderAllocatedBytes;
+
+        Result(String workload, long elapsedNanos, long fxAllocatedBytes, long renderAllocatedBytes) {
+            this.workload = workload;
+            this.elapsedNanos = elapsedNanos;
+            this.fxAllocatedBytes = fxAllocatedBytes;
+            this.renderAllocatedBytes = renderAllocatedBytes;
+        }
+    }
+
+    private int warmup = 100;
+    private int pulses = 300;
+    private Path csvFile;
+    private Path jfrDir;
+    private final List<String> workloads = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        RenderingBenchmark benchmark = new RenderingBenchmark();
+        if (!benchmark.parseArgs(args)) {
+            System.err.println("Usage: RenderingBenchmark [--warmup=N] [--pulses=N] [--csv=FILE] [--jfr=DIR] [workload...]");
+            System.err.println("Workloads: " + String.join(" ", WORKLOADS.keySet()));
+            System.exit(1);
+        }
+        benchmark.run();
+    }
+
+    private boolean parseArgs(String[] args) {
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--warmup=")) {
+                    warmup = Integer.parseInt(arg.substring("--warmup=".length()));
+                } else if (arg.startsWith("--pulses=")) {
+                    pulses = Integer.parseInt(arg.substring("--pulses=".length()));
+                } else if (arg.startsWith("--csv=")) {
+                    csvFile = Paths.get(arg.substring("--csv=".length()));
+                } else if (arg.startsWith("--jfr=")) {
+                    jfrDir = Paths.get(arg.substring("--jfr=".length()));
+                } else if (WORKLOADS.containsKey(arg)) {
+                    workloads.add(arg);
+                } else {
+                    return false;
+                }
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (workloads.isEmpty()) {
+            workloads.addAll(WORKLOADS.keySet());
+        }
+        // the recording starts one pulse before the measured pulses
+        return warmup >= 1 && pulses >= 1;
+    }
+
+    private void run() throws Exception {
+        setDefault("glass.platform", "Monocle");
+        setDefault("monocle.platform", "Headless");
+        setDefault("prism.order", "sw");
+        setDefault("javafx.animation.fullspeed", "true");
+
+        // The pulse logger only records JFR events if Flight Recorder is
+        // initialized when the toolkit starts
+        FlightRecorder.getFlightRecorder();
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        Platform.startup(() -> started.complete(null));
+        started.get();
+
+        List<Result> results = new ArrayList<>();
+        try {
+            for (String name : workloads) {
+                Result result = measure(WORKLOADS.get(name).get());
+                print(result);
+                results.add(result);
+            }
+        } finally {
+            Platform.exit();
+        }
+
+        if (csvFile != null) {
+            writeCsv(results);
+        }
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private Result measure(Workload workload) throws Exception {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        Recording recording = new Recording();
+        recording.enable(PulseStatistics.PULSE_PHASE_EVENT);
+        recording.enable(PulseStatistics.RENDER_FRAME_EVENT);
+
+        Platform.runLater(() -> {
+            Stage stage = new Stage();
+            Scene scene = new Scene(workload.createRoot(), WIDTH, HEIGHT);
+            workload.initialize(scene);
+            stage.setScene(scene);
+            stage.show();
+
+            new AnimationTimer() {
+                private final com.sun.management.ThreadMXBean threads =
+                        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+                private int frame;
+                private long startTime;
+                private long elapsedTime;
+                private long fxAllocated;
+                private long renderAllocated;
+
+                @Override
+                public void handle(long now) {
+                    try {
+                        if (frame == warmup - 1) {
+                            recording.start();
+                        } else if (frame == warmup) {
+                            startTime = System.nanoTime();
+                            fxAllocated = -threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+                            renderAllocated = -getRenderThreadAllocatedBytes();
+                        } else if (frame == warmup + pulses) {
+                            elapsedTime = System.nanoTime() - startTime;
+                            fxAllocated += threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+                            renderAllocated += getRenderThreadAllocatedBytes();
+                        } else if (frame == warmup + pulses + 1) {
+                            // the previous pulse waited for the rendering of the last
+                            // measured pulse, so all of its events have been recorded
+                            stop();
+                            stage.hide();
+                            Platform.runLater(() -> {
+                                recording.stop();
+                                future.complete(new Result(workload.getName(), elapsedTime, fxAllocated, renderAllocated));
+                            });
+                            return;
+                        }
+                        workload.update(frame);
+                        frame++;
+                    } catch (Throwable t) {
+                        stop();
+                        stage.hide();
+                        future.completeExceptionally(t);
+                    }
+                }
+
+                private long getRenderThreadAllocatedBytes() {
+                    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                        if (thread.getName().startsWith("QuantumRenderer")) {
+                            return threads.getThreadAllocatedBytes(thread.getId());
+                        }
+                    }
+                    return 0;
+                }
+            }.start();
+        });
+
+        Result result = future.get();
+        Path file = jfrDir != null
+                ? Files.createDirectories(jfrDir).resolve(workload.getName() + ".jfr")
+                : Files.createTempFile(workload.getName(), ".jfr");
+        try {
+            recording.dump(file);
+            recording.close();
+            result.statistics = PulseStatistics.read(file, pulses);
+            return result;
+        } finally {
+            if (jfrDir == null) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static void print(Result result) {
+        PulseStatistics statistics = result.statistics;
+        int pulses = Math.max(1, statistics.getPulses());
+        System.out.printf(Locale.ROOT, "%s: %d pulses, %.3f ms/pulse, allocated %.1f KB/pulse on the FX thread, %.1f KB/pulse on the render thread%n",
+                result.workload, statistics.getPulses(), result.elapsedNanos / 1e6 / pulses,
+                result.fxAllocatedBytes / 1024.0 / pulses, result.renderAllocatedBytes / 1024.0 / pulses);
+        System.out.printf(Locale.ROOT, "    %-36s %10s %10s%n", "Phase", "mean ms", "max ms");
+        for (PulseStatistics.Phase phase : statistics.getPhases()) {
+            System.out.printf(Locale.ROOT, "    %-36s %10.3f %10.3f%n", phase.name, phase.getMeanMillis(pulses), phase.getMaxMillis());
+        }
+        System.out.printf(Locale.ROOT, "    %d rendered frames, per frame:%n", statistics.getRenderedFrames());
+        statistics.getRenderCounters().forEach((counter, mean) ->
+                System.out.printf(Locale.ROOT, "    %-36s %10.1f%n", counter, mean));
+        System.out.println();
+    }
+
+    private void writeCsv(List<Result> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csvFile))) {
+            writer.println("workload,metric,value");
+            for (Result result : results) {
+                PulseStatistics statistics = result.statistics;
+                int pulses = Math.max(1, statistics.getPulses());
+                writeCsv(writer, result.workload, "pulse.ms", result.elapsedNanos / 1e6 / pulses);
+                writeCsv(writer, result.workload, "fxThread.allocatedBytes", (double)result.fxAllocatedBytes / pulses);
+                writeCsv(writer, result.workload, "renderThread.allocatedBytes", (double)result.renderAllocatedBytes / pulses);
+                for (PulseStatistics.Phase phase : statistics.getPhases()) {
+                    writeCsv(writer, result.workload, "phase." + phase.name + ".ms", phase.getMeanMillis(pulses));
+                }
+                statistics.getRenderCounters().forEach((counter, mean) ->
+                        writeCsv(writer, result.workload, "frame." + counter, mean));
+            }
+        }
+    }
+
+    private static void writeCsv(PrintWriter writer, String workload, String metric, double value) {
+        writer.printf(Locale.ROOT, "%s,\"%s\",%.4f%n", workload, metric, value);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package rendering;
+
+import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.SVGPath;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * 500 filled and stroked SVG paths with 40 cubic curves each. Every pulse
+ * rotates the whole group, so that all paths need to be rasterized again.
+ */
+final class SvgPaths extends Workload {
+
+    private static final int COUNT = 500;
+    private static final int CURVES = 40;
+
+    private final SplittableRandom random = new SplittableRandom(1);
+    private Group group;
+
+    SvgPaths() {
+        super("SvgPaths");
+    }
+
+    @Override
+    Parent createRoot() {
+        group = new Group();
+        for (int i = 0; i < COUNT; i++) {
+            SVGPath path = new SVGPath();
+            path.setContent(createContent(random.nextDouble(RenderingBenchmark.WIDTH),
+                                          random.nextDouble(RenderingBenchmark.HEIGHT)));
+            path.setFill(Color.hsb(i * 11 % 360, 0.5, 0.9, 0.6));
+            path.setStroke(Color.hsb(i * 11 % 360, 0.9, 0.5));
+            group.getChildren().add(path);
+        }
+        return group;
+    }
+
+    private String createContent(double x, double y) {
+        StringBuilder content = new StringBuilder();
+        content.append(String.format(Locale.ROOT, "M%.1f,%.1f", x, y));
+        for (int i = 0; i < CURVES; i++) {
+            content.append(String.format(Locale.ROOT, " C%.1f,%.1f %.1f,%.1f %.1f,%.1f",
+                    x + random.nextDouble(-60, 60), y + random.nextDouble(-60, 60),
+                    x + random.nextDouble(-60, 60), y + random.nextDouble(-60, 60),
+                    x + random.nextDouble(-60, 60), y + random.nextDouble(-60, 60)));
+        }
+        return content.append(" Z").toString();
+    }
+
+    @Override
+    void update(int pulse) {
+        group.setRotate(pulse % 360);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package rendering;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Parent;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+/**
+ * A table with 100,000 rows and 20 columns that is scrolled by three rows
+ * in every pulse, so that all visible cells get new items.
+ */
+final class TableViewScrolling extends Workload {
+
+    private static final int ROWS = 100_000;
+    private static final int COLUMNS = 20;
+
+    private TableView<Integer> table;
+
+    TableViewScrolling() {
+        super("TableViewScrolling");
+    }
+
+    @Override
+    Parent createRoot() {
+        ObservableList<Integer> items = FXCollections.observableArrayList();
+        for (int i = 0; i < ROWS; i++) {
+            items.add(i);
+        }
+
+        table = new TableView<>(items);
+        for (int c = 0; c < COLUMNS; c++) {
+            final int column = c;
+            TableColumn<Integer, String> tableColumn = new TableColumn<>("Column " + c);
+            tableColumn.setCellValueFactory(f -> new ReadOnlyObjectWrapper<>(f.getValue() + " / " + column));
+            table.getColumns().add(tableColumn);
+        }
+        return table;
+    }
+
+    @Override
+    void update(int pulse) {
+        table.scrollTo(pulse * 3 % ROWS);
+    }
+}
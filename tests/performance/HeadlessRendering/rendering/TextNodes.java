@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package rendering;
+
+import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * 10,000 text nodes in a grid. Every pulse moves all of them by one pixel
+ * and changes the content of 100 of them.
+ */
+final class TextNodes extends Workload {
+
+    private static final int COUNT = 10_000;
+    private static final int COLUMNS = 50;
+
+    private final Text[] texts = new Text[COUNT];
+    private Group group;
+
+    TextNodes() {
+        super("TextNodes");
+    }
+
+    @Override
+    Parent createRoot() {
+        Font font = Font.font(10);
+        group = new Group();
+        for (int i = 0; i < COUNT; i++) {
+            Text text = new Text(i % COLUMNS * 25, 10 + i / COLUMNS * 4, "Text " + i);
+            text.setFont(font);
+            texts[i] = text;
+        }
+        group.getChildren().addAll(texts);
+        return group;
+    }
+
+    @Override
+    void update(int pulse) {
+        group.setTranslateX(pulse % 2);
+        for (int i = 0; i < 100; i++) {
+            int index = (pulse * 100 + i) % COUNT;
+            texts[index].setText("Text " + index + " " + pulse);
+        }
+    }
+}
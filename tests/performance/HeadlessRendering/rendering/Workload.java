@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022, JFXcore. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  JFXcore designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package rendering;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+/**
+ * A scene that is rendered by the benchmark. The benchmark shows the root in
+ * a scene of a fixed size and calls {@link #update} once at the start of
+ * every pulse, which must change the scene so that it needs to be rendered
+ * again.
+ */
+abstract class Workload {
+
+    private final String name;
+
+    Workload(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Creates the content of the scene.
+     */
+    abstract Parent createRoot();
+
+    /**
+     * Called after the root was added to the scene, before the first pulse.
+     */
+    void initialize(Scene scene) {
+    }
+
+    /**
+     * Changes the scene for the given pulse, starting with 0.
+     */
+    abstract void update(int pulse);
+}